@@ -3,12 +3,27 @@ import models.Magician;
 import models.MagicianType;
 import models.Material;
 import models.Routine;
-import models.RoutineDBInit1;
-import models.RoutineDBInit2;
 import models.Set;
 import play.Application;
 import play.GlobalSettings;
 import play.Logger;
+import play.libs.F;
+import services.cache.AnalysisCache;
+import services.cache.EntityCache;
+import services.cache.FragmentCache;
+import services.db.DbExecution;
+import services.db.DbRouting;
+import services.db.StatementStatistics;
+import services.search.DatabaseSearch;
+import services.search.MagicianSearch;
+import services.search.RoutineCatalog;
+import services.search.RoutineNames;
+import services.search.SimilarRoutines;
+import services.seed.SeedLoader;
+import services.seed.SeedStatus;
+import services.setNotes.BatchAnalysis;
+import services.setNotes.RuleEngine;
+import services.startup.StartupPhases;
 import views.formdata.MaterialFormData;
 import views.formdata.RoutineFormData;
 
@@ -18,24 +33,158 @@ import views.formdata.RoutineFormData;
  */
 public class Global extends GlobalSettings {
   @Override
-  public void onStart(Application application) {
+  public void beforeStart(Application application) {
+    StartupPhases.beforeStart();
+
+    super.beforeStart(application);
+  }
+
+
+  @Override
+  public void onStart(final Application application) {
+    StartupPhases.frameworkStarted();
+
     super.onStart(application);
 
-    MagicianType.init();
-    Magician.init();
-    initRoutines();
-    Set.init(Magician.getMagician("mr_nelson@icloud.com"));
-    Set.init(Magician.getMagician("pkarjala@gmail.com"));
-    Set.init(Magician.getMagician("dneely@hawaii.edu"));
+    StartupPhases.phase("configure", new Runnable() {
+      @Override
+      public void run() {
+        DbRouting.configure(application.configuration());
+        EntityCache.configure(application.configuration());
+        FragmentCache.configure();
+        AnalysisCache.configure();
+        DbExecution.start(application.configuration());
+        RuleEngine.start(application.configuration());
+        BatchAnalysis.start(application.configuration());
+        SimilarRoutines.configure(application.configuration());
+        RoutineNames.configure(application.configuration());
+        DatabaseSearch.configure(application.configuration());
+      }
+    });
+
+    final boolean force = application.configuration().getBoolean("seed.force", false);
+    if (application.isTest()) {
+      // Tests use the seed data from the first request, so seed before the application starts taking requests.
+      initDatabase(force);
+    }
+    else {
+      F.Promise.promise(new F.Function0<Void>() {
+        @Override
+        public Void apply() {
+          initDatabase(force);
+          return null;
+        }
+      }, DbExecution.context());
+    }
 
     Logger.info(ConfigFactory.load().getString("application.name") + " has started");
   }
 
 
+  @Override
+  public void onStop(Application application) {
+    EntityCache.logStatistics();
+    DbExecution.logStatistics();
+    DbExecution.stop();
+    RuleEngine.logStatistics();
+    RuleEngine.stop();
+    BatchAnalysis.stop();
+
+    super.onStop(application);
+  }
+
+
   /******************************************************************************************************************
    * I N I T I A L I Z E   D A T A B A S E
    ******************************************************************************************************************/
 
+  /**
+   * Seed the database, unless the seed data it holds is already current.
+   * <p>
+   * The checksum of the seed data is compared with the one recorded by the last seeding, so a warm restart makes one
+   * query here instead of running every existence check in the init methods.  Outside of tests, this runs in the
+   * background after startup and /health/ready reports when it's done.  Each phase is timed and logged by
+   * services.startup.StartupPhases.
+   *
+   * @param force Seed the database even if the checksum matches (seed.force in application.conf).
+   */
+  public static void initDatabase(boolean force) {
+    SeedStatus.started();
+
+    try {
+      long start = System.currentTimeMillis();
+      long statements = StatementStatistics.getTotal();
+      String checksum = SeedLoader.checksum();
+      boolean seeded = !force && SeedLoader.isSeeded(checksum);
+      StartupPhases.record("seedCheck", System.currentTimeMillis() - start,
+          StatementStatistics.getTotal() - statements);
+
+      if (seeded) {
+        Logger.info("Seed data is unchanged.  Skipping seeding.  checksum = [" + checksum + "]");
+        initSearch();
+        SeedStatus.finished();
+        StartupPhases.logSummary();
+        return;
+      }
+
+      SeedStatus.phase("MagicianType.init", new Runnable() {
+        @Override
+        public void run() {
+          MagicianType.init();
+        }
+      });
+      SeedStatus.phase("Magician.init", new Runnable() {
+        @Override
+        public void run() {
+          Magician.init();
+        }
+      });
+      SeedStatus.phase("initRoutines", new Runnable() {
+        @Override
+        public void run() {
+          initRoutines();
+        }
+      });
+      SeedStatus.phase("initSets", new Runnable() {
+        @Override
+        public void run() {
+          initSets();
+        }
+      });
+
+      SeedLoader.recordSeeded(checksum);
+      Logger.info("Seeded the database.  force = [" + force + "]  checksum = [" + checksum + "]");
+      initSearch();
+      SeedStatus.finished();
+      StartupPhases.logSummary();
+    }
+    catch (RuntimeException e) {
+      SeedStatus.failed(e);
+      throw e;
+    }
+  }
+
+
+  /**
+   * Build the in-memory search indexes from the database.  They're kept current as the data changes, so this only
+   * runs once the database is seeded.
+   */
+  public static void initSearch() {
+    SeedStatus.phase("RoutineCatalog.rebuild", new Runnable() {
+      @Override
+      public void run() {
+        RoutineCatalog.rebuild();
+      }
+    });
+    SeedStatus.phase("MagicianSearch.rebuild", new Runnable() {
+      @Override
+      public void run() {
+        MagicianSearch.rebuild();
+      }
+    });
+  }
+
+
   /**
    * Populate a routine.
    */
@@ -84,59 +233,20 @@ public class Global extends GlobalSettings {
 
 
   /**
-   * Initialize the Routine dataset.
+   * Initialize the Routine dataset from the seed data in conf/seed/routines.json.
    */
   public static void initRoutines() {
-    RoutineDBInit1.init01();
-    RoutineDBInit1.init02();
-    RoutineDBInit1.init03();
-    RoutineDBInit2.init205();
-    RoutineDBInit1.init04();
-    RoutineDBInit1.init05();
-    RoutineDBInit1.init06();
-    RoutineDBInit1.init07();
-    RoutineDBInit1.init08();
-    RoutineDBInit1.init09();
-    RoutineDBInit1.init10();
-    RoutineDBInit1.init11();
-    RoutineDBInit1.init12();
-    RoutineDBInit1.init13();
-    RoutineDBInit1.init14();
-    RoutineDBInit1.init15();
-    RoutineDBInit1.init16();
-    RoutineDBInit1.init17();
-    RoutineDBInit1.init18();
-    RoutineDBInit1.init19();
-    RoutineDBInit2.init20();
-    RoutineDBInit2.init21();
-    RoutineDBInit2.init22();
-    RoutineDBInit2.init23();
-    RoutineDBInit2.init24();
-    RoutineDBInit2.init30();
-    RoutineDBInit2.init201();
-    RoutineDBInit2.init31();
-    RoutineDBInit2.init32();
-    RoutineDBInit2.init33();
-    RoutineDBInit2.init34();
-    RoutineDBInit2.init35();
-    RoutineDBInit2.init36();
-    RoutineDBInit2.init37();
-    RoutineDBInit2.init38();
-    RoutineDBInit2.init39();
-    RoutineDBInit2.init40();
-    RoutineDBInit2.init41();
-    RoutineDBInit2.init42();
-    RoutineDBInit2.init43();
-    RoutineDBInit2.init44();
-    RoutineDBInit2.init45();
-    RoutineDBInit2.init202();
-    RoutineDBInit2.init203();
-    RoutineDBInit2.init204();
-    RoutineDBInit2.init206();
-    RoutineDBInit2.init207();
-    RoutineDBInit2.init208();
-    RoutineDBInit2.init209();
-    RoutineDBInit2.init210();
+    SeedLoader.loadRoutines();
+  }
+
+
+  /**
+   * Initialize the Set dataset.
+   */
+  public static void initSets() {
+    Set.init(Magician.getMagician("mr_nelson@icloud.com"));
+    Set.init(Magician.getMagician("pkarjala@gmail.com"));
+    Set.init(Magician.getMagician("dneely@hawaii.edu"));
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package controllers;
+
+import play.Logger;
+import play.mvc.Controller;
+import play.mvc.Result;
+import play.mvc.Security;
+import services.api.Fields;
+import services.api.JsonStream;
+import services.api.MagicianStream;
+import services.api.RoutineStream;
+import services.api.SetStream;
+import services.db.DbRouting;
+
+
+/**
+ * Version 1 of the JSON API.
+ * <p>
+ * Each action returns every row of an entity as a JSON array, read a batch at a time by a services.api.JsonStream as
+ * the client takes it, so the response starts right away and memory doesn't grow with the number of rows.  The
+ * fields parameter is a comma-separated list of the fields to return (like "name,duration,materials.price"); the ID
+ * is always returned.
+ * <p>
+ * A later version of the API gets its own controller and routes, so clients of this one aren't broken by it.  Like
+ * the HTML pages, the Routines are public and the Sets and Magicians need a login.
+ */
+public class ApiV1 extends Controller {
+
+  /**
+   * Stream every Routine, with its Materials and their total cost.
+   *
+   * @param fields The fields to return, or empty for every field.
+   * @return An HTTP OK message along with the Routines as a chunked JSON array.
+   */
+  @ReadOnly
+  public static Result routines(String fields) {
+    return stream(new RoutineStream(Fields.parse(fields)));
+  }
+
+
+  /**
+   * Stream every Set, with the IDs of its Routines, their count, total duration and total cost.
+   *
+   * @param fields The fields to return, or empty for every field.
+   * @return An HTTP OK message along with the Sets as a chunked JSON array.
+   */
+  @Security.Authenticated(Secured.class)
+  @ReadOnly
+  public static Result sets(String fields) {
+    return stream(new SetStream(Fields.parse(fields)));
+  }
+
+
+  /**
+   * Stream every Magician's public profile.
+   *
+   * @param fields The fields to return, or empty for every field.
+   * @return An HTTP OK message along with the Magicians as a chunked JSON array.
+   */
+  @Security.Authenticated(Secured.class)
+  @ReadOnly
+  public static Result magicians(String fields) {
+    return stream(new MagicianStream(Fields.parse(fields)));
+  }
+
+
+  /**
+   * Stream from the server this request reads from.
+   *
+   * @param stream The stream.
+   * @return An HTTP OK message along with the stream.
+   */
+  private static Result stream(JsonStream<?> stream) {
+    String serverName = DbRouting.serverName();
+
+    Logger.debug("api/v1/" + stream.getName() + "  server = [" + serverName + "]");
+
+    return ok(stream.open(serverName)).as("application/json; charset=utf-8");
+  }
+
+}
@@ -1,22 +1,51 @@
 package controllers;
 
+import models.EntityVersions;
 import models.Image;
 import models.Magician;
 import models.Material;
+import models.Note;
 import models.Routine;
 import models.Set;
+import models.SetCosts;
+import models.SetSummaries;
 import play.Logger;
 import play.data.Form;
 import play.data.validation.ValidationError;
+import play.libs.Json;
 import play.mvc.Controller;
 import play.mvc.Http.Context;
 import play.mvc.Http;
 import play.mvc.Result;
+import play.mvc.Results.Chunks;
+import play.mvc.Results.StringChunks;
 import play.mvc.Security;
+import play.mvc.With;
+import play.twirl.api.Html;
+import services.projection.CostProjection;
+import services.projection.Projection;
+import services.search.DatabaseSearch;
+import services.search.Facet;
+import services.search.FacetResults;
+import services.search.MagicianSearch;
+import services.search.MagicianSearchResult;
+import services.search.RoutineCatalog;
+import services.search.RoutineEntry;
+import services.search.RoutineFacets;
+import services.search.RoutineNames;
+import services.search.RoutineSearch;
+import services.search.SearchResult;
+import services.search.SearchResults;
+import services.search.SimilarRoutines;
 import services.setNotes.ActAnalysis;
+import services.setNotes.BatchAnalysis;
+import services.setNotes.SetOptimizer;
+import services.setNotes.SetSuggestion;
+import services.setNotes.SetSummary;
 import views.formdata.DeleteUserFormData;
 import views.formdata.EditMagicianFormData;
 import views.formdata.EditUserFormData;
+import views.formdata.FormConflicts;
 import views.formdata.LoginFormData;
 import views.formdata.MagicianTypeFormData;
 import views.formdata.MaterialFormData;
@@ -30,20 +59,30 @@ import views.html.EditMaterial;
 import views.html.EditRoutine;
 import views.html.EditSet;
 import views.html.EditUser;
+import views.html.FilterRoutines;
 import views.html.Help;
 import views.html.Index;
 import views.html.ListMagicians;
 import views.html.ListRoutines;
 import views.html.ListSets;
 import views.html.Login;
+import views.html.SearchMagicians;
+import views.html.SearchRoutines;
+import views.html.SetAnalysis;
+import views.html.SetAnalysisRow;
 import views.html.SetNotes;
 import views.html.ViewMagician;
 import views.html.ViewMaterial;
 import views.html.ViewRoutine;
 import views.html.ViewSet;
 
+import javax.persistence.OptimisticLockException;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,10 +90,17 @@ import java.util.Map;
 /**
  * Play With Magic's MVC Controller class.
  *
+ * Every action runs on the database execution context (see JdbcAction), so blocking Ebean calls don't tie up
+ * Play's request threads.
+ *
  * @see http://www.playframework.com
  */
+@With(JdbcAction.class)
 public class Application extends Controller {
 
+  // Marks where analyzeSets() streams the analysis of each Set into the SetAnalysis page.
+  private static final String SET_ANALYSIS_ROWS = "<!-- set analysis rows -->";
+
   /******************************************************************************************************************
    * B A S I C   P A G E S
    ******************************************************************************************************************/
@@ -380,20 +426,56 @@ public class Application extends Controller {
    * @return An HTTP OK message along with the HTML content for the ListMagicians page.
    */
   @Security.Authenticated(Secured.class)
+  @ReadOnly
   public static Result listMagicians() {
     return ok(ListMagicians.render("listMagicians", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
         Magician.getActiveMagicians()));
   }
 
 
+  /**
+   * Search the Magicians by name, stage name and location and render a page of the results.  The search is fuzzy, so
+   * misspelled and partly remembered words still match, and quick enough to run as the user types.
+   * <p>
+   * When search.mode is "database", the search runs in Postgres with pg_trgm (see DatabaseSearch).  Otherwise, it
+   * runs against the in-memory trigram index in MagicianSearch.
+   *
+   * @param q    The text to search for.
+   * @param page The page of results to show, starting at 1.
+   * @return An HTTP OK message along with the HTML content for the Search Magicians page.
+   */
+  @Security.Authenticated(Secured.class)
+  @ReadOnly
+  public static Result searchMagicians(String q, int page) {
+    int pageNumber = Math.max(page, 1);
+    int offset = pageOffset(pageNumber);
+    SearchResults<MagicianSearchResult> results = DatabaseSearch.isEnabled()
+        ? DatabaseSearch.searchMagicians(q, offset, RoutineSearch.DEFAULT_LIMIT)
+        : MagicianSearch.search(q, offset, RoutineSearch.DEFAULT_LIMIT);
+
+    Logger.debug("searchMagicians  q = [" + q + "]  page = [" + pageNumber + "]  total = [" + results.getTotal()
+        + "]");
+
+    return ok(SearchMagicians.render("searchMagicians", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
+        results, pageNumber));
+  }
+
+
   /**
    * Display a single Magician based off of the provided ID.
    *
    * @param id The ID of the Magician to be displayed.
-   * @return An HTTP OK message along with the HTML content for a single Magician page.
+   * @return An HTTP OK message along with the HTML content for a single Magician page,
+   *         or 304 Not Modified if the browser already has the current page.
    */
   @Security.Authenticated(Secured.class)
+  @ReadOnly
   public static Result viewMagician(long id) {
+    String etag = ETags.build("viewMagician", id, EntityVersions.getMagicianVersion(id, Secured.getUser(ctx())), ctx());
+    if (ETags.isNotModified(etag, ctx())) {
+      return status(NOT_MODIFIED);
+    }
+
     return ok(ViewMagician.render("viewMagician", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
         Magician.getMagician(id)));
   }
@@ -503,7 +585,13 @@ public class Application extends Controller {
       Logger.debug("  imageId = [" + routineFormData.imageId + "]");
     }
 
-    Routine routine = Routine.saveRoutineFromForm(routineFormData);
+    Routine routine;
+    try {
+      routine = Routine.saveRoutineFromForm(routineFormData);
+    }
+    catch (OptimisticLockException e) {
+      return routineConflict(routineFormData);
+    }
 
     Logger.debug("postRoutine Persisted Data");
     Logger.debug("  id = [" + routine.getId() + "]");
@@ -515,6 +603,23 @@ public class Application extends Controller {
   }
 
 
+  /**
+   * Redisplay the EditRoutine page when the Routine was saved by someone else after the form was rendered.
+   *
+   * @param routineFormData The Routine data the user submitted.
+   * @return An HTTP Conflict message along with the EditRoutine page, showing the other person's changes.
+   */
+  private static Result routineConflict(RoutineFormData routineFormData) {
+    Logger.warn("Edit conflict on routine.  id = [" + routineFormData.id + "]");
+
+    Form<RoutineFormData> formWithRoutineData = FormConflicts.fill(RoutineFormData.class, routineFormData,
+        new RoutineFormData(Routine.getRoutine(routineFormData.id)), "routine");
+
+    return status(CONFLICT, EditRoutine.render("editRoutine", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
+        formWithRoutineData, Routine.getMaterials(routineFormData.id)));
+  }
+
+
   /**
    * Delete a routine from the database and display the ListRoutines page.
    *
@@ -535,21 +640,133 @@ public class Application extends Controller {
    *
    * @return An HTTP OK message along with the HTML content for the List Routine page.
    */
+  @ReadOnly
   public static Result listRoutines() {
     return ok(ListRoutines.render("listRoutines", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
         Routine.getActiveRoutines()));
   }
 
 
+  /**
+   * Search the Routines and render a page of the results.
+   * <p>
+   * The search runs against the in-memory index in RoutineSearch, so it doesn't touch the database, unless
+   * search.mode is "database" (see DatabaseSearch).
+   *
+   * @param q    The text to search for.
+   * @param page The page of results to show, starting at 1.
+   * @return An HTTP OK message along with the HTML content for the Search Routines page.
+   */
+  @ReadOnly
+  public static Result searchRoutines(String q, int page) {
+    int pageNumber = Math.max(page, 1);
+    int offset = pageOffset(pageNumber);
+    SearchResults<SearchResult> results = DatabaseSearch.isEnabled()
+        ? DatabaseSearch.searchRoutines(q, offset, RoutineSearch.DEFAULT_LIMIT)
+        : RoutineSearch.search(q, offset, RoutineSearch.DEFAULT_LIMIT);
+
+    Logger.debug("searchRoutines  q = [" + q + "]  page = [" + pageNumber + "]  total = [" + results.getTotal() + "]");
+
+    return ok(SearchRoutines.render("searchRoutines", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
+        results, pageNumber));
+  }
+
+
+  /**
+   * Find the number of results before a page of search results.  The page number comes from the query string, so a
+   * huge one is clamped rather than allowed to overflow into a negative offset.
+   *
+   * @param pageNumber The page, starting at 1.
+   * @return The number of results to skip, small enough that adding a page of results to it can't overflow.
+   */
+  private static int pageOffset(int pageNumber) {
+    long offset = (Math.max(pageNumber, 1) - 1L) * RoutineSearch.DEFAULT_LIMIT;
+    return (int) Math.min(offset, Integer.MAX_VALUE - RoutineSearch.DEFAULT_LIMIT);
+  }
+
+
+  /**
+   * Filter the Routines by their Facets (see RoutineFacets) and render a page of the results, with the number of
+   * Routines each Facet value would match.
+   * <p>
+   * The selected values are read from the query string, one parameter per value (for example,
+   * ?duration=3-5&amp;duration=6-10&amp;consumed=no).  Values of the same Facet are ORed and Facets are ANDed.  The
+   * filter runs against in-memory bitmaps, so it doesn't touch the database.
+   *
+   * @param page   The page of results to show, starting at 1.
+   * @param format "html" (the default) for a page or "json" for a JSON object.
+   * @return An HTTP OK message along with the HTML content for the Filter Routines page, or the results as JSON.
+   */
+  public static Result filterRoutines(int page, String format) {
+    int pageNumber = Math.max(page, 1);
+
+    Map<String, List<String>> selection = new HashMap<String, List<String>>();
+    for (Facet facet : RoutineFacets.getFacets()) {
+      String[] values = request().queryString().get(facet.getName());
+      if (values != null) {
+        selection.put(facet.getName(), Arrays.asList(values));
+      }
+    }
+
+    FacetResults results = RoutineFacets.filter(selection, pageOffset(pageNumber), RoutineSearch.DEFAULT_LIMIT);
+
+    Logger.debug("filterRoutines  facets = [" + results.getQueryString() + "]  total = [" + results.getTotal() + "]");
+
+    if ("json".equals(format)) {
+      List<Map<String, Object>> routines = new ArrayList<Map<String, Object>>();
+      for (RoutineEntry entry : results.getRoutines()) {
+        Map<String, Object> routine = new LinkedHashMap<String, Object>();
+        routine.put("id", entry.getId());
+        routine.put("name", entry.getName());
+        routine.put("duration", entry.getDuration());
+        routine.put("resetDuration", entry.getResetDuration());
+        routine.put("cost", entry.getCost());
+        routines.add(routine);
+      }
+
+      Map<String, Map<String, Integer>> facets = new LinkedHashMap<String, Map<String, Integer>>();
+      for (Facet facet : results.getFacets()) {
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        for (String value : facet.getValues()) {
+          counts.put(value, results.getCount(facet.getName(), value));
+        }
+        facets.put(facet.getName(), counts);
+      }
+
+      Map<String, Object> json = new LinkedHashMap<String, Object>();
+      json.put("total", results.getTotal());
+      json.put("offset", results.getOffset());
+      json.put("limit", results.getLimit());
+      json.put("routines", routines);
+      json.put("facets", facets);
+
+      return ok(Json.toJson(json));
+    }
+
+    return ok(FilterRoutines.render("filterRoutines", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
+        results, pageNumber));
+  }
+
+
   /**
    * Display a single Routine.
    *
    * @param routineId The ID of the Routine to be displayed.
-   * @return An HTTP OK message along with the HTML content for a single Routine page.
+   * @return An HTTP OK message along with the HTML content for a single Routine page,
+   *         or 304 Not Modified if the browser already has the current page.
    */
+  @ReadOnly
   public static Result viewRoutine(long routineId) {
+    // The related routines can change without the Routine changing, so their version is part of the ETag.
+    String version = EntityVersions.getRoutineVersion(routineId, Secured.getUser(ctx()));
+    String etag = ETags.build("viewRoutine", routineId,
+        (version == null) ? null : version + ":" + SimilarRoutines.getVersion(routineId), ctx());
+    if (ETags.isNotModified(etag, ctx())) {
+      return status(NOT_MODIFIED);
+    }
+
     return ok(ViewRoutine.render("viewRoutine", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
-        Routine.getRoutine(routineId)));
+        Routine.getRoutine(routineId), SimilarRoutines.getRelated(routineId)));
   }
 
 
@@ -572,18 +789,37 @@ public class Application extends Controller {
 
     if (id != 0) {
       Set thisSet = Set.getSet(id);
-      return ok(EditSet.render("editSet", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), formData,
-          Routine.getActiveRoutines(), Routine.getListOfIds(thisSet.getRoutines())));
+      return ok(renderEditSet(formData, Routine.getListOfIds(thisSet.getRoutines())));
     }
     else {
       List<Long> emptyListOfRoutinesInSet = new ArrayList<Long>();
 
-      return ok(EditSet.render("editSet", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), formData,
-          Routine.getActiveRoutines(), emptyListOfRoutinesInSet));
+      return ok(renderEditSet(formData, emptyListOfRoutinesInSet));
     }
   }
 
 
+  /**
+   * Render the EditSet page.
+   * <p>
+   * While the catalog is small, every Routine gets a checkbox.  Once there are more Routines than
+   * search.typeahead.inlineLimit, only the Routines in the Set are listed and others are added with the typeahead,
+   * which gets its candidates from routineNames().
+   *
+   * @param setForm       The Set form.
+   * @param routinesInSet The IDs of the Routines in the Set (null if none were posted).
+   * @return The HTML content for the EditSet page.
+   */
+  private static Html renderEditSet(Form<SetFormData> setForm, List<Long> routinesInSet) {
+    List<Long> ids = (routinesInSet == null) ? new ArrayList<Long>() : routinesInSet;
+    boolean typeahead = RoutineNames.isTypeahead();
+    List<Routine> routines = typeahead ? Routine.getRoutines(ids) : Routine.getActiveRoutines();
+
+    return EditSet.render("editSet", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), setForm, routines,
+        new HashSet<Long>(ids), typeahead);
+  }
+
+
   /**
    * Handles the request to post form data from EditSet.
    *
@@ -618,24 +854,58 @@ public class Application extends Controller {
       else {
         listOfRoutines = new ArrayList<Long>();
       }
-      return badRequest(EditSet.render("editSet", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
-          formWithSetData, Routine.getActiveRoutines(), listOfRoutines));
+      return badRequest(renderEditSet(formWithSetData, listOfRoutines));
     }
     else {
       SetFormData data = formWithSetData.get();
       Magician magician = Secured.getUserInfo(Context.current());
-      Set.createSetFromForm(magician, data);
+      try {
+        Set.createSetFromForm(magician, data);
+      }
+      catch (OptimisticLockException e) {
+        Logger.warn("Edit conflict on set.  id = [" + data.id + "]");
+
+        Form<SetFormData> conflictForm = FormConflicts.fill(SetFormData.class, data,
+            new SetFormData(Set.getSet(data.id)), "set");
+
+        return status(CONFLICT, renderEditSet(conflictForm, data.routines));
+      }
       return ok(ListSets.render("listSets", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), Set.getMySets()));
     }
   }
 
 
+  /**
+   * Suggest Routines for the typeahead on the EditSet page.  Names are completed from the in-memory trie in
+   * RoutineNames, so this doesn't touch the database.
+   *
+   * @param prefix The start of a Routine's name, or of a word in it.
+   * @param limit  The maximum number of Routines to return.
+   * @return An HTTP OK message along with a JSON array of the matching Routines' IDs, names and durations.
+   */
+  @Security.Authenticated(Secured.class)
+  public static Result routineNames(String prefix, int limit) {
+    List<Map<String, Object>> routines = new ArrayList<Map<String, Object>>();
+
+    for (RoutineEntry entry : RoutineNames.complete(prefix, limit)) {
+      Map<String, Object> routine = new LinkedHashMap<String, Object>();
+      routine.put("id", entry.getId());
+      routine.put("name", entry.getName());
+      routine.put("duration", entry.getDuration());
+      routines.add(routine);
+    }
+
+    return ok(Json.toJson(routines));
+  }
+
+
   /**
    * Render the List Sets page with all sets.
    *
    * @return An HTTP OK message along with the HTML content for the List Set page.
    */
   @Security.Authenticated(Secured.class)
+  @ReadOnly
   public static Result listAllSets() {
 
     return ok(ListSets.render("listSets", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), Set.getAllSets()));
@@ -648,6 +918,7 @@ public class Application extends Controller {
    * @return An HTTP OK message along with the HTML content for the List Set page.
    */
   @Security.Authenticated(Secured.class)
+  @ReadOnly
   public static Result listMySets() {
 
     return ok(ListSets.render("listSets", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), Set.getMySets()));
@@ -658,10 +929,17 @@ public class Application extends Controller {
    * Render the View Set page.
    *
    * @param id The ID of the Set to view.
-   * @return An HTTP OK message along with the HTML content for a single Set page.
+   * @return An HTTP OK message along with the HTML content for a single Set page,
+   *         or 304 Not Modified if the browser already has the current page.
    */
   @Security.Authenticated(Secured.class)
+  @ReadOnly
   public static Result viewSet(long id) {
+    String etag = ETags.build("viewSet", id, EntityVersions.getSetVersion(id, Secured.getUser(ctx())), ctx());
+    if (ETags.isNotModified(etag, ctx())) {
+      return status(NOT_MODIFIED);
+    }
+
     Set thisViewSet = Set.getSet(id);
 
     return ok(ViewSet.render("viewSet", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()), Set.getSet(id),
@@ -745,8 +1023,12 @@ public class Application extends Controller {
     }
 
     RoutineFormData data = formWithRoutineData.get();
-    Routine routine = Routine.saveRoutineFromForm(data);
-    routineId = routine.getId();
+    try {
+      Routine.saveRoutineFromForm(data);
+    }
+    catch (OptimisticLockException e) {
+      return routineConflict(data);
+    }
 
     return editMaterialDirect(materialId);
   }
@@ -771,7 +1053,13 @@ public class Application extends Controller {
     }
 
     RoutineFormData data = routineFormData.get();
-    Routine routine = Routine.saveRoutineFromForm(data);
+    Routine routine;
+    try {
+      routine = Routine.saveRoutineFromForm(data);
+    }
+    catch (OptimisticLockException e) {
+      return routineConflict(data);
+    }
     routineId = routine.getId();
 
     // End of processing Routine page.  Start processing material.
@@ -806,13 +1094,22 @@ public class Application extends Controller {
     }
 
     RoutineFormData routineFormData = formWithRoutineData.get();
-    Routine routine = Routine.saveRoutineFromForm(routineFormData);
+    Routine routine;
+    try {
+      routine = Routine.saveRoutineFromForm(routineFormData);
+    }
+    catch (OptimisticLockException e) {
+      return routineConflict(routineFormData);
+    }
     routineId = routine.getId();
 
     // End of processing Routine page.  Start of processing material.
 
     Material.getMaterial(materialId).delete();
 
+    // Redisplay the Routine as it was just saved, so the form carries the Routine's new version.
+    formWithRoutineData = Form.form(RoutineFormData.class).fill(new RoutineFormData(routine));
+
     return ok(EditRoutine.render("editRoutine", Secured.isLoggedIn(ctx()), Secured.getUserInfo(ctx()),
         formWithRoutineData, Routine.getMaterials(routineId)));
   }
@@ -848,7 +1145,18 @@ public class Application extends Controller {
       materialFormData.imageId = imageId;
     }
 
-    Material.saveMaterialFromForm(materialFormData);
+    try {
+      Material.saveMaterialFromForm(materialFormData);
+    }
+    catch (OptimisticLockException e) {
+      Logger.warn("Edit conflict on material.  id = [" + materialFormData.materialId + "]");
+
+      Form<MaterialFormData> conflictForm = FormConflicts.fill(MaterialFormData.class, materialFormData,
+          new MaterialFormData(Material.getMaterial(materialFormData.materialId)), "material");
+
+      return status(CONFLICT, EditMaterial.render("editMaterial", Secured.isLoggedIn(ctx()),
+          Secured.getUserInfo(ctx()), conflictForm));
+    }
 
     RoutineFormData routineFormData = new RoutineFormData(Routine.getRoutine(routineId));
     Form<RoutineFormData> formWithRoutineData = Form.form(RoutineFormData.class).fill(routineFormData);
@@ -862,9 +1170,17 @@ public class Application extends Controller {
    *
    * @param routineId  The ID of the Routine to be displayed.
    * @param materialId The ID of the material to display.
-   * @return An HTTP OK message along with the HTML content for a single Routine page.
+   * @return An HTTP OK message along with the HTML content for a single Routine page,
+   *         or 304 Not Modified if the browser already has the current page.
    */
+  @ReadOnly
   public static Result viewMaterial(long routineId, long materialId) {
+    String etag = ETags.build("viewMaterial", materialId,
+        EntityVersions.getMaterialVersion(materialId, Secured.getUser(ctx())), ctx());
+    if (ETags.isNotModified(etag, ctx())) {
+      return status(NOT_MODIFIED);
+    }
+
     Routine routine = Routine.getRoutine(routineId);
     Material material = Material.getMaterial(materialId);
 
@@ -884,6 +1200,7 @@ public class Application extends Controller {
    * @param id The image id.
    * @return The image.
    */
+  @ReadOnly
   public static Result getImage(long id) {
     Image image = Image.find().byId(id);
     if (image == null) {
@@ -902,6 +1219,10 @@ public class Application extends Controller {
 
     // takes request
     Http.MultipartFormData body = request.body().asMultipartFormData();
+    if (body == null) {
+      Logger.debug("No multipart body, so no image in form.");
+      return -1;
+    }
     Http.MultipartFormData.FilePart picture = body.getFile("image");
 
     // creates variables
@@ -952,7 +1273,8 @@ public class Application extends Controller {
         , Secured.getUserInfo(ctx())
         , set
         , formData
-        , ActAnalysis.getEmptyList()));
+        , ActAnalysis.getEmptyList()
+        , new ArrayList<SetSuggestion>()));
   }
 
 
@@ -989,7 +1311,8 @@ public class Application extends Controller {
           , Secured.getUserInfo(ctx())
           , set
           , formData
-          , ActAnalysis.getEmptyList()));
+          , ActAnalysis.getEmptyList()
+          , new ArrayList<SetSuggestion>()));
     }
 
     SetNotesFormData setNotesFormData = formData.get();
@@ -999,18 +1322,187 @@ public class Application extends Controller {
     Logger.debug("  duration = [" + setNotesFormData.duration + "]");
     Logger.debug("  cost = [" + setNotesFormData.cost + "]");
 
-    Set set = Set.getSet(setNotesFormData.id);
+    Set set = Set.getSetWithRoutines(setNotesFormData.id);
     ActAnalysis actAnalysis = new ActAnalysis(set);
     actAnalysis.setExpectedDuration(setNotesFormData.duration);
     actAnalysis.setExpectedCost(setNotesFormData.cost);
 
     actAnalysis.analyzeSet();
 
+    List<SetSuggestion> suggestions = new ArrayList<SetSuggestion>();
+    if (setNotesFormData.duration != null) {
+      suggestions = SetOptimizer.suggest(RoutineCatalog.getEntries(), setNotesFormData.duration,
+          setNotesFormData.cost, SetOptimizer.DEFAULT_SUGGESTIONS);
+    }
+
     return ok(SetNotes.render("setNotes", Secured.isLoggedIn(ctx())
           , Secured.getUserInfo(ctx())
           , set
           , formData
-          , actAnalysis.getNotes()));
+          , actAnalysis.getNotes()
+          , suggestions));
+  }
+
+
+  /**
+   * Analyze all of the logged in Magician's Sets (or every Set, for an administrator) at once.
+   * <p>
+   * The Sets are loaded with a single query (see SetSummaries), analyzed in parallel (see BatchAnalysis) and each
+   * Set's notes are streamed to the browser as soon as they're ready, in the order they finish.
+   *
+   * @param format   "html" (the default) for a page or "json" for a JSON array.
+   * @param duration The preferred duration of every Set, or null.
+   * @param cost     The budget of every Set, or null.
+   * @return An HTTP OK message with the notes, sent in chunks.
+   */
+  @Security.Authenticated(Secured.class)
+  @ReadOnly
+  public static Result analyzeSets(String format, Integer duration, Integer cost) {
+    final List<SetSummary> summaries;
+    if (Secured.isAdministrator(ctx())) {
+      summaries = SetSummaries.getAllSetSummaries(duration, cost);
+    }
+    else {
+      summaries = SetSummaries.getSetSummaries(Secured.getUserInfo(ctx()).getId(), duration, cost);
+    }
+
+    Logger.debug("analyzeSets  sets = [" + summaries.size() + "]  format = [" + format + "]");
+
+    if ("json".equals(format)) {
+      return ok(new StringChunks() {
+        @Override
+        public void onReady(final Chunks.Out<String> out) {
+          out.write("[");
+
+          BatchAnalysis.analyze(summaries, new BatchAnalysis.Listener() {
+            private boolean first = true;
+
+            @Override
+            public synchronized void onNotes(SetSummary summary, List<Note> notes) {
+              List<String> texts = new ArrayList<String>();
+              for (Note note : notes) {
+                texts.add(note.getText());
+              }
+
+              Map<String, Object> analysis = new LinkedHashMap<String, Object>();
+              analysis.put("id", summary.getSetId());
+              analysis.put("name", summary.getSetName());
+              analysis.put("routines", summary.getRoutineCount());
+              analysis.put("duration", summary.getDuration());
+              analysis.put("cost", summary.getCost());
+              analysis.put("notes", texts);
+
+              out.write((first ? "" : ",") + Json.stringify(Json.toJson(analysis)));
+              first = false;
+            }
+
+            @Override
+            public synchronized void onComplete() {
+              out.write("]");
+              out.close();
+            }
+          });
+        }
+      }).as("application/json; charset=utf-8");
+    }
+
+    String page = SetAnalysis.render("analyzeSets", Secured.isLoggedIn(ctx())
+        , Secured.getUserInfo(ctx())
+        , summaries.size()
+        , duration
+        , cost
+        , SET_ANALYSIS_ROWS).body();
+    final String head = page.substring(0, page.indexOf(SET_ANALYSIS_ROWS));
+    final String tail = page.substring(page.indexOf(SET_ANALYSIS_ROWS) + SET_ANALYSIS_ROWS.length());
+
+    return ok(new StringChunks() {
+      @Override
+      public void onReady(final Chunks.Out<String> out) {
+        out.write(head);
+
+        BatchAnalysis.analyze(summaries, new BatchAnalysis.Listener() {
+          @Override
+          public synchronized void onNotes(SetSummary summary, List<Note> notes) {
+            out.write(SetAnalysisRow.render(summary, notes).body());
+          }
+
+          @Override
+          public synchronized void onComplete() {
+            out.write(tail);
+            out.close();
+          }
+        });
+      }
+    }).as("text/html; charset=utf-8");
+  }
+
+  /**
+   * Project what the logged in Magician's Sets (or every Set, for an administrator) will cost over a run of shows.
+   * <p>
+   * The Sets' costs are loaded with a single query (see SetCosts) and projected with CostProjection.  If a Set is
+   * given, it's performed at every show; otherwise each Set is projected on its own for the same number of shows and
+   * the cumulative spend is the total for all of them.
+   *
+   * @param performances The number of shows, from 0 to CostProjection.MAX_PERFORMANCES.
+   * @param setId        The ID of the Set to project, or 0 for every Set.
+   * @return An HTTP OK message with the projection as JSON, or HTTP Bad Request if performances is out of range.
+   */
+  @Security.Authenticated(Secured.class)
+  @ReadOnly
+  public static Result projectCosts(int performances, long setId) {
+    if (performances < 0) {
+      return badRequest("The number of performances must not be negative");
+    }
+    if (performances > CostProjection.MAX_PERFORMANCES) {
+      return badRequest("The number of performances must not be more than " + CostProjection.MAX_PERFORMANCES);
+    }
+
+    CostProjection costs;
+    if (Secured.isAdministrator(ctx())) {
+      costs = SetCosts.getAllCostProjection();
+    }
+    else {
+      costs = SetCosts.getCostProjection(Secured.getUserInfo(ctx()).getId());
+    }
+
+    Projection projection;
+    if (setId == 0) {
+      projection = costs.projectEach(performances);
+    }
+    else {
+      int ordinal = costs.ordinal(setId);
+      if (ordinal < 0) {
+        return notFound("No Set with ID [" + setId + "]");
+      }
+      projection = costs.project(CostProjection.repeat(ordinal, performances));
+    }
+
+    List<Map<String, Object>> sets = new ArrayList<Map<String, Object>>();
+    for (int i = 0; i < costs.size(); i++) {
+      if (projection.getShows(i) == 0) {
+        continue;
+      }
+
+      Map<String, Object> set = new LinkedHashMap<String, Object>();
+      set.put("id", costs.getSetId(i));
+      set.put("name", costs.getSetName(i));
+      set.put("shows", projection.getShows(i));
+      set.put("initialCost", costs.getInitialCost(i));
+      set.put("restockPerShow", costs.getRestockCost(i));
+      set.put("resetMinutesPerShow", costs.getResetMinutes(i));
+      set.put("restockCost", projection.getRestockSpend(i));
+      set.put("resetMinutes", projection.getResetMinutes(i));
+      set.put("totalSpend", projection.getSpend(i));
+      sets.add(set);
+    }
+
+    Map<String, Object> result = new LinkedHashMap<String, Object>();
+    result.put("performances", performances);
+    result.put("totalSpend", projection.getTotalSpend());
+    result.put("sets", sets);
+    result.put("cumulativeSpend", projection.getCumulativeSpend());
+
+    return ok(Json.toJson(result));
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package controllers;
+
+import play.Play;
+import play.mvc.Http;
+import play.mvc.Http.Context;
+import services.referenceData.ReferenceData;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Build and check weak ETags for the entity pages.
+ * <p>
+ * An entity page's ETag is a hash of the page name, the entity's version (see models.EntityVersions), who is
+ * viewing the page and the version of the templates.  If a browser sends back the same ETag in If-None-Match, the
+ * page hasn't changed and the controller answers with 304 Not Modified without loading or rendering anything.
+ * <p>
+ * The template version is set with etag.templateVersion in application.conf.  If it isn't set, the time the
+ * application started is used, so every deployment starts with fresh ETags.
+ */
+public class ETags {
+
+  private static final String STARTED = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+
+  /**
+   * Build the weak ETag for an entity page.
+   *
+   * @param page    The name of the page (for example, "viewRoutine").
+   * @param id      The ID of the entity on the page.
+   * @param version The version of the page from models.EntityVersions.
+   * @param context The context of the current request.
+   * @return The weak ETag or null if the entity doesn't exist (null version).
+   */
+  public static String build(String page, long id, String version, Context context) {
+    if (version == null) {
+      return null;
+    }
+
+    String viewer = Secured.getUser(context);
+
+    return "W/\"" + hash(page + ":" + id + ":" + version + ":" + ((viewer == null) ? "" : viewer) + ":"
+        + ReferenceData.current().getVersion() + ":" + getTemplateVersion()) + "\"";
+  }
+
+
+  /**
+   * Check the request's If-None-Match header against an ETag.  If they match, the client already has the page.
+   * If they don't, the ETag and caching headers are added to the response.
+   *
+   * @param etag    The ETag of the page (may be null).
+   * @param context The context of the current request.
+   * @return True if the client's copy of the page is current.
+   */
+  public static boolean isNotModified(String etag, Context context) {
+    if (etag == null) {
+      return false;
+    }
+
+    String ifNoneMatch = context.request().getHeader(Http.HeaderNames.IF_NONE_MATCH);
+
+    if (ifNoneMatch != null) {
+      for (String candidate : ifNoneMatch.split(",")) {
+        candidate = candidate.trim();
+        if (candidate.equals("*") || weak(candidate).equals(weak(etag))) {
+          context.response().setHeader(Http.HeaderNames.ETAG, etag);
+          return true;
+        }
+      }
+    }
+
+    context.response().setHeader(Http.HeaderNames.ETAG, etag);
+    // The page depends on who is logged in, so shared caches must not keep it and browsers must check each time.
+    context.response().setHeader(Http.HeaderNames.CACHE_CONTROL, "private, no-cache");
+
+    return false;
+  }
+
+
+  /**
+   * Get the version of the templates.
+   *
+   * @return The configured template version, or the time the application started.
+   */
+  private static String getTemplateVersion() {
+    return Play.application().configuration().getString("etag.templateVersion", STARTED);
+  }
+
+
+  /**
+   * Strip the weak indicator from an ETag.  If-None-Match always uses the weak comparison.
+   *
+   * @param etag The ETag.
+   * @return The opaque part of the ETag.
+   */
+  private static String weak(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+
+  /**
+   * Hash the parts of an ETag so that nothing about the viewer leaks out in the header.
+   *
+   * @param value The parts of the ETag.
+   * @return The SHA-1 hash of the value as hex.
+   */
+  private static String hash(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+
+      return hex.toString();
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("Unable to hash ETag", e);
+    }
+  }
+
+}
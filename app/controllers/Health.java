@@ -0,0 +1,51 @@
+package controllers;
+
+import play.libs.Json;
+import play.mvc.Controller;
+import play.mvc.Result;
+import services.seed.SeedStatus;
+import services.startup.StartupPhases;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Health checks for load balancers and deploy scripts.
+ * <p>
+ * These don't touch the database and don't need a login.
+ */
+public class Health extends Controller {
+
+  /**
+   * Report that the application is running.  This is up as soon as the HTTP listener is.
+   *
+   * @return An HTTP OK message.
+   */
+  public static Result live() {
+    return ok("live");
+  }
+
+
+  /**
+   * Report whether the node is ready for traffic, which is once seeding the database has finished.
+   *
+   * @return An HTTP OK message when ready or HTTP Service Unavailable when not, along with the seeding state and the
+   * startup phases as JSON.
+   */
+  public static Result ready() {
+    Map<String, Object> status = new LinkedHashMap<String, Object>();
+    status.put("seed", SeedStatus.getState().name());
+    if (SeedStatus.getFailure() != null) {
+      status.put("failure", SeedStatus.getFailure());
+    }
+    status.put("phases", StartupPhases.getPhases());
+
+    if (SeedStatus.isReady()) {
+      return ok(Json.toJson(status));
+    }
+
+    return status(SERVICE_UNAVAILABLE, Json.toJson(status));
+  }
+
+}
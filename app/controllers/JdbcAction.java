@@ -0,0 +1,39 @@
+package controllers;
+
+import play.libs.F;
+import play.libs.HttpExecution;
+import play.mvc.Action;
+import play.mvc.Http;
+import play.mvc.Result;
+import services.db.DbExecution;
+
+/**
+ * Run a controller action on the database execution context (see services.db.DbExecution).
+ * <p>
+ * Almost every action in Application reads or writes the database through Ebean, which blocks.  Annotating the
+ * controller with &#64;With(JdbcAction.class) hands each action to the database pool and returns a Promise, so
+ * Play's request threads are free to serve other requests (and static assets) while the action waits on JDBC.
+ * <p>
+ * The HTTP context (session, flash, request) and the application's class loader are carried over to the pool
+ * thread, so the actions themselves don't need to change.
+ */
+public class JdbcAction extends Action.Simple {
+
+  @Override
+  public F.Promise<Result> call(final Http.Context ctx) throws Throwable {
+    F.Promise<F.Promise<Result>> result = F.Promise.promise(new F.Function0<F.Promise<Result>>() {
+      @Override
+      public F.Promise<Result> apply() throws Throwable {
+        return delegate.call(ctx);
+      }
+    }, HttpExecution.fromThread(DbExecution.context()));
+
+    return result.flatMap(new F.Function<F.Promise<Result>, F.Promise<Result>>() {
+      @Override
+      public F.Promise<Result> apply(F.Promise<Result> promise) {
+        return promise;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,196 @@
+package controllers;
+
+import play.libs.Json;
+import play.mvc.Controller;
+import play.mvc.Result;
+import play.mvc.Security;
+import services.cache.AnalysisCache;
+import services.cache.EntityCache;
+import services.cache.FragmentCache;
+import services.db.DbExecution;
+import services.db.PoolStatistics;
+import services.db.StatementStatistics;
+import services.search.MagicianSearch;
+import services.search.RoutineFacets;
+import services.search.RoutineNames;
+import services.search.RoutineSearch;
+import services.search.SimilarRoutines;
+import services.setNotes.RuleEngine;
+import services.startup.StartupPhases;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Operational metrics for Play With Magic.
+ * <p>
+ * These pages are intended for the people who run the site, so they are rendered as JSON rather than HTML.
+ */
+public class Metrics extends Controller {
+
+  // The Prometheus name and type of each statistic of PoolStatistics and DbExecution.  Statistics in milliseconds are
+  // reported in seconds; cumulative ones are counters named *_total.  The averages are left out, since Prometheus
+  // derives them from the totals.
+  private static final String[][] POOL_METRICS = {
+      {"leased", "db_pool_leased_connections", "gauge"},
+      {"free", "db_pool_free_connections", "gauge"},
+      {"created", "db_pool_created_connections", "gauge"},
+      {"connectionsRequested", "db_pool_connections_requested_total", "counter"},
+      {"connectionWaitMillisTotal", "db_pool_connection_wait_seconds_total", "counter"},
+      {"statementsExecuted", "db_pool_statements_executed_total", "counter"},
+      {"statementExecuteMillisTotal", "db_pool_statement_execute_seconds_total", "counter"},
+      {"statementsPrepared", "db_pool_statements_prepared_total", "counter"},
+      {"statementsCached", "db_pool_statements_cached", "gauge"},
+      {"statementCacheHits", "db_pool_statement_cache_hits_total", "counter"},
+      {"statementCacheMisses", "db_pool_statement_cache_misses_total", "counter"}};
+
+  private static final String[][] EXECUTION_METRICS = {
+      {"poolSize", "db_execution_pool_size", "gauge"},
+      {"active", "db_execution_active_tasks", "gauge"},
+      {"queued", "db_execution_queued_tasks", "gauge"},
+      {"maxQueued", "db_execution_max_queued_tasks", "gauge"},
+      {"completed", "db_execution_completed_tasks_total", "counter"},
+      {"maxWaitMillis", "db_execution_max_wait_seconds", "gauge"}};
+
+
+  /**
+   * Report the hit/miss statistics of the second-level entity caches, the HTML fragment cache and the set notes
+   * analysis cache.
+   *
+   * @return An HTTP OK message along with the cache statistics as JSON.
+   */
+  @Security.Authenticated(SecuredAdministrator.class)
+  public static Result cache() {
+    Map<String, Map<String, Long>> statistics = EntityCache.getStatistics();
+    statistics.put("fragments", FragmentCache.getStatistics());
+    statistics.put("analyses", AnalysisCache.getStatistics());
+
+    return ok(Json.toJson(statistics));
+  }
+
+
+  /**
+   * Report the database statistics: the connection pool, the database execution context (queue depth and a wait-time
+   * histogram) and the number of statements run, by name.
+   *
+   * @param format "json" (the default) or "prometheus" for the Prometheus text exposition format.
+   * @return An HTTP OK message along with the database statistics.
+   */
+  @Security.Authenticated(SecuredAdministrator.class)
+  public static Result db(String format) {
+    Map<String, Long> pool = PoolStatistics.get("default");
+    Map<String, Long> execution = DbExecution.getStatistics();
+    Map<String, Long> waitHistogram = DbExecution.getWaitHistogram();
+    Map<String, Long> statements = StatementStatistics.getCounts();
+
+    if ("prometheus".equals(format)) {
+      StringBuilder text = new StringBuilder();
+
+      for (String[] metric : POOL_METRICS) {
+        appendMetric(text, metric, "{datasource=\"default\"}", pool.get(metric[0]));
+      }
+
+      for (String[] metric : EXECUTION_METRICS) {
+        appendMetric(text, metric, "", execution.get(metric[0]));
+      }
+
+      text.append("# TYPE db_execution_wait_seconds histogram\n");
+      for (Map.Entry<String, Long> entry : waitHistogram.entrySet()) {
+        String le = entry.getKey().equals("+Inf") ? "+Inf" : Double.toString(Long.parseLong(entry.getKey()) / 1000.0);
+        text.append("db_execution_wait_seconds_bucket{le=\"").append(le).append("\"} ").append(entry.getValue())
+            .append('\n');
+      }
+      if (!waitHistogram.isEmpty()) {
+        text.append("db_execution_wait_seconds_sum ").append(execution.get("totalWaitMillis") / 1000.0).append('\n');
+        text.append("db_execution_wait_seconds_count ").append(waitHistogram.get("+Inf")).append('\n');
+      }
+
+      text.append("# TYPE db_statements_total counter\n");
+      for (Map.Entry<String, Long> entry : statements.entrySet()) {
+        text.append("db_statements_total{statement=\"").append(entry.getKey()).append("\"} ")
+            .append(entry.getValue()).append('\n');
+      }
+
+      return ok(text.toString()).as("text/plain; version=0.0.4");
+    }
+
+    Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+    statistics.put("pool", pool);
+    statistics.put("execution", execution);
+    statistics.put("waitHistogramMillis", waitHistogram);
+    statistics.put("statements", statements);
+
+    return ok(Json.toJson(statistics));
+  }
+
+
+  /**
+   * Report the wall time and statement count of each phase of startup.
+   *
+   * @return An HTTP OK message along with the startup phases and their total as JSON.
+   */
+  @Security.Authenticated(SecuredAdministrator.class)
+  public static Result startup() {
+    Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+    statistics.put("totalMillis", StartupPhases.getTotalMillis());
+    statistics.put("phases", StartupPhases.getPhases());
+
+    return ok(Json.toJson(statistics));
+  }
+
+
+  /**
+   * Report how many times each set notes rule ran and how long it took.
+   *
+   * @return An HTTP OK message along with the rule timings as JSON.
+   */
+  @Security.Authenticated(SecuredAdministrator.class)
+  public static Result setNotes() {
+    return ok(Json.toJson(RuleEngine.getStatistics()));
+  }
+
+
+  /**
+   * Report the size of the in-memory search indexes and how long routine searches and filters take.
+   *
+   * @return An HTTP OK message along with the search index statistics as JSON.
+   */
+  @Security.Authenticated(SecuredAdministrator.class)
+  public static Result search() {
+    Map<String, Map<String, Long>> statistics = new LinkedHashMap<String, Map<String, Long>>();
+    statistics.put("routineSearch", RoutineSearch.getStatistics());
+    statistics.put("similarRoutines", SimilarRoutines.getStatistics());
+    statistics.put("routineNames", RoutineNames.getStatistics());
+    statistics.put("routineFacets", RoutineFacets.getStatistics());
+    statistics.put("magicianSearch", MagicianSearch.getStatistics());
+
+    return ok(Json.toJson(statistics));
+  }
+
+
+  /**
+   * Append a metric in the Prometheus text format, with its TYPE line.
+   *
+   * @param text   The text so far.
+   * @param metric The statistic's name, the metric's name and the metric's type.
+   * @param labels The labels, like {datasource="default"}, or an empty string.
+   * @param value  The value of the statistic, or null to leave the metric out.
+   */
+  private static void appendMetric(StringBuilder text, String[] metric, String labels, Long value) {
+    if (value == null) {
+      return;
+    }
+
+    text.append("# TYPE ").append(metric[1]).append(' ').append(metric[2]).append('\n');
+    text.append(metric[1]).append(labels).append(' ');
+    if (metric[1].contains("_seconds")) {
+      text.append(value / 1000.0);
+    }
+    else {
+      text.append(value);
+    }
+    text.append('\n');
+  }
+
+}
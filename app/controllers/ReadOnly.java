@@ -0,0 +1,18 @@
+package controllers;
+
+import play.mvc.With;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a controller action as read-only, so its queries may be sent to the read replica (see
+ * services.db.DbRouting).  Only use this on actions that never write to the database.
+ */
+@With(ReadOnlyAction.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReadOnly {
+}
@@ -0,0 +1,21 @@
+package controllers;
+
+import play.libs.F;
+import play.mvc.Action;
+import play.mvc.Http;
+import play.mvc.Result;
+import services.db.DbRouting;
+
+/**
+ * The action behind the &#64;ReadOnly annotation.  It marks the request as read-only and then runs the action.
+ */
+public class ReadOnlyAction extends Action<ReadOnly> {
+
+  @Override
+  public F.Promise<Result> call(Http.Context ctx) throws Throwable {
+    DbRouting.markReadOnly(ctx);
+
+    return delegate.call(ctx);
+  }
+
+}
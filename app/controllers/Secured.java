@@ -1,10 +1,13 @@
 package controllers;
 
 import models.Magician;
+import play.Play;
 import play.mvc.Http.Context;
 import play.mvc.Result;
 import play.mvc.Security;
 
+import java.util.List;
+
 
 /**
  * Implement authorization for the system.
@@ -68,4 +71,18 @@ public class Secured extends Security.Authenticator {
   public static Magician getUserInfo(Context context) {
     return (isLoggedIn(context) ? Magician.getMagician(getUser(context)) : null);
   }
+
+  /**
+   * Check if the logged in user is an administrator.  Administrators are listed by email address in
+   * application.administrators in application.conf.
+   *
+   * @param context The context.
+   * @return True if the user is logged in and is an administrator.
+   */
+  public static boolean isAdministrator(Context context) {
+    String user = getUser(context);
+    List<String> administrators = Play.application().configuration().getStringList("application.administrators");
+
+    return user != null && administrators != null && administrators.contains(user);
+  }
 }
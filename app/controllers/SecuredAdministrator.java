@@ -0,0 +1,36 @@
+package controllers;
+
+import play.mvc.Http.Context;
+import play.mvc.Result;
+import play.mvc.Security;
+
+
+/**
+ * Restrict a page to administrators (see Secured.isAdministrator()).
+ *
+ * Use it like Secured:  @Security.Authenticated(SecuredAdministrator.class)
+ */
+public class SecuredAdministrator extends Security.Authenticator {
+
+  /**
+   * Used by the authentication annotation to determine if the user is an administrator.
+   *
+   * @param context The context.
+   * @return The email address of a logged in administrator, or null if the user isn't one.
+   */
+  @Override
+  public String getUsername(Context context) {
+    return Secured.isAdministrator(context) ? Secured.getUser(context) : null;
+  }
+
+  /**
+   * Administrator pages are not linked from anywhere, so simply refuse anyone else.
+   *
+   * @param context The context.
+   * @return HTTP Forbidden.
+   */
+  @Override
+  public Result onUnauthorized(Context context) {
+    return forbidden();
+  }
+}
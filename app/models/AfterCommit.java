@@ -0,0 +1,70 @@
+package models;
+
+import com.avaje.ebean.Transaction;
+import com.avaje.ebean.event.TransactionEventListenerAdapter;
+import play.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hold work back until the transaction that asked for it commits, and drop it if the transaction rolls back.
+ * <p>
+ * SearchIndexUpdater and AnalysisCacheInvalidator see each insert, update and delete while its transaction is still
+ * open.  If they changed the in-memory indexes and caches there, a rollback (say, an OptimisticLockException in
+ * Routine.saveRoutineFromForm()) would leave them describing data that was never committed.  So they queue their work
+ * on the transaction instead.  Ebean calls postTransactionCommit() on the thread that commits, so the work is done by
+ * the time commit returns and the next request sees it.  A BeanPersistListener also waits for the commit, but Ebean 3
+ * calls those in the background, so a Routine could be missing from the lists just after it was saved.
+ * <p>
+ * Ebean finds this class by scanning the models package (see ebean.default in application.conf).
+ */
+public class AfterCommit extends TransactionEventListenerAdapter {
+
+  private static final String QUEUE = AfterCommit.class.getName();
+
+
+  /**
+   * Run some work once a transaction commits.  Work queued on the same transaction runs in the order it was queued.
+   *
+   * @param transaction The transaction.
+   * @param work        The work.
+   */
+  @SuppressWarnings("unchecked")
+  public static void queue(Transaction transaction, Runnable work) {
+    List<Runnable> queue = (List<Runnable>) transaction.getUserObject(QUEUE);
+    if (queue == null) {
+      queue = new ArrayList<Runnable>();
+      transaction.putUserObject(QUEUE, queue);
+    }
+
+    queue.add(work);
+  }
+
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void postTransactionCommit(Transaction transaction) {
+    List<Runnable> queue = (List<Runnable>) transaction.getUserObject(QUEUE);
+    if (queue == null) {
+      return;
+    }
+
+    transaction.putUserObject(QUEUE, null);
+    for (Runnable work : queue) {
+      try {
+        work.run();
+      }
+      catch (RuntimeException e) {
+        Logger.error("Unable to run work after commit.  work = [" + work + "]", e);
+      }
+    }
+  }
+
+
+  @Override
+  public void postTransactionRollback(Transaction transaction, Throwable cause) {
+    transaction.putUserObject(QUEUE, null);
+  }
+
+}
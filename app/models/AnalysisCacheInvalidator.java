@@ -0,0 +1,82 @@
+package models;
+
+import com.avaje.ebean.event.BeanPersistAdapter;
+import com.avaje.ebean.event.BeanPersistRequest;
+import services.cache.AnalysisCache;
+
+/**
+ * Evict cached set notes analyses (see services.cache.AnalysisCache) when a Set, Routine or Material changes.
+ * <p>
+ * The analyses are evicted once the change commits (see AfterCommit).  Evicting any sooner would let a request that
+ * reads the old rows before the commit cache an analysis of them again, and it would stay cached until it expired.
+ * <p>
+ * Ebean finds this class by scanning the models package (see ebean.default in application.conf) and registers it
+ * for the entities it's interested in.
+ */
+public class AnalysisCacheInvalidator extends BeanPersistAdapter {
+
+  @Override
+  public boolean isRegisterFor(Class<?> cls) {
+    return Set.class.equals(cls) || Routine.class.equals(cls) || Material.class.equals(cls);
+  }
+
+
+  @Override
+  public void postInsert(BeanPersistRequest<?> request) {
+    evictAfterCommit(request);
+  }
+
+
+  @Override
+  public void postUpdate(BeanPersistRequest<?> request) {
+    evictAfterCommit(request);
+  }
+
+
+  @Override
+  public void postDelete(BeanPersistRequest<?> request) {
+    evictAfterCommit(request);
+  }
+
+
+  /**
+   * Evict the analyses that depend on an entity once its transaction commits.
+   *
+   * @param request The insert, update or delete of the Set, Routine or Material.
+   */
+  private void evictAfterCommit(BeanPersistRequest<?> request) {
+    final Object bean = request.getBean();
+
+    AfterCommit.queue(request.getTransaction(), new Runnable() {
+      @Override
+      public void run() {
+        evict(bean);
+      }
+    });
+  }
+
+
+  /**
+   * Evict the analyses that depend on an entity.
+   *
+   * @param bean The Set, Routine or Material that changed.
+   */
+  private void evict(Object bean) {
+    if (bean instanceof Set) {
+      AnalysisCache.evictSet(((Set) bean).getId());
+    }
+    else if (bean instanceof Routine) {
+      AnalysisCache.evictRoutine(((Routine) bean).getId());
+    }
+    else if (bean instanceof Material) {
+      Routine routine = ((Material) bean).getRoutine();
+      if (routine == null) {
+        AnalysisCache.clear();
+      }
+      else {
+        AnalysisCache.evictRoutine(routine.getId());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+package models;
+
+import com.avaje.ebean.SqlRow;
+import services.db.DbRouting;
+import services.db.StatementStatistics;
+
+/**
+ * Cheap version lookups for the entity pages.
+ *
+ * Each method runs a single SQL query that returns the version of an entity, a summary of the versions of the
+ * entities shown with it and the version of the Magician who is looking at the page.  Nothing else is loaded, so
+ * the controllers can decide whether a page has changed (and answer with a 304 Not Modified) before they do any
+ * real work.
+ *
+ * The result is an opaque string that changes whenever anything on the page changes.  It's null if the entity
+ * doesn't exist.
+ */
+public class EntityVersions {
+
+  // The version of the Magician who is viewing the page, or null for a guest.
+  private static final String VIEWER_VERSION =
+      "(select viewer.version from magician viewer where viewer.email = :viewer)";
+
+  private static final String ROUTINE_SQL = "select r.version as version, " + VIEWER_VERSION + " as viewer,"
+      + " count(m.id) as children, coalesce(sum(m.id), 0) as child_ids, coalesce(sum(m.version), 0) as child_versions"
+      + " from routine r left outer join material m on m.routine_id = r.id"
+      + " where r.id = :id"
+      + " group by r.version";
+
+  private static final String SET_SQL = "select s.version as version, " + VIEWER_VERSION + " as viewer,"
+      + " count(r.id) as children, coalesce(sum(r.id), 0) as child_ids, coalesce(sum(r.version), 0) as child_versions"
+      + " from set s left outer join set_routine sr on sr.set_id = s.id"
+      + " left outer join routine r on r.id = sr.routine_id"
+      + " where s.id = :id"
+      + " group by s.version";
+
+  private static final String MAGICIAN_SQL = "select m.version as version, " + VIEWER_VERSION + " as viewer"
+      + " from magician m"
+      + " where m.id = :id";
+
+  private static final String MATERIAL_SQL = "select m.version as version, " + VIEWER_VERSION + " as viewer"
+      + " from material m"
+      + " where m.id = :id";
+
+
+  /**
+   * Get the version of a Routine's page: the Routine and its Materials.
+   *
+   * @param id     The ID of the Routine.
+   * @param viewer The email of the Magician viewing the page, or null for a guest.
+   * @return The version of the page or null if the Routine doesn't exist.
+   */
+  public static String getRoutineVersion(long id, String viewer) {
+    return query("Routine", ROUTINE_SQL, id, viewer);
+  }
+
+
+  /**
+   * Get the version of a Set's page: the Set and its Routines.
+   *
+   * @param id     The ID of the Set.
+   * @param viewer The email of the Magician viewing the page, or null for a guest.
+   * @return The version of the page or null if the Set doesn't exist.
+   */
+  public static String getSetVersion(long id, String viewer) {
+    return query("Set", SET_SQL, id, viewer);
+  }
+
+
+  /**
+   * Get the version of a Magician's page.
+   *
+   * @param id     The ID of the Magician.
+   * @param viewer The email of the Magician viewing the page, or null for a guest.
+   * @return The version of the page or null if the Magician doesn't exist.
+   */
+  public static String getMagicianVersion(long id, String viewer) {
+    return query("Magician", MAGICIAN_SQL, id, viewer);
+  }
+
+
+  /**
+   * Get the version of a Material's page.
+   *
+   * @param id     The ID of the Material.
+   * @param viewer The email of the Magician viewing the page, or null for a guest.
+   * @return The version of the page or null if the Material doesn't exist.
+   */
+  public static String getMaterialVersion(long id, String viewer) {
+    return query("Material", MATERIAL_SQL, id, viewer);
+  }
+
+
+  /**
+   * Run a version query and flatten the row into a single string.
+   *
+   * @param entity The entity the query is for (for the statement statistics).
+   * @param sql    The version query.
+   * @param id     The ID of the entity.
+   * @param viewer The email of the Magician viewing the page, or null for a guest.
+   * @return The columns of the row joined with '.', or null if there is no row.
+   */
+  private static String query(String entity, String sql, long id, String viewer) {
+    StatementStatistics.count(entity + ".version");
+
+    SqlRow row = DbRouting.server().createSqlQuery(sql)
+        .setParameter("id", id)
+        .setParameter("viewer", (viewer == null) ? "" : viewer)
+        .findUnique();
+
+    if (row == null) {
+      return null;
+    }
+
+    StringBuilder version = new StringBuilder();
+    for (String column : row.keySet()) {
+      if (version.length() > 0) {
+        version.append('.');
+      }
+      version.append(row.get(column));
+    }
+
+    return version.toString();
+  }
+
+}
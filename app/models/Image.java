@@ -5,6 +5,7 @@ import javax.persistence.Id;
 import javax.persistence.Lob;
 
 import play.data.validation.Constraints;
+import services.db.DbRouting;
 
 import java.io.File;
 import java.io.InputStream;
@@ -39,7 +40,7 @@ public class Image extends play.db.ebean.Model {
    * @return The finder method.
    */
   public static Finder<Long, Image> find() {
-    return new Finder<Long, Image>(Long.class, Image.class);
+    return new Finder<Long, Image>(DbRouting.serverName(), Long.class, Image.class);
   }
 
   /**
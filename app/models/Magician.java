@@ -1,6 +1,8 @@
 package models;
 
+import com.avaje.ebean.annotation.UpdatedTimestamp;
 import org.mindrot.jbcrypt.BCrypt;
+import services.db.DbRouting;
 import views.formdata.EditMagicianFormData;
 import views.formdata.EditUserFormData;
 
@@ -12,7 +14,9 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.io.File;
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -97,6 +101,14 @@ public class Magician extends play.db.ebean.Model {
   @OneToOne
   private long imageId;
 
+  // The version of this magician.  Ebean increments it on every update.
+  @Version
+  private long version;
+
+  // When this magician was last inserted or updated.  Ebean sets it on every save.
+  @UpdatedTimestamp
+  private Timestamp updatedAt;
+
   /**
    * Create a magician with only the required fields.
    *
@@ -513,6 +525,43 @@ public class Magician extends play.db.ebean.Model {
     this.imageId = imageId;
   }
 
+  /**
+   * Get the version of this magician.  The version changes every time the magician is updated.
+   *
+   * @return The version of this magician.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of this magician.  This is managed by Ebean and should not normally be set by the application.
+   *
+   * @param version The version of this magician.
+   */
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Get the time this magician was last saved.
+   *
+   * @return The time this magician was last saved.
+   */
+  public Timestamp getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Set the time this magician was last saved.  This is managed by Ebean and should not normally be set by the
+   * application.
+   *
+   * @param updatedAt The time this magician was last saved.
+   */
+  public void setUpdatedAt(Timestamp updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
 
 
   /******************************************************************************************************************
@@ -525,7 +574,7 @@ public class Magician extends play.db.ebean.Model {
    * @return The finder method.
    */
   public static Finder<Long, Magician> find() {
-    return new Finder<Long, Magician>(Long.class, Magician.class);
+    return new Finder<Long, Magician>(DbRouting.serverName(), Long.class, Magician.class);
   }
 
 
@@ -1,5 +1,9 @@
 package models;
 
+import com.avaje.ebean.annotation.CacheStrategy;
+import services.db.DbRouting;
+import services.referenceData.ReferenceData;
+
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -9,8 +13,11 @@ import java.util.List;
 
 /**
  * Model for handling the different types of Magicians (Novice, Expert, Professional, etc.).
+ * <p>
+ * MagicianTypes are standing data, so they live in the second-level bean cache with name as the natural key.
  */
 @Entity
+@CacheStrategy(naturalKey = "name")
 public class MagicianType extends play.db.ebean.Model {
   @Id
   private long id;
@@ -40,7 +47,7 @@ public class MagicianType extends play.db.ebean.Model {
    * @return The finder method.
    */
   public static Finder<Long, MagicianType> find() {
-    return new Finder<Long, MagicianType>(Long.class, MagicianType.class);
+    return new Finder<Long, MagicianType>(DbRouting.serverName(), Long.class, MagicianType.class);
   }
 
 
@@ -61,7 +68,8 @@ public class MagicianType extends play.db.ebean.Model {
    * @return A MagicianType object from the database.
    */
   public static MagicianType getMagicianType(String magicianTypeName) {
-    MagicianType magicianType = MagicianType.find().where().eq("name", magicianTypeName).findUnique();
+    MagicianType magicianType = MagicianType.find().setUseCache(true).where().eq("name", magicianTypeName)
+        .findUnique();
 
     if (magicianType == null) {
       throw new RuntimeException("Can't find Magician Type = [" + magicianTypeName + "] in the database");
@@ -89,7 +97,7 @@ public class MagicianType extends play.db.ebean.Model {
 
 
   /**
-   * Initialize the MagicianType dataset.
+   * Initialize the MagicianType dataset and publish a new ReferenceData snapshot.
    */
   public static void init() {
     init(new MagicianType("Neophyte",
@@ -106,6 +114,8 @@ public class MagicianType extends play.db.ebean.Model {
         "Someone who studies the history and lore of magic, but does not perform as much.", 6));
     init(new MagicianType("Collector",
         "Someone who collects props, gaffs or other items related to magic.", 7));
+
+    ReferenceData.reload();
   }
 
   /**
@@ -1,6 +1,10 @@
 package models;
 
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.annotation.CacheStrategy;
+import com.avaje.ebean.annotation.UpdatedTimestamp;
 import play.Logger;
+import services.db.DbRouting;
 import views.formdata.MaterialFormData;
 
 import javax.persistence.Column;
@@ -8,6 +12,9 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.Version;
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -17,8 +24,11 @@ import java.util.List;
  * The logical unique constraint on this model is routine+name.
  * <p>
  * Material objects are 'owned' by Routines.
+ * <p>
+ * Materials are read with every Routine view, so they are held in the second-level bean cache.
  */
 @Entity
+@CacheStrategy
 public class Material extends play.db.ebean.Model {
   // A unique, synthetic key for the Material
   @Id
@@ -64,6 +74,14 @@ public class Material extends play.db.ebean.Model {
   @OneToOne
   private long imageId;
 
+  // The version of this material.  Ebean increments it on every update.
+  @Version
+  private long version;
+
+  // When this material was last inserted or updated.  Ebean sets it on every save.
+  @UpdatedTimestamp
+  private Timestamp updatedAt;
+
 
   /**
    * Create a new, valid FormMaterial object.
@@ -284,6 +302,43 @@ public class Material extends play.db.ebean.Model {
     this.imageId = imageId;
   }
 
+  /**
+   * Get the version of this material.  The version changes every time the material is updated.
+   *
+   * @return The version of this material.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of this material.  This is managed by Ebean and should not normally be set by the application.
+   *
+   * @param version The version of this material.
+   */
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Get the time this material was last saved.
+   *
+   * @return The time this material was last saved.
+   */
+  public Timestamp getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Set the time this material was last saved.  This is managed by Ebean and should not normally be set by the
+   * application.
+   *
+   * @param updatedAt The time this material was last saved.
+   */
+  public void setUpdatedAt(Timestamp updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
 
 
   /******************************************************************************************************************
@@ -296,7 +351,7 @@ public class Material extends play.db.ebean.Model {
    * @return The finder method.
    */
   public static Finder<Long, Material> find() {
-    return new Finder<Long, Material>(Long.class, Material.class);
+    return new Finder<Long, Material>(DbRouting.serverName(), Long.class, Material.class);
   }
 
   /**
@@ -328,50 +383,65 @@ public class Material extends play.db.ebean.Model {
 
   /**
    * Add or update a Material object to a Routine object saved in the Routines database.
+   * <p>
+   * The Material (and the removal of any Image it replaces) is saved in a single transaction.  The parent Routine is
+   * attached by reference, so it isn't loaded, and the saved Material is returned without reading it back.
    *
    * @param materialFormData Input data from an HTML form.
    * @return The Material object just saved to the database.
+   * @throws OptimisticLockException If someone else saved the Material after the form was rendered.
    */
   public static Material saveMaterialFromForm(MaterialFormData materialFormData) {
     Material material;
 
-    if (materialFormData.materialId == 0) {
-      material = new Material(Routine.getRoutine(materialFormData.routineId), materialFormData.name);
-    }
-    else {
-      material = Material.getMaterial(materialFormData.materialId);
-      material.setRoutine(Routine.getRoutine(materialFormData.routineId));
-      material.setName(materialFormData.name);
-    }
+    Ebean.beginTransaction();
+    try {
+      if (materialFormData.materialId == 0) {
+        material = new Material(Routine.find().ref(materialFormData.routineId), materialFormData.name);
+      }
+      else {
+        material = Material.getMaterial(materialFormData.materialId);
+        if (material.getVersion() != materialFormData.version) {
+          throw new OptimisticLockException("Material [" + material.getId() + "] is at version ["
+              + material.getVersion() + "] but the form was for version [" + materialFormData.version + "]");
+        }
 
-    material.setDescription(materialFormData.description);
-    material.setIsInspectable(materialFormData.isInspectable);
-    material.setIsGivenAway(materialFormData.isGivenAway);
-    material.setIsConsumed(materialFormData.isConsumed);
-    material.setPrice(materialFormData.price);
-    material.setPurchaseUrl(materialFormData.purchaseUrl);
-    material.setImageUrl(materialFormData.imageUrl);
-
-    long currentImageId = material.getImageId();
-    if (materialFormData.imageId > 0) {
-      if (materialFormData.imageId != currentImageId) {
-        Image thisImage = Image.find().byId(currentImageId);
-        if (thisImage != null) {
-          thisImage.delete();
+        if (material.getRoutine() == null || material.getRoutine().getId() != materialFormData.routineId) {
+          material.setRoutine(Routine.find().ref(materialFormData.routineId));
         }
+        material.setName(materialFormData.name);
+      }
+
+      material.setDescription(materialFormData.description);
+      material.setIsInspectable(materialFormData.isInspectable);
+      material.setIsGivenAway(materialFormData.isGivenAway);
+      material.setIsConsumed(materialFormData.isConsumed);
+      material.setPrice(materialFormData.price);
+      material.setPurchaseUrl(materialFormData.purchaseUrl);
+      material.setImageUrl(materialFormData.imageUrl);
+
+      long currentImageId = material.getImageId();
+      if (materialFormData.imageId > 0) {
+        if (materialFormData.imageId != currentImageId && currentImageId > 0) {
+          // Delete by ID... there's no need to load the image just to delete it.
+          Ebean.delete(Image.class, currentImageId);
+        }
+        material.setImageId(materialFormData.imageId);
       }
-      material.setImageId(materialFormData.imageId);
-    }
 
-//    if (materialFormData.materialId == 0) {
-//      Routine.getMaterials(materialFormData.routineId).add(material);
-//    }
-//    else {
-//      Routine.getMaterials(materialFormData.routineId).set(materialFormData.materialId, material);
-//    }
+//      if (materialFormData.materialId == 0) {
+//        Routine.getMaterials(materialFormData.routineId).add(material);
+//      }
+//      else {
+//        Routine.getMaterials(materialFormData.routineId).set(materialFormData.materialId, material);
+//      }
 
-    material.save();
-    material = Material.find().byId(material.getId());
+      material.save();
+      Ebean.commitTransaction();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
 
     Logger.debug(((materialFormData.materialId == 0) ? "  Add" : "  Update") + " material:"
         + "   id = [" + material.getId() + "]  name = [" + material.getName() + "]");
@@ -1,7 +1,11 @@
 package models;
 
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.annotation.CacheStrategy;
+import com.avaje.ebean.annotation.UpdatedTimestamp;
 import play.Logger;
 import play.mvc.Http.Context;
+import services.db.DbRouting;
 import views.formdata.RoutineFormData;
 
 import javax.persistence.CascadeType;
@@ -11,6 +15,9 @@ import javax.persistence.Id;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.Version;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,8 +30,12 @@ import java.util.List;
  * The logical unique constraint on this model is name.
  *
  * Routines are like Wikis... many people contribute - nobody owns them.  Magicians will own a rendition of a routine.
+ *
+ * Routines change rarely and are read constantly, so they are held in the second-level bean cache (keyed by id and
+ * by the natural key, name).  Ebean invalidates the cache whenever a Routine is saved or deleted.
  */
 @Entity
+@CacheStrategy(naturalKey = "name")
 public class Routine extends play.db.ebean.Model {
   // A unique, synthetic key to the Routine
   @Id
@@ -93,6 +104,14 @@ public class Routine extends play.db.ebean.Model {
   @OneToOne
   private long imageId;
 
+  // The version of this routine.  Ebean increments it on every update.
+  @Version
+  private long version;
+
+  // When this routine was last inserted or updated.  Ebean sets it on every save.
+  @UpdatedTimestamp
+  private Timestamp updatedAt;
+
   /**
    * Create new, valid Routine object.
    * <p>
@@ -406,6 +425,43 @@ public class Routine extends play.db.ebean.Model {
     this.imageId = imageId;
   }
 
+  /**
+   * Get the version of this routine.  The version changes every time the routine is updated.
+   *
+   * @return The version of this routine.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of this routine.  This is managed by Ebean and should not normally be set by the application.
+   *
+   * @param version The version of this routine.
+   */
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Get the time this routine was last saved.
+   *
+   * @return The time this routine was last saved.
+   */
+  public Timestamp getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Set the time this routine was last saved.  This is managed by Ebean and should not normally be set by the
+   * application.
+   *
+   * @param updatedAt The time this routine was last saved.
+   */
+  public void setUpdatedAt(Timestamp updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
 
   /******************************************************************************************************************
    * O B J E C T   M E T H O D S
@@ -439,7 +495,7 @@ public class Routine extends play.db.ebean.Model {
    * @return The finder method.
    */
   public static Finder<Long, Routine> find() {
-    return new Finder<Long, Routine>(Long.class, Routine.class);
+    return new Finder<Long, Routine>(DbRouting.serverName(), Long.class, Routine.class);
   }
 
 
@@ -453,6 +509,17 @@ public class Routine extends play.db.ebean.Model {
   }
 
 
+  /**
+   * Get all of the Routines in the database along with their Materials, in one query.  Use this when you need every
+   * Routine's cost.
+   *
+   * @return All of the Routines in the database, with their Materials loaded.
+   */
+  public static List<Routine> getAllRoutinesWithMaterials() {
+    return Routine.find().fetch("materials").findList();
+  }
+
+
   /**
    * Get the active Routines in the database.
    *
@@ -462,14 +529,14 @@ public class Routine extends play.db.ebean.Model {
     Context context = Context.current();
 
     if (context == null) {  // If unauthenticated...
-      return Routine.find().all();  // TO-DO: Only display the active routines
+      return Routine.find().setUseQueryCache(true).findList();  // TO-DO: Only display the active routines
     }
 
     if ("context" == "Administrator") {
-      return Routine.find().all();  // Display all routines
+      return Routine.find().setUseQueryCache(true).findList();  // Display all routines
     }
 
-    return Routine.find().all();  // TO-DO: Only display the active routines
+    return Routine.find().setUseQueryCache(true).findList();  // TO-DO: Only display the active routines
   }
 
 
@@ -498,7 +565,7 @@ public class Routine extends play.db.ebean.Model {
    * @throws RuntimeException If the name can't be found.
    */
   public static Routine getRoutine(String name) {
-    Routine routine = Routine.find().where().eq("name", name).findUnique();
+    Routine routine = Routine.find().setUseCache(true).where().eq("name", name).findUnique();
     if (routine == null) {
       throw new RuntimeException("Unable to find Routine with name = [" + name + "]");
     }
@@ -521,52 +588,64 @@ public class Routine extends play.db.ebean.Model {
 
   /**
    * Add a Routine, based on RoutineFormData, to the database.
+   * <p>
+   * The Routine (and the removal of any Image it replaces) is saved in a single transaction.  The saved Routine is
+   * returned as-is; Ebean has already set its ID and version, so there's no need to read it back.
    *
    * @param routineFormData Input data from the form.
    * @return The Routine that was just added to the database.
+   * @throws OptimisticLockException If someone else saved the Routine after the form was rendered.
    */
   public static Routine saveRoutineFromForm(RoutineFormData routineFormData) {
     Routine routine;
 
-    if (routineFormData.id == 0) {
-      routine = new Routine(
-          routineFormData.name,
-          routineFormData.description,
-          routineFormData.duration
-      );
-    }
-    else {
-      routine = Routine.getRoutine(routineFormData.id);
+    Ebean.beginTransaction();
+    try {
+      if (routineFormData.id == 0) {
+        routine = new Routine(
+            routineFormData.name,
+            routineFormData.description,
+            routineFormData.duration
+        );
+      }
+      else {
+        routine = Routine.getRoutine(routineFormData.id);
+        if (routine.getVersion() != routineFormData.version) {
+          throw new OptimisticLockException("Routine [" + routine.getId() + "] is at version [" + routine.getVersion()
+              + "] but the form was for version [" + routineFormData.version + "]");
+        }
 
-      routine.setName(routineFormData.name);
-      routine.setDescription(routineFormData.description);
-      routine.setDuration(routineFormData.duration);
-    }
+        routine.setName(routineFormData.name);
+        routine.setDescription(routineFormData.description);
+        routine.setDuration(routineFormData.duration);
+      }
 
-    routine.setMethod(routineFormData.method);
-    routine.setHandling(routineFormData.handling);
-    routine.setResetDuration(routineFormData.resetDuration);
-    routine.setResetDescription(routineFormData.resetDescription);
-    routine.setYouTubeUrl(routineFormData.youTubeUrl);
-    routine.setImageUrl(routineFormData.imageUrl);
-    routine.setReviewUrl(routineFormData.reviewUrl);
-    routine.setInspiration(routineFormData.inspiration);
-    routine.setPlacement(routineFormData.placement);
-    routine.setChoices(routineFormData.choices);
-
-    long currentImageId = routine.getImageId();
-    if (routineFormData.imageId > 0) {
-      if (routineFormData.imageId != currentImageId) {
-        Image thisImage = Image.find().byId(currentImageId);
-        if (thisImage != null) {
-          thisImage.delete();
+      routine.setMethod(routineFormData.method);
+      routine.setHandling(routineFormData.handling);
+      routine.setResetDuration(routineFormData.resetDuration);
+      routine.setResetDescription(routineFormData.resetDescription);
+      routine.setYouTubeUrl(routineFormData.youTubeUrl);
+      routine.setImageUrl(routineFormData.imageUrl);
+      routine.setReviewUrl(routineFormData.reviewUrl);
+      routine.setInspiration(routineFormData.inspiration);
+      routine.setPlacement(routineFormData.placement);
+      routine.setChoices(routineFormData.choices);
+
+      long currentImageId = routine.getImageId();
+      if (routineFormData.imageId > 0) {
+        if (routineFormData.imageId != currentImageId && currentImageId > 0) {
+          // Delete by ID... there's no need to load the image just to delete it.
+          Ebean.delete(Image.class, currentImageId);
         }
+        routine.setImageId(routineFormData.imageId);
       }
-      routine.setImageId(routineFormData.imageId);
-    }
 
-    routine.save();
-    routine = Routine.getRoutine(routine.getId());
+      routine.save();
+      Ebean.commitTransaction();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
 
     Logger.debug(((routineFormData.id == 0) ? "Add" : "Update") + " routine.  id = [" + routine.getId() + "]"
         + "  name = [" + routine.getName() + "]");
@@ -621,6 +700,24 @@ public class Routine extends play.db.ebean.Model {
   }
 
 
+  /**
+   * Take a list of IDs and return a list of references to those Routines.  A reference holds only the ID and does not
+   * hit the database, which is all that's needed to link Routines to another entity (like a Set).
+   *
+   * @param listOfIds A list of Long ID numbers.
+   * @return A list of Routine references.
+   */
+  public static List<Routine> getReferences(List<Long> listOfIds) {
+    List<Routine> listOfRoutines = new ArrayList<Routine>();
+
+    for (Long id : listOfIds) {
+      listOfRoutines.add(Routine.find().ref(id));
+    }
+
+    return listOfRoutines;
+  }
+
+
   /**
    * Take a list of IDs and return a list of Routines.
    *
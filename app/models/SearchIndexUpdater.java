@@ -0,0 +1,84 @@
+package models;
+
+import com.avaje.ebean.event.BeanPersistAdapter;
+import com.avaje.ebean.event.BeanPersistRequest;
+import services.search.MagicianSearch;
+import services.search.RoutineCatalog;
+
+/**
+ * Keep the in-memory search indexes (see services.search.RoutineCatalog and services.search.MagicianSearch) current
+ * as Routines, Materials and Magicians change.  This covers Routine.saveRoutineFromForm(), Routine.deleteRoutine(),
+ * Material.saveMaterialFromForm(), the Magician saves and every other save, including seeding.
+ * <p>
+ * Each change is queued on its transaction (see AfterCommit) and only reaches the indexes once the transaction
+ * commits, so a save that's rolled back leaves them as they were.
+ * <p>
+ * Ebean finds this class by scanning the models package (see ebean.default in application.conf) and registers it
+ * for the entities it's interested in.
+ */
+public class SearchIndexUpdater extends BeanPersistAdapter {
+
+  @Override
+  public boolean isRegisterFor(Class<?> cls) {
+    return Routine.class.equals(cls) || Material.class.equals(cls) || Magician.class.equals(cls);
+  }
+
+
+  @Override
+  public void postInsert(BeanPersistRequest<?> request) {
+    saved(request);
+  }
+
+
+  @Override
+  public void postUpdate(BeanPersistRequest<?> request) {
+    saved(request);
+  }
+
+
+  @Override
+  public void postDelete(BeanPersistRequest<?> request) {
+    final Object bean = request.getBean();
+
+    AfterCommit.queue(request.getTransaction(), new Runnable() {
+      @Override
+      public void run() {
+        if (bean instanceof Routine) {
+          RoutineCatalog.routineDeleted(((Routine) bean).getId());
+        }
+        else if (bean instanceof Material) {
+          RoutineCatalog.materialDeleted(((Material) bean).getId());
+        }
+        else if (bean instanceof Magician) {
+          MagicianSearch.magicianDeleted(((Magician) bean).getId());
+        }
+      }
+    });
+  }
+
+
+  /**
+   * Tell the indexes about a Routine, Material or Magician that was inserted or updated, once it's committed.
+   *
+   * @param request The insert or update of the Routine, Material or Magician.
+   */
+  private void saved(BeanPersistRequest<?> request) {
+    final Object bean = request.getBean();
+
+    AfterCommit.queue(request.getTransaction(), new Runnable() {
+      @Override
+      public void run() {
+        if (bean instanceof Routine) {
+          RoutineCatalog.routineSaved((Routine) bean);
+        }
+        else if (bean instanceof Material) {
+          RoutineCatalog.materialSaved((Material) bean);
+        }
+        else if (bean instanceof Magician) {
+          MagicianSearch.magicianSaved((Magician) bean);
+        }
+      }
+    });
+  }
+
+}
@@ -0,0 +1,143 @@
+package models;
+
+import services.db.DbRouting;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.sql.Timestamp;
+
+/**
+ * Record which seed data has been loaded into the database.
+ * <p>
+ * There is one row for each kind of seed data.  The checksum identifies the seed data that was loaded, so startup
+ * can skip seeding when nothing has changed (see services.seed.SeedLoader).
+ */
+@Entity
+public class SeedMetadata extends play.db.ebean.Model {
+  private static final long serialVersionUID = 1L;
+
+  /** The name of the seed data (for example, "default"). */
+  @Id
+  private String name;
+
+  /** The checksum of the seed data that was loaded. */
+  private String checksum;
+
+  /** When the seed data was loaded. */
+  private Timestamp seededAt;
+
+  /**
+   * Create a new SeedMetadata record.
+   *
+   * @param name     The name of the seed data.
+   * @param checksum The checksum of the seed data that was loaded.
+   */
+  public SeedMetadata(String name, String checksum) {
+    this.name = name;
+    this.checksum = checksum;
+    this.seededAt = new Timestamp(System.currentTimeMillis());
+  }
+
+
+  /**
+   * The EBean ORM finder method for database queries.  Seeding runs outside of any request, so this always reads the
+   * primary database.
+   *
+   * @return The finder method.
+   */
+  public static Finder<String, SeedMetadata> find() {
+    return new Finder<String, SeedMetadata>(DbRouting.PRIMARY, String.class, SeedMetadata.class);
+  }
+
+
+  /**
+   * Get the checksum of the seed data that was last loaded.
+   *
+   * @param name The name of the seed data.
+   * @return The checksum or null if the seed data has never been loaded.
+   */
+  public static String getChecksum(String name) {
+    SeedMetadata seedMetadata = SeedMetadata.find().byId(name);
+    return (seedMetadata == null) ? null : seedMetadata.getChecksum();
+  }
+
+
+  /**
+   * Record that seed data was loaded.
+   *
+   * @param name     The name of the seed data.
+   * @param checksum The checksum of the seed data that was loaded.
+   */
+  public static void recordChecksum(String name, String checksum) {
+    SeedMetadata seedMetadata = SeedMetadata.find().byId(name);
+
+    if (seedMetadata == null) {
+      new SeedMetadata(name, checksum).save();
+    }
+    else {
+      seedMetadata.setChecksum(checksum);
+      seedMetadata.setSeededAt(new Timestamp(System.currentTimeMillis()));
+      seedMetadata.update();
+    }
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S   &   S E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get the name of the seed data.
+   *
+   * @return The name of the seed data.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Set the name of the seed data.
+   *
+   * @param name The name of the seed data.
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Get the checksum of the seed data that was loaded.
+   *
+   * @return The checksum of the seed data.
+   */
+  public String getChecksum() {
+    return checksum;
+  }
+
+  /**
+   * Set the checksum of the seed data that was loaded.
+   *
+   * @param checksum The checksum of the seed data.
+   */
+  public void setChecksum(String checksum) {
+    this.checksum = checksum;
+  }
+
+  /**
+   * Get when the seed data was loaded.
+   *
+   * @return When the seed data was loaded.
+   */
+  public Timestamp getSeededAt() {
+    return seededAt;
+  }
+
+  /**
+   * Set when the seed data was loaded.
+   *
+   * @param seededAt When the seed data was loaded.
+   */
+  public void setSeededAt(Timestamp seededAt) {
+    this.seededAt = seededAt;
+  }
+
+}
@@ -1,7 +1,10 @@
 package models;
 
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.annotation.UpdatedTimestamp;
 import controllers.Secured;
 import play.Logger;
+import services.db.DbRouting;
 import views.formdata.SetFormData;
 
 import javax.persistence.CascadeType;
@@ -10,8 +13,11 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import play.mvc.Http.Context;
@@ -46,6 +52,14 @@ public class Set extends play.db.ebean.Model {
   @ManyToMany(cascade = CascadeType.REMOVE)
   private List<Routine> routines;
 
+  // The version of this set.  Ebean increments it on every update.
+  @Version
+  private long version;
+
+  // When this set was last inserted or updated.  Ebean sets it on every save.
+  @UpdatedTimestamp
+  private Timestamp updatedAt;
+
 
   /**
    * Create a valid Set object.
@@ -160,6 +174,43 @@ public class Set extends play.db.ebean.Model {
     this.routines = routines;
   }
 
+  /**
+   * Get the version of this set.  The version changes every time the set is updated.
+   *
+   * @return The version of this set.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Set the version of this set.  This is managed by Ebean and should not normally be set by the application.
+   *
+   * @param version The version of this set.
+   */
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Get the time this set was last saved.
+   *
+   * @return The time this set was last saved.
+   */
+  public Timestamp getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Set the time this set was last saved.  This is managed by Ebean and should not normally be set by the
+   * application.
+   *
+   * @param updatedAt The time this set was last saved.
+   */
+  public void setUpdatedAt(Timestamp updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
   /******************************************************************************************************************
    * O B J E C T   M E T H O D S
    ******************************************************************************************************************/
@@ -242,7 +293,7 @@ public class Set extends play.db.ebean.Model {
    * @return The finder method.
    */
   public static Finder<Long, Set> find() {
-    return new Finder<Long, Set>(Long.class, Set.class);
+    return new Finder<Long, Set>(DbRouting.serverName(), Long.class, Set.class);
   }
 
 
@@ -286,30 +337,68 @@ public class Set extends play.db.ebean.Model {
   }
 
 
+  /**
+   * Retrieve a Set along with its Routines and their Materials.  Ebean loads the second collection with a follow-up
+   * query, so this takes two queries however many Routines the Set has.  Use this when you need the Set's duration
+   * and cost, so each Routine's Materials aren't loaded separately.
+   *
+   * @param id The ID of the Set to retrieve.
+   * @return The retrieved Set object, with its Routines and their Materials loaded.
+   * @throws RuntimeException if the ID can't be found.
+   */
+  public static Set getSetWithRoutines(long id) {
+    Set set = Set.find().fetch("routines").fetch("routines.materials").where().idEq(id).findUnique();
+    if (set == null) {
+      throw new RuntimeException("Unable to find Set with ID [" + id + "]");
+    }
+
+    return set;
+  }
+
+
   /**
    * Create/save a new Set from SetFormData.
+   * <p>
+   * The Set and its links to its Routines are saved in a single transaction.  The Routines are linked by reference,
+   * so they aren't loaded, and the saved Set is returned without reading it back.
    *
    * @param magician The magician who owns this set.
    * @param setFormData Input data from the submitted form.
    * @return The set that was just saved.
+   * @throws OptimisticLockException If someone else saved the Set after the form was rendered.
    */
   public static Set createSetFromForm(Magician magician, SetFormData setFormData) {
     Set set;
 
-    if (setFormData.id == 0) {
-      set = new Set(magician, setFormData.name, setFormData.description, Routine.getRoutines(setFormData.routines));
+    Ebean.beginTransaction();
+    try {
+      if (setFormData.id == 0) {
+        set = new Set(magician, setFormData.name, setFormData.description,
+            Routine.getReferences(setFormData.routines));
+      }
+      else {
+        // TO-DO: Right now anybody can modify someone else's set
+        set = Set.find().byId(setFormData.id);
+        if (set.getVersion() != setFormData.version) {
+          throw new OptimisticLockException("Set [" + set.getId() + "] is at version [" + set.getVersion()
+              + "] but the form was for version [" + setFormData.version + "]");
+        }
+
+        set.setName(setFormData.name);
+        set.setDescription(setFormData.description);
+        set.setRoutines(Routine.getReferences(setFormData.routines));
+
+        // Changing only the Routines doesn't update the set's own row, so touch it to move the version on.
+        set.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+      }
+
+      set.save();
+      Ebean.commitTransaction();
     }
-    else {
-      // TO-DO: Right now anybody can modify someone else's set
-      set = Set.find().byId(setFormData.id);
-      set.setName(setFormData.name);
-      set.setDescription(setFormData.description);
-      set.setRoutines(Routine.getRoutines(setFormData.routines));
+    finally {
+      Ebean.endTransaction();
     }
 
-    set.save();
-    set = Set.getSet(set.id);
-
     Logger.debug(((setFormData.id == 0) ? "Add" : "Update") + " set.  id = [" + set.getId() + "]"
         + "  name = [" + set.getName() + "]");
 
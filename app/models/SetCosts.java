@@ -0,0 +1,84 @@
+package models;
+
+import com.avaje.ebean.SqlQuery;
+import com.avaje.ebean.SqlRow;
+import services.db.DbRouting;
+import services.db.StatementStatistics;
+import services.projection.CostProjection;
+
+import java.util.List;
+
+/**
+ * Load the per-show costs of many Sets for services.projection.CostProjection in a single query.
+ * <p>
+ * The Materials are totalled per Routine in a subquery, so a Routine's reset duration is counted once no matter how
+ * many Materials it has.
+ */
+public class SetCosts {
+
+  private static final String SQL = "select s.id as set_id, s.name as set_name,"
+      + " coalesce(sum(rc.initial_cost), 0) as initial_cost,"
+      + " coalesce(sum(rc.restock_cost), 0) as restock_cost,"
+      + " coalesce(sum(r.reset_duration), 0) as reset_minutes"
+      + " from set s left outer join set_routine sr on sr.set_id = s.id"
+      + " left outer join routine r on r.id = sr.routine_id"
+      + " left outer join (select m.routine_id as routine_id, sum(coalesce(m.price, 0)) as initial_cost,"
+      + " sum(case when m.is_consumed or m.is_given_away then coalesce(m.price, 0) else 0 end) as restock_cost"
+      + " from material m group by m.routine_id) rc on rc.routine_id = r.id";
+
+  private static final String GROUP_BY = " group by s.id, s.name order by s.id";
+
+
+  /**
+   * Load the costs of one Magician's Sets.
+   *
+   * @param magicianId The ID of the Magician.
+   * @return The Magician's Sets, in ID order.
+   */
+  public static CostProjection getCostProjection(long magicianId) {
+    SqlQuery query = DbRouting.server().createSqlQuery(SQL + " where s.magician_id = :magician" + GROUP_BY)
+        .setParameter("magician", magicianId);
+
+    return build(query);
+  }
+
+
+  /**
+   * Load the costs of every Set.
+   *
+   * @return Every Set, in ID order.
+   */
+  public static CostProjection getAllCostProjection() {
+    return build(DbRouting.server().createSqlQuery(SQL + GROUP_BY));
+  }
+
+
+  /**
+   * Run the query and copy the rows into columns.
+   *
+   * @param query The query.
+   * @return The columns.
+   */
+  private static CostProjection build(SqlQuery query) {
+    StatementStatistics.count("Set.costs");
+
+    List<SqlRow> rows = query.findList();
+    long[] setIds = new long[rows.size()];
+    String[] setNames = new String[rows.size()];
+    int[] initialCost = new int[rows.size()];
+    int[] restockCost = new int[rows.size()];
+    int[] resetMinutes = new int[rows.size()];
+
+    for (int i = 0; i < rows.size(); i++) {
+      SqlRow row = rows.get(i);
+      setIds[i] = row.getLong("set_id");
+      setNames[i] = row.getString("set_name");
+      initialCost[i] = row.getInteger("initial_cost");
+      restockCost[i] = row.getInteger("restock_cost");
+      resetMinutes[i] = row.getInteger("reset_minutes");
+    }
+
+    return new CostProjection(setIds, setNames, initialCost, restockCost, resetMinutes);
+  }
+
+}
@@ -0,0 +1,108 @@
+package models;
+
+import com.avaje.ebean.SqlQuery;
+import com.avaje.ebean.SqlRow;
+import services.db.DbRouting;
+import services.db.StatementStatistics;
+import services.setNotes.SetSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load the summaries of many Sets for set notes in a single query.
+ * <p>
+ * Loading the Sets through Ebean would load each Set's Routines and each Routine's Materials separately.  This runs
+ * one aggregate query that returns a row per Set and Routine with the Routine's total cost, and builds a SetSummary
+ * per Set from the rows.
+ */
+public class SetSummaries {
+
+  private static final String SQL = "select s.id as set_id, s.name as set_name,"
+      + " r.id as routine_id, r.name as routine_name, r.duration as duration, coalesce(sum(m.price), 0) as cost"
+      + " from set s left outer join set_routine sr on sr.set_id = s.id"
+      + " left outer join routine r on r.id = sr.routine_id"
+      + " left outer join material m on m.routine_id = r.id";
+
+  private static final String GROUP_BY = " group by s.id, s.name, r.id, r.name, r.duration"
+      + " order by s.id, r.id";
+
+
+  /**
+   * Load the summaries of one Magician's Sets.
+   *
+   * @param magicianId       The ID of the Magician.
+   * @param expectedDuration The target duration for every Set, or null if there isn't one.
+   * @param expectedCost     The target cost for every Set, or null if there isn't one.
+   * @return A summary of each of the Magician's Sets.
+   */
+  public static List<SetSummary> getSetSummaries(long magicianId, Integer expectedDuration, Integer expectedCost) {
+    SqlQuery query = DbRouting.server().createSqlQuery(SQL + " where s.magician_id = :magician" + GROUP_BY)
+        .setParameter("magician", magicianId);
+
+    return build(query, expectedDuration, expectedCost);
+  }
+
+
+  /**
+   * Load the summaries of every Set.
+   *
+   * @param expectedDuration The target duration for every Set, or null if there isn't one.
+   * @param expectedCost     The target cost for every Set, or null if there isn't one.
+   * @return A summary of every Set.
+   */
+  public static List<SetSummary> getAllSetSummaries(Integer expectedDuration, Integer expectedCost) {
+    return build(DbRouting.server().createSqlQuery(SQL + GROUP_BY), expectedDuration, expectedCost);
+  }
+
+
+  /**
+   * Run the query and build a SetSummary from each Set's rows.
+   *
+   * @param query            The query.
+   * @param expectedDuration The target duration for every Set, or null if there isn't one.
+   * @param expectedCost     The target cost for every Set, or null if there isn't one.
+   * @return A summary of each Set, in ID order.
+   */
+  private static List<SetSummary> build(SqlQuery query, Integer expectedDuration, Integer expectedCost) {
+    StatementStatistics.count("Set.summary");
+
+    List<SetSummary> summaries = new ArrayList<SetSummary>();
+
+    long setId = -1;
+    String setName = null;
+    List<String> routineNames = new ArrayList<String>();
+    List<Integer> routineDurations = new ArrayList<Integer>();
+    List<Integer> routineCosts = new ArrayList<Integer>();
+
+    for (SqlRow row : query.findList()) {
+      if (row.getLong("set_id") != setId) {
+        if (setId != -1) {
+          summaries.add(new SetSummary(setId, setName, routineNames, routineDurations, routineCosts,
+              expectedDuration, expectedCost));
+        }
+
+        setId = row.getLong("set_id");
+        setName = row.getString("set_name");
+        routineNames.clear();
+        routineDurations.clear();
+        routineCosts.clear();
+      }
+
+      // A Set without Routines has a single row with no Routine.
+      if (row.get("routine_id") != null) {
+        routineNames.add(row.getString("routine_name"));
+        routineDurations.add(row.getInteger("duration"));
+        routineCosts.add(row.getInteger("cost"));
+      }
+    }
+
+    if (setId != -1) {
+      summaries.add(new SetSummary(setId, setName, routineNames, routineDurations, routineCosts,
+          expectedDuration, expectedCost));
+    }
+
+    return summaries;
+  }
+
+}
@@ -0,0 +1,55 @@
+package models;
+
+import com.avaje.ebean.event.BeanPersistAdapter;
+import com.avaje.ebean.event.BeanPersistRequest;
+import com.avaje.ebean.event.BeanQueryAdapter;
+import com.avaje.ebean.event.BeanQueryRequest;
+import services.db.StatementStatistics;
+
+/**
+ * Count every Ebean query, insert, update and delete on the models in services.db.StatementStatistics.
+ * <p>
+ * Ebean finds this class by scanning the models package (see ebean.default in application.conf) and registers it
+ * for every entity.  It never vetoes anything.
+ */
+public class StatementCounter extends BeanPersistAdapter implements BeanQueryAdapter {
+
+  @Override
+  public boolean isRegisterFor(Class<?> cls) {
+    return true;
+  }
+
+
+  @Override
+  public int getExecutionOrder() {
+    return 0;
+  }
+
+
+  @Override
+  public void preQuery(BeanQueryRequest<?> request) {
+    StatementStatistics.count(request.getQuery().getBeanType().getSimpleName() + ".query");
+  }
+
+
+  @Override
+  public boolean preInsert(BeanPersistRequest<?> request) {
+    StatementStatistics.count(request.getBean().getClass().getSimpleName() + ".insert");
+    return true;
+  }
+
+
+  @Override
+  public boolean preUpdate(BeanPersistRequest<?> request) {
+    StatementStatistics.count(request.getBean().getClass().getSimpleName() + ".update");
+    return true;
+  }
+
+
+  @Override
+  public boolean preDelete(BeanPersistRequest<?> request) {
+    StatementStatistics.count(request.getBean().getClass().getSimpleName() + ".delete");
+    return true;
+  }
+
+}
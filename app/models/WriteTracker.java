@@ -0,0 +1,51 @@
+package models;
+
+import com.avaje.ebean.event.BeanPersistAdapter;
+import com.avaje.ebean.event.BeanPersistRequest;
+import services.db.DbRouting;
+
+/**
+ * Tell services.db.DbRouting about every insert, update and delete, so it can keep the writer's reads on the
+ * primary database and drop the replica's stale cache entries for the bean.
+ * <p>
+ * Ebean finds this class by scanning the models package (see ebean.default in application.conf) and registers it
+ * for every entity.
+ */
+public class WriteTracker extends BeanPersistAdapter {
+
+  @Override
+  public boolean isRegisterFor(Class<?> cls) {
+    return true;
+  }
+
+
+  @Override
+  public void postInsert(BeanPersistRequest<?> request) {
+    recordWrite(request);
+  }
+
+
+  @Override
+  public void postUpdate(BeanPersistRequest<?> request) {
+    recordWrite(request);
+  }
+
+
+  @Override
+  public void postDelete(BeanPersistRequest<?> request) {
+    recordWrite(request);
+  }
+
+
+  /**
+   * Tell DbRouting which bean was written.
+   *
+   * @param request The insert, update or delete.
+   */
+  private void recordWrite(BeanPersistRequest<?> request) {
+    Object bean = request.getBean();
+
+    DbRouting.recordWrite(bean.getClass(), request.getEbeanServer().getBeanId(bean));
+  }
+
+}
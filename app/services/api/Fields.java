@@ -0,0 +1,99 @@
+package services.api;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * The fields a client asked for, so the API only writes those.  Immutable.
+ * <p>
+ * The selection is a comma-separated list like "name,duration,materials.price".  A name with a dot selects a field of
+ * a nested object (and the nested object itself).  An empty selection selects every field.  The ID of an object is
+ * always written.
+ */
+public class Fields {
+
+  /** Every field. */
+  public static final Fields ALL = new Fields(Collections.<String>emptySet());
+
+  private final java.util.Set<String> names;
+
+
+  /**
+   * Create a selection.
+   *
+   * @param names The selected names, or an empty set for every field.
+   */
+  private Fields(java.util.Set<String> names) {
+    this.names = Collections.unmodifiableSet(names);
+  }
+
+
+  /**
+   * Parse a selection.
+   *
+   * @param fields A comma-separated list of field names, or null or empty for every field.
+   * @return The selection.
+   */
+  public static Fields parse(String fields) {
+    if (fields == null || fields.trim().isEmpty()) {
+      return ALL;
+    }
+
+    java.util.Set<String> names = new HashSet<String>();
+    for (String name : fields.split(",")) {
+      if (!name.trim().isEmpty()) {
+        names.add(name.trim());
+      }
+    }
+
+    return names.isEmpty() ? ALL : new Fields(names);
+  }
+
+
+  /**
+   * See if a field is selected.
+   *
+   * @param name The name of the field.
+   * @return True if the field, or a field of it, is selected, or nothing is.
+   */
+  public boolean has(String name) {
+    if (names.isEmpty() || names.contains(name)) {
+      return true;
+    }
+
+    for (String selected : names) {
+      if (selected.startsWith(name + ".")) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+
+  /**
+   * Get the selection for a nested object.  Selecting "materials" on its own selects every field of the Materials;
+   * selecting "materials.name" selects only their names.
+   *
+   * @param name The name of the field that holds the nested object.
+   * @return The fields of the nested object that are selected.
+   */
+  public Fields nested(String name) {
+    java.util.Set<String> nested = new HashSet<String>();
+
+    for (String selected : names) {
+      if (selected.startsWith(name + ".")) {
+        nested.add(selected.substring(name.length() + 1));
+      }
+    }
+
+    return nested.isEmpty() ? ALL : new Fields(nested);
+  }
+
+
+  @Override
+  public String toString() {
+    return names.isEmpty() ? "*" : names.toString();
+  }
+
+}
@@ -0,0 +1,276 @@
+package services.api;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Query;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import play.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Stream every row of an entity as a JSON array.
+ * <p>
+ * The rows are read in ID order, a batch at a time, and written with a Jackson generator.  The stream is an
+ * InputStream for Results.ok(InputStream), and it only reads a batch when Play has sent everything before it and asks
+ * for more.  Each refill runs one query (where id &gt; the last ID of the previous batch) and holds just that batch's
+ * JSON, so memory stays the same however many rows there are and however slowly the client reads.  The beans of a
+ * batch are garbage once it's written.  A client that disconnects stops the stream at the next batch.
+ * <p>
+ * A subclass loads whatever a batch needs (like the Materials of its Routines) with one more query per batch rather
+ * than one per row.  The selected fields only decide what's written; each query still reads every column of the
+ * rows, since the writers read each property before checking whether it's selected.
+ * <p>
+ * The status and headers are sent before the first row, so a failure part way through can only be reported by
+ * ending the response early.  It's logged, and the client sees JSON that doesn't parse.
+ *
+ * @param <T> The entity.
+ */
+public abstract class JsonStream<T> {
+
+  /** The number of rows read by each query. */
+  public static final int BATCH_SIZE = 100;
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  /** The fields the client asked for. */
+  protected final Fields fields;
+
+
+  /**
+   * Create a stream.
+   *
+   * @param fields The fields to write.
+   */
+  JsonStream(Fields fields) {
+    this.fields = fields;
+  }
+
+
+  /**
+   * Open the stream.  Nothing is read until the first byte is.
+   *
+   * @param serverName The name of the Ebean server to read from.  DbRouting.serverName() only works on the request's
+   *                   thread, and Play reads the stream on another, so the caller looks it up.
+   * @return The JSON, for Results.ok(InputStream).
+   */
+  public InputStream open(String serverName) {
+    return new Batches(Ebean.getServer(serverName));
+  }
+
+
+  /**
+   * Reads and writes the next batch each time the JSON of the previous one has been read.
+   */
+  private class Batches extends InputStream {
+
+    private final EbeanServer server;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final JsonGenerator generator;
+    private byte[] bytes = new byte[0];
+    private int position = 0;
+    private boolean finished = false;
+    private long lastId = 0;
+    private long rows = 0;
+
+
+    /**
+     * Start the array.
+     *
+     * @param server The Ebean server to read from.
+     */
+    Batches(EbeanServer server) {
+      this.server = server;
+
+      try {
+        generator = FACTORY.createGenerator(buffer, JsonEncoding.UTF8);
+        generator.writeStartArray();
+      }
+      catch (IOException e) {
+        throw new RuntimeException("Unable to start streaming [" + getName() + "]", e);
+      }
+    }
+
+
+    @Override
+    public int read() throws IOException {
+      return fill() ? (bytes[position++] & 0xff) : -1;
+    }
+
+
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+
+      int count = Math.min(length, bytes.length - position);
+      System.arraycopy(bytes, position, b, offset, count);
+      position += count;
+
+      return count;
+    }
+
+
+    @Override
+    public int available() {
+      return bytes.length - position;
+    }
+
+
+    /**
+     * Stop reading.  Play closes the stream when the response is done or the client disconnects.
+     */
+    @Override
+    public void close() {
+      if (!finished) {
+        Logger.debug("Stopped streaming [" + getName() + "]  rows = [" + rows + "]  The client disconnected.");
+      }
+
+      finished = true;
+      bytes = new byte[0];
+      position = 0;
+    }
+
+
+    /**
+     * Make sure there's something to read, writing the next batch if the last one has all been read.
+     *
+     * @return False once the array is finished and read.
+     * @throws IOException If the batch can't be read or written.
+     */
+    private boolean fill() throws IOException {
+      while (position == bytes.length) {
+        if (finished) {
+          return false;
+        }
+
+        try {
+          nextBatch();
+        }
+        catch (IOException | RuntimeException e) {
+          Logger.error("Unable to stream [" + getName() + "]  rows = [" + rows + "]", e);
+          finished = true;
+          throw new IOException("Unable to stream [" + getName() + "]", e);
+        }
+      }
+
+      return true;
+    }
+
+
+    /**
+     * Write the next batch.  If it wasn't a full batch, end the array too.
+     *
+     * @throws IOException If the generator can't write.
+     */
+    private void nextBatch() throws IOException {
+      List<T> batch = query(server).where().gt("id", lastId).orderBy("id").setMaxRows(BATCH_SIZE).findList();
+      if (!batch.isEmpty()) {
+        write(server, batch, generator);
+        lastId = getId(batch.get(batch.size() - 1));
+        rows += batch.size();
+      }
+
+      if (batch.size() < BATCH_SIZE) {
+        generator.writeEndArray();
+        generator.close();
+        finished = true;
+
+        Logger.debug("Streamed [" + getName() + "]  rows = [" + rows + "]  fields = [" + fields + "]");
+      }
+      else {
+        generator.flush();
+      }
+
+      bytes = buffer.toByteArray();
+      position = 0;
+      buffer.reset();
+    }
+
+  }
+
+
+  /**
+   * Write a field if it's selected.
+   *
+   * @param generator The generator.
+   * @param fields    The selected fields.
+   * @param name      The name of the field.
+   * @param value     A String, Number, Boolean or Timestamp (as milliseconds since the epoch), or null.
+   * @throws IOException If the generator can't write.
+   */
+  static void writeField(JsonGenerator generator, Fields fields, String name, Object value) throws IOException {
+    if (!fields.has(name)) {
+      return;
+    }
+
+    generator.writeFieldName(name);
+
+    if (value == null) {
+      generator.writeNull();
+    }
+    else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    }
+    else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    }
+    else if (value instanceof Timestamp) {
+      generator.writeNumber(((Timestamp) value).getTime());
+    }
+    else {
+      generator.writeString(value.toString());
+    }
+  }
+
+
+  /**
+   * Get the name of the stream, for the log.
+   *
+   * @return The name, like "routines".
+   */
+  public abstract String getName();
+
+
+  /**
+   * Create the query for the rows, with whatever they fetch.  The stream adds the where clause, order and limit.
+   *
+   * @param server The Ebean server to read from.
+   * @return The query.
+   */
+  abstract Query<T> query(EbeanServer server);
+
+
+  /**
+   * Get the ID of a row.
+   *
+   * @param bean The row.
+   * @return Its ID.
+   */
+  abstract long getId(T bean);
+
+
+  /**
+   * Write a batch of rows as JSON objects.
+   *
+   * @param server    The Ebean server, to load what the rows need.
+   * @param batch     The rows, in ID order.
+   * @param generator The generator, inside the array.
+   * @throws IOException If the generator can't write.
+   */
+  abstract void write(EbeanServer server, List<T> batch, JsonGenerator generator) throws IOException;
+
+}
@@ -0,0 +1,76 @@
+package services.api;
+
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Query;
+import com.fasterxml.jackson.core.JsonGenerator;
+import models.Magician;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Stream every Magician's public profile.
+ * <p>
+ * The eMail address and password are never written.  The MagicianType is fetched with the Magicians, so a batch is a
+ * single query.
+ */
+public class MagicianStream extends JsonStream<Magician> {
+
+  /**
+   * Create a stream of Magicians.
+   *
+   * @param fields The fields to write.
+   */
+  public MagicianStream(Fields fields) {
+    super(fields);
+  }
+
+
+  @Override
+  public String getName() {
+    return "magicians";
+  }
+
+
+  @Override
+  Query<Magician> query(EbeanServer server) {
+    return server.find(Magician.class).fetch("magicianType", "name");
+  }
+
+
+  @Override
+  long getId(Magician magician) {
+    return magician.getId();
+  }
+
+
+  @Override
+  void write(EbeanServer server, List<Magician> batch, JsonGenerator generator) throws IOException {
+    for (Magician magician : batch) {
+      generator.writeStartObject();
+      generator.writeNumberField("id", magician.getId());
+      writeField(generator, fields, "firstName", magician.getFirstName());
+      writeField(generator, fields, "lastName", magician.getLastName());
+      writeField(generator, fields, "stageName", magician.getStageName());
+      writeField(generator, fields, "magicianType",
+          (magician.getMagicianType() == null) ? null : magician.getMagicianType().getName());
+      writeField(generator, fields, "location", magician.getLocation());
+      writeField(generator, fields, "biography", magician.getBiography());
+      writeField(generator, fields, "interests", magician.getInterests());
+      writeField(generator, fields, "influences", magician.getInfluences());
+      writeField(generator, fields, "yearStarted", magician.getYearStarted());
+      writeField(generator, fields, "organizations", magician.getOrganizations());
+      writeField(generator, fields, "website", magician.getWebsite());
+      writeField(generator, fields, "facebook", magician.getFacebook());
+      writeField(generator, fields, "twitter", magician.getTwitter());
+      writeField(generator, fields, "linkedIn", magician.getLinkedIn());
+      writeField(generator, fields, "googlePlus", magician.getGooglePlus());
+      writeField(generator, fields, "flickr", magician.getFlickr());
+      writeField(generator, fields, "instagram", magician.getInstagram());
+      writeField(generator, fields, "version", magician.getVersion());
+      writeField(generator, fields, "updatedAt", magician.getUpdatedAt());
+      generator.writeEndObject();
+    }
+  }
+
+}
@@ -0,0 +1,158 @@
+package services.api;
+
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Query;
+import com.fasterxml.jackson.core.JsonGenerator;
+import models.Material;
+import models.Routine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stream every Routine, with its Materials and their total cost.
+ * <p>
+ * The Materials of a batch are loaded with one query, and only when "materials" or "cost" is selected.
+ */
+public class RoutineStream extends JsonStream<Routine> {
+
+  /**
+   * Create a stream of Routines.
+   *
+   * @param fields The fields to write.
+   */
+  public RoutineStream(Fields fields) {
+    super(fields);
+  }
+
+
+  /**
+   * Load the Materials of some Routines.
+   *
+   * @param server     The Ebean server to read from.
+   * @param routineIds The IDs of the Routines.
+   * @return The Materials of each Routine that has any, in ID order.
+   */
+  static Map<Long, List<Material>> getMaterials(EbeanServer server, Collection<Long> routineIds) {
+    Map<Long, List<Material>> materials = new HashMap<Long, List<Material>>();
+    if (routineIds.isEmpty()) {
+      return materials;
+    }
+
+    for (Material material : server.find(Material.class).where().in("routine.id", routineIds).orderBy("id")
+        .findList()) {
+      List<Material> routineMaterials = materials.get(material.getRoutine().getId());
+      if (routineMaterials == null) {
+        routineMaterials = new ArrayList<Material>();
+        materials.put(material.getRoutine().getId(), routineMaterials);
+      }
+      routineMaterials.add(material);
+    }
+
+    return materials;
+  }
+
+
+  /**
+   * Add up the prices of some Materials.
+   *
+   * @param materials The Materials.
+   * @return Their total price.  A Material without a price costs nothing.
+   */
+  static int getCost(List<Material> materials) {
+    int cost = 0;
+
+    for (Material material : materials) {
+      if (material.getPrice() != null) {
+        cost += material.getPrice();
+      }
+    }
+
+    return cost;
+  }
+
+
+  @Override
+  public String getName() {
+    return "routines";
+  }
+
+
+  @Override
+  Query<Routine> query(EbeanServer server) {
+    return server.find(Routine.class);
+  }
+
+
+  @Override
+  long getId(Routine routine) {
+    return routine.getId();
+  }
+
+
+  @Override
+  void write(EbeanServer server, List<Routine> batch, JsonGenerator generator) throws IOException {
+    Map<Long, List<Material>> materials = Collections.emptyMap();
+    if (fields.has("materials") || fields.has("cost")) {
+      List<Long> routineIds = new ArrayList<Long>();
+      for (Routine routine : batch) {
+        routineIds.add(routine.getId());
+      }
+      materials = getMaterials(server, routineIds);
+    }
+
+    Fields materialFields = fields.nested("materials");
+
+    for (Routine routine : batch) {
+      List<Material> routineMaterials = materials.containsKey(routine.getId())
+          ? materials.get(routine.getId()) : Collections.<Material>emptyList();
+
+      generator.writeStartObject();
+      generator.writeNumberField("id", routine.getId());
+      writeField(generator, fields, "name", routine.getName());
+      writeField(generator, fields, "description", routine.getDescription());
+      writeField(generator, fields, "duration", routine.getDuration());
+      writeField(generator, fields, "method", routine.getMethod());
+      writeField(generator, fields, "handling", routine.getHandling());
+      writeField(generator, fields, "resetDuration", routine.getResetDuration());
+      writeField(generator, fields, "resetDescription", routine.getResetDescription());
+      writeField(generator, fields, "youTubeUrl", routine.getYouTubeUrl());
+      writeField(generator, fields, "imageUrl", routine.getImageUrl());
+      writeField(generator, fields, "reviewUrl", routine.getReviewUrl());
+      writeField(generator, fields, "inspiration", routine.getInspiration());
+      writeField(generator, fields, "placement", routine.getPlacement());
+      writeField(generator, fields, "choices", routine.getChoices());
+      writeField(generator, fields, "cost", getCost(routineMaterials));
+      writeField(generator, fields, "version", routine.getVersion());
+      writeField(generator, fields, "updatedAt", routine.getUpdatedAt());
+
+      if (fields.has("materials")) {
+        generator.writeArrayFieldStart("materials");
+        for (Material material : routineMaterials) {
+          generator.writeStartObject();
+          generator.writeNumberField("id", material.getId());
+          writeField(generator, materialFields, "name", material.getName());
+          writeField(generator, materialFields, "description", material.getDescription());
+          writeField(generator, materialFields, "inspectable", material.isInspectable());
+          writeField(generator, materialFields, "givenAway", material.isGivenAway());
+          writeField(generator, materialFields, "consumed", material.isConsumed());
+          writeField(generator, materialFields, "price", material.getPrice());
+          writeField(generator, materialFields, "purchaseUrl", material.getPurchaseUrl());
+          writeField(generator, materialFields, "imageUrl", material.getImageUrl());
+          writeField(generator, materialFields, "version", material.getVersion());
+          writeField(generator, materialFields, "updatedAt", material.getUpdatedAt());
+          generator.writeEndObject();
+        }
+        generator.writeEndArray();
+      }
+
+      generator.writeEndObject();
+    }
+  }
+
+}
@@ -0,0 +1,119 @@
+package services.api;
+
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.Query;
+import com.fasterxml.jackson.core.JsonGenerator;
+import models.Material;
+import models.Routine;
+import models.Set;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stream every Set, with the IDs of its Routines and its rollups: the number of Routines, their total duration and
+ * the total cost of their Materials.
+ * <p>
+ * The Routines of a batch are fetched by Ebean with one more query, and the Materials of those Routines with another,
+ * and only when a field that needs them is selected.
+ */
+public class SetStream extends JsonStream<Set> {
+
+  /**
+   * Create a stream of Sets.
+   *
+   * @param fields The fields to write.
+   */
+  public SetStream(Fields fields) {
+    super(fields);
+  }
+
+
+  /**
+   * See if any field that needs the Set's Routines is selected.
+   *
+   * @return True if the Routines should be loaded.
+   */
+  private boolean hasRoutines() {
+    return fields.has("routineIds") || fields.has("routineCount") || fields.has("duration") || fields.has("cost");
+  }
+
+
+  @Override
+  public String getName() {
+    return "sets";
+  }
+
+
+  @Override
+  Query<Set> query(EbeanServer server) {
+    Query<Set> query = server.find(Set.class);
+
+    return hasRoutines() ? query.fetch("routines", "duration") : query;
+  }
+
+
+  @Override
+  long getId(Set set) {
+    return set.getId();
+  }
+
+
+  @Override
+  void write(EbeanServer server, List<Set> batch, JsonGenerator generator) throws IOException {
+    Map<Long, List<Material>> materials = Collections.emptyMap();
+    if (fields.has("cost")) {
+      List<Long> routineIds = new ArrayList<Long>();
+      for (Set set : batch) {
+        for (Routine routine : set.getRoutines()) {
+          routineIds.add(routine.getId());
+        }
+      }
+      materials = RoutineStream.getMaterials(server, routineIds);
+    }
+
+    for (Set set : batch) {
+      generator.writeStartObject();
+      generator.writeNumberField("id", set.getId());
+      writeField(generator, fields, "name", set.getName());
+      writeField(generator, fields, "description", set.getDescription());
+      writeField(generator, fields, "magicianId", (set.getMagician() == null) ? null : set.getMagician().getId());
+
+      if (hasRoutines()) {
+        List<Routine> routines = set.getRoutines();
+        int duration = 0;
+        int cost = 0;
+
+        if (fields.has("routineIds")) {
+          generator.writeArrayFieldStart("routineIds");
+        }
+        for (Routine routine : routines) {
+          if (fields.has("routineIds")) {
+            generator.writeNumber(routine.getId());
+          }
+          if (routine.getDuration() != null) {
+            duration += routine.getDuration();
+          }
+          if (materials.containsKey(routine.getId())) {
+            cost += RoutineStream.getCost(materials.get(routine.getId()));
+          }
+        }
+        if (fields.has("routineIds")) {
+          generator.writeEndArray();
+        }
+
+        writeField(generator, fields, "routineCount", routines.size());
+        writeField(generator, fields, "duration", duration);
+        writeField(generator, fields, "cost", cost);
+      }
+
+      writeField(generator, fields, "version", set.getVersion());
+      writeField(generator, fields, "updatedAt", set.getUpdatedAt());
+      generator.writeEndObject();
+    }
+  }
+
+}
@@ -0,0 +1,20 @@
+/**
+ * JSON API Service for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that streams the Routines, Sets and Magicians as JSON, a batch of rows at a time,
+ * so the API can return every row without holding them all in memory.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.playframework.com/documentation/2.3.x/JavaStream
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.api;
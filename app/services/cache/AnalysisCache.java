@@ -0,0 +1,208 @@
+package services.cache;
+
+import models.Note;
+import play.Play;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of set notes analyses.
+ * <p>
+ * Analyses are keyed by the Set's id and version and the Magician's target duration and cost, so re-submitting the
+ * Set Notes form with the same values doesn't re-analyze the Set.  Editing the Set changes its version, so the old
+ * analysis is never looked up again.  Changing one of the Set's Routines or its Materials doesn't change the Set's
+ * version, so models.AnalysisCacheInvalidator evicts those analyses explicitly once the change commits.
+ * <p>
+ * The cache is per node, and AnalysisCacheInvalidator only sees this node's edits.  So that another node's edits to
+ * a Routine or its Materials are seen here, an analysis is only served for cache.analysis.maxAgeSeconds after it was
+ * made, however often it's used.  When the cache is full, the least recently used analysis is evicted.
+ * <p>
+ * The maximum number of analyses is set with cache.analysis.maxSize in application.conf.
+ */
+public class AnalysisCache {
+
+  /** The default maximum number of analyses held in the cache. */
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  /** The default number of seconds an analysis is served for. */
+  public static final int DEFAULT_MAX_AGE_SECONDS = 300;
+
+  private static final Map<String, Analysis> analyses = new LinkedHashMap<String, Analysis>(128, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Analysis> eldest) {
+      if (size() > maxSize) {
+        evictions++;
+        return true;
+      }
+
+      return false;
+    }
+  };
+
+  private static int maxSize = DEFAULT_MAX_SIZE;
+  private static long maxAgeMillis = DEFAULT_MAX_AGE_SECONDS * 1000L;
+  private static long hits = 0;
+  private static long misses = 0;
+  private static long evictions = 0;
+  private static long expirations = 0;
+
+
+  /**
+   * Read the maximum size and age of the analyses from the application's configuration.
+   */
+  public static synchronized void configure() {
+    maxSize = Play.application().configuration().getInt("cache.analysis.maxSize", DEFAULT_MAX_SIZE);
+    maxAgeMillis = Play.application().configuration().getInt("cache.analysis.maxAgeSeconds",
+        DEFAULT_MAX_AGE_SECONDS) * 1000L;
+  }
+
+
+  /**
+   * Build the key for an analysis.
+   *
+   * @param setId            The ID of the Set.
+   * @param setVersion       The version of the Set.
+   * @param expectedDuration The target duration, or null.
+   * @param expectedCost     The target cost, or null.
+   * @return The key for the analysis.
+   */
+  public static String key(long setId, long setVersion, Integer expectedDuration, Integer expectedCost) {
+    return setId + ":" + setVersion + ":" + expectedDuration + ":" + expectedCost;
+  }
+
+
+  /**
+   * Get an analysis from the cache.
+   *
+   * @param key The key of the analysis (see key()).
+   * @return An unmodifiable list of the notes or null if the analysis is not in the cache or is too old.
+   */
+  public static synchronized List<Note> get(String key) {
+    Analysis analysis = analyses.get(key);
+
+    if (analysis != null && System.currentTimeMillis() - analysis.createdAt > maxAgeMillis) {
+      analyses.remove(key);
+      expirations++;
+      analysis = null;
+    }
+
+    if (analysis == null) {
+      misses++;
+      return null;
+    }
+
+    hits++;
+    return analysis.notes;
+  }
+
+
+  /**
+   * Put an analysis into the cache.
+   *
+   * @param key        The key of the analysis (see key()).
+   * @param setId      The ID of the Set that was analyzed.
+   * @param routineIds The IDs of the Set's Routines.
+   * @param notes      The notes about the Set.
+   */
+  public static synchronized void put(String key, long setId, List<Long> routineIds, List<Note> notes) {
+    analyses.put(key, new Analysis(setId, routineIds, notes));
+  }
+
+
+  /**
+   * Evict every analysis of a Set.
+   *
+   * @param setId The ID of the Set that changed.
+   */
+  public static synchronized void evictSet(long setId) {
+    Iterator<Analysis> iterator = analyses.values().iterator();
+
+    while (iterator.hasNext()) {
+      if (iterator.next().setId == setId) {
+        iterator.remove();
+        evictions++;
+      }
+    }
+  }
+
+
+  /**
+   * Evict every analysis of a Set that includes a Routine.
+   *
+   * @param routineId The ID of the Routine that changed (or whose Materials changed).
+   */
+  public static synchronized void evictRoutine(long routineId) {
+    Iterator<Analysis> iterator = analyses.values().iterator();
+
+    while (iterator.hasNext()) {
+      if (iterator.next().routineIds.contains(routineId)) {
+        iterator.remove();
+        evictions++;
+      }
+    }
+  }
+
+
+  /**
+   * Empty the cache.
+   */
+  public static synchronized void clear() {
+    evictions += analyses.size();
+    analyses.clear();
+  }
+
+
+  /**
+   * Get the size and hit/miss statistics of the cache.
+   *
+   * @return The size, maxSize, maxAgeSeconds, hits, misses, evictions (by invalidation or size) and expirations of the
+   * cache.
+   */
+  public static synchronized Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    statistics.put("size", (long) analyses.size());
+    statistics.put("maxSize", (long) maxSize);
+    statistics.put("maxAgeSeconds", maxAgeMillis / 1000);
+    statistics.put("hits", hits);
+    statistics.put("misses", misses);
+    statistics.put("evictions", evictions);
+    statistics.put("expirations", expirations);
+
+    return statistics;
+  }
+
+
+  /**
+   * One cached analysis and what it depends on.
+   */
+  private static class Analysis {
+
+    private final long setId;
+    private final List<Long> routineIds;
+    private final List<Note> notes;
+    private final long createdAt;
+
+
+    /**
+     * Create an Analysis.
+     *
+     * @param setId      The ID of the Set.
+     * @param routineIds The IDs of the Set's Routines.
+     * @param notes      The notes about the Set.
+     */
+    Analysis(long setId, List<Long> routineIds, List<Note> notes) {
+      this.setId = setId;
+      this.routineIds = new ArrayList<Long>(routineIds);
+      this.notes = Collections.unmodifiableList(new ArrayList<Note>(notes));
+      this.createdAt = System.currentTimeMillis();
+    }
+
+  }
+
+}
@@ -0,0 +1,161 @@
+package services.cache;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.cache.ServerCache;
+import com.avaje.ebean.cache.ServerCacheManager;
+import com.avaje.ebean.cache.ServerCacheOptions;
+import com.avaje.ebean.cache.ServerCacheStatistics;
+import models.MagicianType;
+import models.Material;
+import models.Routine;
+import play.Configuration;
+import play.Logger;
+import services.db.DbRouting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configure and report on Ebean's second-level (L2) entity caches.
+ * <p>
+ * The reference and catalog entities (MagicianType, Routine and Material) are annotated with @CacheStrategy.  Ebean
+ * holds three caches for each of them:  a bean cache (keyed by id), a natural key cache (keyed by name) and a query
+ * cache.  Ebean invalidates all three whenever an entity of that type is saved or deleted through Ebean.
+ * <p>
+ * The size limits of the caches are set from application.conf:
+ * <pre>
+ *   cache.entity.maxSize = 1000
+ *   cache.entity.maxIdleSecs = 600
+ *   cache.entity.maxSecsToLive = 3600
+ *   cache.entity.Routine.maxSize = 2000     # Optional per-entity override
+ * </pre>
+ */
+public class EntityCache {
+
+  /** The entities that are held in the second-level cache. */
+  private static final Class<?>[] CACHED_ENTITIES = {MagicianType.class, Routine.class, Material.class};
+
+  /** The default maximum number of entries in each cache. */
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  /** The default number of seconds an unused entry stays in a cache. */
+  public static final int DEFAULT_MAX_IDLE_SECS = 600;
+
+  /** The default number of seconds any entry stays in a cache. */
+  public static final int DEFAULT_MAX_SECS_TO_LIVE = 3600;
+
+
+  /**
+   * Apply the configured size limits to the bean, natural key and query caches of each cached entity.
+   *
+   * @param configuration The application's configuration.
+   */
+  public static void configure(Configuration configuration) {
+    for (Class<?> entity : CACHED_ENTITIES) {
+      ServerCacheOptions options = getOptions(configuration, entity);
+
+      // The read replica (if there is one) has its own caches.
+      for (String serverName : DbRouting.getServerNames()) {
+        ServerCacheManager cacheManager = Ebean.getServer(serverName).getServerCacheManager();
+
+        cacheManager.getBeanCache(entity).setOptions(options);
+        cacheManager.getNaturalKeyCache(entity).setOptions(options);
+        cacheManager.getQueryCache(entity).setOptions(options);
+      }
+
+      Logger.debug("L2 cache for [" + entity.getSimpleName() + "]  maxSize = [" + options.getMaxSize() + "]"
+          + "  maxIdleSecs = [" + options.getMaxIdleSecs() + "]  maxSecsToLive = [" + options.getMaxSecsToLive() + "]");
+    }
+  }
+
+
+  /**
+   * Build the cache options for one entity, applying any per-entity overrides.
+   *
+   * @param configuration The application's configuration.
+   * @param entity        The cached entity.
+   * @return The cache options for the entity.
+   */
+  private static ServerCacheOptions getOptions(Configuration configuration, Class<?> entity) {
+    String prefix = "cache.entity.";
+    String entityPrefix = prefix + entity.getSimpleName() + ".";
+
+    int maxSize = configuration.getInt(prefix + "maxSize", DEFAULT_MAX_SIZE);
+    int maxIdleSecs = configuration.getInt(prefix + "maxIdleSecs", DEFAULT_MAX_IDLE_SECS);
+    int maxSecsToLive = configuration.getInt(prefix + "maxSecsToLive", DEFAULT_MAX_SECS_TO_LIVE);
+
+    ServerCacheOptions options = new ServerCacheOptions();
+    options.setMaxSize(configuration.getInt(entityPrefix + "maxSize", maxSize));
+    options.setMaxIdleSecs(configuration.getInt(entityPrefix + "maxIdleSecs", maxIdleSecs));
+    options.setMaxSecsToLive(configuration.getInt(entityPrefix + "maxSecsToLive", maxSecsToLive));
+
+    return options;
+  }
+
+
+  /**
+   * Get the hit/miss statistics for every cached entity.
+   * <p>
+   * The result is keyed by cache name (for example, "Routine.bean") and holds the size, maxSize, hits, misses and
+   * hitRatio (a percentage) of that cache.
+   *
+   * @return The statistics for each of the L2 caches.
+   */
+  public static Map<String, Map<String, Long>> getStatistics() {
+    ServerCacheManager cacheManager = Ebean.getServerCacheManager();
+    Map<String, Map<String, Long>> statistics = new LinkedHashMap<String, Map<String, Long>>();
+
+    for (Class<?> entity : CACHED_ENTITIES) {
+      String name = entity.getSimpleName();
+
+      statistics.put(name + ".bean", getStatistics(cacheManager.getBeanCache(entity)));
+      statistics.put(name + ".naturalKey", getStatistics(cacheManager.getNaturalKeyCache(entity)));
+      statistics.put(name + ".query", getStatistics(cacheManager.getQueryCache(entity)));
+    }
+
+    return statistics;
+  }
+
+
+  /**
+   * Get the statistics for a single cache.
+   *
+   * @param cache The cache to report on.
+   * @return The size, maxSize, hits, misses and hitRatio of the cache.
+   */
+  private static Map<String, Long> getStatistics(ServerCache cache) {
+    ServerCacheStatistics cacheStatistics = cache.getStatistics(false);
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    statistics.put("size", (long) cacheStatistics.getSize());
+    statistics.put("maxSize", (long) cacheStatistics.getMaxSize());
+    statistics.put("hits", (long) cacheStatistics.getHitCount());
+    statistics.put("misses", (long) cacheStatistics.getMissCount());
+    statistics.put("hitRatio", (long) cacheStatistics.getHitRatio());
+
+    return statistics;
+  }
+
+
+  /**
+   * Write the hit/miss statistics for every cached entity to the application log.
+   */
+  public static void logStatistics() {
+    for (Map.Entry<String, Map<String, Long>> entry : getStatistics().entrySet()) {
+      Logger.info("L2 cache [" + entry.getKey() + "]  " + entry.getValue());
+    }
+  }
+
+
+  /**
+   * Clear all of the L2 caches.  Use this after the database has been modified outside of Ebean.
+   */
+  public static void clear() {
+    for (Class<?> entity : CACHED_ENTITIES) {
+      for (String serverName : DbRouting.getServerNames()) {
+        Ebean.getServer(serverName).getServerCacheManager().clear(entity);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,188 @@
+package services.cache;
+
+import play.Play;
+import play.twirl.api.Html;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of rendered HTML fragments.
+ * <p>
+ * Fragments are keyed by a fragment name, an entity id and the entity's version.  When an entity is updated, Ebean
+ * increments its version, so the old fragment is never looked up again and it ages out of the cache.  There is no
+ * need to explicitly invalidate anything.
+ * <p>
+ * Templates use this through views/cache/fragment.scala.html:
+ * <pre>
+ *   &#64;cache.fragment("ListRoutines.row", routine.getId, routine.getVersion) {
+ *     &lt;td&gt;&#64;routine.getName&lt;/td&gt;
+ *   }
+ * </pre>
+ * The fragment name must capture everything else that changes the HTML (for example, whether the viewer is logged
+ * in), because the rest of the page's state is not part of the key.  A lookup costs about as much as rendering a
+ * cell or two, so only wrap fragments that do more than that (reverse routes, conditionals, several getters).
+ * <p>
+ * Every row of a page goes through get(), so it takes no lock.  Fragments are held in a ConcurrentHashMap and stamped
+ * with the time they were last used.  When a put() takes the cache over its maximum size, one thread evicts the least
+ * recently used tenth of it.  Other threads carry on without waiting, so the cache can briefly run a little over.
+ * <p>
+ * The maximum number of fragments is set with cache.fragment.maxSize in application.conf.
+ */
+public class FragmentCache {
+
+  /** The default maximum number of fragments held in the cache. */
+  public static final int DEFAULT_MAX_SIZE = 5000;
+
+  private static final ConcurrentMap<String, Fragment> fragments = new ConcurrentHashMap<String, Fragment>();
+
+  private static final AtomicBoolean evicting = new AtomicBoolean(false);
+  private static final AtomicLong hits = new AtomicLong();
+  private static final AtomicLong misses = new AtomicLong();
+  private static final AtomicLong evictions = new AtomicLong();
+
+  private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+
+  /**
+   * A cached fragment and when it was last used.
+   */
+  private static class Fragment {
+    private final Html html;
+    private volatile long lastUsed = System.nanoTime();
+
+    private Fragment(Html html) {
+      this.html = html;
+    }
+  }
+
+
+  /**
+   * Read the maximum size of the cache from the application's configuration.
+   */
+  public static void configure() {
+    maxSize = Play.application().configuration().getInt("cache.fragment.maxSize", DEFAULT_MAX_SIZE);
+  }
+
+
+  /**
+   * Build the key for a fragment.
+   *
+   * @param name    The name of the fragment.  This should include any personalization that changes the HTML.
+   * @param id      The ID of the entity that the fragment renders.
+   * @param version The version of the entity that the fragment renders.
+   * @return The key for the fragment.
+   */
+  public static String key(String name, long id, long version) {
+    return name + ":" + id + ":" + version;
+  }
+
+
+  /**
+   * Get a fragment from the cache.
+   *
+   * @param key The key of the fragment (see key()).
+   * @return The fragment or null if it's not in the cache.
+   */
+  public static Html get(String key) {
+    Fragment fragment = fragments.get(key);
+
+    if (fragment == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+
+    hits.incrementAndGet();
+    fragment.lastUsed = System.nanoTime();
+
+    return fragment.html;
+  }
+
+
+  /**
+   * Put a fragment into the cache.
+   *
+   * @param key      The key of the fragment (see key()).
+   * @param fragment The rendered fragment.
+   * @return The fragment that was just cached.
+   */
+  public static Html put(String key, Html fragment) {
+    fragments.put(key, new Fragment(fragment));
+
+    if (fragments.size() > maxSize) {
+      evict();
+    }
+
+    return fragment;
+  }
+
+
+  /**
+   * Evict the least recently used tenth of the cache.  If another thread is already evicting, leave it to that one.
+   */
+  private static void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      // Take the stamps once, since they keep moving while we look at them.
+      long[] stamps = new long[fragments.size()];
+      int count = 0;
+      for (Fragment fragment : fragments.values()) {
+        if (count == stamps.length) {
+          break;
+        }
+        stamps[count++] = fragment.lastUsed;
+      }
+
+      int excess = count - (maxSize - maxSize / 10);
+      if (excess <= 0) {
+        return;
+      }
+      Arrays.sort(stamps, 0, count);
+      long cutoff = stamps[excess - 1];
+
+      for (Map.Entry<String, Fragment> entry : fragments.entrySet()) {
+        if (entry.getValue().lastUsed <= cutoff && fragments.remove(entry.getKey(), entry.getValue())) {
+          evictions.incrementAndGet();
+        }
+      }
+    }
+    finally {
+      evicting.set(false);
+    }
+  }
+
+
+  /**
+   * Empty the cache.
+   */
+  public static void clear() {
+    fragments.clear();
+  }
+
+
+  /**
+   * Get the size and hit/miss statistics of the cache.
+   *
+   * @return The size, maxSize, hits, misses and evictions of the cache.
+   */
+  public static Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    statistics.put("size", (long) fragments.size());
+    statistics.put("maxSize", (long) maxSize);
+    statistics.put("hits", hits.get());
+    statistics.put("misses", misses.get());
+    statistics.put("evictions", evictions.get());
+
+    return statistics;
+  }
+
+}
@@ -0,0 +1,20 @@
+/**
+ * Caching Services for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that configures and reports on the in-memory caches that sit in front of the
+ * database.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.avaje.org/ebean/introcaching.html
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.cache;
@@ -0,0 +1,257 @@
+package services.db;
+
+import akka.dispatch.ExecutionContexts;
+import play.Configuration;
+import play.Logger;
+import scala.concurrent.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The thread pool that runs blocking database (Ebean/JDBC) work.
+ * <p>
+ * Play's default dispatcher has only a few threads, so a handful of slow queries on it will stall every other
+ * request, including static assets.  Database work runs here instead.  The pool has one thread per JDBC connection
+ * (more threads would only wait on the connection pool) and an unbounded queue.
+ * <p>
+ * The pool records how many tasks are waiting and how long they waited before a thread picked them up (as totals and
+ * as a histogram), so the database concurrency can be sized on its own.
+ * <p>
+ * The size of the pool is set with dbExecution.poolSize in application.conf.  If it isn't set, it's the size of
+ * the default connection pool (db.default.partitionCount * db.default.maxConnectionsPerPartition).
+ */
+public class DbExecution {
+
+  /** BoneCP's default number of partitions in Play. */
+  public static final int DEFAULT_PARTITION_COUNT = 1;
+
+  /** BoneCP's default maximum number of connections per partition in Play. */
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_PARTITION = 30;
+
+  /** The upper bounds (in milliseconds) of the buckets of the wait-time histogram. */
+  public static final long[] WAIT_BUCKETS_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+  private static InstrumentedExecutor executor = null;
+  private static ExecutionContext context = null;
+
+
+  /**
+   * Start the pool.  Called from Global.onStart().
+   *
+   * @param configuration The application's configuration.
+   */
+  public static synchronized void start(Configuration configuration) {
+    stop();
+
+    int connections = configuration.getInt("db.default.partitionCount", DEFAULT_PARTITION_COUNT)
+        * configuration.getInt("db.default.maxConnectionsPerPartition", DEFAULT_MAX_CONNECTIONS_PER_PARTITION);
+    int poolSize = configuration.getInt("dbExecution.poolSize", connections);
+
+    executor = new InstrumentedExecutor(poolSize);
+    context = ExecutionContexts.fromExecutorService(executor);
+
+    Logger.info("Started the database execution context.  poolSize = [" + poolSize + "]");
+  }
+
+
+  /**
+   * Stop the pool.  Tasks that are already queued are allowed to finish.  Called from Global.onStop().
+   */
+  public static synchronized void stop() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+      context = null;
+    }
+  }
+
+
+  /**
+   * Get the execution context for database work.
+   * <p>
+   * This does not carry the HTTP context over to the pool.  Wrap it with play.libs.HttpExecution.fromThread() when
+   * the work needs Http.Context.current().
+   *
+   * @return The execution context for database work.
+   * @throws RuntimeException If the pool hasn't been started.
+   */
+  public static synchronized ExecutionContext context() {
+    if (context == null) {
+      throw new RuntimeException("The database execution context has not been started");
+    }
+
+    return context;
+  }
+
+
+  /**
+   * Get the queue and wait-time statistics of the pool.
+   *
+   * @return poolSize, active, queued, maxQueued, completed, totalWaitMillis, maxWaitMillis and meanWaitMillis.
+   */
+  public static synchronized Map<String, Long> getStatistics() {
+    if (executor == null) {
+      return new LinkedHashMap<String, Long>();
+    }
+
+    return executor.getStatistics();
+  }
+
+
+  /**
+   * Get the histogram of how long tasks waited in the queue.
+   * <p>
+   * Like a Prometheus histogram, the counts are cumulative: each bucket counts the tasks that waited less than or
+   * equal to its bound, and the "+Inf" bucket counts every task.
+   *
+   * @return The upper bound of each bucket in milliseconds (or "+Inf") and the number of tasks in it.
+   */
+  public static synchronized Map<String, Long> getWaitHistogram() {
+    if (executor == null) {
+      return new LinkedHashMap<String, Long>();
+    }
+
+    return executor.getWaitHistogram();
+  }
+
+
+  /**
+   * Log the pool's statistics.
+   */
+  public static void logStatistics() {
+    Logger.info("Database execution context statistics = [" + getStatistics() + "]");
+  }
+
+
+  /**
+   * A fixed-size ThreadPoolExecutor that times how long each task sits in the queue.
+   */
+  private static class InstrumentedExecutor extends ThreadPoolExecutor {
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final AtomicLongArray waitBuckets = new AtomicLongArray(WAIT_BUCKETS_MILLIS.length + 1);
+
+
+    /**
+     * Create the executor.
+     *
+     * @param poolSize The number of threads.
+     */
+    InstrumentedExecutor(int poolSize) {
+      super(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "db-execution-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+
+
+    @Override
+    public void execute(final Runnable task) {
+      final long queuedAt = System.nanoTime();
+
+      super.execute(new Runnable() {
+        @Override
+        public void run() {
+          recordWait(System.nanoTime() - queuedAt);
+          task.run();
+        }
+      });
+
+      int queued = getQueue().size();
+      int max = maxQueued.get();
+      while (queued > max && !maxQueued.compareAndSet(max, queued)) {
+        max = maxQueued.get();
+      }
+    }
+
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable throwable) {
+      super.afterExecute(task, throwable);
+      completed.incrementAndGet();
+    }
+
+
+    /**
+     * Record how long a task waited in the queue.
+     *
+     * @param waitNanos The time the task waited.
+     */
+    private void recordWait(long waitNanos) {
+      totalWaitNanos.addAndGet(waitNanos);
+
+      int bucket = 0;
+      while (bucket < WAIT_BUCKETS_MILLIS.length
+          && waitNanos > TimeUnit.MILLISECONDS.toNanos(WAIT_BUCKETS_MILLIS[bucket])) {
+        bucket++;
+      }
+      waitBuckets.incrementAndGet(bucket);
+
+      long max = maxWaitNanos.get();
+      while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+        max = maxWaitNanos.get();
+      }
+    }
+
+
+    /**
+     * Get the queue and wait-time statistics of the executor.
+     *
+     * @return The statistics, in the order described in DbExecution.getStatistics().
+     */
+    Map<String, Long> getStatistics() {
+      Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+      long done = completed.get();
+
+      statistics.put("poolSize", (long) getCorePoolSize());
+      statistics.put("active", (long) getActiveCount());
+      statistics.put("queued", (long) getQueue().size());
+      statistics.put("maxQueued", (long) maxQueued.get());
+      statistics.put("completed", done);
+      statistics.put("totalWaitMillis", TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()));
+      statistics.put("maxWaitMillis", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+      statistics.put("meanWaitMillis", (done == 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / done));
+
+      return statistics;
+    }
+
+
+    /**
+     * Get the cumulative wait-time histogram of the executor.
+     *
+     * @return The histogram, as described in DbExecution.getWaitHistogram().
+     */
+    Map<String, Long> getWaitHistogram() {
+      Map<String, Long> histogram = new LinkedHashMap<String, Long>();
+      long count = 0;
+
+      for (int bucket = 0; bucket < WAIT_BUCKETS_MILLIS.length; bucket++) {
+        count += waitBuckets.get(bucket);
+        histogram.put(Long.toString(WAIT_BUCKETS_MILLIS[bucket]), count);
+      }
+      count += waitBuckets.get(WAIT_BUCKETS_MILLIS.length);
+      histogram.put("+Inf", count);
+
+      return histogram;
+    }
+
+  }
+
+}
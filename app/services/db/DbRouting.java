@@ -0,0 +1,177 @@
+package services.db;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.EbeanServer;
+import com.avaje.ebean.cache.ServerCacheManager;
+import play.Configuration;
+import play.Logger;
+import play.mvc.Http;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route database reads to a read-only replica.
+ * <p>
+ * When an Ebean server named "replica" is configured (see application.conf), the model finders send their queries
+ * to it during requests that are marked read-only (see controllers.ReadOnly).  Everything else stays on the
+ * "default" (primary) server:
+ * <ul>
+ *   <li>Requests that aren't marked read-only, including every form post.</li>
+ *   <li>Work done outside of a request, like seeding the database at startup.</li>
+ *   <li>Read-only requests from a browser that wrote to the database within the last
+ *       dbRouting.readYourWritesSeconds, so people see their own changes even if the replica is behind.</li>
+ * </ul>
+ * Writes always go to the primary.  Ebean's L2 caches are per server, so a write also drops what the replica has
+ * cached about the bean that was written (see recordWrite()).
+ */
+public class DbRouting {
+
+  /** The name of the primary Ebean server. */
+  public static final String PRIMARY = "default";
+
+  /** The name of the read-only replica Ebean server. */
+  public static final String REPLICA = "replica";
+
+  /** The default number of seconds that a browser's reads stay on the primary after it writes. */
+  public static final int DEFAULT_READ_YOUR_WRITES_SECONDS = 10;
+
+  // The key in Http.Context.args that marks a request as read-only.
+  private static final String READ_ONLY = "dbRouting.readOnly";
+
+  // The key in the session that holds the time of the browser's last write.
+  private static final String LAST_WRITE = "lastWrite";
+
+  private static volatile boolean replicaEnabled = false;
+  private static volatile long readYourWritesMillis = DEFAULT_READ_YOUR_WRITES_SECONDS * 1000L;
+
+
+  /**
+   * Read the routing settings.  Called from Global.onStart().
+   *
+   * @param configuration The application's configuration.
+   */
+  public static void configure(Configuration configuration) {
+    replicaEnabled = configuration.getString("ebean." + REPLICA) != null;
+    readYourWritesMillis = configuration.getInt("dbRouting.readYourWritesSeconds", DEFAULT_READ_YOUR_WRITES_SECONDS)
+        * 1000L;
+
+    Logger.info("Database routing.  replicaEnabled = [" + replicaEnabled + "]"
+        + "  readYourWritesMillis = [" + readYourWritesMillis + "]");
+  }
+
+
+  /**
+   * Check if a read replica is configured.
+   *
+   * @return True if reads can be routed to the replica.
+   */
+  public static boolean isReplicaEnabled() {
+    return replicaEnabled;
+  }
+
+
+  /**
+   * Get the names of all of the Ebean servers in use.
+   *
+   * @return The primary and, if it's configured, the replica.
+   */
+  public static List<String> getServerNames() {
+    List<String> serverNames = new ArrayList<String>();
+    serverNames.add(PRIMARY);
+
+    if (replicaEnabled) {
+      serverNames.add(REPLICA);
+    }
+
+    return serverNames;
+  }
+
+
+  /**
+   * Mark a request as read-only, so its queries may go to the replica.
+   *
+   * @param context The context of the request.
+   */
+  public static void markReadOnly(Http.Context context) {
+    context.args.put(READ_ONLY, Boolean.TRUE);
+  }
+
+
+  /**
+   * Get the name of the Ebean server that queries in the current request should use.
+   *
+   * @return REPLICA or PRIMARY.
+   */
+  public static String serverName() {
+    if (!replicaEnabled) {
+      return PRIMARY;
+    }
+
+    Http.Context context = Http.Context.current.get();
+    if (context == null || !Boolean.TRUE.equals(context.args.get(READ_ONLY))) {
+      return PRIMARY;
+    }
+
+    String lastWrite = context.session().get(LAST_WRITE);
+    if (lastWrite != null) {
+      try {
+        if (System.currentTimeMillis() - Long.parseLong(lastWrite) < readYourWritesMillis) {
+          return PRIMARY;
+        }
+      }
+      catch (NumberFormatException e) {
+        return PRIMARY;
+      }
+    }
+
+    return REPLICA;
+  }
+
+
+  /**
+   * Get the Ebean server that queries in the current request should use.
+   *
+   * @return The replica or the primary.
+   */
+  public static EbeanServer server() {
+    return Ebean.getServer(serverName());
+  }
+
+
+  /**
+   * Record that an entity was written.  The browser's reads stay on the primary for a while and the replica's
+   * cached copies of the bean are dropped.  Called for every insert, update and delete by models.WriteTracker.
+   * <p>
+   * Only the written bean is removed from the replica's bean cache, so a save doesn't throw away every cached Routine
+   * or Material.  The natural key and query caches of the bean's type are cleared, since there's no telling which of
+   * their entries the change affects (a renamed Routine can enter or leave any cached list).  Other types' caches are
+   * left alone.
+   *
+   * @param entity The class of the entity that was written.
+   * @param id     The ID of the bean that was written, or null to drop every cached bean of the type.
+   */
+  public static void recordWrite(Class<?> entity, Object id) {
+    if (!replicaEnabled) {
+      return;
+    }
+
+    Http.Context context = Http.Context.current.get();
+    if (context != null) {
+      context.session().put(LAST_WRITE, Long.toString(System.currentTimeMillis()));
+    }
+
+    ServerCacheManager caches = Ebean.getServer(REPLICA).getServerCacheManager();
+    if (caches.isBeanCaching(entity)) {
+      if (id == null) {
+        caches.getBeanCache(entity).clear();
+      }
+      else {
+        caches.getBeanCache(entity).remove(id);
+      }
+      caches.getNaturalKeyCache(entity).clear();
+    }
+    caches.getQueryCache(entity).clear();
+  }
+
+}
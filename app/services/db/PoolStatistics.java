@@ -0,0 +1,59 @@
+package services.db;
+
+import com.jolbox.bonecp.BoneCP;
+import com.jolbox.bonecp.BoneCPDataSource;
+import com.jolbox.bonecp.Statistics;
+import play.db.DB;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read the statistics of a BoneCP connection pool.
+ * <p>
+ * The connection counts are always available.  The wait times, statement counts and prepared statement cache
+ * hits are only collected when statisticsEnabled (and, for the cache, statementsCacheSize) are set on the datasource
+ * in application.conf.
+ */
+public class PoolStatistics {
+
+  /**
+   * Get the statistics of a datasource's connection pool.
+   *
+   * @param name The name of the datasource (for example, "default").
+   * @return The statistics of the pool, or an empty map if the pool isn't a BoneCP pool or hasn't started yet.
+   */
+  public static Map<String, Long> get(String name) {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    DataSource dataSource = DB.getDataSource(name);
+    if (!(dataSource instanceof BoneCPDataSource)) {
+      return statistics;
+    }
+
+    BoneCP pool = ((BoneCPDataSource) dataSource).getPool();
+    if (pool == null) {
+      return statistics;
+    }
+
+    statistics.put("leased", (long) pool.getTotalLeased());
+    statistics.put("free", (long) pool.getTotalFree());
+    statistics.put("created", (long) pool.getTotalCreatedConnections());
+
+    Statistics poolStatistics = pool.getStatistics();
+    statistics.put("connectionsRequested", poolStatistics.getConnectionsRequested());
+    statistics.put("connectionWaitMillisTotal", poolStatistics.getCumulativeConnectionWaitTime());
+    statistics.put("connectionWaitMillisAvg", Math.round(poolStatistics.getConnectionWaitTimeAvg()));
+    statistics.put("statementsExecuted", poolStatistics.getStatementsExecuted());
+    statistics.put("statementExecuteMillisTotal", poolStatistics.getCumulativeStatementExecutionTime());
+    statistics.put("statementExecuteMillisAvg", Math.round(poolStatistics.getStatementExecuteTimeAvg()));
+    statistics.put("statementsPrepared", poolStatistics.getStatementsPrepared());
+    statistics.put("statementsCached", poolStatistics.getStatementsCached());
+    statistics.put("statementCacheHits", poolStatistics.getCacheHits());
+    statistics.put("statementCacheMisses", poolStatistics.getCacheMiss());
+
+    return statistics;
+  }
+
+}
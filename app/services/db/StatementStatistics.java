@@ -0,0 +1,72 @@
+package services.db;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count the statements sent to the database, by name.
+ * <p>
+ * Names look like "Routine.query" or "Material.insert".  Ebean queries, inserts, updates and deletes are counted
+ * automatically by models.StatementCounter.  Raw SQL that bypasses the ORM (like models.EntityVersions) counts
+ * itself by calling count().
+ */
+public class StatementStatistics {
+
+  private static final ConcurrentMap<String, AtomicLong> counts = new ConcurrentHashMap<String, AtomicLong>();
+
+
+  /**
+   * Count one statement.
+   *
+   * @param name The name of the statement, as Entity.operation.
+   */
+  public static void count(String name) {
+    AtomicLong count = counts.get(name);
+
+    if (count == null) {
+      AtomicLong newCount = new AtomicLong();
+      count = counts.putIfAbsent(name, newCount);
+      if (count == null) {
+        count = newCount;
+      }
+    }
+
+    count.incrementAndGet();
+  }
+
+
+  /**
+   * Get the number of statements of each name, sorted by name.
+   *
+   * @return The name and count of each statement.
+   */
+  public static Map<String, Long> getCounts() {
+    Map<String, Long> statistics = new TreeMap<String, Long>();
+
+    for (Map.Entry<String, AtomicLong> count : counts.entrySet()) {
+      statistics.put(count.getKey(), count.getValue().get());
+    }
+
+    return statistics;
+  }
+
+
+  /**
+   * Get the total number of statements of all names.
+   *
+   * @return The total number of statements.
+   */
+  public static long getTotal() {
+    long total = 0;
+
+    for (AtomicLong count : counts.values()) {
+      total += count.get();
+    }
+
+    return total;
+  }
+
+}
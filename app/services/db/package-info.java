@@ -0,0 +1,20 @@
+/**
+ * Database Services for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that runs blocking database work on its own thread pool, sized to the connection
+ * pool, so that slow queries don't hold up Play's request threads.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.playframework.com/documentation/2.3.x/ThreadPools
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.db;
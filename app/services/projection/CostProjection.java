@@ -0,0 +1,233 @@
+package services.projection;
+
+import java.util.Arrays;
+
+/**
+ * Project the cost of performing Sets over a schedule of shows.
+ * <p>
+ * The Sets are held as columns of primitive arrays (one entry per Set), loaded once by models.SetCosts:
+ * <ul>
+ *   <li>initialCost: the price of every Material in the Set, bought before the first show.</li>
+ *   <li>restockCost: the price of the Materials that are consumed or given away, bought again after every show of
+ *   the Set but its last.</li>
+ *   <li>resetMinutes: the reset duration of every Routine in the Set, spent after every show of the Set but its
+ *   last.</li>
+ * </ul>
+ * A schedule is an array of Set ordinals (indexes into the columns), one per show, in order.  project() streams
+ * through it twice:  once to find each Set's last show, then once keeping running totals per Set and the cumulative
+ * spend after each show, so a year of daily shows for hundreds of Sets is a few hundred thousand array operations.
+ */
+public class CostProjection {
+
+  /** The most shows a projection may cover:  ten years of daily shows. */
+  public static final int MAX_PERFORMANCES = 3650;
+
+  private final long[] setIds;
+  private final String[] setNames;
+  private final int[] initialCost;
+  private final int[] restockCost;
+  private final int[] resetMinutes;
+
+
+  /**
+   * Create a CostProjection from its columns.  Every array has one entry per Set.
+   *
+   * @param setIds       The ID of each Set.
+   * @param setNames     The name of each Set.
+   * @param initialCost  The cost of all of each Set's Materials, in dollars.
+   * @param restockCost  The cost of each Set's consumed and given away Materials, in dollars.
+   * @param resetMinutes The total reset duration of each Set's Routines, in minutes.
+   */
+  public CostProjection(long[] setIds, String[] setNames, int[] initialCost, int[] restockCost, int[] resetMinutes) {
+    if (setNames.length != setIds.length || initialCost.length != setIds.length
+        || restockCost.length != setIds.length || resetMinutes.length != setIds.length) {
+      throw new IllegalArgumentException("Every column must have one entry per Set");
+    }
+
+    this.setIds = setIds;
+    this.setNames = setNames;
+    this.initialCost = initialCost;
+    this.restockCost = restockCost;
+    this.resetMinutes = resetMinutes;
+  }
+
+
+  /**
+   * Get the number of Sets.
+   *
+   * @return The number of Sets.
+   */
+  public int size() {
+    return setIds.length;
+  }
+
+
+  /**
+   * Find the ordinal of a Set.
+   *
+   * @param setId The ID of the Set.
+   * @return The Set's index in the columns or -1 if it isn't in this projection.
+   */
+  public int ordinal(long setId) {
+    for (int i = 0; i < setIds.length; i++) {
+      if (setIds[i] == setId) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+
+  /**
+   * Build a schedule that performs one Set for a number of shows.
+   *
+   * @param ordinal      The Set's index in the columns.
+   * @param performances The number of shows.
+   * @return The schedule.
+   */
+  public static int[] repeat(int ordinal, int performances) {
+    int[] schedule = new int[performances];
+    Arrays.fill(schedule, ordinal);
+    return schedule;
+  }
+
+
+  /**
+   * Project a schedule of shows.
+   *
+   * @param schedule The ordinal of the Set performed at each show, in order.
+   * @return The totals per Set and the cumulative spend after each show.
+   */
+  public Projection project(int[] schedule) {
+    int sets = setIds.length;
+    int[] shows = new int[sets];
+    long[] restockSpend = new long[sets];
+    long[] resetTotal = new long[sets];
+    long[] spend = new long[sets];
+    long[] cumulativeSpend = new long[schedule.length];
+
+    // The index of each Set's last show.  A Set isn't restocked or reset after it, since it's never performed again.
+    int[] lastShow = new int[sets];
+    for (int show = 0; show < schedule.length; show++) {
+      lastShow[schedule[show]] = show;
+    }
+
+    long total = 0;
+    for (int show = 0; show < schedule.length; show++) {
+      int set = schedule[show];
+
+      // Buy the props before the Set's first show.
+      if (shows[set] == 0) {
+        spend[set] += initialCost[set];
+        total += initialCost[set];
+      }
+      shows[set]++;
+
+      // Restock what was used up and reset, except after the Set's last show.
+      if (show < lastShow[set]) {
+        restockSpend[set] += restockCost[set];
+        spend[set] += restockCost[set];
+        total += restockCost[set];
+        resetTotal[set] += resetMinutes[set];
+      }
+
+      cumulativeSpend[show] = total;
+    }
+
+    return new Projection(this, shows, restockSpend, resetTotal, spend, cumulativeSpend);
+  }
+
+
+  /**
+   * Project every Set on its own, each performed for the same number of shows.
+   *
+   * @param performances The number of shows of each Set.
+   * @return The totals per Set.  The cumulative spend is the sum over all of the Sets, show by show.
+   */
+  public Projection projectEach(int performances) {
+    int sets = setIds.length;
+    int[] shows = new int[sets];
+    long[] restockSpend = new long[sets];
+    long[] resetTotal = new long[sets];
+    long[] spend = new long[sets];
+    long[] cumulativeSpend = new long[performances];
+
+    for (int set = 0; set < sets; set++) {
+      long running = 0;
+
+      for (int show = 0; show < performances; show++) {
+        if (show == 0) {
+          running += initialCost[set];
+        }
+        if (show < performances - 1) {
+          running += restockCost[set];
+          resetTotal[set] += resetMinutes[set];
+        }
+        cumulativeSpend[show] += running;
+      }
+
+      shows[set] = performances;
+      spend[set] = running;
+      restockSpend[set] = running - ((performances > 0) ? initialCost[set] : 0);
+    }
+
+    return new Projection(this, shows, restockSpend, resetTotal, spend, cumulativeSpend);
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get the ID of a Set.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The ID of the Set.
+   */
+  public long getSetId(int ordinal) {
+    return setIds[ordinal];
+  }
+
+  /**
+   * Get the name of a Set.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The name of the Set.
+   */
+  public String getSetName(int ordinal) {
+    return setNames[ordinal];
+  }
+
+  /**
+   * Get the cost of all of a Set's Materials.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The initial cost, in dollars.
+   */
+  public int getInitialCost(int ordinal) {
+    return initialCost[ordinal];
+  }
+
+  /**
+   * Get the cost of restocking a Set after one show.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The restock cost, in dollars.
+   */
+  public int getRestockCost(int ordinal) {
+    return restockCost[ordinal];
+  }
+
+  /**
+   * Get the time it takes to reset a Set after one show.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The reset duration, in minutes.
+   */
+  public int getResetMinutes(int ordinal) {
+    return resetMinutes[ordinal];
+  }
+
+}
@@ -0,0 +1,104 @@
+package services.projection;
+
+/**
+ * The result of a CostProjection:  columns of totals per Set and the cumulative spend after each show.
+ */
+public class Projection {
+
+  private final CostProjection sets;
+  private final int[] shows;
+  private final long[] restockSpend;
+  private final long[] resetMinutes;
+  private final long[] spend;
+  private final long[] cumulativeSpend;
+
+
+  /**
+   * Create a Projection.  The per-Set arrays have one entry per Set in the CostProjection.
+   *
+   * @param sets            The Sets that were projected.
+   * @param shows           The number of shows of each Set.
+   * @param restockSpend    The total restock cost of each Set, in dollars.
+   * @param resetMinutes    The total reset time of each Set, in minutes.
+   * @param spend           The total spend on each Set (initial cost plus restocking), in dollars.
+   * @param cumulativeSpend The total spend on all of the Sets after each show, in dollars.
+   */
+  Projection(CostProjection sets, int[] shows, long[] restockSpend, long[] resetMinutes, long[] spend,
+             long[] cumulativeSpend) {
+    this.sets = sets;
+    this.shows = shows;
+    this.restockSpend = restockSpend;
+    this.resetMinutes = resetMinutes;
+    this.spend = spend;
+    this.cumulativeSpend = cumulativeSpend;
+  }
+
+
+  /**
+   * Get the Sets that were projected.
+   *
+   * @return The Sets, with their per-show costs.
+   */
+  public CostProjection getSets() {
+    return sets;
+  }
+
+  /**
+   * Get the number of shows of a Set.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The number of shows.
+   */
+  public int getShows(int ordinal) {
+    return shows[ordinal];
+  }
+
+  /**
+   * Get the total restock cost of a Set.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The restock cost, in dollars.
+   */
+  public long getRestockSpend(int ordinal) {
+    return restockSpend[ordinal];
+  }
+
+  /**
+   * Get the total time spent resetting a Set between shows.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The reset time, in minutes.
+   */
+  public long getResetMinutes(int ordinal) {
+    return resetMinutes[ordinal];
+  }
+
+  /**
+   * Get the total spend on a Set.
+   *
+   * @param ordinal The Set's index in the columns.
+   * @return The initial cost plus the restock cost, in dollars.
+   */
+  public long getSpend(int ordinal) {
+    return spend[ordinal];
+  }
+
+  /**
+   * Get the total spend on all of the Sets after each show.
+   *
+   * @return A copy of the cumulative spend, one entry per show, in dollars.
+   */
+  public long[] getCumulativeSpend() {
+    return cumulativeSpend.clone();
+  }
+
+  /**
+   * Get the total spend on all of the Sets after the last show.
+   *
+   * @return The total spend, in dollars.
+   */
+  public long getTotalSpend() {
+    return (cumulativeSpend.length == 0) ? 0 : cumulativeSpend[cumulativeSpend.length - 1];
+  }
+
+}
@@ -0,0 +1,19 @@
+/**
+ * Cost Projection Service for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that projects what Sets cost to perform over many shows:  the props bought up
+ * front, the consumables restocked after every show and the time spent resetting between shows.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.projection;
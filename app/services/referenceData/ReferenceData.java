@@ -0,0 +1,66 @@
+package services.referenceData;
+
+import models.MagicianType;
+import play.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hold the current ReferenceDataSnapshot.
+ * <p>
+ * The snapshot is loaded once (on first use or at startup) and is replaced as a whole by reload() whenever the
+ * standing data changes.  Readers always see a complete, consistent snapshot and never wait on a lock.
+ */
+public class ReferenceData {
+
+  /** The Experience Levels are not stored in the database. */
+  private static final List<String> EXPERIENCE_LEVELS = Arrays.asList("Neophyte", "Enthusiast", "Hobbyist",
+      "Historian", "Collector", "Semi-Professional", "Professional");
+
+  private static final AtomicReference<ReferenceDataSnapshot> snapshot = new AtomicReference<ReferenceDataSnapshot>();
+
+
+  /**
+   * Get the current snapshot, loading it from the database if it hasn't been loaded yet.
+   *
+   * @return The current snapshot.
+   */
+  public static ReferenceDataSnapshot current() {
+    ReferenceDataSnapshot current = snapshot.get();
+
+    if (current == null) {
+      current = reload();
+    }
+
+    return current;
+  }
+
+
+  /**
+   * Build a new snapshot from the database and publish it.  Call this after the standing data changes.
+   *
+   * @return The new snapshot.
+   */
+  public static synchronized ReferenceDataSnapshot reload() {
+    List<String> magicianTypes = new ArrayList<String>();
+
+    for (MagicianType magicianType : MagicianType.find().orderBy("displayOrder").findList()) {
+      magicianTypes.add(magicianType.getName());
+    }
+
+    ReferenceDataSnapshot previous = snapshot.get();
+    long version = (previous == null) ? 1 : previous.getVersion() + 1;
+
+    ReferenceDataSnapshot current = new ReferenceDataSnapshot(version, magicianTypes, EXPERIENCE_LEVELS);
+    snapshot.set(current);
+
+    Logger.debug("Loaded reference data snapshot.  version = [" + version + "]"
+        + "  magicianTypes = [" + magicianTypes.size() + "]");
+
+    return current;
+  }
+
+}
@@ -0,0 +1,156 @@
+package services.referenceData;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the reference data used by forms, validators and templates.
+ * <p>
+ * Every option map that a form could ask for is built when the snapshot is created:  one map with nothing selected
+ * and one map per option with that option selected.  Reading from a snapshot never allocates or queries anything.
+ * <p>
+ * Snapshots are created and published by ReferenceData.
+ */
+public final class ReferenceDataSnapshot {
+
+  private final long version;
+  private final List<String> magicianTypes;
+  private final Map<String, Boolean> magicianTypeMap;
+  private final Map<String, Map<String, Boolean>> selectedMagicianTypeMaps;
+  private final List<String> experienceLevels;
+  private final Map<String, Boolean> experienceLevelMap;
+  private final Map<String, Map<String, Boolean>> selectedExperienceLevelMaps;
+
+
+  /**
+   * Build a new snapshot.
+   *
+   * @param version          The version of this snapshot.  Each new snapshot gets a higher version.
+   * @param magicianTypes    The names of the MagicianTypes in display order.
+   * @param experienceLevels The names of the Experience Levels in display order.
+   */
+  ReferenceDataSnapshot(long version, List<String> magicianTypes, List<String> experienceLevels) {
+    this.version = version;
+    this.magicianTypes = Collections.unmodifiableList(magicianTypes);
+    this.magicianTypeMap = buildOptionMap(magicianTypes, null);
+    this.selectedMagicianTypeMaps = buildSelectedOptionMaps(magicianTypes);
+    this.experienceLevels = Collections.unmodifiableList(experienceLevels);
+    this.experienceLevelMap = buildOptionMap(experienceLevels, null);
+    this.selectedExperienceLevelMaps = buildSelectedOptionMaps(experienceLevels);
+  }
+
+
+  /**
+   * Build a read-only option map for the bootstrap3 select.scala.html dropdown list box.
+   *
+   * @param options  The options, in display order.
+   * @param selected The option that is selected or null if nothing is selected.
+   * @return A read-only map of option to isSelected.
+   */
+  private static Map<String, Boolean> buildOptionMap(List<String> options, String selected) {
+    Map<String, Boolean> optionMap = new LinkedHashMap<String, Boolean>();
+
+    for (String option : options) {
+      optionMap.put(option, option.equals(selected));
+    }
+
+    return Collections.unmodifiableMap(optionMap);
+  }
+
+
+  /**
+   * Build a read-only option map for each option with that option selected.
+   *
+   * @param options The options, in display order.
+   * @return A read-only map of the selected option to its option map.
+   */
+  private static Map<String, Map<String, Boolean>> buildSelectedOptionMaps(List<String> options) {
+    Map<String, Map<String, Boolean>> selectedOptionMaps = new HashMap<String, Map<String, Boolean>>();
+
+    for (String option : options) {
+      selectedOptionMaps.put(option, buildOptionMap(options, option));
+    }
+
+    return Collections.unmodifiableMap(selectedOptionMaps);
+  }
+
+
+  /**
+   * Get the version of this snapshot.
+   *
+   * @return The version of this snapshot.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Get the names of the MagicianTypes in display order.
+   *
+   * @return A read-only list of MagicianType names.
+   */
+  public List<String> getMagicianTypes() {
+    return magicianTypes;
+  }
+
+  /**
+   * Check if a name is a MagicianType.
+   *
+   * @param magicianType The name to check.
+   * @return True if the name is a MagicianType.
+   */
+  public boolean isMagicianType(String magicianType) {
+    return magicianType != null && selectedMagicianTypeMaps.containsKey(magicianType);
+  }
+
+  /**
+   * Get the MagicianType option map with the provided MagicianType selected (if present).
+   *
+   * @param magicianType The MagicianType to select or null.
+   * @return A read-only map of MagicianType to isSelected.
+   */
+  public Map<String, Boolean> getMagicianTypeMap(String magicianType) {
+    if (isMagicianType(magicianType)) {
+      return selectedMagicianTypeMaps.get(magicianType);
+    }
+
+    return magicianTypeMap;
+  }
+
+  /**
+   * Get the names of the Experience Levels in display order.
+   *
+   * @return A read-only list of Experience Level names.
+   */
+  public List<String> getExperienceLevels() {
+    return experienceLevels;
+  }
+
+  /**
+   * Check if a name is an Experience Level.
+   *
+   * @param experienceLevel The name to check.
+   * @return True if the name is an Experience Level.
+   */
+  public boolean isExperienceLevel(String experienceLevel) {
+    return experienceLevel != null && selectedExperienceLevelMaps.containsKey(experienceLevel);
+  }
+
+  /**
+   * Get the Experience Level option map with the provided Experience Level selected (if present).
+   *
+   * @param experienceLevel The Experience Level to select or null.
+   * @return A read-only map of Experience Level to isSelected.
+   */
+  public Map<String, Boolean> getExperienceLevelMap(String experienceLevel) {
+    if (isExperienceLevel(experienceLevel)) {
+      return selectedExperienceLevelMaps.get(experienceLevel);
+    }
+
+    return experienceLevelMap;
+  }
+
+}
@@ -0,0 +1,19 @@
+/**
+ * Reference Data Service for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that holds an immutable, in-memory snapshot of the standing data (Magician Types,
+ * Experience Levels) that populates the option lists on our forms.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.referenceData;
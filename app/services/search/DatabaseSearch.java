@@ -0,0 +1,232 @@
+package services.search;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.SqlRow;
+import play.Configuration;
+import play.Logger;
+import services.db.DbRouting;
+import services.db.StatementStatistics;
+import services.seed.SeedLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Search the Routines and Magicians in Postgres, for deployments with more than one node.
+ * <p>
+ * The in-memory indexes (see RoutineCatalog and MagicianSearch) are per node and load every Routine and Magician into
+ * each JVM.  With search.mode = "database", searches instead use generated columns and GIN indexes on the routine
+ * and magician tables, so every node sees the same results as soon as a save commits.  The columns are added by
+ * conf/sql/search-postgres.sql, which install() runs at startup.  It's not a default evolution, because the tests run
+ * on H2, which has no tsvector or pg_trgm.
+ * <p>
+ * Routines use full-text search.  Each term in a query matches any word that starts with it (so "car" finds "cards")
+ * and a query matches any of its terms.  Results are ranked with ts_rank_cd:  a match in the name counts more than
+ * one in the description, which counts more than one in the method or handling.
+ * <p>
+ * Magicians use pg_trgm, like MagicianSearch:  a Magician matches if its names and location hold most of the query's
+ * trigrams (word_similarity at or above pg_trgm.word_similarity_threshold), so misspelled and partial words match.
+ */
+public class DatabaseSearch {
+
+  /** Search with the in-memory indexes. */
+  public static final String MEMORY = "memory";
+
+  /** Search with Postgres full-text search. */
+  public static final String DATABASE = "database";
+
+  /** The script that adds the search columns and indexes. */
+  public static final String INSTALL_SCRIPT = "sql/search-postgres.sql";
+
+  private static final String ROUTINE_SQL = "select r.id as id, r.name as name, r.duration as duration,"
+      + " ts_rank_cd(r.search_vector, q) as rank, count(*) over () as total"
+      + " from routine r cross join to_tsquery('english', :query) q"
+      + " where r.search_vector @@ q"
+      + " order by rank desc, r.id limit :limit offset :offset";
+
+  private static final String ROUTINE_COUNT_SQL = "select count(*) as total"
+      + " from routine r cross join to_tsquery('english', :query) q"
+      + " where r.search_vector @@ q";
+
+  private static final String MAGICIAN_SQL = "select m.id as id, m.first_name as first_name,"
+      + " m.last_name as last_name, m.stage_name as stage_name, m.location as location,"
+      + " word_similarity(:query, m.search_text) as rank, count(*) over () as total"
+      + " from magician m"
+      + " where :query <% m.search_text"
+      + " order by rank desc, m.id limit :limit offset :offset";
+
+  private static final String MAGICIAN_COUNT_SQL = "select count(*) as total"
+      + " from magician m"
+      + " where :query <% m.search_text";
+
+  private static volatile String mode = MEMORY;
+
+
+  /**
+   * Read the search mode from the application's configuration and, in database mode, install the search columns.
+   *
+   * @param configuration The application's configuration.
+   */
+  public static void configure(Configuration configuration) {
+    mode = configuration.getString("search.mode", MEMORY);
+
+    if (!MEMORY.equals(mode) && !DATABASE.equals(mode)) {
+      throw new RuntimeException("Unable to use search.mode [" + mode + "].  Use [" + MEMORY + "] or ["
+          + DATABASE + "]");
+    }
+
+    if (isEnabled() && configuration.getBoolean("search.database.install", true)) {
+      install();
+    }
+
+    Logger.info("Search mode = [" + mode + "]");
+  }
+
+
+  /**
+   * See if searches go to the database.
+   *
+   * @return True if search.mode is "database".
+   */
+  public static boolean isEnabled() {
+    return DATABASE.equals(mode);
+  }
+
+
+  /**
+   * Run the Ups of the install script against the primary database.
+   */
+  public static void install() {
+    String script = new String(SeedLoader.readBytes(INSTALL_SCRIPT), StandardCharsets.UTF_8);
+    String ups = script.substring(script.indexOf("# --- !Ups"), script.indexOf("# --- !Downs"));
+
+    StringBuilder sql = new StringBuilder();
+    for (String line : ups.split("\n")) {
+      if (!line.trim().startsWith("#")) {
+        sql.append(line).append('\n');
+      }
+    }
+
+    for (String statement : sql.toString().split(";")) {
+      if (!statement.trim().isEmpty()) {
+        Ebean.getServer(DbRouting.PRIMARY).createSqlUpdate(statement.trim()).execute();
+      }
+    }
+
+    Logger.info("Installed the database search columns.  script = [" + INSTALL_SCRIPT + "]");
+  }
+
+
+  /**
+   * Search the Routines.
+   *
+   * @param query  The text to search for.
+   * @param offset The number of results to skip (for paging).
+   * @param limit  The maximum number of results to return.
+   * @return The page of results, the best match first, and the total number of matches.
+   */
+  public static SearchResults<SearchResult> searchRoutines(String query, int offset, int limit) {
+    List<SearchResult> results = new ArrayList<SearchResult>();
+    String tsQuery = toTsQuery(query);
+    if (tsQuery == null || limit <= 0) {
+      return new SearchResults<SearchResult>(query, offset, limit, 0, results);
+    }
+
+    StatementStatistics.count("Routine.search");
+    List<SqlRow> rows = DbRouting.server().createSqlQuery(ROUTINE_SQL)
+        .setParameter("query", tsQuery)
+        .setParameter("limit", limit)
+        .setParameter("offset", offset)
+        .findList();
+
+    for (SqlRow row : rows) {
+      results.add(new SearchResult(row.getLong("id"), row.getString("name"), row.getInteger("duration"),
+          row.getDouble("rank").floatValue()));
+    }
+
+    return new SearchResults<SearchResult>(query, offset, limit,
+        total(rows, offset, ROUTINE_COUNT_SQL, tsQuery, "Routine.searchCount"), results);
+  }
+
+
+  /**
+   * Search the Magicians by name, stage name and location, allowing for misspelled and partial words.
+   *
+   * @param query  The text to search for.
+   * @param offset The number of results to skip (for paging).
+   * @param limit  The maximum number of results to return.
+   * @return The page of results, the best match first, and the total number of matches.
+   */
+  public static SearchResults<MagicianSearchResult> searchMagicians(String query, int offset, int limit) {
+    List<MagicianSearchResult> results = new ArrayList<MagicianSearchResult>();
+    String text = Terms.normalize(query);
+    if (text.isEmpty() || limit <= 0) {
+      return new SearchResults<MagicianSearchResult>(query, offset, limit, 0, results);
+    }
+
+    StatementStatistics.count("Magician.search");
+    List<SqlRow> rows = DbRouting.server().createSqlQuery(MAGICIAN_SQL)
+        .setParameter("query", text)
+        .setParameter("limit", limit)
+        .setParameter("offset", offset)
+        .findList();
+
+    for (SqlRow row : rows) {
+      results.add(new MagicianSearchResult(row.getLong("id"), row.getString("first_name"),
+          row.getString("last_name"), row.getString("stage_name"), row.getString("location"),
+          row.getDouble("rank").floatValue()));
+    }
+
+    return new SearchResults<MagicianSearchResult>(query, offset, limit,
+        total(rows, offset, MAGICIAN_COUNT_SQL, text, "Magician.searchCount"), results);
+  }
+
+
+  /**
+   * Turn a query into a tsquery that matches any of its terms as a prefix.  Terms only hold letters and digits, so
+   * nothing in the query can change the tsquery's syntax.
+   *
+   * @param query The text to search for.
+   * @return The tsquery (for example, "card:* | vanish:*") or null if the query has no terms.
+   */
+  static String toTsQuery(String query) {
+    StringBuilder tsQuery = new StringBuilder();
+
+    for (String term : new LinkedHashSet<String>(Terms.tokenize(query))) {
+      if (tsQuery.length() > 0) {
+        tsQuery.append(" | ");
+      }
+      tsQuery.append(term).append(":*");
+    }
+
+    return (tsQuery.length() == 0) ? null : tsQuery.toString();
+  }
+
+
+  /**
+   * Get the total number of matches.  It's read from the first row of the page (count(*) over ()).  A page past the
+   * last match has no rows to read it from, so then the matches are counted with a query of their own, so the pager
+   * still shows the real total.
+   *
+   * @param rows      The page of rows, each with the total.
+   * @param offset    The number of results skipped.
+   * @param countSql  The query that counts the matches.
+   * @param query     The value of its :query parameter.
+   * @param statement The name to count the query under (see StatementStatistics).
+   * @return The total number of matches.
+   */
+  private static int total(List<SqlRow> rows, int offset, String countSql, String query, String statement) {
+    if (!rows.isEmpty()) {
+      return rows.get(0).getInteger("total");
+    }
+    if (offset <= 0) {
+      return 0;
+    }
+
+    StatementStatistics.count(statement);
+    return DbRouting.server().createSqlQuery(countSql).setParameter("query", query).findUnique().getInteger("total");
+  }
+
+}
@@ -0,0 +1,144 @@
+package services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Something the Routines can be filtered by (like how long they take), and the values it can have.  Every Routine has
+ * at most one value of each Facet.
+ */
+public abstract class Facet {
+
+  /** The value of a yes or no Facet, for a Routine where it's true. */
+  public static final String YES = "yes";
+
+  /** The value of a yes or no Facet, for a Routine where it's false. */
+  public static final String NO = "no";
+
+  private final String name;
+  private final String label;
+  private final List<String> values;
+
+
+  /**
+   * Create a Facet.
+   *
+   * @param name   The name of the Facet, as it appears in a query string.
+   * @param label  What to call the Facet on a page.
+   * @param values The values of the Facet, in the order they're shown.
+   */
+  Facet(String name, String label, List<String> values) {
+    this.name = name;
+    this.label = label;
+    this.values = Collections.unmodifiableList(new ArrayList<String>(values));
+  }
+
+
+  /**
+   * Find a Routine's value.
+   *
+   * @param entry The Routine.
+   * @return The index of the Routine's value in getValues(), or -1 if it doesn't have one.
+   */
+  abstract int valueOf(RoutineEntry entry);
+
+
+  /**
+   * Label the bands of a banded Facet.  Bounds of {0, 5, 10} make the bands "0", "1-5", "6-10" and "11+".
+   *
+   * @param bounds The upper bound of each band, in ascending order.  Larger numbers are in a last, open band.
+   * @return The labels of the bands.
+   */
+  static List<String> bands(int[] bounds) {
+    List<String> bands = new ArrayList<String>();
+    int low = 0;
+
+    for (int bound : bounds) {
+      bands.add((low == bound) ? String.valueOf(bound) : low + "-" + bound);
+      low = bound + 1;
+    }
+    bands.add(low + "+");
+
+    return bands;
+  }
+
+
+  /**
+   * Find the band a number is in.
+   *
+   * @param bounds The upper bound of each band, in ascending order.
+   * @param number The number, or null.
+   * @return The index of the band, or -1 if the number is null.
+   */
+  static int band(int[] bounds, Integer number) {
+    if (number == null) {
+      return -1;
+    }
+
+    for (int i = 0; i < bounds.length; i++) {
+      if (number <= bounds[i]) {
+        return i;
+      }
+    }
+
+    return bounds.length;
+  }
+
+
+  /**
+   * Get the values of a yes or no Facet.
+   *
+   * @return "yes" and "no".
+   */
+  static List<String> yesNo() {
+    return Arrays.asList(YES, NO);
+  }
+
+
+  /**
+   * Find the value of a yes or no Facet.
+   *
+   * @param value Whether it's true.
+   * @return The index of "yes" or "no".
+   */
+  static int yesNo(boolean value) {
+    return value ? 0 : 1;
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get the name of the Facet.
+   *
+   * @return The name of the Facet, as it appears in a query string.
+   */
+  public String getName() {
+    return name;
+  }
+
+
+  /**
+   * Get the label of the Facet.
+   *
+   * @return What to call the Facet on a page.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+
+  /**
+   * Get the values of the Facet.
+   *
+   * @return An unmodifiable list of the values, in the order they're shown.
+   */
+  public List<String> getValues() {
+    return values;
+  }
+
+}
@@ -0,0 +1,179 @@
+package services.search;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of Routines filtered by their Facets, and how many Routines each value of each Facet would match.
+ * Immutable.
+ * <p>
+ * A value's count is the number of Routines that match it and every other Facet's selection, so it's what the total
+ * would be if only that value were selected for its Facet (or, when some of the Facet's values are already selected,
+ * how many Routines selecting it as well would add).
+ */
+public class FacetResults {
+
+  private final List<Facet> facets;
+  private final Map<String, java.util.Set<String>> selected;
+  private final Map<String, int[]> counts;
+  private final int offset;
+  private final int limit;
+  private final int total;
+  private final List<RoutineEntry> routines;
+
+
+  /**
+   * Create a page of FacetResults.
+   *
+   * @param facets   Every Facet.
+   * @param selected The values selected for each Facet.  A Facet with nothing selected doesn't filter.
+   * @param counts   The count of each value of each Facet, in the order of its values.
+   * @param offset   The number of Routines skipped.
+   * @param limit    The maximum number of Routines on the page.
+   * @param total    The number of matching Routines on every page.
+   * @param routines The Routines on this page, in ID order.
+   */
+  public FacetResults(List<Facet> facets, Map<String, java.util.Set<String>> selected, Map<String, int[]> counts,
+                      int offset, int limit, int total, List<RoutineEntry> routines) {
+    this.facets = facets;
+    this.selected = selected;
+    this.counts = counts;
+    this.offset = offset;
+    this.limit = limit;
+    this.total = total;
+    this.routines = Collections.unmodifiableList(routines);
+  }
+
+
+  /**
+   * See if a value is selected.
+   *
+   * @param facet The name of the Facet.
+   * @param value The value.
+   * @return True if the value is selected.
+   */
+  public boolean isSelected(String facet, String value) {
+    return selected.containsKey(facet) && selected.get(facet).contains(value);
+  }
+
+
+  /**
+   * Get the number of Routines a value matches, given the other Facets' selections.
+   *
+   * @param facet The name of the Facet.
+   * @param value The value.
+   * @return The number of Routines, or 0 if there's no such Facet or value.
+   */
+  public int getCount(String facet, String value) {
+    for (Facet current : facets) {
+      if (current.getName().equals(facet) && current.getValues().contains(value)) {
+        return counts.get(facet)[current.getValues().indexOf(value)];
+      }
+    }
+
+    return 0;
+  }
+
+
+  /**
+   * Get the selection as a query string, for links to other pages of the results.
+   *
+   * @return The selected values (for example, "&amp;duration=3-5&amp;consumed=yes"), each starting with an ampersand.
+   */
+  public String getQueryString() {
+    StringBuilder queryString = new StringBuilder();
+
+    try {
+      for (Facet facet : facets) {
+        for (String value : facet.getValues()) {
+          if (isSelected(facet.getName(), value)) {
+            queryString.append('&').append(facet.getName()).append('=').append(URLEncoder.encode(value, "UTF-8"));
+          }
+        }
+      }
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new RuntimeException("Unable to encode the facets [" + selected + "]", e);
+    }
+
+    return queryString.toString();
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get every Facet.
+   *
+   * @return Every Facet, in the order they're shown.
+   */
+  public List<Facet> getFacets() {
+    return facets;
+  }
+
+
+  /**
+   * Get the number of Routines skipped.
+   *
+   * @return The offset of the first Routine on this page.
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+
+  /**
+   * Get the maximum number of Routines on the page.
+   *
+   * @return The page size.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+
+  /**
+   * Get the number of matching Routines on every page.
+   *
+   * @return The total number of matches.
+   */
+  public int getTotal() {
+    return total;
+  }
+
+
+  /**
+   * Get the Routines on this page.
+   *
+   * @return An unmodifiable list of the Routines, in ID order.
+   */
+  public List<RoutineEntry> getRoutines() {
+    return routines;
+  }
+
+
+  /**
+   * See if there's a page after this one.
+   *
+   * @return True if there are more matches.
+   */
+  public boolean hasNext() {
+    return offset + routines.size() < total;
+  }
+
+
+  /**
+   * See if there's a page before this one.
+   *
+   * @return True if this isn't the first page.
+   */
+  public boolean hasPrevious() {
+    return offset > 0;
+  }
+
+}
@@ -0,0 +1,522 @@
+package services.search;
+
+import models.Magician;
+import play.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory trigram index for fuzzy search of the Magicians by name, stage name and location.
+ * <p>
+ * Text is split into words and each word is padded and cut into trigrams the way pg_trgm does it ("vegas" is "  v",
+ * " ve", "veg", "ega", "gas" and "as "), so a misspelled or partly remembered word still shares most of its
+ * trigrams with the real one.  A Magician's score is the share of the query's trigrams found in its first name, last
+ * name, stage name and location, which is close to pg_trgm's word_similarity().  Magicians scoring at least 0.6
+ * (pg_trgm's default word_similarity_threshold) match.
+ * <p>
+ * Candidates come from the postings of the query's rarest trigrams.  A Magician that matches can only miss so many
+ * of the query's trigrams, so it must have at least one of the rarest few (one more than it's allowed to miss), and
+ * only those postings are scanned.  Every candidate is scored against its own trigrams, so the total is exact and a
+ * perfect match is never missed, however common the query is.  Only the matches up to the end of the requested page
+ * are kept (in a heap), so a common query doesn't sort every match.
+ * <p>
+ * Global builds the index after seeding and models.SearchIndexUpdater reports each Magician save.  Like
+ * RoutineSearch, a changed Magician is appended as a new document and its old document is marked deleted; once
+ * deleted documents outnumber the live ones, the postings are compacted.  When search.mode is "database", searches go
+ * to DatabaseSearch (which uses pg_trgm) and this index isn't kept.
+ */
+public class MagicianSearch {
+
+  /** The share of a query's trigrams a Magician must have to match. */
+  public static final float MIN_SIMILARITY = 0.6f;
+
+  /** Don't bother compacting until there are at least this many deleted documents. */
+  private static final int MIN_DELETED_TO_COMPACT = 64;
+
+  private static final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock.
+  private static final Map<String, Postings> postings = new HashMap<String, Postings>();
+  private static final List<Document> documents = new ArrayList<Document>();
+  private static final Map<Long, Integer> ordinals = new HashMap<Long, Integer>();
+  private static final BitSet deleted = new BitSet();
+
+  // Saves made while rebuild() is reading the database (null for a delete), replayed on top of what it read.
+  // Guarded by the class lock, as are the flags.
+  private static final Map<Long, Document> journal = new LinkedHashMap<Long, Document>();
+  private static boolean rebuilding = false;
+  private static boolean built = false;
+
+  private static long queries = 0;
+  private static long queryNanos = 0;
+
+
+  /**
+   * Search the Magicians.
+   *
+   * @param query  The text to search for.
+   * @param offset The number of results to skip (for paging).  A negative offset is treated as 0.
+   * @param limit  The maximum number of results to return.
+   * @return The page of results, the best match first, and the total number of matches.
+   */
+  public static SearchResults<MagicianSearchResult> search(String query, int offset, int limit) {
+    long start = System.nanoTime();
+    offset = Math.max(offset, 0);
+    java.util.Set<String> trigrams = trigrams(query);
+
+    lock.readLock().lock();
+    try {
+      if (trigrams.isEmpty() || limit <= 0) {
+        return new SearchResults<MagicianSearchResult>(query, offset, limit, 0,
+            new ArrayList<MagicianSearchResult>());
+      }
+
+      // The rarest trigrams first.  A trigram no Magician has is the rarest of all.
+      List<String> rarest = new ArrayList<String>(trigrams);
+      Collections.sort(rarest, new Comparator<String>() {
+        @Override
+        public int compare(String a, String b) {
+          return Integer.compare(size(a), size(b));
+        }
+      });
+
+      int required = (int) Math.ceil(MIN_SIMILARITY * trigrams.size());
+      int candidateLists = trigrams.size() - required + 1;
+
+      // Any Magician that matches has one of the rarest few trigrams, so only their postings are scanned.
+      // The best matches up to the end of the page, worst at the head, so it can be dropped for a better one.
+      int keep = (int) Math.min((long) offset + limit, documents.size());
+      PriorityQueue<Match> best = new PriorityQueue<Match>(Math.max(keep, 1), Collections.<Match>reverseOrder());
+      int total = 0;
+
+      BitSet scored = new BitSet(documents.size());
+      for (int i = 0; i < candidateLists; i++) {
+        Postings trigramPostings = postings.get(rarest.get(i));
+        for (int j = 0; trigramPostings != null && j < trigramPostings.size; j++) {
+          int ordinal = trigramPostings.ordinals[j];
+          if (deleted.get(ordinal) || scored.get(ordinal)) {
+            continue;
+          }
+          scored.set(ordinal);
+
+          Document document = documents.get(ordinal);
+          int common = 0;
+          for (String trigram : trigrams) {
+            if (document.trigrams.contains(trigram)) {
+              common++;
+            }
+          }
+
+          if (common >= required) {
+            total++;
+            Match match = new Match(document, (float) common / trigrams.size());
+            if (best.size() < keep) {
+              best.add(match);
+            }
+            else if (keep > 0 && match.compareTo(best.peek()) < 0) {
+              best.poll();
+              best.add(match);
+            }
+          }
+        }
+      }
+
+      List<Match> matches = new ArrayList<Match>(best);
+      Collections.sort(matches);
+
+      List<MagicianSearchResult> page = new ArrayList<MagicianSearchResult>();
+      for (int i = offset; i < matches.size() && page.size() < limit; i++) {
+        page.add(matches.get(i).toResult());
+      }
+
+      return new SearchResults<MagicianSearchResult>(query, offset, limit, total, page);
+    }
+    finally {
+      lock.readLock().unlock();
+
+      synchronized (MagicianSearch.class) {
+        queries++;
+        queryNanos += System.nanoTime() - start;
+      }
+    }
+  }
+
+
+  /**
+   * Get the size of the index and how long searches take.
+   *
+   * @return The number of documents, deleted documents, trigrams, postings, queries and the mean query time.
+   */
+  public static Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    lock.readLock().lock();
+    try {
+      long entries = 0;
+      for (Postings trigramPostings : postings.values()) {
+        entries += trigramPostings.size;
+      }
+
+      statistics.put("documents", (long) ordinals.size());
+      statistics.put("deleted", (long) deleted.cardinality());
+      statistics.put("trigrams", (long) postings.size());
+      statistics.put("postings", entries);
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+
+    synchronized (MagicianSearch.class) {
+      statistics.put("queries", queries);
+      statistics.put("meanQueryMicros", (queries == 0) ? 0 : queryNanos / queries / 1000);
+    }
+
+    return statistics;
+  }
+
+
+  /**
+   * Get the number of documents with a trigram, including deleted ones.
+   *
+   * @param trigram The trigram.
+   * @return The length of the trigram's postings.
+   */
+  private static int size(String trigram) {
+    Postings trigramPostings = postings.get(trigram);
+    return (trigramPostings == null) ? 0 : trigramPostings.size;
+  }
+
+
+  /**
+   * Cut text into trigrams the way pg_trgm does:  each word is lower cased, padded with two spaces in front and one
+   * behind, and every three characters in a row are a trigram.
+   *
+   * @param text The text (may be null).
+   * @return The trigrams, without duplicates.
+   */
+  static java.util.Set<String> trigrams(String text) {
+    java.util.Set<String> trigrams = new LinkedHashSet<String>();
+    if (text == null) {
+      return trigrams;
+    }
+
+    for (String word : text.toLowerCase(Locale.ENGLISH).split("[^\\p{L}\\p{Nd}]+")) {
+      if (!word.isEmpty()) {
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+          trigrams.add(padded.substring(i, i + 3));
+        }
+      }
+    }
+
+    return trigrams;
+  }
+
+
+  /******************************************************************************************************************
+   * I N D E X
+   ******************************************************************************************************************/
+
+  /**
+   * Load every Magician from the database and rebuild the index.  Does nothing when search.mode is "database".
+   */
+  public static void rebuild() {
+    if (DatabaseSearch.isEnabled()) {
+      return;
+    }
+
+    long start = System.currentTimeMillis();
+
+    synchronized (MagicianSearch.class) {
+      rebuilding = true;
+      journal.clear();
+    }
+
+    try {
+      // Read the database without holding the lock; saves made meanwhile are journaled and replayed by rebuild().
+      List<Magician> magicians = Magician.getAllMagicians();
+      rebuild(magicians);
+
+      Logger.info("Built the magician search index.  magicians = [" + magicians.size() + "]  millis = ["
+          + (System.currentTimeMillis() - start) + "]");
+    }
+    finally {
+      synchronized (MagicianSearch.class) {
+        rebuilding = false;
+        journal.clear();
+      }
+    }
+  }
+
+
+  /**
+   * Rebuild the index from some Magicians, replaying the saves journaled while they were read.  rebuild() reads
+   * them from the database.
+   *
+   * @param magicians Every Magician.
+   */
+  public static void rebuild(Collection<Magician> magicians) {
+    List<Document> read = new ArrayList<Document>();
+    for (Magician magician : magicians) {
+      read.add(new Document(magician));
+    }
+
+    synchronized (MagicianSearch.class) {
+      lock.writeLock().lock();
+      try {
+        clear();
+        for (Document document : read) {
+          if (!journal.containsKey(document.id)) {
+            add(document);
+          }
+        }
+        for (Map.Entry<Long, Document> change : journal.entrySet()) {
+          replace(change.getKey(), change.getValue());
+        }
+      }
+      finally {
+        lock.writeLock().unlock();
+      }
+
+      built = true;
+    }
+  }
+
+
+  /**
+   * Record that a Magician was inserted or updated.
+   *
+   * @param magician The Magician.
+   */
+  public static void magicianSaved(Magician magician) {
+    changed(magician.getId(), new Document(magician));
+  }
+
+
+  /**
+   * Record that a Magician was deleted.
+   *
+   * @param magicianId The ID of the Magician.
+   */
+  public static void magicianDeleted(long magicianId) {
+    changed(magicianId, null);
+  }
+
+
+  /**
+   * Apply a change to the index, or journal it if a rebuild is reading the database.  Until the index is built,
+   * there's nothing to update.
+   *
+   * @param magicianId The ID of the Magician.
+   * @param document   The Magician as it is now, or null if it was deleted.
+   */
+  private static synchronized void changed(long magicianId, Document document) {
+    if (rebuilding) {
+      journal.put(magicianId, document);
+    }
+    if (!built) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      replace(magicianId, document);
+
+      int deletedCount = deleted.cardinality();
+      if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount > ordinals.size()) {
+        compact();
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Empty the index.
+   */
+  private static void clear() {
+    postings.clear();
+    documents.clear();
+    ordinals.clear();
+    deleted.clear();
+  }
+
+
+  /**
+   * Mark a Magician's document deleted and, unless the Magician was deleted, append a new one.
+   *
+   * @param magicianId The ID of the Magician.
+   * @param document   The Magician as it is now, or null if it was deleted.
+   */
+  private static void replace(long magicianId, Document document) {
+    Integer ordinal = ordinals.remove(magicianId);
+    if (ordinal != null) {
+      deleted.set(ordinal);
+    }
+
+    if (document != null) {
+      add(document);
+    }
+  }
+
+
+  /**
+   * Add a Magician as a new document at the end of the index.
+   *
+   * @param document The Magician.
+   */
+  private static void add(Document document) {
+    int ordinal = documents.size();
+    documents.add(document);
+    ordinals.put(document.id, ordinal);
+
+    for (String trigram : document.trigrams) {
+      Postings trigramPostings = postings.get(trigram);
+      if (trigramPostings == null) {
+        trigramPostings = new Postings();
+        postings.put(trigram, trigramPostings);
+      }
+      trigramPostings.add(ordinal);
+    }
+  }
+
+
+  /**
+   * Drop the deleted documents and renumber the rest.
+   */
+  private static void compact() {
+    List<Document> live = new ArrayList<Document>();
+    for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+      if (!deleted.get(ordinal)) {
+        live.add(documents.get(ordinal));
+      }
+    }
+
+    clear();
+    for (Document document : live) {
+      add(document);
+    }
+  }
+
+
+  /**
+   * What the index knows about a Magician.  Immutable.
+   */
+  private static class Document {
+
+    private final long id;
+    private final String firstName;
+    private final String lastName;
+    private final String stageName;
+    private final String location;
+    private final java.util.Set<String> trigrams;
+
+
+    /**
+     * Copy what the index needs from a Magician.
+     *
+     * @param magician The Magician.
+     */
+    Document(Magician magician) {
+      this.id = magician.getId();
+      this.firstName = magician.getFirstName();
+      this.lastName = magician.getLastName();
+      this.stageName = magician.getStageName();
+      this.location = magician.getLocation();
+      this.trigrams = new LinkedHashSet<String>();
+      for (String field : new String[] {firstName, lastName, stageName, location}) {
+        trigrams.addAll(trigrams(field));
+      }
+    }
+
+  }
+
+
+  /**
+   * A Magician that matched a query.  Sorts best first:  by score, then the Magician with fewer trigrams (whose name
+   * is closer to just the query), then by ID.
+   */
+  private static class Match implements Comparable<Match> {
+
+    private final Document document;
+    private final float score;
+
+
+    /**
+     * Create a Match.
+     *
+     * @param document The Magician.
+     * @param score    The share of the query's trigrams the Magician has.
+     */
+    Match(Document document, float score) {
+      this.document = document;
+      this.score = score;
+    }
+
+
+    @Override
+    public int compareTo(Match other) {
+      int byScore = Float.compare(other.score, score);
+      if (byScore != 0) {
+        return byScore;
+      }
+
+      int bySize = Integer.compare(document.trigrams.size(), other.document.trigrams.size());
+      return (bySize != 0) ? bySize : Long.compare(document.id, other.document.id);
+    }
+
+
+    /**
+     * Turn the Match into a search result.
+     *
+     * @return The result.
+     */
+    MagicianSearchResult toResult() {
+      return new MagicianSearchResult(document.id, document.firstName, document.lastName, document.stageName,
+          document.location, score);
+    }
+
+  }
+
+
+  /**
+   * The ordinals of the documents with a trigram, in ascending order.
+   */
+  private static class Postings {
+
+    private int[] ordinals = new int[4];
+    private int size = 0;
+
+
+    /**
+     * Add a document.  Its ordinal is larger than any already here.
+     *
+     * @param ordinal The ordinal of the document.
+     */
+    void add(int ordinal) {
+      if (size == ordinals.length) {
+        int[] grown = new int[size * 2];
+        System.arraycopy(ordinals, 0, grown, 0, size);
+        ordinals = grown;
+      }
+      ordinals[size++] = ordinal;
+    }
+
+  }
+
+}
@@ -0,0 +1,91 @@
+package services.search;
+
+/**
+ * A Magician that matched a search.  Immutable.
+ */
+public class MagicianSearchResult {
+
+  private final long id;
+  private final String firstName;
+  private final String lastName;
+  private final String stageName;
+  private final String location;
+  private final float score;
+
+
+  /**
+   * Create a MagicianSearchResult.
+   *
+   * @param id        The ID of the Magician.
+   * @param firstName The Magician's first name.
+   * @param lastName  The Magician's last name.
+   * @param stageName The Magician's stage name, or null.
+   * @param location  Where the Magician is, or null.
+   * @param score     How well the Magician matched.
+   */
+  public MagicianSearchResult(long id, String firstName, String lastName, String stageName, String location,
+                              float score) {
+    this.id = id;
+    this.firstName = firstName;
+    this.lastName = lastName;
+    this.stageName = stageName;
+    this.location = location;
+    this.score = score;
+  }
+
+
+  /**
+   * Get the ID of the Magician.
+   *
+   * @return The ID of the Magician.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Get the Magician's first name.
+   *
+   * @return The first name.
+   */
+  public String getFirstName() {
+    return firstName;
+  }
+
+  /**
+   * Get the Magician's last name.
+   *
+   * @return The last name.
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  /**
+   * Get the Magician's stage name.
+   *
+   * @return The stage name, or null.
+   */
+  public String getStageName() {
+    return stageName;
+  }
+
+  /**
+   * Get where the Magician is.
+   *
+   * @return The location, or null.
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * Get how well the Magician matched.
+   *
+   * @return The score; only meaningful compared with the other results of the same search.
+   */
+  public float getScore() {
+    return score;
+  }
+
+}
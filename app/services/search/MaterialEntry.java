@@ -0,0 +1,109 @@
+package services.search;
+
+import models.Material;
+
+/**
+ * What the search indexes know about a Material.  Immutable, so indexes can share it.
+ */
+public class MaterialEntry {
+
+  private final long id;
+  private final String name;
+  private final Integer price;
+  private final boolean inspectable;
+  private final boolean givenAway;
+  private final boolean consumed;
+
+
+  /**
+   * Create a MaterialEntry.
+   *
+   * @param id          The ID of the Material.
+   * @param name        The name of the Material.
+   * @param price       The price of the Material in dollars, or null.
+   * @param inspectable True if the audience can inspect the Material.
+   * @param givenAway   True if the Material is given away during the Routine.
+   * @param consumed    True if the Material is used up by the Routine.
+   */
+  public MaterialEntry(long id, String name, Integer price, boolean inspectable, boolean givenAway,
+                       boolean consumed) {
+    this.id = id;
+    this.name = name;
+    this.price = price;
+    this.inspectable = inspectable;
+    this.givenAway = givenAway;
+    this.consumed = consumed;
+  }
+
+
+  /**
+   * Copy what the indexes need from a Material.
+   *
+   * @param material The Material.
+   * @return The MaterialEntry.
+   */
+  public static MaterialEntry of(Material material) {
+    return new MaterialEntry(material.getId(), material.getName(), material.getPrice(), material.isInspectable(),
+        material.isGivenAway(), material.isConsumed());
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get the ID of the Material.
+   *
+   * @return The ID of the Material.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Get the name of the Material.
+   *
+   * @return The name of the Material.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the price of the Material.
+   *
+   * @return The price of the Material in dollars, or null.
+   */
+  public Integer getPrice() {
+    return price;
+  }
+
+  /**
+   * Get whether the audience can inspect the Material.
+   *
+   * @return True if the Material is inspectable.
+   */
+  public boolean isInspectable() {
+    return inspectable;
+  }
+
+  /**
+   * Get whether the Material is given away.
+   *
+   * @return True if the Material is given away.
+   */
+  public boolean isGivenAway() {
+    return givenAway;
+  }
+
+  /**
+   * Get whether the Material is used up.
+   *
+   * @return True if the Material is consumed.
+   */
+  public boolean isConsumed() {
+    return consumed;
+  }
+
+}
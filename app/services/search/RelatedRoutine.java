@@ -0,0 +1,66 @@
+package services.search;
+
+/**
+ * A Routine that is similar to another one.  Immutable, so it can be handed to any number of pages at once.
+ */
+public class RelatedRoutine {
+
+  private final long id;
+  private final String name;
+  private final Integer duration;
+  private final float score;
+
+
+  /**
+   * Create a RelatedRoutine.
+   *
+   * @param id       The ID of the Routine.
+   * @param name     The name of the Routine.
+   * @param duration The duration of the Routine in minutes.
+   * @param score    How similar the Routine is, from 0 (nothing in common) to 1 (the same).
+   */
+  public RelatedRoutine(long id, String name, Integer duration, float score) {
+    this.id = id;
+    this.name = name;
+    this.duration = duration;
+    this.score = score;
+  }
+
+
+  /**
+   * Get the ID of the Routine.
+   *
+   * @return The ID of the Routine.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Get the name of the Routine.
+   *
+   * @return The name of the Routine.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the duration of the Routine.
+   *
+   * @return The duration of the Routine in minutes.
+   */
+  public Integer getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get how similar the Routine is.
+   *
+   * @return The cosine similarity, from 0 to 1.
+   */
+  public float getScore() {
+    return score;
+  }
+
+}
@@ -0,0 +1,267 @@
+package services.search;
+
+import models.Material;
+import models.Routine;
+import play.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Routines and Materials the in-memory search indexes are built from.
+ * <p>
+ * rebuild() (called from Global after seeding) loads every Routine and its Materials in one query and builds every
+ * index.  After that, models.SearchIndexUpdater reports each Routine and Material save, the affected Routine's entry
+ * is replaced and every index is told about just that Routine.  Each index keeps its own structures; this class
+ * only decides which Routine changed and serializes the updates.  When search.mode is "database", the full-text
+ * index (RoutineSearch) isn't kept, since searches go to DatabaseSearch.
+ * <p>
+ * Changes are applied once they're committed (SearchIndexUpdater holds them back with models.AfterCommit), so a save
+ * that's rolled back never reaches the indexes.  The indexes are per node, like the other in-memory caches.
+ */
+public class RoutineCatalog {
+
+  // What's known about each Routine and which Routine each Material belongs to.  Guarded by the class lock.
+  private static final Map<Long, RoutineEntry> entries = new HashMap<Long, RoutineEntry>();
+  private static final Map<Long, Long> materialRoutines = new HashMap<Long, Long>();
+
+  // Changes made while rebuild() is reading the database, replayed on top of what it read.
+  private static final List<Runnable> journal = new ArrayList<Runnable>();
+  private static boolean rebuilding = false;
+  private static boolean built = false;
+
+  // The entries in ID order, made by getEntries() and dropped by every change.  Guarded by the class lock.
+  private static List<RoutineEntry> snapshot = null;
+
+
+  /**
+   * Load every Routine and its Materials from the database and rebuild every index.
+   */
+  public static void rebuild() {
+    long start = System.currentTimeMillis();
+
+    synchronized (RoutineCatalog.class) {
+      rebuilding = true;
+      journal.clear();
+    }
+
+    try {
+      // Read the database without holding the lock; saves made meanwhile are journaled and replayed below.
+      List<Routine> routines = Routine.getAllRoutinesWithMaterials();
+
+      synchronized (RoutineCatalog.class) {
+        entries.clear();
+        materialRoutines.clear();
+        for (Routine routine : routines) {
+          RoutineEntry entry = RoutineEntry.withMaterials(routine);
+          entries.put(entry.getId(), entry);
+          for (MaterialEntry material : entry.getMaterials()) {
+            materialRoutines.put(material.getId(), entry.getId());
+          }
+        }
+
+        for (Runnable change : journal) {
+          change.run();
+        }
+        snapshot = null;
+
+        Collection<RoutineEntry> current = entries.values();
+        SimilarRoutines.rebuild(current);
+        RoutineNames.rebuild(current);
+        RoutineFacets.rebuild(current);
+        if (!DatabaseSearch.isEnabled()) {
+          RoutineSearch.rebuild(current);
+        }
+
+        built = true;
+      }
+
+      Logger.info("Built the search indexes.  routines = [" + routines.size() + "]  millis = ["
+          + (System.currentTimeMillis() - start) + "]");
+    }
+    finally {
+      synchronized (RoutineCatalog.class) {
+        rebuilding = false;
+        journal.clear();
+      }
+    }
+  }
+
+
+  /**
+   * Get every Routine, without going to the database.  The list is only copied after a change, so callers that run
+   * on every request (like SetOptimizer) don't copy the catalog each time.
+   *
+   * @return An unmodifiable list of the Routines, in ID order.  It's empty until rebuild() has run.
+   */
+  public static synchronized List<RoutineEntry> getEntries() {
+    if (snapshot == null) {
+      List<Long> ids = new ArrayList<Long>(entries.keySet());
+      Collections.sort(ids);
+
+      List<RoutineEntry> sorted = new ArrayList<RoutineEntry>(ids.size());
+      for (Long id : ids) {
+        sorted.add(entries.get(id));
+      }
+      snapshot = Collections.unmodifiableList(sorted);
+    }
+
+    return snapshot;
+  }
+
+
+  /******************************************************************************************************************
+   * C H A N G E S
+   ******************************************************************************************************************/
+
+  /**
+   * Record that a Routine was inserted or updated.
+   *
+   * @param routine The Routine.
+   */
+  public static synchronized void routineSaved(Routine routine) {
+    final RoutineEntry saved = RoutineEntry.of(routine);
+
+    apply(new Runnable() {
+      @Override
+      public void run() {
+        RoutineEntry previous = entries.get(saved.getId());
+        entries.put(saved.getId(), (previous == null) ? saved : saved.withMaterials(previous.getMaterials()));
+      }
+    });
+
+    changed(saved.getId());
+  }
+
+
+  /**
+   * Record that a Routine was deleted.
+   *
+   * @param routineId The ID of the Routine.
+   */
+  public static synchronized void routineDeleted(final long routineId) {
+    apply(new Runnable() {
+      @Override
+      public void run() {
+        RoutineEntry previous = entries.remove(routineId);
+        if (previous != null) {
+          for (MaterialEntry material : previous.getMaterials()) {
+            materialRoutines.remove(material.getId());
+          }
+        }
+      }
+    });
+
+    changed(routineId);
+  }
+
+
+  /**
+   * Record that a Material was inserted or updated.
+   *
+   * @param material The Material.
+   */
+  public static synchronized void materialSaved(Material material) {
+    if (material.getRoutine() == null) {
+      materialDeleted(material.getId());
+      return;
+    }
+
+    final MaterialEntry saved = MaterialEntry.of(material);
+    final long routineId = material.getRoutine().getId();
+    Long previousRoutineId = materialRoutines.get(saved.getId());
+
+    apply(new Runnable() {
+      @Override
+      public void run() {
+        removeMaterial(saved.getId());
+
+        RoutineEntry entry = entries.get(routineId);
+        if (entry != null) {
+          entries.put(routineId, entry.withMaterial(saved));
+          materialRoutines.put(saved.getId(), routineId);
+        }
+      }
+    });
+
+    if (previousRoutineId != null && previousRoutineId != routineId) {
+      changed(previousRoutineId);
+    }
+    changed(routineId);
+  }
+
+
+  /**
+   * Record that a Material was deleted.
+   *
+   * @param materialId The ID of the Material.
+   */
+  public static synchronized void materialDeleted(final long materialId) {
+    Long routineId = materialRoutines.get(materialId);
+
+    apply(new Runnable() {
+      @Override
+      public void run() {
+        removeMaterial(materialId);
+      }
+    });
+
+    if (routineId != null) {
+      changed(routineId);
+    }
+  }
+
+
+  /**
+   * Apply a change to the entries, journaling it if a rebuild is reading the database.
+   *
+   * @param change The change.
+   */
+  private static void apply(Runnable change) {
+    change.run();
+    snapshot = null;
+
+    if (rebuilding) {
+      journal.add(change);
+    }
+  }
+
+
+  /**
+   * Remove a Material from the Routine it belongs to.
+   *
+   * @param materialId The ID of the Material.
+   */
+  private static void removeMaterial(long materialId) {
+    Long routineId = materialRoutines.remove(materialId);
+
+    if (routineId != null && entries.containsKey(routineId)) {
+      entries.put(routineId, entries.get(routineId).withoutMaterial(materialId));
+    }
+  }
+
+
+  /**
+   * Tell every index that a Routine changed.  Until the indexes are built, there's nothing to update.
+   *
+   * @param routineId The ID of the Routine.
+   */
+  private static void changed(long routineId) {
+    if (!built) {
+      return;
+    }
+
+    RoutineEntry entry = entries.get(routineId);
+    SimilarRoutines.update(routineId, entry);
+    RoutineNames.update(routineId, entry);
+    RoutineFacets.update(routineId, entry);
+    if (!DatabaseSearch.isEnabled()) {
+      RoutineSearch.update(routineId, entry);
+    }
+  }
+
+}
@@ -0,0 +1,219 @@
+package services.search;
+
+import models.Material;
+import models.Routine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What the search indexes know about a Routine and its Materials.  Immutable, so indexes can share it; a change to
+ * a Routine or one of its Materials replaces the whole entry.
+ */
+public class RoutineEntry {
+
+  private final long id;
+  private final String name;
+  private final String description;
+  private final String method;
+  private final String handling;
+  private final Integer duration;
+  private final Integer resetDuration;
+  private final List<MaterialEntry> materials;
+
+
+  /**
+   * Create a RoutineEntry.
+   *
+   * @param id            The ID of the Routine.
+   * @param name          The name of the Routine.
+   * @param description   The description of the Routine.
+   * @param method        The method of the Routine.
+   * @param handling      The handling of the Routine.
+   * @param duration      The duration of the Routine in minutes.
+   * @param resetDuration The reset duration of the Routine in minutes.
+   * @param materials     The Routine's Materials.
+   */
+  public RoutineEntry(long id, String name, String description, String method, String handling, Integer duration,
+                      Integer resetDuration, List<MaterialEntry> materials) {
+    this.id = id;
+    this.name = name;
+    this.description = description;
+    this.method = method;
+    this.handling = handling;
+    this.duration = duration;
+    this.resetDuration = resetDuration;
+    this.materials = Collections.unmodifiableList(new ArrayList<MaterialEntry>(materials));
+  }
+
+
+  /**
+   * Copy what the indexes need from a Routine, without its Materials.
+   *
+   * @param routine The Routine.
+   * @return The RoutineEntry, with no Materials.
+   */
+  public static RoutineEntry of(Routine routine) {
+    return new RoutineEntry(routine.getId(), routine.getName(), routine.getDescription(), routine.getMethod(),
+        routine.getHandling(), routine.getDuration(), routine.getResetDuration(), new ArrayList<MaterialEntry>());
+  }
+
+
+  /**
+   * Copy what the indexes need from a Routine and its (already loaded) Materials.
+   *
+   * @param routine The Routine.
+   * @return The RoutineEntry.
+   */
+  public static RoutineEntry withMaterials(Routine routine) {
+    List<MaterialEntry> materials = new ArrayList<MaterialEntry>();
+    for (Material material : routine.getMaterials()) {
+      materials.add(MaterialEntry.of(material));
+    }
+
+    return of(routine).withMaterials(materials);
+  }
+
+
+  /**
+   * Copy this entry with different Materials.
+   *
+   * @param materials The Materials.
+   * @return The new entry.
+   */
+  public RoutineEntry withMaterials(List<MaterialEntry> materials) {
+    return new RoutineEntry(id, name, description, method, handling, duration, resetDuration, materials);
+  }
+
+
+  /**
+   * Copy this entry, adding or replacing a Material.
+   *
+   * @param material The Material.
+   * @return The new entry.
+   */
+  public RoutineEntry withMaterial(MaterialEntry material) {
+    List<MaterialEntry> copy = new ArrayList<MaterialEntry>();
+    for (MaterialEntry current : materials) {
+      if (current.getId() != material.getId()) {
+        copy.add(current);
+      }
+    }
+    copy.add(material);
+
+    return withMaterials(copy);
+  }
+
+
+  /**
+   * Copy this entry, removing a Material.
+   *
+   * @param materialId The ID of the Material.
+   * @return The new entry.
+   */
+  public RoutineEntry withoutMaterial(long materialId) {
+    List<MaterialEntry> copy = new ArrayList<MaterialEntry>();
+    for (MaterialEntry current : materials) {
+      if (current.getId() != materialId) {
+        copy.add(current);
+      }
+    }
+
+    return withMaterials(copy);
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get the ID of the Routine.
+   *
+   * @return The ID of the Routine.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Get the name of the Routine.
+   *
+   * @return The name of the Routine.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the description of the Routine.
+   *
+   * @return The description of the Routine.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Get the method of the Routine.
+   *
+   * @return The method of the Routine.
+   */
+  public String getMethod() {
+    return method;
+  }
+
+  /**
+   * Get the handling of the Routine.
+   *
+   * @return The handling of the Routine.
+   */
+  public String getHandling() {
+    return handling;
+  }
+
+  /**
+   * Get the duration of the Routine.
+   *
+   * @return The duration of the Routine in minutes.
+   */
+  public Integer getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get the reset duration of the Routine.
+   *
+   * @return The reset duration of the Routine in minutes.
+   */
+  public Integer getResetDuration() {
+    return resetDuration;
+  }
+
+  /**
+   * Get the Routine's Materials.
+   *
+   * @return An unmodifiable list of the Materials.
+   */
+  public List<MaterialEntry> getMaterials() {
+    return materials;
+  }
+
+  /**
+   * Get what the Routine's Materials cost.
+   *
+   * @return The total price of the Materials in dollars.  Materials without a price count as free.
+   */
+  public int getCost() {
+    int cost = 0;
+    for (MaterialEntry material : materials) {
+      if (material.getPrice() != null) {
+        cost += material.getPrice();
+      }
+    }
+
+    return cost;
+  }
+
+}
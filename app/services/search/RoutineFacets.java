@@ -0,0 +1,417 @@
+package services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmaps for filtering the Routines by their Facets:  how long they take, how long they take to reset,
+ * what their Materials cost and whether any of their Materials are inspectable, given away or consumed.
+ * <p>
+ * Each Routine has an ordinal (a small integer, in ID order) and each value of each Facet has a bitmap with a bit set
+ * for every Routine that has that value.  A filter ORs the selected values of each Facet and ANDs the Facets
+ * together, so it costs a few word-wise operations per thousand Routines and never touches the database.  Each
+ * value's count is the cardinality of its bitmap ANDed with every other Facet's selection.
+ * <p>
+ * A deleted Routine's ordinal is cleared from every bitmap.  Once deleted ordinals outnumber the live ones, the
+ * ordinals are compacted.  The bitmaps are built and kept current by RoutineCatalog.  Filters share a read lock.
+ */
+public class RoutineFacets {
+
+  /** How long the Routine takes, in minutes. */
+  public static final String DURATION = "duration";
+
+  /** How long the Routine takes to reset, in minutes. */
+  public static final String RESET_DURATION = "resetDuration";
+
+  /** What the Routine's Materials cost, in dollars. */
+  public static final String COST = "cost";
+
+  /** Whether any of the Routine's Materials can be inspected by the audience. */
+  public static final String INSPECTABLE = "inspectable";
+
+  /** Whether any of the Routine's Materials are given away. */
+  public static final String GIVEN_AWAY = "givenAway";
+
+  /** Whether any of the Routine's Materials are consumed. */
+  public static final String CONSUMED = "consumed";
+
+  private static final int[] DURATION_BANDS = {2, 5, 10, 20};
+  private static final int[] RESET_DURATION_BANDS = {0, 2, 5, 10};
+  private static final int[] COST_BANDS = {0, 10, 25, 50, 100};
+
+  /** Don't bother compacting until there are at least this many deleted ordinals. */
+  private static final int MIN_DELETED_TO_COMPACT = 64;
+
+  private static final List<Facet> FACETS = Collections.unmodifiableList(Arrays.<Facet>asList(
+      new Facet(DURATION, "Time to Perform (mins)", Facet.bands(DURATION_BANDS)) {
+        @Override
+        int valueOf(RoutineEntry entry) {
+          return band(DURATION_BANDS, entry.getDuration());
+        }
+      },
+      new Facet(RESET_DURATION, "Time to Reset (mins)", Facet.bands(RESET_DURATION_BANDS)) {
+        @Override
+        int valueOf(RoutineEntry entry) {
+          return band(RESET_DURATION_BANDS, entry.getResetDuration());
+        }
+      },
+      new Facet(COST, "Material Cost ($)", Facet.bands(COST_BANDS)) {
+        @Override
+        int valueOf(RoutineEntry entry) {
+          return band(COST_BANDS, entry.getCost());
+        }
+      },
+      new Facet(INSPECTABLE, "Inspectable Materials", Facet.yesNo()) {
+        @Override
+        int valueOf(RoutineEntry entry) {
+          for (MaterialEntry material : entry.getMaterials()) {
+            if (material.isInspectable()) {
+              return yesNo(true);
+            }
+          }
+          return yesNo(false);
+        }
+      },
+      new Facet(GIVEN_AWAY, "Materials Given Away", Facet.yesNo()) {
+        @Override
+        int valueOf(RoutineEntry entry) {
+          for (MaterialEntry material : entry.getMaterials()) {
+            if (material.isGivenAway()) {
+              return yesNo(true);
+            }
+          }
+          return yesNo(false);
+        }
+      },
+      new Facet(CONSUMED, "Materials Consumed", Facet.yesNo()) {
+        @Override
+        int valueOf(RoutineEntry entry) {
+          for (MaterialEntry material : entry.getMaterials()) {
+            if (material.isConsumed()) {
+              return yesNo(true);
+            }
+          }
+          return yesNo(false);
+        }
+      }));
+
+  private static final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock.  bitmaps[f][v] holds the Routines with value v of FACETS.get(f).
+  private static final List<RoutineEntry> routines = new ArrayList<RoutineEntry>();  // By ordinal; null if deleted.
+  private static final Map<Long, Integer> ordinals = new HashMap<Long, Integer>();
+  private static final BitSet live = new BitSet();
+  private static BitSet[][] bitmaps = newBitmaps();
+  private static long filters = 0;
+  private static long filterNanos = 0;
+
+
+  /**
+   * Get every Facet.
+   *
+   * @return An unmodifiable list of the Facets, in the order they're shown.
+   */
+  public static List<Facet> getFacets() {
+    return FACETS;
+  }
+
+
+  /**
+   * Filter the Routines.  Within a Facet, a Routine matches if it has any of the selected values; across Facets, it
+   * must match every Facet with a selection.
+   *
+   * @param selection The values selected for each Facet, by name.  Unknown Facets and values are ignored.
+   * @param offset    The number of Routines to skip (for paging).
+   * @param limit     The maximum number of Routines to return.
+   * @return The page of Routines, in ID order, and the count of each value of each Facet.
+   */
+  public static FacetResults filter(Map<String, ? extends Collection<String>> selection, int offset, int limit) {
+    long start = System.nanoTime();
+    Map<String, java.util.Set<String>> selected = new LinkedHashMap<String, java.util.Set<String>>();
+
+    lock.readLock().lock();
+    try {
+      // The Routines matching each Facet's selection, or null if nothing is selected for it.
+      BitSet[] matching = new BitSet[FACETS.size()];
+      for (int f = 0; f < FACETS.size(); f++) {
+        Facet facet = FACETS.get(f);
+        Collection<String> values = selection.get(facet.getName());
+        if (values == null) {
+          continue;
+        }
+
+        for (String value : values) {
+          int v = facet.getValues().indexOf(value);
+          if (v < 0) {
+            continue;
+          }
+
+          if (matching[f] == null) {
+            matching[f] = new BitSet();
+            selected.put(facet.getName(), new LinkedHashSet<String>());
+          }
+          matching[f].or(bitmaps[f][v]);
+          selected.get(facet.getName()).add(value);
+        }
+      }
+
+      Map<String, int[]> counts = new LinkedHashMap<String, int[]>();
+      for (int f = 0; f < FACETS.size(); f++) {
+        BitSet others = intersect(matching, f);
+        int[] facetCounts = new int[bitmaps[f].length];
+
+        for (int v = 0; v < bitmaps[f].length; v++) {
+          BitSet value = (BitSet) bitmaps[f][v].clone();
+          value.and(others);
+          facetCounts[v] = value.cardinality();
+        }
+        counts.put(FACETS.get(f).getName(), facetCounts);
+      }
+
+      BitSet all = intersect(matching, -1);
+      List<RoutineEntry> page = new ArrayList<RoutineEntry>();
+      int ordinal = all.nextSetBit(0);
+      for (int skipped = 0; ordinal >= 0 && skipped < offset; skipped++) {
+        ordinal = all.nextSetBit(ordinal + 1);
+      }
+      for (; ordinal >= 0 && page.size() < limit; ordinal = all.nextSetBit(ordinal + 1)) {
+        page.add(routines.get(ordinal));
+      }
+
+      return new FacetResults(FACETS, selected, counts, offset, limit, all.cardinality(), page);
+    }
+    finally {
+      lock.readLock().unlock();
+
+      synchronized (RoutineFacets.class) {
+        filters++;
+        filterNanos += System.nanoTime() - start;
+      }
+    }
+  }
+
+
+  /**
+   * Get the size of the bitmaps and how long filters take.
+   *
+   * @return The number of routines, deleted ordinals, bitmaps, bytes of bitmaps, filters and the mean filter time.
+   */
+  public static Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    lock.readLock().lock();
+    try {
+      long count = 0;
+      long bytes = 0;
+      for (BitSet[] facetBitmaps : bitmaps) {
+        for (BitSet bitmap : facetBitmaps) {
+          count++;
+          bytes += bitmap.size() / 8;
+        }
+      }
+
+      statistics.put("routines", (long) ordinals.size());
+      statistics.put("deleted", (long) (routines.size() - ordinals.size()));
+      statistics.put("bitmaps", count);
+      statistics.put("bitmapBytes", bytes);
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+
+    synchronized (RoutineFacets.class) {
+      statistics.put("filters", filters);
+      statistics.put("meanFilterMicros", (filters == 0) ? 0 : filterNanos / filters / 1000);
+    }
+
+    return statistics;
+  }
+
+
+  /**
+   * AND together the live Routines and every Facet's selection but one.
+   *
+   * @param matching The Routines matching each Facet's selection, or null where nothing is selected.
+   * @param except   The Facet to leave out, or -1 to AND every Facet.
+   * @return The Routines that match.
+   */
+  private static BitSet intersect(BitSet[] matching, int except) {
+    BitSet result = (BitSet) live.clone();
+
+    for (int f = 0; f < matching.length; f++) {
+      if (f != except && matching[f] != null) {
+        result.and(matching[f]);
+      }
+    }
+
+    return result;
+  }
+
+
+  /******************************************************************************************************************
+   * I N D E X
+   ******************************************************************************************************************/
+
+  /**
+   * Give every Routine an ordinal and build the bitmaps.  Called by RoutineCatalog.rebuild().
+   *
+   * @param entries Every Routine.
+   */
+  public static void rebuild(Collection<RoutineEntry> entries) {
+    List<RoutineEntry> sorted = new ArrayList<RoutineEntry>(entries);
+    Collections.sort(sorted, new Comparator<RoutineEntry>() {
+      @Override
+      public int compare(RoutineEntry a, RoutineEntry b) {
+        return Long.compare(a.getId(), b.getId());
+      }
+    });
+
+    lock.writeLock().lock();
+    try {
+      load(sorted);
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Update a changed Routine's bits.  Called by RoutineCatalog as Routines and Materials are saved.  A new Routine
+   * gets the next ordinal, which keeps the ordinals in ID order.
+   *
+   * @param routineId The ID of the Routine that changed.
+   * @param entry     The Routine as it is now, or null if it was deleted.
+   */
+  public static void update(long routineId, RoutineEntry entry) {
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinals.get(routineId);
+      if (ordinal != null) {
+        clear(ordinal);
+      }
+
+      if (entry == null) {
+        if (ordinal != null) {
+          ordinals.remove(routineId);
+          routines.set(ordinal, null);
+          live.clear(ordinal);
+        }
+      }
+      else if (ordinal == null) {
+        add(entry);
+      }
+      else {
+        routines.set(ordinal, entry);
+        set(ordinal, entry);
+      }
+
+      int deleted = routines.size() - ordinals.size();
+      if (deleted >= MIN_DELETED_TO_COMPACT && deleted > ordinals.size()) {
+        List<RoutineEntry> remaining = new ArrayList<RoutineEntry>();
+        for (RoutineEntry current : routines) {
+          if (current != null) {
+            remaining.add(current);
+          }
+        }
+        load(remaining);
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Replace every ordinal and bitmap.
+   *
+   * @param entries Every Routine, in ID order.
+   */
+  private static void load(List<RoutineEntry> entries) {
+    routines.clear();
+    ordinals.clear();
+    live.clear();
+    bitmaps = newBitmaps();
+
+    for (RoutineEntry entry : entries) {
+      add(entry);
+    }
+  }
+
+
+  /**
+   * Give a Routine the next ordinal and set its bits.
+   *
+   * @param entry The Routine.
+   */
+  private static void add(RoutineEntry entry) {
+    int ordinal = routines.size();
+
+    routines.add(entry);
+    ordinals.put(entry.getId(), ordinal);
+    live.set(ordinal);
+    set(ordinal, entry);
+  }
+
+
+  /**
+   * Set a Routine's bit in the bitmap of its value of each Facet.
+   *
+   * @param ordinal The Routine's ordinal.
+   * @param entry   The Routine.
+   */
+  private static void set(int ordinal, RoutineEntry entry) {
+    for (int f = 0; f < FACETS.size(); f++) {
+      int v = FACETS.get(f).valueOf(entry);
+      if (v >= 0) {
+        bitmaps[f][v].set(ordinal);
+      }
+    }
+  }
+
+
+  /**
+   * Clear a Routine's bit from every bitmap.
+   *
+   * @param ordinal The Routine's ordinal.
+   */
+  private static void clear(int ordinal) {
+    for (BitSet[] facetBitmaps : bitmaps) {
+      for (BitSet bitmap : facetBitmaps) {
+        bitmap.clear(ordinal);
+      }
+    }
+  }
+
+
+  /**
+   * Create an empty bitmap for every value of every Facet.
+   *
+   * @return The bitmaps, by Facet and value.
+   */
+  private static BitSet[][] newBitmaps() {
+    BitSet[][] empty = new BitSet[FACETS.size()][];
+
+    for (int f = 0; f < FACETS.size(); f++) {
+      empty[f] = new BitSet[FACETS.get(f).getValues().size()];
+      for (int v = 0; v < empty[f].length; v++) {
+        empty[f][v] = new BitSet();
+      }
+    }
+
+    return empty;
+  }
+
+}
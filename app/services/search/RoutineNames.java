@@ -0,0 +1,665 @@
+package services.search;
+
+import play.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory prefix trie of the Routines' names, for the typeahead on the Edit Set page.
+ * <p>
+ * A Routine's normalized name (see Terms.normalize) is added once for every word in it, starting at that word, so
+ * "amb" and "card" both find "The Ambitious Card".  The trie is compact:  a node with a single child and no Routine of
+ * its own is merged into it, so each edge holds a run of characters rather than one.  Every node keeps the best few
+ * Routines below it (shortest name first), so completing a prefix is a walk down the trie and a copy of one list,
+ * however many Routines there are.
+ * <p>
+ * The trie is built and kept current by RoutineCatalog.  Lookups share a read lock and never touch the database.
+ * The number of Routines kept at each node is set with search.typeahead.matches in application.conf.
+ */
+public class RoutineNames {
+
+  /** The default number of Routines kept at each node (the most a lookup returns). */
+  public static final int DEFAULT_MATCHES = 10;
+
+  /** The default number of Routines the Edit Set page will list in full, before it switches to the typeahead. */
+  public static final int DEFAULT_INLINE_LIMIT = 200;
+
+  private static final Comparator<Name> BEST_MATCH = new Comparator<Name>() {
+    @Override
+    public int compare(Name a, Name b) {
+      int byLength = Integer.compare(a.normalized.length(), b.normalized.length());
+      if (byLength != 0) {
+        return byLength;
+      }
+
+      int byName = a.normalized.compareTo(b.normalized);
+      return (byName != 0) ? byName : Long.compare(a.entry.getId(), b.entry.getId());
+    }
+  };
+
+  private static final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock.
+  private static Node root = new Node("");
+  private static final Map<Long, Name> indexed = new HashMap<Long, Name>();
+  private static long nodes = 1;
+  private static long keyCount = 0;
+
+  private static volatile int matches = DEFAULT_MATCHES;
+  private static volatile int inlineLimit = DEFAULT_INLINE_LIMIT;
+
+
+  /**
+   * Read the number of matches and the inline limit from the application's configuration.
+   *
+   * @param configuration The application's configuration.
+   */
+  public static void configure(Configuration configuration) {
+    matches = configuration.getInt("search.typeahead.matches", DEFAULT_MATCHES);
+    inlineLimit = configuration.getInt("search.typeahead.inlineLimit", DEFAULT_INLINE_LIMIT);
+  }
+
+
+  /**
+   * Find the Routines with a word in their name that starts with a prefix.
+   *
+   * @param prefix The start of the name (or of a word in it).
+   * @param limit  The maximum number of Routines to return.  No more than search.typeahead.matches are kept.
+   * @return Up to limit Routines, the shortest name first.  Empty if the prefix is blank.
+   */
+  public static List<RoutineEntry> complete(String prefix, int limit) {
+    String key = Terms.normalize(prefix);
+    if (key.isEmpty() || limit <= 0) {
+      return new ArrayList<RoutineEntry>();
+    }
+
+    lock.readLock().lock();
+    try {
+      Node node = find(key);
+      if (node == null) {
+        return new ArrayList<RoutineEntry>();
+      }
+
+      List<RoutineEntry> routines = new ArrayList<RoutineEntry>();
+      for (Name name : node.best.subList(0, Math.min(limit, node.best.size()))) {
+        routines.add(name.entry);
+      }
+
+      return routines;
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+
+  /**
+   * Get the most Routines a lookup will return.
+   *
+   * @return search.typeahead.matches.
+   */
+  public static int getMatches() {
+    return matches;
+  }
+
+
+  /**
+   * See if the Edit Set page should use the typeahead rather than list every Routine.
+   *
+   * @return True if there are more Routines than search.typeahead.inlineLimit.
+   */
+  public static boolean isTypeahead() {
+    lock.readLock().lock();
+    try {
+      return indexed.size() > inlineLimit;
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+
+  /**
+   * Get the size of the trie.
+   *
+   * @return The number of routines, keys (one per word in each name) and nodes.
+   */
+  public static Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    lock.readLock().lock();
+    try {
+      statistics.put("routines", (long) indexed.size());
+      statistics.put("keys", keyCount);
+      statistics.put("nodes", nodes);
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+
+    return statistics;
+  }
+
+
+  /******************************************************************************************************************
+   * I N D E X
+   ******************************************************************************************************************/
+
+  /**
+   * Add every Routine to a new trie.  Called by RoutineCatalog.rebuild().
+   *
+   * @param entries Every Routine.
+   */
+  public static void rebuild(Collection<RoutineEntry> entries) {
+    lock.writeLock().lock();
+    try {
+      root = new Node("");
+      indexed.clear();
+      nodes = 1;
+      keyCount = 0;
+
+      for (RoutineEntry entry : entries) {
+        add(new Name(entry));
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Replace a changed Routine in the trie.  Called by RoutineCatalog as Routines and Materials are saved.  Material
+   * changes don't change what the trie holds, so the Routine is only moved if its name or duration changed.
+   *
+   * @param routineId The ID of the Routine that changed.
+   * @param entry     The Routine as it is now, or null if it was deleted.
+   */
+  public static void update(long routineId, RoutineEntry entry) {
+    lock.writeLock().lock();
+    try {
+      Name previous = indexed.get(routineId);
+      Name current = (entry == null) ? null : new Name(entry);
+      if (previous != null && current != null && previous.normalized.equals(current.normalized)
+          && equal(previous.entry.getDuration(), entry.getDuration())) {
+        return;
+      }
+
+      if (previous != null) {
+        remove(previous);
+      }
+      if (current != null) {
+        add(current);
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Add a Routine under each of its keys.
+   *
+   * @param name The Routine and its normalized name.
+   */
+  private static void add(Name name) {
+    indexed.put(name.entry.getId(), name);
+
+    for (String key : keys(name)) {
+      insert(key, name);
+      keyCount++;
+    }
+  }
+
+
+  /**
+   * Remove a Routine from under each of its keys.
+   *
+   * @param name The Routine and its normalized name, as they were added.
+   */
+  private static void remove(Name name) {
+    indexed.remove(name.entry.getId());
+
+    for (String key : keys(name)) {
+      if (delete(key, name.entry.getId())) {
+        keyCount--;
+      }
+    }
+  }
+
+
+  /**
+   * Get the keys a Routine is added under:  its normalized name, starting at each word.
+   *
+   * @param normalized The Routine and its normalized name.
+   * @return The keys, longest first.
+   */
+  private static java.util.Set<String> keys(Name normalized) {
+    java.util.Set<String> keys = new LinkedHashSet<String>();
+    String name = normalized.normalized;
+
+    if (!name.isEmpty()) {
+      keys.add(name);
+      for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+        keys.add(name.substring(i + 1));
+      }
+    }
+
+    return keys;
+  }
+
+
+  /**
+   * Find the node that holds every key starting with a prefix.
+   *
+   * @param prefix The normalized prefix.
+   * @return The node, or null if no key starts with the prefix.
+   */
+  private static Node find(String prefix) {
+    Node node = root;
+    int i = 0;
+
+    while (i < prefix.length()) {
+      Node child = node.child(prefix.charAt(i));
+      if (child == null) {
+        return null;
+      }
+
+      int common = common(prefix, i, child.edge);
+      if (i + common == prefix.length()) {
+        return child;
+      }
+      if (common < child.edge.length()) {
+        return null;
+      }
+
+      i += common;
+      node = child;
+    }
+
+    return node;
+  }
+
+
+  /**
+   * Insert a key, splitting an edge if the key leaves it part way along.
+   *
+   * @param key  The key.
+   * @param name The Routine to add under it.
+   */
+  private static void insert(String key, Name name) {
+    Node node = root;
+    node.offer(name, matches);
+    int i = 0;
+
+    while (i < key.length()) {
+      Node child = node.child(key.charAt(i));
+
+      if (child == null) {
+        child = new Node(key.substring(i));
+        node.addChild(child);
+        nodes++;
+      }
+      else {
+        int common = common(key, i, child.edge);
+        if (common < child.edge.length()) {
+          child = node.split(child, common);
+          nodes++;
+        }
+      }
+
+      i += child.edge.length();
+      node = child;
+      node.offer(name, matches);
+    }
+
+    node.addRoutine(name);
+  }
+
+
+  /**
+   * Delete a Routine from under a key.  Nodes left empty are removed, nodes left with one child are merged with it
+   * and the best Routines of every node on the way are recomputed if the Routine was one of them.
+   *
+   * @param key       The key.
+   * @param routineId The ID of the Routine.
+   * @return True if the Routine was under the key.
+   */
+  private static boolean delete(String key, long routineId) {
+    List<Node> path = new ArrayList<Node>();
+    Node node = root;
+    path.add(node);
+    int i = 0;
+
+    while (i < key.length()) {
+      node = node.child(key.charAt(i));
+      if (node == null || !key.startsWith(node.edge, i)) {
+        return false;
+      }
+
+      i += node.edge.length();
+      path.add(node);
+    }
+
+    if (!node.removeRoutine(routineId)) {
+      return false;
+    }
+
+    for (int depth = path.size() - 1; depth >= 0; depth--) {
+      Node current = path.get(depth);
+
+      if (depth > 0 && current.routines == null && current.children.length == 0) {
+        path.get(depth - 1).removeChild(current);
+        nodes--;
+        continue;
+      }
+      if (depth > 0 && current.routines == null && current.children.length == 1) {
+        current.merge();
+        nodes--;
+      }
+
+      if (current.contains(routineId)) {
+        current.recompute(matches);
+      }
+    }
+
+    return true;
+  }
+
+
+  /**
+   * Count how many characters of a key, from an offset, match the start of an edge.
+   *
+   * @param key    The key.
+   * @param offset Where to start in the key.
+   * @param edge   The edge.
+   * @return The length of the common prefix.
+   */
+  private static int common(String key, int offset, String edge) {
+    int length = Math.min(key.length() - offset, edge.length());
+    int i = 0;
+
+    while (i < length && key.charAt(offset + i) == edge.charAt(i)) {
+      i++;
+    }
+
+    return i;
+  }
+
+
+  /**
+   * Compare two durations, either of which may be null.
+   *
+   * @param a The first duration.
+   * @param b The second duration.
+   * @return True if they're the same.
+   */
+  private static boolean equal(Integer a, Integer b) {
+    return (a == null) ? b == null : a.equals(b);
+  }
+
+
+  /**
+   * A Routine and its normalized name, which is what it's sorted by.
+   */
+  private static class Name {
+
+    private final RoutineEntry entry;
+    private final String normalized;
+
+
+    /**
+     * Create a Name.
+     *
+     * @param entry The Routine.
+     */
+    Name(RoutineEntry entry) {
+      this.entry = entry;
+      this.normalized = Terms.normalize(entry.getName());
+    }
+
+  }
+
+
+  /**
+   * A node of the trie.  Its children are sorted by the first character of their edges.
+   */
+  private static class Node {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private String edge;
+    private Node[] children = NO_CHILDREN;
+    private List<Name> routines;  // The Routines whose key ends here, or null if there are none.
+    private List<Name> best = new ArrayList<Name>(1);
+
+
+    /**
+     * Create a Node.
+     *
+     * @param edge The characters on the edge leading to it.
+     */
+    Node(String edge) {
+      this.edge = edge;
+    }
+
+
+    /**
+     * Find the child whose edge starts with a character.
+     *
+     * @param c The character.
+     * @return The child or null if there isn't one.
+     */
+    Node child(char c) {
+      int low = 0;
+      int high = children.length - 1;
+
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        char first = children[middle].edge.charAt(0);
+        if (first < c) {
+          low = middle + 1;
+        }
+        else if (first > c) {
+          high = middle - 1;
+        }
+        else {
+          return children[middle];
+        }
+      }
+
+      return null;
+    }
+
+
+    /**
+     * Add a child, keeping the children sorted.
+     *
+     * @param child The child.
+     */
+    void addChild(Node child) {
+      Node[] grown = new Node[children.length + 1];
+      int i = 0;
+
+      while (i < children.length && children[i].edge.charAt(0) < child.edge.charAt(0)) {
+        grown[i] = children[i];
+        i++;
+      }
+      grown[i] = child;
+      System.arraycopy(children, i, grown, i + 1, children.length - i);
+
+      children = grown;
+    }
+
+
+    /**
+     * Remove a child.
+     *
+     * @param child The child.
+     */
+    void removeChild(Node child) {
+      List<Node> remaining = new ArrayList<Node>();
+      for (Node current : children) {
+        if (current != child) {
+          remaining.add(current);
+        }
+      }
+
+      children = remaining.isEmpty() ? NO_CHILDREN : remaining.toArray(new Node[remaining.size()]);
+    }
+
+
+    /**
+     * Split a child's edge, putting a new node between this node and the child.
+     *
+     * @param child  The child.
+     * @param length How many characters of the edge go to the new node.
+     * @return The new node.
+     */
+    Node split(Node child, int length) {
+      Node middle = new Node(child.edge.substring(0, length));
+      middle.children = new Node[] {child};
+      middle.best = new ArrayList<Name>(child.best);
+      child.edge = child.edge.substring(length);
+
+      for (int i = 0; i < children.length; i++) {
+        if (children[i] == child) {
+          children[i] = middle;
+        }
+      }
+
+      return middle;
+    }
+
+
+    /**
+     * Merge this node with its only child.
+     */
+    void merge() {
+      Node child = children[0];
+
+      edge = edge + child.edge;
+      children = child.children;
+      routines = child.routines;
+      best = child.best;
+    }
+
+
+    /**
+     * Add a Routine whose key ends here.
+     *
+     * @param name The Routine.
+     */
+    void addRoutine(Name name) {
+      if (routines == null) {
+        routines = new ArrayList<Name>(1);
+      }
+      routines.add(name);
+    }
+
+
+    /**
+     * Remove a Routine whose key ends here.
+     *
+     * @param routineId The ID of the Routine.
+     * @return True if it was here.
+     */
+    boolean removeRoutine(long routineId) {
+      if (routines == null || indexOf(routines, routineId) < 0) {
+        return false;
+      }
+
+      routines.remove(indexOf(routines, routineId));
+      if (routines.isEmpty()) {
+        routines = null;
+      }
+
+      return true;
+    }
+
+
+    /**
+     * See if a Routine is one of the best below this node.
+     *
+     * @param routineId The ID of the Routine.
+     * @return True if it is.
+     */
+    boolean contains(long routineId) {
+      return indexOf(best, routineId) >= 0;
+    }
+
+
+    /**
+     * Offer a Routine added below this node as one of the best.
+     *
+     * @param name The Routine.
+     * @param k    The number of Routines to keep.
+     */
+    void offer(Name name, int k) {
+      if (contains(name.entry.getId())) {
+        return;
+      }
+
+      int position = Collections.binarySearch(best, name, BEST_MATCH);
+      position = (position < 0) ? -position - 1 : position;
+      if (position < k) {
+        best.add(position, name);
+        if (best.size() > k) {
+          best.remove(k);
+        }
+      }
+    }
+
+
+    /**
+     * Recompute the best Routines from the Routines that end here and the best of each child.
+     *
+     * @param k The number of Routines to keep.
+     */
+    void recompute(int k) {
+      best = new ArrayList<Name>(1);
+
+      if (routines != null) {
+        for (Name name : routines) {
+          offer(name, k);
+        }
+      }
+      for (Node child : children) {
+        for (Name name : child.best) {
+          offer(name, k);
+        }
+      }
+    }
+
+
+    /**
+     * Find a Routine in a list.
+     *
+     * @param names     The list.
+     * @param routineId The ID of the Routine.
+     * @return Its index or -1 if it's not in the list.
+     */
+    private static int indexOf(List<Name> names, long routineId) {
+      for (int i = 0; i < names.size(); i++) {
+        if (names.get(i).entry.getId() == routineId) {
+          return i;
+        }
+      }
+
+      return -1;
+    }
+
+  }
+
+}
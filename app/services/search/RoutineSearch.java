@@ -0,0 +1,486 @@
+package services.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted index for full-text search of the Routines.
+ * <p>
+ * A Routine's name, description, method, handling and Material names are split into terms (see Terms).  Name terms
+ * count three times and Material names twice, so a Routine named for a term ranks above one that mentions it in
+ * passing.  Results are ranked with BM25 and a query matches any of its terms.
+ * <p>
+ * Each Routine is a document with an ordinal.  Each term's postings are its documents' ordinals and term
+ * frequencies, delta encoded as variable-length integers in a byte array, so most postings take two bytes.  A changed
+ * Routine is appended as a new document and its old document is marked deleted, so a save only appends to the end of
+ * its terms' postings.  Once deleted documents outnumber the live ones, the postings are compacted.
+ * <p>
+ * The index is built and kept current by RoutineCatalog.  Searches share a read lock, so they run in parallel and
+ * never touch the database.
+ */
+public class RoutineSearch {
+
+  /** The default number of results on a page. */
+  public static final int DEFAULT_LIMIT = 20;
+
+  private static final float K1 = 1.2f;
+  private static final float B = 0.75f;
+
+  private static final int NAME_BOOST = 3;
+  private static final int MATERIAL_BOOST = 2;
+  private static final int TEXT_BOOST = 1;
+
+  /** Don't bother compacting until there are at least this many deleted documents. */
+  private static final int MIN_DELETED_TO_COMPACT = 64;
+
+  private static final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Guarded by lock.
+  private static final Map<String, Postings> postings = new HashMap<String, Postings>();
+  private static final List<Document> documents = new ArrayList<Document>();
+  private static final Map<Long, Integer> ordinals = new HashMap<Long, Integer>();
+  private static final BitSet deleted = new BitSet();
+  private static long totalLength = 0;
+  private static long queries = 0;
+  private static long queryNanos = 0;
+
+
+  /**
+   * Search the Routines.
+   *
+   * @param query  The text to search for.
+   * @param offset The number of results to skip (for paging).
+   * @param limit  The maximum number of results to return.
+   * @return The page of results, the best match first, and the total number of matches.
+   */
+  public static SearchResults<SearchResult> search(String query, int offset, int limit) {
+    long start = System.nanoTime();
+    offset = Math.max(offset, 0);
+    java.util.Set<String> terms = new LinkedHashSet<String>(Terms.tokenize(query));
+
+    lock.readLock().lock();
+    try {
+      int live = ordinals.size();
+      if (terms.isEmpty() || live == 0) {
+        return new SearchResults<SearchResult>(query, offset, limit, 0, new ArrayList<SearchResult>());
+      }
+
+      float averageLength = (float) totalLength / live;
+      float[] scores = new float[documents.size()];
+      int matches = 0;
+
+      for (String term : terms) {
+        Postings termPostings = postings.get(term);
+        if (termPostings == null) {
+          continue;
+        }
+
+        int documentFrequency = 0;
+        for (Postings.Cursor cursor = termPostings.cursor(); cursor.next(); ) {
+          if (!deleted.get(cursor.ordinal)) {
+            documentFrequency++;
+          }
+        }
+        float idf = (float) Math.log(1 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        for (Postings.Cursor cursor = termPostings.cursor(); cursor.next(); ) {
+          if (!deleted.get(cursor.ordinal)) {
+            float length = documents.get(cursor.ordinal).length;
+            float frequency = cursor.frequency;
+            if (scores[cursor.ordinal] == 0) {
+              matches++;
+            }
+            scores[cursor.ordinal] += idf * frequency * (K1 + 1)
+                / (frequency + K1 * (1 - B + B * length / averageLength));
+          }
+        }
+      }
+
+      List<SearchResult> page = top(scores, offset, limit);
+      return new SearchResults<SearchResult>(query, offset, limit, matches, page);
+    }
+    finally {
+      lock.readLock().unlock();
+
+      synchronized (RoutineSearch.class) {
+        queries++;
+        queryNanos += System.nanoTime() - start;
+      }
+    }
+  }
+
+
+  /**
+   * Get the size of the index and how long searches take.
+   *
+   * @return The number of documents, deleted documents, terms, bytes of postings, queries and the mean query time.
+   */
+  public static Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    lock.readLock().lock();
+    try {
+      long bytes = 0;
+      for (Postings termPostings : postings.values()) {
+        bytes += termPostings.length;
+      }
+
+      statistics.put("documents", (long) ordinals.size());
+      statistics.put("deleted", (long) deleted.cardinality());
+      statistics.put("terms", (long) postings.size());
+      statistics.put("postingsBytes", bytes);
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+
+    synchronized (RoutineSearch.class) {
+      statistics.put("queries", queries);
+      statistics.put("meanQueryMicros", (queries == 0) ? 0 : queryNanos / queries / 1000);
+    }
+
+    return statistics;
+  }
+
+
+  /******************************************************************************************************************
+   * I N D E X
+   ******************************************************************************************************************/
+
+  /**
+   * Index every Routine.  Called by RoutineCatalog.rebuild().
+   *
+   * @param entries Every Routine.
+   */
+  public static void rebuild(Collection<RoutineEntry> entries) {
+    lock.writeLock().lock();
+    try {
+      postings.clear();
+      documents.clear();
+      ordinals.clear();
+      deleted.clear();
+      totalLength = 0;
+
+      for (RoutineEntry entry : entries) {
+        add(entry);
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Re-index a changed Routine.  Called by RoutineCatalog as Routines and Materials are saved.
+   *
+   * @param routineId The ID of the Routine that changed.
+   * @param entry     The Routine as it is now, or null if it was deleted.
+   */
+  public static void update(long routineId, RoutineEntry entry) {
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinals.remove(routineId);
+      if (ordinal != null) {
+        deleted.set(ordinal);
+        totalLength -= documents.get(ordinal).length;
+      }
+
+      if (entry != null) {
+        add(entry);
+      }
+
+      int deletedCount = deleted.cardinality();
+      if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount > ordinals.size()) {
+        compact();
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Add a Routine as a new document at the end of the index.
+   *
+   * @param entry The Routine.
+   */
+  private static void add(RoutineEntry entry) {
+    Map<String, Integer> frequencies = new HashMap<String, Integer>();
+    int length = 0;
+
+    length += count(frequencies, entry.getName(), NAME_BOOST);
+    length += count(frequencies, entry.getDescription(), TEXT_BOOST);
+    length += count(frequencies, entry.getMethod(), TEXT_BOOST);
+    length += count(frequencies, entry.getHandling(), TEXT_BOOST);
+    for (MaterialEntry material : entry.getMaterials()) {
+      length += count(frequencies, material.getName(), MATERIAL_BOOST);
+    }
+
+    int ordinal = documents.size();
+    documents.add(new Document(entry.getId(), entry.getName(), entry.getDuration(), length));
+    ordinals.put(entry.getId(), ordinal);
+    totalLength += length;
+
+    for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+      Postings termPostings = postings.get(frequency.getKey());
+      if (termPostings == null) {
+        termPostings = new Postings();
+        postings.put(frequency.getKey(), termPostings);
+      }
+      termPostings.add(ordinal, frequency.getValue());
+    }
+  }
+
+
+  /**
+   * Count the terms in a field.
+   *
+   * @param frequencies The frequency of each term so far.
+   * @param text        The text of the field (may be null).
+   * @param boost       How much each occurrence counts.
+   * @return The length the field adds to the document.
+   */
+  private static int count(Map<String, Integer> frequencies, String text, int boost) {
+    List<String> terms = Terms.tokenize(text);
+
+    for (String term : terms) {
+      Integer frequency = frequencies.get(term);
+      frequencies.put(term, (frequency == null) ? boost : frequency + boost);
+    }
+
+    return terms.size() * boost;
+  }
+
+
+  /**
+   * Drop the deleted documents and renumber the rest.
+   */
+  private static void compact() {
+    int[] renumbered = new int[documents.size()];
+    List<Document> live = new ArrayList<Document>();
+
+    for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+      if (deleted.get(ordinal)) {
+        renumbered[ordinal] = -1;
+      }
+      else {
+        renumbered[ordinal] = live.size();
+        live.add(documents.get(ordinal));
+      }
+    }
+
+    Iterator<Map.Entry<String, Postings>> iterator = postings.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Postings> entry = iterator.next();
+      Postings compacted = new Postings();
+
+      for (Postings.Cursor cursor = entry.getValue().cursor(); cursor.next(); ) {
+        if (renumbered[cursor.ordinal] >= 0) {
+          compacted.add(renumbered[cursor.ordinal], cursor.frequency);
+        }
+      }
+
+      if (compacted.length == 0) {
+        iterator.remove();
+      }
+      else {
+        entry.setValue(compacted);
+      }
+    }
+
+    documents.clear();
+    documents.addAll(live);
+    ordinals.clear();
+    for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+      ordinals.put(documents.get(ordinal).routineId, ordinal);
+    }
+    deleted.clear();
+  }
+
+
+  /**
+   * Pick a page of the best scoring documents.
+   *
+   * @param scores The score of each document (0 if it didn't match).
+   * @param offset The number of results to skip.
+   * @param limit  The maximum number of results to return.
+   * @return The page of results, the best match first.
+   */
+  private static List<SearchResult> top(final float[] scores, int offset, int limit) {
+    List<SearchResult> page = new ArrayList<SearchResult>();
+    if (limit <= 0 || offset >= scores.length) {
+      return page;
+    }
+    int wanted = (int) Math.min((long) offset + limit, scores.length);
+
+    // A min-heap of the best results so far, so the weakest is the one replaced.
+    PriorityQueue<SearchResult> best = new PriorityQueue<SearchResult>(wanted + 1,
+        Collections.reverseOrder(SearchResult.BEST_FIRST));
+
+    for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+      if (scores[ordinal] > 0) {
+        Document document = documents.get(ordinal);
+        best.add(new SearchResult(document.routineId, document.name, document.duration, scores[ordinal]));
+        if (best.size() > wanted) {
+          best.poll();
+        }
+      }
+    }
+
+    List<SearchResult> sorted = new ArrayList<SearchResult>(best);
+    Collections.sort(sorted, SearchResult.BEST_FIRST);
+    if (offset < sorted.size()) {
+      page.addAll(sorted.subList(offset, sorted.size()));
+    }
+
+    return page;
+  }
+
+
+  /**
+   * A Routine as it was when it was indexed.
+   */
+  private static class Document {
+
+    private final long routineId;
+    private final String name;
+    private final Integer duration;
+    private final int length;
+
+
+    /**
+     * Create a Document.
+     *
+     * @param routineId The ID of the Routine.
+     * @param name      The name of the Routine.
+     * @param duration  The duration of the Routine in minutes.
+     * @param length    The number of terms in the document, counting boosts.
+     */
+    Document(long routineId, String name, Integer duration, int length) {
+      this.routineId = routineId;
+      this.name = name;
+      this.duration = duration;
+      this.length = length;
+    }
+
+  }
+
+
+  /**
+   * The postings of one term:  the ordinals of the documents it's in and its frequency in each.  The ordinals are
+   * increasing, so each is stored as the difference from the one before.  Each number is a variable-length integer:
+   * seven bits per byte, with the high bit set on every byte but the last.
+   */
+  private static class Postings {
+
+    private byte[] bytes = new byte[8];
+    private int length = 0;
+    private int lastOrdinal = -1;
+
+
+    /**
+     * Append a document.
+     *
+     * @param ordinal   The document's ordinal.  Must be greater than any already added.
+     * @param frequency The term's frequency in the document.
+     */
+    void add(int ordinal, int frequency) {
+      write(ordinal - lastOrdinal);
+      write(frequency);
+      lastOrdinal = ordinal;
+    }
+
+
+    /**
+     * Append a variable-length integer.
+     *
+     * @param value The value (not negative).
+     */
+    private void write(int value) {
+      if (length + 5 > bytes.length) {
+        byte[] grown = new byte[bytes.length * 2];
+        System.arraycopy(bytes, 0, grown, 0, length);
+        bytes = grown;
+      }
+
+      while ((value & ~0x7F) != 0) {
+        bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[length++] = (byte) value;
+    }
+
+
+    /**
+     * Start reading the postings.
+     *
+     * @return A cursor before the first document.
+     */
+    Cursor cursor() {
+      return new Cursor();
+    }
+
+
+    /**
+     * Reads the postings in order.
+     */
+    class Cursor {
+
+      private int position = 0;
+      private int ordinal = -1;
+      private int frequency = 0;
+
+
+      /**
+       * Move to the next document.
+       *
+       * @return False if there are no more documents.
+       */
+      boolean next() {
+        if (position >= length) {
+          return false;
+        }
+
+        ordinal += read();
+        frequency = read();
+        return true;
+      }
+
+
+      /**
+       * Read a variable-length integer.
+       *
+       * @return The value.
+       */
+      private int read() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+          b = bytes[position++];
+          value |= (b & 0x7F) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+      }
+
+    }
+
+  }
+
+}
@@ -0,0 +1,77 @@
+package services.search;
+
+import java.util.Comparator;
+
+/**
+ * A Routine that matched a search.  Immutable.
+ */
+public class SearchResult {
+
+  /** Orders results by score (highest first), then by Routine ID, so equal scores always come out the same way. */
+  public static final Comparator<SearchResult> BEST_FIRST = new Comparator<SearchResult>() {
+    @Override
+    public int compare(SearchResult a, SearchResult b) {
+      int byScore = Float.compare(b.getScore(), a.getScore());
+      return (byScore != 0) ? byScore : Long.compare(a.getId(), b.getId());
+    }
+  };
+
+  private final long id;
+  private final String name;
+  private final Integer duration;
+  private final float score;
+
+
+  /**
+   * Create a SearchResult.
+   *
+   * @param id       The ID of the Routine.
+   * @param name     The name of the Routine.
+   * @param duration The duration of the Routine in minutes.
+   * @param score    How well the Routine matched.
+   */
+  public SearchResult(long id, String name, Integer duration, float score) {
+    this.id = id;
+    this.name = name;
+    this.duration = duration;
+    this.score = score;
+  }
+
+
+  /**
+   * Get the ID of the Routine.
+   *
+   * @return The ID of the Routine.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Get the name of the Routine.
+   *
+   * @return The name of the Routine.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the duration of the Routine.
+   *
+   * @return The duration of the Routine in minutes.
+   */
+  public Integer getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get how well the Routine matched.
+   *
+   * @return The score; only meaningful compared with the other results of the same search.
+   */
+  public float getScore() {
+    return score;
+  }
+
+}
@@ -0,0 +1,101 @@
+package services.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of search results.  Immutable.
+ *
+ * @param <T> The type of result (a Routine or a Magician).
+ */
+public class SearchResults<T> {
+
+  private final String query;
+  private final int offset;
+  private final int limit;
+  private final int total;
+  private final List<T> results;
+
+
+  /**
+   * Create a page of SearchResults.
+   *
+   * @param query   The text that was searched for.
+   * @param offset  The number of results skipped.
+   * @param limit   The maximum number of results on the page.
+   * @param total   The number of matches on every page.
+   * @param results The results on this page, the best match first.
+   */
+  public SearchResults(String query, int offset, int limit, int total, List<T> results) {
+    this.query = query;
+    this.offset = offset;
+    this.limit = limit;
+    this.total = total;
+    this.results = Collections.unmodifiableList(results);
+  }
+
+
+  /**
+   * Get the text that was searched for.
+   *
+   * @return The query.
+   */
+  public String getQuery() {
+    return query;
+  }
+
+  /**
+   * Get the number of results skipped.
+   *
+   * @return The offset of the first result on this page.
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Get the maximum number of results on the page.
+   *
+   * @return The page size.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Get the number of matches on every page.
+   *
+   * @return The total number of matches.
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * Get the results on this page.
+   *
+   * @return An unmodifiable list of the results, the best match first.
+   */
+  public List<T> getResults() {
+    return results;
+  }
+
+  /**
+   * See if there are more results after this page.
+   *
+   * @return True if there's a next page.
+   */
+  public boolean hasNext() {
+    return offset + results.size() < total;
+  }
+
+  /**
+   * See if there are results before this page.
+   *
+   * @return True if there's a previous page.
+   */
+  public boolean hasPrevious() {
+    return offset > 0;
+  }
+
+}
@@ -0,0 +1,393 @@
+package services.search;
+
+import play.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-memory index of the Routines that are most like each Routine.
+ * <p>
+ * Each Routine is a sparse vector of features:  the names of its Materials, the terms in its name and description
+ * and its duration band.  Material names count the most, since sharing props is the strongest sign that two
+ * Routines are alike.  Vectors are normalized, so the similarity of two Routines is the cosine of their vectors.
+ * <p>
+ * The top neighbours of every Routine are computed up front and published as unmodifiable lists, so the View
+ * Routine page gets them in constant time without touching the database.  The index is built and kept current by
+ * RoutineCatalog.  A save only recomputes the Routines that shared a feature with the changed Routine, found through
+ * the postings (feature to Routines) of its old and new vectors.
+ * <p>
+ * The number of neighbours kept for each Routine is set with search.similar.neighbours in application.conf.
+ */
+public class SimilarRoutines {
+
+  /** The default number of neighbours kept for each Routine. */
+  public static final int DEFAULT_NEIGHBOURS = 5;
+
+  private static final float MATERIAL_WEIGHT = 2.0f;
+  private static final float TERM_WEIGHT = 1.0f;
+  private static final float DURATION_WEIGHT = 1.0f;
+
+  /** The upper bound (in minutes) of each duration band.  Longer Routines are in the last band. */
+  private static final int[] DURATION_BANDS = {2, 5, 10, 20};
+
+  private static final Comparator<RelatedRoutine> MOST_SIMILAR = new Comparator<RelatedRoutine>() {
+    @Override
+    public int compare(RelatedRoutine a, RelatedRoutine b) {
+      int byScore = Float.compare(b.getScore(), a.getScore());
+      return (byScore != 0) ? byScore : Long.compare(a.getId(), b.getId());
+    }
+  };
+
+  // The Routines that are indexed.  Guarded by the class lock.
+  private static final Map<Long, RoutineEntry> routines = new HashMap<Long, RoutineEntry>();
+
+  // The vectors and the postings of each feature.  Guarded by the class lock.
+  private static final Map<String, Integer> features = new HashMap<String, Integer>();
+  private static final Map<Long, Map<Integer, Float>> vectors = new HashMap<Long, Map<Integer, Float>>();
+  private static final Map<Integer, Map<Long, Float>> postings = new HashMap<Integer, Map<Long, Float>>();
+
+  // The published neighbours.  Read without locking.
+  private static final Map<Long, Related> related = new ConcurrentHashMap<Long, Related>();
+  private static long version = 0;
+  private static int neighbours = DEFAULT_NEIGHBOURS;
+
+
+  /**
+   * Read the number of neighbours from the application's configuration.
+   *
+   * @param configuration The application's configuration.
+   */
+  public static synchronized void configure(Configuration configuration) {
+    neighbours = configuration.getInt("search.similar.neighbours", DEFAULT_NEIGHBOURS);
+  }
+
+
+  /**
+   * Get the Routines that are most like a Routine.
+   *
+   * @param routineId The ID of the Routine.
+   * @return An unmodifiable list of the most similar Routines first.  Empty if the index hasn't been built yet.
+   */
+  public static List<RelatedRoutine> getRelated(long routineId) {
+    Related current = related.get(routineId);
+    return (current == null) ? Collections.<RelatedRoutine>emptyList() : current.routines;
+  }
+
+
+  /**
+   * Get the version of a Routine's neighbours.  It changes whenever getRelated() would return something different,
+   * so it can be part of the View Routine page's ETag.
+   *
+   * @param routineId The ID of the Routine.
+   * @return The version of the Routine's neighbours or 0 if it has none.
+   */
+  public static long getVersion(long routineId) {
+    Related current = related.get(routineId);
+    return (current == null) ? 0 : current.version;
+  }
+
+
+  /**
+   * Index every Routine and compute their neighbours.  Called by RoutineCatalog.rebuild().
+   *
+   * @param entries Every Routine.
+   */
+  public static synchronized void rebuild(Collection<RoutineEntry> entries) {
+    routines.clear();
+    features.clear();
+    vectors.clear();
+    postings.clear();
+
+    for (RoutineEntry entry : entries) {
+      routines.put(entry.getId(), entry);
+      index(entry.getId());
+    }
+
+    related.keySet().retainAll(routines.keySet());
+    for (Long routineId : routines.keySet()) {
+      publish(routineId, nearest(routineId, neighbours));
+    }
+  }
+
+
+  /******************************************************************************************************************
+   * I N D E X
+   ******************************************************************************************************************/
+
+  /**
+   * Re-index a changed Routine and update the neighbours of every Routine it was or is now similar to.  Called by
+   * RoutineCatalog as Routines and Materials are saved.
+   * <p>
+   * If the changed Routine became more similar to another Routine (or became one of its neighbours), it's simply
+   * re-ranked in that Routine's list.  If it became less similar, some other Routine may now outrank it, so that
+   * Routine's neighbours are recomputed.
+   *
+   * @param routineId The ID of the Routine that changed.
+   * @param entry     The Routine as it is now, or null if it was deleted.
+   */
+  public static synchronized void update(long routineId, RoutineEntry entry) {
+    Map<Long, Float> before = scores(routineId);
+    unindex(routineId);
+
+    Map<Long, Float> after;
+    if (entry == null) {
+      routines.remove(routineId);
+      related.remove(routineId);
+      after = new HashMap<Long, Float>();
+    }
+    else {
+      routines.put(routineId, entry);
+      index(routineId);
+      after = scores(routineId);
+      publish(routineId, nearest(routineId, neighbours));
+    }
+
+    java.util.Set<Long> affected = new HashSet<Long>(before.keySet());
+    affected.addAll(after.keySet());
+
+    for (Long otherId : affected) {
+      List<RelatedRoutine> current = new ArrayList<RelatedRoutine>(getRelated(otherId));
+      RelatedRoutine previous = remove(current, routineId);
+      Float score = after.get(otherId);
+
+      if (previous != null && (score == null || score < previous.getScore())) {
+        publish(otherId, nearest(otherId, neighbours));
+      }
+      else if (score != null) {
+        current.add(new RelatedRoutine(routineId, entry.getName(), entry.getDuration(), score));
+        Collections.sort(current, MOST_SIMILAR);
+        publish(otherId, current.subList(0, Math.min(neighbours, current.size())));
+      }
+    }
+  }
+
+
+  /**
+   * Build a Routine's vector and add it to the postings.
+   *
+   * @param routineId The ID of the Routine.
+   */
+  private static void index(long routineId) {
+    RoutineEntry entry = routines.get(routineId);
+    Map<Integer, Float> vector = new HashMap<Integer, Float>();
+
+    for (MaterialEntry material : entry.getMaterials()) {
+      add(vector, "m:" + Terms.normalize(material.getName()), MATERIAL_WEIGHT);
+    }
+    for (String term : new HashSet<String>(Terms.tokenize(entry.getName() + " " + entry.getDescription()))) {
+      add(vector, "t:" + term, TERM_WEIGHT);
+    }
+    if (entry.getDuration() != null) {
+      add(vector, "d:" + band(entry.getDuration()), DURATION_WEIGHT);
+    }
+
+    double length = 0;
+    for (Float weight : vector.values()) {
+      length += weight * weight;
+    }
+    length = Math.sqrt(length);
+
+    for (Map.Entry<Integer, Float> feature : vector.entrySet()) {
+      feature.setValue((float) (feature.getValue() / length));
+
+      Map<Long, Float> posting = postings.get(feature.getKey());
+      if (posting == null) {
+        posting = new HashMap<Long, Float>();
+        postings.put(feature.getKey(), posting);
+      }
+      posting.put(routineId, feature.getValue());
+    }
+
+    vectors.put(routineId, vector);
+  }
+
+
+  /**
+   * Remove a Routine's vector from the postings.
+   *
+   * @param routineId The ID of the Routine.
+   */
+  private static void unindex(long routineId) {
+    Map<Integer, Float> vector = vectors.remove(routineId);
+
+    if (vector != null) {
+      for (Integer feature : vector.keySet()) {
+        Map<Long, Float> posting = postings.get(feature);
+        posting.remove(routineId);
+        if (posting.isEmpty()) {
+          postings.remove(feature);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Add a feature to a vector.
+   *
+   * @param vector  The vector.
+   * @param feature The feature.
+   * @param weight  The weight of the feature.
+   */
+  private static void add(Map<Integer, Float> vector, String feature, float weight) {
+    Integer id = features.get(feature);
+    if (id == null) {
+      id = features.size();
+      features.put(feature, id);
+    }
+
+    Float current = vector.get(id);
+    vector.put(id, (current == null) ? weight : current + weight);
+  }
+
+
+  /**
+   * Find the duration band of a Routine.
+   *
+   * @param duration The duration of the Routine in minutes.
+   * @return The index of the band.
+   */
+  private static int band(int duration) {
+    for (int i = 0; i < DURATION_BANDS.length; i++) {
+      if (duration <= DURATION_BANDS[i]) {
+        return i;
+      }
+    }
+
+    return DURATION_BANDS.length;
+  }
+
+
+  /**
+   * Compute the similarity of a Routine to every Routine it shares a feature with.
+   *
+   * @param routineId The ID of the Routine.
+   * @return The cosine similarity of each other Routine, by ID.  Empty if the Routine isn't indexed.
+   */
+  private static Map<Long, Float> scores(long routineId) {
+    Map<Long, Float> scores = new HashMap<Long, Float>();
+    Map<Integer, Float> vector = vectors.get(routineId);
+
+    if (vector == null) {
+      return scores;
+    }
+
+    for (Map.Entry<Integer, Float> entry : vector.entrySet()) {
+      for (Map.Entry<Long, Float> posting : postings.get(entry.getKey()).entrySet()) {
+        if (posting.getKey() != routineId) {
+          Float score = scores.get(posting.getKey());
+          float product = entry.getValue() * posting.getValue();
+          scores.put(posting.getKey(), (score == null) ? product : score + product);
+        }
+      }
+    }
+
+    return scores;
+  }
+
+
+  /**
+   * Find the Routines most like a Routine.
+   *
+   * @param routineId The ID of the Routine.
+   * @param k         The number of Routines to find.
+   * @return Up to k Routines, the most similar first.
+   */
+  private static List<RelatedRoutine> nearest(long routineId, int k) {
+    // A min-heap of the best k so far, so the weakest is the one replaced.
+    PriorityQueue<RelatedRoutine> best = new PriorityQueue<RelatedRoutine>(k + 1,
+        Collections.reverseOrder(MOST_SIMILAR));
+
+    for (Map.Entry<Long, Float> entry : scores(routineId).entrySet()) {
+      RoutineEntry other = routines.get(entry.getKey());
+      best.add(new RelatedRoutine(entry.getKey(), other.getName(), other.getDuration(), entry.getValue()));
+      if (best.size() > k) {
+        best.poll();
+      }
+    }
+
+    List<RelatedRoutine> nearest = new ArrayList<RelatedRoutine>(best);
+    Collections.sort(nearest, MOST_SIMILAR);
+    return nearest;
+  }
+
+
+  /**
+   * Remove a Routine from a list of neighbours.
+   *
+   * @param routines  The neighbours.
+   * @param routineId The ID of the Routine to remove.
+   * @return The Routine that was removed or null if it wasn't in the list.
+   */
+  private static RelatedRoutine remove(List<RelatedRoutine> routines, long routineId) {
+    for (int i = 0; i < routines.size(); i++) {
+      if (routines.get(i).getId() == routineId) {
+        return routines.remove(i);
+      }
+    }
+
+    return null;
+  }
+
+
+  /**
+   * Publish a Routine's neighbours.
+   *
+   * @param routineId The ID of the Routine.
+   * @param routines  Its neighbours, the most similar first.
+   */
+  private static void publish(long routineId, List<RelatedRoutine> routines) {
+    version++;
+    related.put(routineId, new Related(version, routines));
+  }
+
+
+  /**
+   * Get the size of the index.
+   *
+   * @return The number of routines, features and published versions.
+   */
+  public static synchronized Map<String, Long> getStatistics() {
+    Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+
+    statistics.put("routines", (long) vectors.size());
+    statistics.put("features", (long) features.size());
+    statistics.put("version", version);
+
+    return statistics;
+  }
+
+
+  /**
+   * A Routine's published neighbours.
+   */
+  private static class Related {
+
+    private final long version;
+    private final List<RelatedRoutine> routines;
+
+
+    /**
+     * Create a Related.
+     *
+     * @param version  The version of the neighbours.
+     * @param routines The neighbours, the most similar first.
+     */
+    Related(long version, List<RelatedRoutine> routines) {
+      this.version = version;
+      this.routines = Collections.unmodifiableList(new ArrayList<RelatedRoutine>(routines));
+    }
+
+  }
+
+}
@@ -0,0 +1,81 @@
+package services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Split text into the terms the search indexes are built from.
+ * <p>
+ * A term is a run of letters and digits, lower cased.  Single characters and common English words are dropped,
+ * since they say nothing about what a Routine is.
+ */
+public class Terms {
+
+  private static final java.util.Set<String> STOP_WORDS = new HashSet<String>(Arrays.asList("a", "an", "and", "are",
+      "as", "at", "be", "but", "by", "can", "for", "from", "has", "have", "he", "her", "his", "if", "in", "into", "is",
+      "it", "its", "of", "on", "or", "she", "so", "that", "the", "their", "them", "then", "there", "they", "this",
+      "to", "was", "were", "will", "with", "you", "your"));
+
+
+  /**
+   * Split text into terms.
+   *
+   * @param text The text to split (may be null).
+   * @return The terms, in the order they appear, including repeats.
+   */
+  public static List<String> tokenize(String text) {
+    List<String> terms = new ArrayList<String>();
+
+    if (text == null) {
+      return terms;
+    }
+
+    String lowerCase = text.toLowerCase(Locale.ENGLISH);
+    int start = -1;
+    for (int i = 0; i <= lowerCase.length(); i++) {
+      boolean termChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+
+      if (termChar && start < 0) {
+        start = i;
+      }
+      else if (!termChar && start >= 0) {
+        add(terms, lowerCase.substring(start, i));
+        start = -1;
+      }
+    }
+
+    return terms;
+  }
+
+
+  /**
+   * Normalize a name (like a Material's) so that names differing only in case and spacing are the same.
+   *
+   * @param name The name (may be null).
+   * @return The normalized name or an empty string.
+   */
+  public static String normalize(String name) {
+    if (name == null) {
+      return "";
+    }
+
+    return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ENGLISH);
+  }
+
+
+  /**
+   * Add a term, unless it's too short or a stop word.
+   *
+   * @param terms The terms so far.
+   * @param term  The term to add.
+   */
+  private static void add(List<String> terms, String term) {
+    if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+      terms.add(term);
+    }
+  }
+
+}
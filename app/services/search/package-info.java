@@ -0,0 +1,19 @@
+/**
+ * Search Service for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that keeps in-memory indexes of the Routines (like the similar routines shown on
+ * the View Routine page), so they can be looked up without querying the database.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.search;
@@ -0,0 +1,271 @@
+package services.seed;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.Transaction;
+import com.fasterxml.jackson.databind.JsonNode;
+import models.Material;
+import models.Routine;
+import models.SeedMetadata;
+import play.Logger;
+import play.Play;
+import play.libs.Json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Load the standard Routines (and their Materials) from conf/seed/routines.json.
+ * <p>
+ * The data file holds a version number and a list of Routines, each with its list of Materials.  The field names are
+ * the same as RoutineFormData and MaterialFormData.  To add a Routine to the standard set, add it to the file and
+ * bump the version.
+ * <p>
+ * Loading takes one query to find the Routines that already exist (by name) and then inserts the missing Routines
+ * and their Materials in a single transaction with JDBC batching.  Existing Routines are never changed, so loading
+ * is safe to repeat.
+ * <p>
+ * The checksum of the seed data (the data files plus SEED_VERSION, which covers the seeds that are still in code) is
+ * recorded in the seed_metadata table after seeding, so startup can skip seeding entirely when nothing has changed.
+ */
+public class SeedLoader {
+
+  /** The location of the Routine seed data on the classpath. */
+  public static final String ROUTINES_FILE = "seed/routines.json";
+
+  /** The number of inserts sent to the database in each JDBC batch. */
+  public static final int BATCH_SIZE = 100;
+
+  /**
+   * The version of the seed data that's in code: MagicianType.init(), Magician.init(), Global.initSets() and
+   * Set.init().  Bump this when any of them change so the next startup reseeds.
+   */
+  public static final int SEED_VERSION = 1;
+
+  /** The name of the seed data in the seed_metadata table. */
+  public static final String SEED_NAME = "default";
+
+
+  /**
+   * Compute the checksum of the current seed data.
+   *
+   * @return The SHA-256 of SEED_VERSION and the seed data files, in hex.
+   */
+  public static String checksum() {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("Unable to compute the seed data checksum", e);
+    }
+
+    digest.update(("seedVersion=" + SEED_VERSION + "\n").getBytes(StandardCharsets.UTF_8));
+    digest.update(readBytes(ROUTINES_FILE));
+
+    StringBuilder checksum = new StringBuilder();
+    for (byte b : digest.digest()) {
+      checksum.append(String.format("%02x", b));
+    }
+
+    return checksum.toString();
+  }
+
+
+  /**
+   * Check if the seed data in the database is current.  This is one query.
+   *
+   * @param checksum The checksum of the current seed data.
+   * @return True if the seed data with this checksum has already been loaded.
+   */
+  public static boolean isSeeded(String checksum) {
+    return checksum.equals(SeedMetadata.getChecksum(SEED_NAME));
+  }
+
+
+  /**
+   * Record that the seed data with this checksum has been loaded.
+   *
+   * @param checksum The checksum of the seed data that was loaded.
+   */
+  public static void recordSeeded(String checksum) {
+    SeedMetadata.recordChecksum(SEED_NAME, checksum);
+  }
+
+
+  /**
+   * Read the raw bytes of a seed data file from the classpath.
+   *
+   * @param resource The name of the file on the classpath.
+   * @return The contents of the file.
+   * @throws RuntimeException If the file is missing or can't be read.
+   */
+  public static byte[] readBytes(String resource) {
+    InputStream inputStream = Play.application().resourceAsStream(resource);
+    if (inputStream == null) {
+      throw new RuntimeException("Unable to find seed data [" + resource + "]");
+    }
+
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toByteArray();
+    }
+    catch (IOException e) {
+      throw new RuntimeException("Unable to read seed data [" + resource + "]", e);
+    }
+    finally {
+      try {
+        inputStream.close();
+      }
+      catch (IOException e) {
+        Logger.warn("Unable to close seed data [" + resource + "]", e);
+      }
+    }
+  }
+
+
+  /**
+   * Read a seed data file from the classpath.
+   *
+   * @param resource The name of the file on the classpath.
+   * @return The contents of the file.
+   * @throws RuntimeException If the file is missing or isn't valid JSON.
+   */
+  public static JsonNode read(String resource) {
+    return Json.parse(new ByteArrayInputStream(readBytes(resource)));
+  }
+
+
+  /**
+   * Insert any standard Routines (and their Materials) that aren't already in the database.
+   *
+   * @return The number of Routines that were inserted.
+   */
+  public static int loadRoutines() {
+    JsonNode seed = read(ROUTINES_FILE);
+
+    Set<String> existingNames = new HashSet<String>();
+    for (Routine routine : Routine.find().select("name").findList()) {
+      existingNames.add(routine.getName());
+    }
+
+    int routineCount = 0;
+    int materialCount = 0;
+
+    Transaction transaction = Ebean.beginTransaction();
+    try {
+      transaction.setBatchMode(true);
+      transaction.setBatchSize(BATCH_SIZE);
+
+      for (JsonNode routineNode : seed.get("routines")) {
+        if (existingNames.contains(routineNode.get("name").asText())) {
+          continue;
+        }
+
+        Routine routine = buildRoutine(routineNode);
+        routine.save();
+        routineCount++;
+
+        if (routineNode.has("materials")) {
+          for (JsonNode materialNode : routineNode.get("materials")) {
+            buildMaterial(routine, materialNode).save();
+            materialCount++;
+          }
+        }
+      }
+
+      Ebean.commitTransaction();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+
+    Logger.info("Loaded seed data [" + ROUTINES_FILE + "] version [" + seed.path("version").asInt() + "]"
+        + "  existing routines = [" + existingNames.size() + "]  inserted routines = [" + routineCount + "]"
+        + "  inserted materials = [" + materialCount + "]");
+
+    return routineCount;
+  }
+
+
+  /**
+   * Build a new Routine from its seed data.
+   *
+   * @param node The Routine's seed data.
+   * @return The new (unsaved) Routine.
+   */
+  private static Routine buildRoutine(JsonNode node) {
+    Routine routine = new Routine(text(node, "name"), text(node, "description"), integer(node, "duration"));
+
+    routine.setMethod(text(node, "method"));
+    routine.setHandling(text(node, "handling"));
+    routine.setResetDuration(integer(node, "resetDuration"));
+    routine.setResetDescription(text(node, "resetDescription"));
+    routine.setYouTubeUrl(text(node, "youTubeUrl"));
+    routine.setImageUrl(text(node, "imageUrl"));
+    routine.setReviewUrl(text(node, "reviewUrl"));
+    routine.setInspiration(text(node, "inspiration"));
+    routine.setPlacement(text(node, "placement"));
+    routine.setChoices(text(node, "choices"));
+
+    return routine;
+  }
+
+
+  /**
+   * Build a new Material from its seed data.
+   *
+   * @param routine The Routine that uses the Material.
+   * @param node    The Material's seed data.
+   * @return The new (unsaved) Material.
+   */
+  private static Material buildMaterial(Routine routine, JsonNode node) {
+    Material material = new Material(routine, text(node, "name"));
+
+    material.setDescription(text(node, "description"));
+    material.setIsInspectable(node.path("isInspectable").asBoolean(false));
+    material.setIsGivenAway(node.path("isGivenAway").asBoolean(false));
+    material.setIsConsumed(node.path("isConsumed").asBoolean(false));
+    material.setPrice(integer(node, "price"));
+    material.setPurchaseUrl(text(node, "purchaseUrl"));
+    material.setImageUrl(text(node, "imageUrl"));
+
+    return material;
+  }
+
+
+  /**
+   * Get an optional text field.
+   *
+   * @param node  The seed data.
+   * @param field The name of the field.
+   * @return The text or null if the field is missing.
+   */
+  private static String text(JsonNode node, String field) {
+    return (node.hasNonNull(field)) ? node.get(field).asText() : null;
+  }
+
+
+  /**
+   * Get an optional integer field.
+   *
+   * @param node  The seed data.
+   * @param field The name of the field.
+   * @return The integer or null if the field is missing.
+   */
+  private static Integer integer(JsonNode node, String field) {
+    return (node.hasNonNull(field)) ? node.get(field).asInt() : null;
+  }
+
+}
@@ -0,0 +1,99 @@
+package services.seed;
+
+import play.Logger;
+import services.startup.StartupPhases;
+
+/**
+ * Track the progress of seeding the database, which runs in the background after startup.
+ * <p>
+ * The node is ready for traffic (see controllers.Health) once seeding has finished or been skipped.  Each phase of
+ * seeding is timed and logged by services.startup.StartupPhases.
+ */
+public class SeedStatus {
+
+  /** The states that seeding goes through. */
+  public enum State {
+    /** Seeding hasn't started yet. */
+    PENDING,
+    /** Seeding is running. */
+    RUNNING,
+    /** Seeding finished, or was skipped because the seed data was current. */
+    READY,
+    /** Seeding failed.  See the log for the cause. */
+    FAILED
+  }
+
+  private static volatile State state = State.PENDING;
+  private static volatile String failure = null;
+
+
+  /**
+   * Get the state of seeding.
+   *
+   * @return The current state.
+   */
+  public static State getState() {
+    return state;
+  }
+
+
+  /**
+   * Check if seeding is finished.
+   *
+   * @return True if the node is ready for traffic.
+   */
+  public static boolean isReady() {
+    return state == State.READY;
+  }
+
+
+  /**
+   * Get the reason that seeding failed.
+   *
+   * @return The message of the exception that stopped seeding or null if it hasn't failed.
+   */
+  public static String getFailure() {
+    return failure;
+  }
+
+
+  /**
+   * Record that seeding has started.
+   */
+  public static void started() {
+    failure = null;
+    state = State.RUNNING;
+  }
+
+
+  /**
+   * Record that seeding has finished (or was skipped).
+   */
+  public static void finished() {
+    state = State.READY;
+  }
+
+
+  /**
+   * Record that seeding failed.
+   *
+   * @param e The exception that stopped seeding.
+   */
+  public static void failed(Throwable e) {
+    failure = e.getMessage();
+    state = State.FAILED;
+    Logger.error("Seeding failed", e);
+  }
+
+
+  /**
+   * Run one phase of seeding and record how long it took.
+   *
+   * @param name  The name of the phase.
+   * @param phase The work to do.
+   */
+  public static void phase(String name, Runnable phase) {
+    StartupPhases.phase(name, phase);
+  }
+
+}
@@ -0,0 +1,20 @@
+/**
+ * Seed Data Services for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that loads the standard Routines and Materials from the versioned data files in
+ * conf/seed into the database when the application starts.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.avaje.org/ebean/documentation.html
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.seed;
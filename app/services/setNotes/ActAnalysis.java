@@ -1,8 +1,10 @@
 package services.setNotes;
 
 import models.Note;
+import models.Routine;
 import models.Set;
 import play.Logger;
+import services.cache.AnalysisCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -89,37 +91,37 @@ public class ActAnalysis {
 
   /**
    * Analzye the set and generate notes.
+   * <p>
+   * The set is summarized once and then every rule registered with RuleEngine is applied to the summary.  The notes
+   * are cached (see AnalysisCache), so analyzing the same version of the set with the same targets again doesn't
+   * load its routines or run the rules.  If a rule timed out or failed, the notes are returned but not cached, so
+   * the next analysis tries again.
    *
    * @return The list of notes.
    */
   public List<Note> analyzeSet() {
-    Logger.debug("Number of routines = [" + set.getRoutines().size() + "]");
-
-    if (set.getRoutines().size() <= 2) {
-      Note note = new Note("Consider adding more routines to your set.  You only have "
-          + set.getRoutines().size() + ((set.getRoutines().size() == 1) ? " routine" : " routines") + " right now.");
-
-      notes.add(note);
+    String key = AnalysisCache.key(set.getId(), set.getVersion(), expectedDuration, expectedCost);
+    List<Note> cachedNotes = AnalysisCache.get(key);
+    if (cachedNotes != null) {
+      notes.addAll(cachedNotes);
+      return notes;
     }
 
-    if (expectedDuration != null) {
-      if (set.getDuration() > expectedDuration) {
-        int overrun = set.getDuration() - expectedDuration;
-        Note note = new Note("The set is running long.  Try shortening it by "
-            + overrun + ((overrun == 1) ? " minute." : " minutes."));
+    SetSummary summary = SetSummary.of(set, expectedDuration, expectedCost);
 
-        notes.add(note);
-      }
-    }
+    Logger.debug("Number of routines = [" + summary.getRoutineCount() + "]");
 
-    if (expectedCost != null) {
-      if (set.getCost() > expectedCost) {
-        int overrun = set.getCost() - expectedCost;
-        Note note = new Note("The set is over budget by " + overrun + ((overrun == 1) ? " dollar." : " dollars."));
+    RuleResults results = RuleEngine.analyze(summary);
+    notes.addAll(results.getNotes());
+    if (!results.isComplete()) {
+      return notes;
+    }
 
-        notes.add(note);
-      }
+    List<Long> routineIds = new ArrayList<Long>();
+    for (Routine routine : set.getRoutines()) {
+      routineIds.add(routine.getId());
     }
+    AnalysisCache.put(key, set.getId(), routineIds, notes);
 
     return notes;
   }
@@ -0,0 +1,121 @@
+package services.setNotes;
+
+import models.Note;
+import play.Configuration;
+import play.Logger;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyze many Sets at once.
+ * <p>
+ * Each Set is analyzed on a fork-join pool (its rules run one after another, since the Sets are already running in
+ * parallel) and handed to a Listener as soon as it's done, so a caller can stream the results.  The Sets are
+ * summarized up front (see models.SetSummaries), so the analysis never touches the database.
+ * <p>
+ * The parallelism of the pool is set with setNotes.batchParallelism in application.conf.  If it isn't set, it's the
+ * number of processors.  Until the pool is started (by Global.onStart()), the Sets are analyzed on the caller's
+ * thread.
+ */
+public class BatchAnalysis {
+
+  /**
+   * Receives the results of a batch analysis.  The methods are called from the pool's threads, so they must be
+   * thread-safe.
+   */
+  public interface Listener {
+
+    /**
+     * Called once for each Set, in the order the Sets finish.
+     *
+     * @param summary The Set that was analyzed.
+     * @param notes   The notes about the Set.
+     */
+    void onNotes(SetSummary summary, List<Note> notes);
+
+
+    /**
+     * Called once after every Set has been analyzed.
+     */
+    void onComplete();
+
+  }
+
+  private static ForkJoinPool pool = null;
+
+
+  /**
+   * Start the pool.  Called from Global.onStart().
+   *
+   * @param configuration The application's configuration.
+   */
+  public static synchronized void start(Configuration configuration) {
+    stop();
+
+    int parallelism = configuration.getInt("setNotes.batchParallelism", Runtime.getRuntime().availableProcessors());
+    pool = new ForkJoinPool(parallelism);
+
+    Logger.info("Started the batch set analysis pool.  parallelism = [" + parallelism + "]");
+  }
+
+
+  /**
+   * Stop the pool.  Called from Global.onStop().
+   */
+  public static synchronized void stop() {
+    if (pool != null) {
+      pool.shutdown();
+      pool = null;
+    }
+  }
+
+
+  /**
+   * Analyze every Set.  This returns immediately; the results go to the listener.
+   *
+   * @param summaries The summaries of the Sets to analyze.
+   * @param listener  Receives the notes for each Set and then the end of the batch.
+   */
+  public static void analyze(List<SetSummary> summaries, final Listener listener) {
+    ForkJoinPool currentPool;
+    synchronized (BatchAnalysis.class) {
+      currentPool = pool;
+    }
+
+    if (summaries.isEmpty()) {
+      listener.onComplete();
+      return;
+    }
+
+    final AtomicInteger remaining = new AtomicInteger(summaries.size());
+
+    for (final SetSummary summary : summaries) {
+      Runnable task = new Runnable() {
+        @Override
+        public void run() {
+          try {
+            listener.onNotes(summary, RuleEngine.analyzeInline(summary));
+          }
+          catch (RuntimeException e) {
+            Logger.error("Unable to analyze Set with ID [" + summary.getSetId() + "]", e);
+          }
+          finally {
+            if (remaining.decrementAndGet() == 0) {
+              listener.onComplete();
+            }
+          }
+        }
+      };
+
+      if (currentPool == null) {
+        task.run();
+      }
+      else {
+        currentPool.execute(task);
+      }
+    }
+  }
+
+}
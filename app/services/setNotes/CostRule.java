@@ -0,0 +1,31 @@
+package services.setNotes;
+
+import models.Note;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warn when a Set costs more than the Magician's target cost.
+ */
+public class CostRule implements Rule {
+
+  @Override
+  public String getName() {
+    return "cost";
+  }
+
+
+  @Override
+  public List<Note> apply(SetSummary summary) {
+    List<Note> notes = new ArrayList<Note>();
+
+    if (summary.getExpectedCost() != null && summary.getCost() > summary.getExpectedCost()) {
+      int overrun = summary.getCost() - summary.getExpectedCost();
+      notes.add(new Note("The set is over budget by " + overrun + ((overrun == 1) ? " dollar." : " dollars.")));
+    }
+
+    return notes;
+  }
+
+}
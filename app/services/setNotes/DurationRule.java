@@ -0,0 +1,32 @@
+package services.setNotes;
+
+import models.Note;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warn when a Set runs longer than the Magician's target duration.
+ */
+public class DurationRule implements Rule {
+
+  @Override
+  public String getName() {
+    return "duration";
+  }
+
+
+  @Override
+  public List<Note> apply(SetSummary summary) {
+    List<Note> notes = new ArrayList<Note>();
+
+    if (summary.getExpectedDuration() != null && summary.getDuration() > summary.getExpectedDuration()) {
+      int overrun = summary.getDuration() - summary.getExpectedDuration();
+      notes.add(new Note("The set is running long.  Try shortening it by "
+          + overrun + ((overrun == 1) ? " minute." : " minutes.")));
+    }
+
+    return notes;
+  }
+
+}
@@ -0,0 +1,35 @@
+package services.setNotes;
+
+import models.Note;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suggest adding more Routines to a Set with two or fewer.
+ */
+public class RoutineCountRule implements Rule {
+
+  /** The largest number of Routines that is considered too few. */
+  public static final int MIN_ROUTINES = 2;
+
+  @Override
+  public String getName() {
+    return "routineCount";
+  }
+
+
+  @Override
+  public List<Note> apply(SetSummary summary) {
+    List<Note> notes = new ArrayList<Note>();
+
+    int routineCount = summary.getRoutineCount();
+    if (routineCount <= MIN_ROUTINES) {
+      notes.add(new Note("Consider adding more routines to your set.  You only have "
+          + routineCount + ((routineCount == 1) ? " routine" : " routines") + " right now."));
+    }
+
+    return notes;
+  }
+
+}
@@ -0,0 +1,31 @@
+package services.setNotes;
+
+import models.Note;
+
+import java.util.List;
+
+/**
+ * A rule that analyzes a Set and emits Notes for the Magician.
+ * <p>
+ * Register rules with RuleEngine.register().  Rules run in parallel, so they must not keep any state between calls
+ * and must only read the (immutable) SetSummary they are given.
+ */
+public interface Rule {
+
+  /**
+   * Get the name of this rule, for timing statistics and logs.
+   *
+   * @return The name of this rule.
+   */
+  String getName();
+
+
+  /**
+   * Analyze a Set.
+   *
+   * @param summary The summary of the Set and the Magician's targets.
+   * @return The notes about the Set.  Return an empty list when there's nothing to say.
+   */
+  List<Note> apply(SetSummary summary);
+
+}
@@ -0,0 +1,298 @@
+package services.setNotes;
+
+import models.Note;
+import play.Configuration;
+import play.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run the registered Rules against a SetSummary.
+ * <p>
+ * The rules run in parallel on a small, fixed pool, so adding rules doesn't make each analysis take proportionally
+ * longer.  The notes are returned in the order the rules were registered, whichever finishes first.  A rule that
+ * throws, or doesn't finish within setNotes.timeoutMillis, is logged and skipped, and the results say they're
+ * incomplete.  Each rule is timed.
+ * <p>
+ * The size of the pool is set with setNotes.poolSize in application.conf.  If it isn't set, it's the number of
+ * processors.  Until the pool is started (by Global.onStart()), the rules run one after another on the caller's
+ * thread.
+ */
+public class RuleEngine {
+
+  /** The default number of milliseconds to wait for the rules of one analysis. */
+  public static final long DEFAULT_TIMEOUT_MILLIS = 1000;
+
+  /** The number of analyses that may wait for the pool before the caller runs its rules itself. */
+  public static final int QUEUE_SIZE = 1000;
+
+  private static final List<Rule> rules = new CopyOnWriteArrayList<Rule>();
+  private static final ConcurrentMap<String, RuleTiming> timings = new ConcurrentHashMap<String, RuleTiming>();
+  private static ThreadPoolExecutor executor = null;
+  private static volatile long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+  static {
+    register(new RoutineCountRule());
+    register(new DurationRule());
+    register(new CostRule());
+  }
+
+
+  /**
+   * Add a rule.  It's applied to every analysis from now on.
+   *
+   * @param rule The rule to add.
+   */
+  public static void register(Rule rule) {
+    rules.add(rule);
+  }
+
+
+  /**
+   * Get the registered rules.
+   *
+   * @return The rules, in the order they were registered.
+   */
+  public static List<Rule> getRules() {
+    return new ArrayList<Rule>(rules);
+  }
+
+
+  /**
+   * Start the pool.  Called from Global.onStart().
+   *
+   * @param configuration The application's configuration.
+   */
+  public static synchronized void start(Configuration configuration) {
+    stop();
+
+    int poolSize = configuration.getInt("setNotes.poolSize", Runtime.getRuntime().availableProcessors());
+    timeoutMillis = configuration.getLong("setNotes.timeoutMillis", DEFAULT_TIMEOUT_MILLIS);
+
+    executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger();
+
+          @Override
+          public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "set-notes-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+    Logger.info("Started the set notes rule engine.  poolSize = [" + poolSize + "]  rules = [" + rules.size() + "]");
+  }
+
+
+  /**
+   * Stop the pool.  Called from Global.onStop().
+   */
+  public static synchronized void stop() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+
+  /**
+   * Apply every registered rule to a Set.
+   *
+   * @param summary The summary of the Set and the Magician's targets.
+   * @return The notes from the rules that finished, and whether they all did.
+   */
+  public static RuleResults analyze(final SetSummary summary) {
+    List<Rule> currentRules = getRules();
+    List<Note> notes = new ArrayList<Note>();
+
+    ThreadPoolExecutor pool;
+    synchronized (RuleEngine.class) {
+      pool = executor;
+    }
+
+    if (pool == null || currentRules.size() == 1) {
+      return new RuleResults(analyzeInline(summary), true);
+    }
+
+    List<Callable<List<Note>>> tasks = new ArrayList<Callable<List<Note>>>();
+    for (final Rule rule : currentRules) {
+      tasks.add(new Callable<List<Note>>() {
+        @Override
+        public List<Note> call() {
+          return applyRule(rule, summary);
+        }
+      });
+    }
+
+    List<Future<List<Note>>> results;
+    try {
+      results = pool.invokeAll(tasks, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while analyzing Set with ID [" + summary.getSetId() + "]", e);
+    }
+
+    boolean complete = true;
+    for (int i = 0; i < results.size(); i++) {
+      try {
+        notes.addAll(results.get(i).get());
+      }
+      catch (CancellationException e) {
+        complete = false;
+        Logger.warn("Rule [" + currentRules.get(i).getName() + "] timed out on Set with ID ["
+            + summary.getSetId() + "]");
+      }
+      catch (ExecutionException e) {
+        complete = false;
+        Logger.error("Rule [" + currentRules.get(i).getName() + "] failed on Set with ID ["
+            + summary.getSetId() + "]", e.getCause());
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while analyzing Set with ID [" + summary.getSetId() + "]", e);
+      }
+    }
+
+    return new RuleResults(notes, complete);
+  }
+
+
+  /**
+   * Apply every registered rule to a Set, one after another on the caller's thread.  Use this when the caller is
+   * already running many analyses in parallel (see BatchAnalysis).
+   *
+   * @param summary The summary of the Set and the Magician's targets.
+   * @return The notes from all of the rules.
+   */
+  public static List<Note> analyzeInline(SetSummary summary) {
+    List<Note> notes = new ArrayList<Note>();
+
+    for (Rule rule : rules) {
+      notes.addAll(applyRule(rule, summary));
+    }
+
+    return notes;
+  }
+
+
+  /**
+   * Apply one rule and time it.
+   *
+   * @param rule    The rule.
+   * @param summary The summary of the Set.
+   * @return The rule's notes.
+   */
+  private static List<Note> applyRule(Rule rule, SetSummary summary) {
+    long start = System.nanoTime();
+
+    List<Note> notes = rule.apply(summary);
+
+    long nanos = System.nanoTime() - start;
+    RuleTiming timing = timings.get(rule.getName());
+    if (timing == null) {
+      RuleTiming newTiming = new RuleTiming();
+      timing = timings.putIfAbsent(rule.getName(), newTiming);
+      if (timing == null) {
+        timing = newTiming;
+      }
+    }
+    timing.record(nanos);
+
+    Logger.debug("Rule [" + rule.getName() + "] took [" + TimeUnit.NANOSECONDS.toMicros(nanos) + "] us"
+        + " and made [" + notes.size() + "] notes");
+
+    return notes;
+  }
+
+
+  /**
+   * Get the timing statistics of each rule.
+   *
+   * @return The number of times each rule ran and its total, mean and maximum time in microseconds.
+   */
+  public static Map<String, Map<String, Long>> getStatistics() {
+    Map<String, Map<String, Long>> statistics = new LinkedHashMap<String, Map<String, Long>>();
+
+    for (Rule rule : rules) {
+      RuleTiming timing = timings.get(rule.getName());
+      if (timing != null) {
+        statistics.put(rule.getName(), timing.getStatistics());
+      }
+    }
+
+    return statistics;
+  }
+
+
+  /**
+   * Log the timing statistics of each rule.
+   */
+  public static void logStatistics() {
+    Logger.info("Set notes rule statistics = [" + getStatistics() + "]");
+  }
+
+
+  /**
+   * The timing statistics of one rule.
+   */
+  private static class RuleTiming {
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+
+    /**
+     * Record one run of the rule.
+     *
+     * @param nanos The time the rule took.
+     */
+    void record(long nanos) {
+      count.incrementAndGet();
+      totalNanos.addAndGet(nanos);
+
+      long max = maxNanos.get();
+      while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+        max = maxNanos.get();
+      }
+    }
+
+
+    /**
+     * Get the timing statistics.
+     *
+     * @return count, totalMicros, meanMicros and maxMicros.
+     */
+    Map<String, Long> getStatistics() {
+      Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+      long runs = count.get();
+
+      statistics.put("count", runs);
+      statistics.put("totalMicros", TimeUnit.NANOSECONDS.toMicros(totalNanos.get()));
+      statistics.put("meanMicros", (runs == 0) ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.get() / runs));
+      statistics.put("maxMicros", TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+
+      return statistics;
+    }
+
+  }
+
+}
@@ -0,0 +1,52 @@
+package services.setNotes;
+
+import models.Note;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The notes from applying the Rules to a Set, and whether every Rule finished.  Immutable.
+ * <p>
+ * A Rule that times out or throws is skipped, so its notes are missing.  Those results are still shown, but they
+ * mustn't be cached (see ActAnalysis).
+ */
+public class RuleResults {
+
+  private final List<Note> notes;
+  private final boolean complete;
+
+
+  /**
+   * Create RuleResults.
+   *
+   * @param notes    The notes from the Rules that finished, in the order the Rules were registered.
+   * @param complete True if every Rule finished.
+   */
+  public RuleResults(List<Note> notes, boolean complete) {
+    this.notes = Collections.unmodifiableList(new ArrayList<Note>(notes));
+    this.complete = complete;
+  }
+
+
+  /**
+   * Get the notes.
+   *
+   * @return An unmodifiable list of the notes.
+   */
+  public List<Note> getNotes() {
+    return notes;
+  }
+
+
+  /**
+   * See if every Rule finished.
+   *
+   * @return False if a Rule timed out or threw.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+}
@@ -0,0 +1,291 @@
+package services.setNotes;
+
+import services.search.RoutineEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Suggest the groups of Routines that best fill a target duration without going over the duration or cost budget.
+ * <p>
+ * "Best" means the longest total duration that fits, then the lowest cost.  The solver is a 0/1 knapsack over
+ * duration that keeps the k + 1 cheapest subsets for every total duration, so it runs in O(routines * duration * k)
+ * time on primitive arrays.  Duration budgets are at most a couple of hours (see SetNotesFormData), so thousands of
+ * routines take milliseconds (see the SetOptimizerBenchmark in the benchmarks project).
+ * <p>
+ * The candidates come from services.search.RoutineCatalog, so a suggestion doesn't touch the database.  Their
+ * durations and costs are copied into arrays once per version of the catalog, and the back pointers take a byte per
+ * entry (under 4 MB for 5,000 routines at the largest budget).
+ */
+public class SetOptimizer {
+
+  /** The default number of suggestions. */
+  public static final int DEFAULT_SUGGESTIONS = 5;
+
+  /** The most suggestions solve() returns, so a back pointer (with the extra entry) fits in a byte. */
+  public static final int MAX_SUGGESTIONS = 127;
+
+  // Marks an empty slot in the table of subset costs.
+  private static final int NONE = Integer.MAX_VALUE;
+
+  // The durations and costs of the last list of candidates.  RoutineCatalog returns the same list until it changes.
+  private static volatile Candidates cached = null;
+
+
+  /**
+   * Suggest groups of Routines for a set.
+   *
+   * @param candidates     The Routines to choose from, usually RoutineCatalog.getEntries().
+   * @param durationBudget The target duration, in minutes.
+   * @param costBudget     The most the set may cost, in dollars, or null for no limit.
+   * @param k              The number of suggestions to return.
+   * @return Up to k suggestions, best first.
+   */
+  public static List<SetSuggestion> suggest(List<RoutineEntry> candidates, int durationBudget, Integer costBudget,
+                                            int k) {
+    Candidates arrays = cached;
+    if (arrays == null || arrays.entries != candidates) {
+      arrays = new Candidates(candidates);
+      cached = arrays;
+    }
+
+    List<SetSuggestion> suggestions = new ArrayList<SetSuggestion>();
+    for (Solution solution : solve(arrays.durations, arrays.costs, durationBudget,
+        (costBudget == null) ? NONE - 1 : costBudget, k)) {
+      List<RoutineEntry> routines = new ArrayList<RoutineEntry>();
+      for (int item : solution.getItems()) {
+        routines.add(candidates.get(item));
+      }
+      suggestions.add(new SetSuggestion(routines, solution.getDuration(), solution.getCost()));
+    }
+
+    return suggestions;
+  }
+
+
+  /**
+   * Find the k best subsets of items.
+   * <p>
+   * Subsets are ranked by total duration (longest first, up to maxDuration) and then by total cost (cheapest first).
+   * The empty subset is never returned.
+   *
+   * @param durations   The duration of each item.  Must not be negative.
+   * @param costs       The cost of each item.  Must not be negative.
+   * @param maxDuration The largest total duration allowed.
+   * @param maxCost     The largest total cost allowed.
+   * @param k           The number of subsets to return.  More than MAX_SUGGESTIONS returns MAX_SUGGESTIONS.
+   * @return Up to k subsets, best first.
+   */
+  public static List<Solution> solve(int[] durations, int[] costs, int maxDuration, int maxCost, int k) {
+    List<Solution> solutions = new ArrayList<Solution>();
+    if (maxDuration < 0 || maxCost < 0 || k <= 0) {
+      return solutions;
+    }
+    k = Math.min(k, MAX_SUGGESTIONS);
+
+    // The empty subset always takes the first entry at duration 0, so keep one more entry than k for it.
+    int slots = k + 1;
+
+    // Items that can't fit on their own are never in a solution, so leave them out of the table.
+    int[] items = new int[durations.length];
+    int n = 0;
+    for (int i = 0; i < durations.length; i++) {
+      if (durations[i] <= maxDuration && costs[i] <= maxCost) {
+        items[n++] = i;
+      }
+    }
+
+    int width = maxDuration + 1;
+
+    // cost[d * slots + r] is the r-th cheapest cost of a subset of the items so far with a total duration of
+    // exactly d.
+    int[] cost = new int[width * slots];
+    int[] next = new int[width * slots];
+    Arrays.fill(cost, NONE);
+    cost[0] = 0;
+
+    // back[(i * width + d) * slots + r] is how entry r at duration d was made with item i: (rank << 1) | took.
+    byte[] back = new byte[n * width * slots];
+
+    for (int i = 0; i < n; i++) {
+      int itemDuration = durations[items[i]];
+      int itemCost = costs[items[i]];
+      int backBase = i * width * slots;
+
+      // Durations shorter than the item can't take it, so their entries carry over unchanged.
+      int shortest = Math.min(itemDuration, width);
+      System.arraycopy(cost, 0, next, 0, shortest * slots);
+      for (int slot = 0; slot < shortest * slots; slot++) {
+        back[backBase + slot] = (byte) ((slot % slots) << 1);
+      }
+
+      for (int d = shortest; d < width; d++) {
+        int skipBase = d * slots;
+        int takeBase = (d - itemDuration) * slots;
+        int skip = 0;
+        int take = 0;
+
+        for (int r = 0; r < slots; r++) {
+          int skipCost = (skip < slots) ? cost[skipBase + skip] : NONE;
+          int takeCost = (take < slots) ? cost[takeBase + take] : NONE;
+          if (takeCost != NONE) {
+            takeCost += itemCost;
+            if (takeCost > maxCost) {
+              takeCost = NONE;
+            }
+          }
+
+          int slot = skipBase + r;
+          if (takeCost < skipCost) {
+            next[slot] = takeCost;
+            back[backBase + slot] = (byte) ((take << 1) | 1);
+            take++;
+          }
+          else {
+            // Ties (including two empty slots) keep the subset without this item.
+            next[slot] = skipCost;
+            back[backBase + slot] = (byte) (skip << 1);
+            skip++;
+          }
+        }
+      }
+
+      int[] swap = cost;
+      cost = next;
+      next = swap;
+    }
+
+    // The best subsets are at the longest durations, and each duration's entries are already cheapest first.
+    for (int d = maxDuration; d >= 0 && solutions.size() < k; d--) {
+      for (int r = 0; r < slots && solutions.size() < k; r++) {
+        if (cost[d * slots + r] == NONE || (d == 0 && r == 0)) {
+          continue;
+        }
+        solutions.add(new Solution(d, cost[d * slots + r], trace(back, items, durations, n, width, slots, d, r)));
+      }
+    }
+
+    return solutions;
+  }
+
+
+  /**
+   * Follow the back pointers to find the items in one subset.
+   *
+   * @param back      The back pointers from solve().
+   * @param items     The original index of each item in the table.
+   * @param durations The duration of each item (by original index).
+   * @param n         The number of items in the table.
+   * @param width     The number of durations in the table.
+   * @param slots     The number of entries per duration.
+   * @param d         The total duration of the subset.
+   * @param r         The rank of the subset at that duration.
+   * @return The original indexes of the items in the subset, in ascending order.
+   */
+  private static int[] trace(byte[] back, int[] items, int[] durations, int n, int width, int slots, int d,
+                             int r) {
+    int[] picked = new int[n];
+    int count = 0;
+
+    for (int i = n - 1; i >= 0; i--) {
+      int code = back[(i * width + d) * slots + r] & 0xFF;
+      r = code >> 1;
+      if ((code & 1) == 1) {
+        picked[count++] = items[i];
+        d -= durations[items[i]];
+      }
+    }
+
+    int[] subset = new int[count];
+    for (int i = 0; i < count; i++) {
+      subset[i] = picked[count - 1 - i];
+    }
+
+    return subset;
+  }
+
+
+  /**
+   * The durations and costs of a list of candidates, as arrays for solve().
+   */
+  private static class Candidates {
+
+    private final List<RoutineEntry> entries;
+    private final int[] durations;
+    private final int[] costs;
+
+
+    /**
+     * Copy the durations and costs of some candidates.
+     *
+     * @param entries The candidates.
+     */
+    Candidates(List<RoutineEntry> entries) {
+      this.entries = entries;
+      this.durations = new int[entries.size()];
+      this.costs = new int[entries.size()];
+
+      for (int i = 0; i < entries.size(); i++) {
+        RoutineEntry entry = entries.get(i);
+        durations[i] = (entry.getDuration() == null) ? 0 : entry.getDuration();
+        costs[i] = entry.getCost();
+      }
+    }
+
+  }
+
+
+  /**
+   * One subset of items found by solve().
+   */
+  public static class Solution {
+
+    private final int duration;
+    private final int cost;
+    private final int[] items;
+
+
+    /**
+     * Create a Solution.
+     *
+     * @param duration The total duration of the items.
+     * @param cost     The total cost of the items.
+     * @param items    The indexes of the items.
+     */
+    public Solution(int duration, int cost, int[] items) {
+      this.duration = duration;
+      this.cost = cost;
+      this.items = items;
+    }
+
+    /**
+     * Get the total duration of the items.
+     *
+     * @return The total duration.
+     */
+    public int getDuration() {
+      return duration;
+    }
+
+    /**
+     * Get the total cost of the items.
+     *
+     * @return The total cost.
+     */
+    public int getCost() {
+      return cost;
+    }
+
+    /**
+     * Get the indexes of the items, in ascending order.
+     *
+     * @return The indexes of the items.
+     */
+    public int[] getItems() {
+      return items.clone();
+    }
+
+  }
+
+}
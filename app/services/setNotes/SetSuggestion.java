@@ -0,0 +1,58 @@
+package services.setNotes;
+
+import services.search.RoutineEntry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A group of Routines suggested by SetOptimizer, with their total duration and cost.
+ */
+public class SetSuggestion {
+
+  private final List<RoutineEntry> routines;
+  private final int duration;
+  private final int cost;
+
+
+  /**
+   * Create a SetSuggestion.
+   *
+   * @param routines The suggested Routines.
+   * @param duration The total duration of the Routines, in minutes.
+   * @param cost     The total cost of the Routines, in dollars.
+   */
+  public SetSuggestion(List<RoutineEntry> routines, int duration, int cost) {
+    this.routines = Collections.unmodifiableList(routines);
+    this.duration = duration;
+    this.cost = cost;
+  }
+
+  /**
+   * Get the suggested Routines.
+   *
+   * @return An unmodifiable list of the suggested Routines.
+   */
+  public List<RoutineEntry> getRoutines() {
+    return routines;
+  }
+
+  /**
+   * Get the total duration of the suggested Routines.
+   *
+   * @return The total duration, in minutes.
+   */
+  public int getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get the total cost of the suggested Routines.
+   *
+   * @return The total cost, in dollars.
+   */
+  public int getCost() {
+    return cost;
+  }
+
+}
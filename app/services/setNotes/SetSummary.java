@@ -0,0 +1,183 @@
+package services.setNotes;
+
+import models.Routine;
+import models.Set;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable summary of a Set and the Magician's targets for it.  This is what Rules analyze.
+ * <p>
+ * The summary is built once per analysis by walking the Set's Routines (and their Materials) a single time, so rules
+ * can read the totals as often as they like without touching Ebean's lazy collections.  Because it's immutable, the
+ * rules can safely read it from different threads.
+ */
+public class SetSummary {
+
+  private final long setId;
+  private final String setName;
+  private final List<String> routineNames;
+  private final List<Integer> routineDurations;
+  private final List<Integer> routineCosts;
+  private final int duration;
+  private final int cost;
+  private final Integer expectedDuration;
+  private final Integer expectedCost;
+
+
+  /**
+   * Create a SetSummary.  Use of() to summarize a Set.
+   *
+   * @param setId            The ID of the Set.
+   * @param setName          The name of the Set.
+   * @param routineNames     The names of the Routines in the Set.
+   * @param routineDurations The duration of each Routine, in minutes.
+   * @param routineCosts     The cost of each Routine's Materials, in dollars.
+   * @param expectedDuration The Magician's target duration, or null if there isn't one.
+   * @param expectedCost     The Magician's target cost, or null if there isn't one.
+   */
+  public SetSummary(long setId, String setName, List<String> routineNames, List<Integer> routineDurations,
+                    List<Integer> routineCosts, Integer expectedDuration, Integer expectedCost) {
+    this.setId = setId;
+    this.setName = setName;
+    this.routineNames = Collections.unmodifiableList(new ArrayList<String>(routineNames));
+    this.routineDurations = Collections.unmodifiableList(new ArrayList<Integer>(routineDurations));
+    this.routineCosts = Collections.unmodifiableList(new ArrayList<Integer>(routineCosts));
+    this.expectedDuration = expectedDuration;
+    this.expectedCost = expectedCost;
+
+    int duration = 0;
+    for (Integer routineDuration : routineDurations) {
+      duration += routineDuration;
+    }
+    this.duration = duration;
+
+    int cost = 0;
+    for (Integer routineCost : routineCosts) {
+      cost += routineCost;
+    }
+    this.cost = cost;
+  }
+
+
+  /**
+   * Summarize a Set.  This walks the Set's Routines and their Materials once.
+   *
+   * @param set              The Set to summarize.
+   * @param expectedDuration The Magician's target duration, or null if there isn't one.
+   * @param expectedCost     The Magician's target cost, or null if there isn't one.
+   * @return The summary of the Set.
+   */
+  public static SetSummary of(Set set, Integer expectedDuration, Integer expectedCost) {
+    List<String> routineNames = new ArrayList<String>();
+    List<Integer> routineDurations = new ArrayList<Integer>();
+    List<Integer> routineCosts = new ArrayList<Integer>();
+
+    for (Routine routine : set.getRoutines()) {
+      routineNames.add(routine.getName());
+      routineDurations.add(routine.getDuration());
+      routineCosts.add(routine.getCost());
+    }
+
+    return new SetSummary(set.getId(), set.getName(), routineNames, routineDurations, routineCosts,
+        expectedDuration, expectedCost);
+  }
+
+
+  /******************************************************************************************************************
+   * G E T T E R S
+   ******************************************************************************************************************/
+
+  /**
+   * Get the ID of the Set.
+   *
+   * @return The ID of the Set.
+   */
+  public long getSetId() {
+    return setId;
+  }
+
+  /**
+   * Get the name of the Set.
+   *
+   * @return The name of the Set.
+   */
+  public String getSetName() {
+    return setName;
+  }
+
+  /**
+   * Get the number of Routines in the Set.
+   *
+   * @return The number of Routines in the Set.
+   */
+  public int getRoutineCount() {
+    return routineNames.size();
+  }
+
+  /**
+   * Get the names of the Routines in the Set, in order.
+   *
+   * @return An unmodifiable list of the names of the Routines.
+   */
+  public List<String> getRoutineNames() {
+    return routineNames;
+  }
+
+  /**
+   * Get the duration of each Routine in the Set, in order.
+   *
+   * @return An unmodifiable list of the durations of the Routines, in minutes.
+   */
+  public List<Integer> getRoutineDurations() {
+    return routineDurations;
+  }
+
+  /**
+   * Get the cost of each Routine in the Set, in order.
+   *
+   * @return An unmodifiable list of the costs of the Routines, in dollars.
+   */
+  public List<Integer> getRoutineCosts() {
+    return routineCosts;
+  }
+
+  /**
+   * Get the duration of all of the Routines in the Set.
+   *
+   * @return The duration of the Set, in minutes.
+   */
+  public int getDuration() {
+    return duration;
+  }
+
+  /**
+   * Get the cost of all of the Routines in the Set.
+   *
+   * @return The cost of the Set, in dollars.
+   */
+  public int getCost() {
+    return cost;
+  }
+
+  /**
+   * Get the Magician's target duration for the Set.
+   *
+   * @return The target duration, in minutes, or null if there isn't one.
+   */
+  public Integer getExpectedDuration() {
+    return expectedDuration;
+  }
+
+  /**
+   * Get the Magician's target cost for the Set.
+   *
+   * @return The target cost, in dollars, or null if there isn't one.
+   */
+  public Integer getExpectedCost() {
+    return expectedCost;
+  }
+
+}
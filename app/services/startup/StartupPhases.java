@@ -0,0 +1,156 @@
+package services.startup;
+
+import play.Logger;
+import services.db.StatementStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Record the wall time and the number of database statements of each phase of startup.
+ * <p>
+ * The phases are:
+ * <ul>
+ *   <li>framework: from Global.beforeStart() to Global.onStart().  This is where Play starts its plugins: it applies
+ *       the evolutions, starts the connection pools and starts the Ebean servers.</li>
+ *   <li>configure: the caches, routing and the database execution context.</li>
+ *   <li>The seeding phases (see Global.initDatabase()), which run in the background outside of tests.</li>
+ * </ul>
+ * Statements are counted by services.db.StatementStatistics, so they only include Ebean statements (not the
+ * evolutions).  Requests that arrive while seeding runs in the background are counted in the phase they overlap.
+ */
+public class StartupPhases {
+
+  private static final Map<String, Map<String, Long>> phases = new LinkedHashMap<String, Map<String, Long>>();
+  private static volatile long frameworkStartMillis = 0;
+  private static volatile long frameworkStartStatements = 0;
+
+
+  /**
+   * Forget the phases of any earlier start and note when the framework started.  Called from Global.beforeStart().
+   */
+  public static void beforeStart() {
+    synchronized (phases) {
+      phases.clear();
+    }
+    frameworkStartMillis = System.currentTimeMillis();
+    frameworkStartStatements = StatementStatistics.getTotal();
+  }
+
+
+  /**
+   * Record the framework phase, which ends when Global.onStart() is called.
+   */
+  public static void frameworkStarted() {
+    if (frameworkStartMillis == 0) {
+      return;
+    }
+
+    record("framework", System.currentTimeMillis() - frameworkStartMillis,
+        StatementStatistics.getTotal() - frameworkStartStatements);
+  }
+
+
+  /**
+   * Run one phase of startup and record how long it took and how many statements it sent to the database.
+   *
+   * @param name  The name of the phase.
+   * @param phase The work to do.
+   */
+  public static void phase(String name, Runnable phase) {
+    long start = System.currentTimeMillis();
+    long statements = StatementStatistics.getTotal();
+
+    phase.run();
+
+    record(name, System.currentTimeMillis() - start, StatementStatistics.getTotal() - statements);
+  }
+
+
+  /**
+   * Record one phase of startup.
+   *
+   * @param name       The name of the phase.
+   * @param millis     The wall time of the phase.
+   * @param statements The number of statements the phase sent to the database.
+   */
+  public static void record(String name, long millis, long statements) {
+    Map<String, Long> phase = new LinkedHashMap<String, Long>();
+    phase.put("millis", millis);
+    phase.put("statements", statements);
+
+    synchronized (phases) {
+      phases.put(name, phase);
+    }
+
+    Logger.info("Startup phase [" + name + "] took [" + millis + "] ms and [" + statements + "] statements");
+  }
+
+
+  /**
+   * Get the phases recorded so far.
+   *
+   * @return The wall time ("millis") and statement count ("statements") of each phase, in the order they ran.
+   */
+  public static Map<String, Map<String, Long>> getPhases() {
+    synchronized (phases) {
+      return new LinkedHashMap<String, Map<String, Long>>(phases);
+    }
+  }
+
+
+  /**
+   * Get the wall time of a phase.
+   *
+   * @param name The name of the phase.
+   * @return The milliseconds the phase took or null if it hasn't been recorded.
+   */
+  public static Long getMillis(String name) {
+    Map<String, Long> phase = getPhases().get(name);
+    return (phase == null) ? null : phase.get("millis");
+  }
+
+
+  /**
+   * Get the number of statements a phase sent to the database.
+   *
+   * @param name The name of the phase.
+   * @return The number of statements or null if the phase hasn't been recorded.
+   */
+  public static Long getStatements(String name) {
+    Map<String, Long> phase = getPhases().get(name);
+    return (phase == null) ? null : phase.get("statements");
+  }
+
+
+  /**
+   * Get the total wall time of all of the phases recorded so far.
+   *
+   * @return The sum of the phases, in milliseconds.
+   */
+  public static long getTotalMillis() {
+    long total = 0;
+
+    for (Map<String, Long> phase : getPhases().values()) {
+      total += phase.get("millis");
+    }
+
+    return total;
+  }
+
+
+  /**
+   * Log one line with every phase recorded so far and the total.
+   */
+  public static void logSummary() {
+    StringBuilder summary = new StringBuilder("Startup summary.  totalMillis = [" + getTotalMillis() + "]");
+
+    for (Map.Entry<String, Map<String, Long>> phase : getPhases().entrySet()) {
+      summary.append("  ").append(phase.getKey()).append(" = [").append(phase.getValue().get("millis")).append(" ms, ")
+          .append(phase.getValue().get("statements")).append(" statements]");
+    }
+
+    Logger.info(summary.toString());
+  }
+
+}
@@ -0,0 +1,19 @@
+/**
+ * Startup Services for Play With Magic.
+ *
+ * @author Mark Nelson
+ * @author David Neely
+ * @author Patrick Karjala
+ *
+ * This is an application service that times each phase of starting the application, so we can see where boot time
+ * goes.
+ *
+ * @see http://www.playframework.com
+ * @see http://www.ics.hawaii.edu
+ * @see http://junit.org
+ * @see http://www.scala-sbt.org
+ *
+ * @since 6.0
+ */
+
+package services.startup;
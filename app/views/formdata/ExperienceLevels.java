@@ -1,29 +1,23 @@
 package views.formdata;
 
-import java.util.HashMap;
+import services.referenceData.ReferenceData;
+
 import java.util.Map;
 
 /**
  * Utility class for handling the different experience levels of Magicians, such as Novice, Expert, Professional, etc.
+ * <p>
+ * The Experience Levels are read from the current ReferenceDataSnapshot.  The maps returned here are read-only.
  */
 public class ExperienceLevels {
 
-  private static String[] experienceLevels = {"Neophyte", "Enthusiast", "Hobbyist", "Historian", "Collector",
-      "Semi-Professional", "Professional"};
-
-
   /**
-   * Generates a new Map of Experience levels with all of the pairs set to false (not selected).
-   * This is built using the static pre-built list.
+   * Get the Map of Experience levels with all of the pairs set to false (not selected).
    *
-   * @return The newly generated experienceLevelMap.
+   * @return The read-only experienceLevelMap.
    */
   public static Map<String, Boolean> getExperienceLevels() {
-    Map<String, Boolean> experienceLevelMap = new HashMap<String, Boolean>();
-    for (String experienceLevel : experienceLevels) {
-      experienceLevelMap.put(experienceLevel, false);
-    }
-    return experienceLevelMap;
+    return ReferenceData.current().getExperienceLevelMap(null);
   }
 
   /**
@@ -33,22 +27,17 @@ public class ExperienceLevels {
    * @return Boolean value of whether the experiencelevel is a member of Experience Levels.
    */
   public static boolean isExperienceLevel(String experienceLevel) {
-    return getExperienceLevels().containsKey(experienceLevel);
+    return ReferenceData.current().isExperienceLevel(experienceLevel);
   }
 
   /**
-   * Generates a new Map of Experience levels with the provided Experience Level set to true (if present).
-   * This is built using the static pre-built list.
+   * Get the Map of Experience levels with the provided Experience Level set to true (if present).
    *
    * @param experienceLevel The experience level to get from the list.
-   * @return An experienceLevelMap with the associated Experience Level set to true if present.
+   * @return A read-only experienceLevelMap with the associated Experience Level set to true if present.
    */
   public static Map<String, Boolean> getExperienceLevels(String experienceLevel) {
-    Map<String, Boolean> experienceLevelMap = getExperienceLevels();
-    if (isExperienceLevel(experienceLevel)) {
-      experienceLevelMap.put(experienceLevel, true);
-    }
-    return experienceLevelMap;
+    return ReferenceData.current().getExperienceLevelMap(experienceLevel);
   }
 
-}
\ No newline at end of file
+}
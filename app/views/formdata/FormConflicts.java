@@ -0,0 +1,112 @@
+package views.formdata;
+
+import play.data.Form;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Build the form that is shown when an edit loses an optimistic locking race.
+ * <p>
+ * Routine, Set and Material carry their version through their form data.  If someone else saved the entity after the
+ * form was rendered, the save is refused and the user gets their own form back with:
+ * <ul>
+ *   <li>The version updated to the current one, so submitting again deliberately overwrites the other changes.</li>
+ *   <li>An error on every field that the other person changed, showing the value they saved.</li>
+ *   <li>A global error explaining what happened.</li>
+ * </ul>
+ * The edit pages already display field errors, so the diff appears right under each changed field.
+ */
+public class FormConflicts {
+
+  /** Hidden keys and bookkeeping fields that are never reported as conflicts. */
+  private static final List<String> IGNORED_FIELDS = Arrays.asList("id", "version", "routineId", "materialId",
+      "magicianId", "imageId");
+
+
+  /**
+   * Build the conflict form.
+   *
+   * @param formClass The form data class (RoutineFormData, SetFormData or MaterialFormData).
+   * @param yours     The form data the user submitted.
+   * @param theirs    The form data built from the current state of the entity in the database.
+   * @param entity    What the entity is called in the message ("routine", "set" or "material").
+   * @param <T>       The form data class.
+   * @return A form filled with the user's data and the current version, with an error on each changed field.
+   * @throws RuntimeException If the form data class doesn't have a public version field.
+   */
+  public static <T> Form<T> fill(Class<T> formClass, T yours, T theirs, String entity) {
+    try {
+      Field version = formClass.getField("version");
+      version.setLong(yours, version.getLong(theirs));
+
+      Form<T> form = Form.form(formClass).fill(yours);
+
+      for (Field field : formClass.getFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || IGNORED_FIELDS.contains(field.getName())) {
+          continue;
+        }
+
+        Object yourValue = field.get(yours);
+        Object theirValue = field.get(theirs);
+
+        if (!isSame(yourValue, theirValue)) {
+          form.reject(field.getName(), describe(theirValue));
+        }
+      }
+
+      form.reject("Someone else changed this " + entity + " while you were editing it.  Their changes are shown "
+          + "under each field.  Submit again to replace them with yours.");
+
+      return form;
+    }
+    catch (NoSuchFieldException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to compare the version of [" + formClass.getName() + "]", e);
+    }
+  }
+
+
+  /**
+   * Compare two field values.  Collections (like the Routines in a Set) are compared without regard to order.
+   *
+   * @param yours  The value the user submitted.
+   * @param theirs The value in the database.
+   * @return True if the values are the same.
+   */
+  private static boolean isSame(Object yours, Object theirs) {
+    if (yours instanceof Collection && theirs instanceof Collection) {
+      return new HashSet<Object>((Collection<?>) yours).equals(new HashSet<Object>((Collection<?>) theirs));
+    }
+
+    // An empty text field binds as null or "", depending on the path the data took.
+    if ((yours == null || "".equals(yours)) && (theirs == null || "".equals(theirs))) {
+      return true;
+    }
+
+    return (yours == null) ? theirs == null : yours.equals(theirs);
+  }
+
+
+  /**
+   * Describe the other person's value of a field.
+   *
+   * @param theirs The value in the database.
+   * @return The message to show under the field.
+   */
+  private static String describe(Object theirs) {
+    if (theirs == null || "".equals(theirs)) {
+      return "Someone else cleared this while you were editing.";
+    }
+
+    if (theirs instanceof Collection) {
+      return "Someone else changed this while you were editing.";
+    }
+
+    return "Someone else changed this to \"" + theirs + "\" while you were editing.";
+  }
+
+}
@@ -1,34 +1,26 @@
 package views.formdata;
 
-import models.MagicianType;
+import services.referenceData.ReferenceData;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Utility class for handling the different types of Magicians (Novice, Expert, Professional, etc.).
+ * <p>
+ * The MagicianTypes are read from the current ReferenceDataSnapshot, so these methods don't query the database.
+ * The maps they return are read-only.
  */
 public class MagicianTypeFormData {
 
-  private static String[] experienceLevels = {"Neophyte", "Enthusiast", "Hobbyist", "Historian", "Collector",
-      "Semi-Professional", "Professional"};
-
-
   /**
-   * Generate a new Map of MagicianTypes with all of the pairs set to false (not selected).
+   * Get the Map of MagicianTypes with all of the pairs set to false (not selected).
    * <p>
    * These maps are used for the bootstrap3 select.scala.html dropdown list box.
    *
-   * @return The newly generated magicianTypeMap.
+   * @return The read-only magicianTypeMap.
    */
   public static Map<String, Boolean> getMagicianTypes() {
-    Map<String, Boolean> magicianTypeMap = new LinkedHashMap<>();
-
-    for (MagicianType magicianType : MagicianType.find().orderBy("displayOrder").findList()) {
-      magicianTypeMap.put(magicianType.getName(), false);
-    }
-
-    return magicianTypeMap;
+    return ReferenceData.current().getMagicianTypeMap(null);
   }
 
 
@@ -39,33 +31,20 @@ public class MagicianTypeFormData {
    * @return Boolean value of whether the magicianType is a member of MagicianType.
    */
   public static boolean isMagicianType(String magicianType) {
-    int numFound = MagicianType.find().where().eq("name", magicianType).findRowCount();
-
-    if (!(numFound == 0 || numFound == 1)) {
-      throw new RuntimeException("Found an unexpected number [" + numFound + "] "
-          + "of MagicianTypes called [" + magicianType + "] in the database.");
-    }
-
-    return numFound == 1;
+    return ReferenceData.current().isMagicianType(magicianType);
   }
 
 
   /**
-   * Generate an up-to-date Map of MagicianType with the provided magicianType set to true (if present).
+   * Get the Map of MagicianType with the provided magicianType set to true (if present).
    * <p>
    * These maps are used for the bootstrap3 select.scala.html dropdown list box.
    *
    * @param magicianType The experience level to get from the list.
-   * @return An experienceLevelMap with the associated Experience Level set to true if present.
+   * @return A read-only experienceLevelMap with the associated Experience Level set to true if present.
    */
   public static Map<String, Boolean> getMagicianTypes(String magicianType) {
-    Map<String, Boolean> magicianTypeMap = getMagicianTypes();
-
-    if (magicianType != null && isMagicianType(magicianType)) {
-      magicianTypeMap.put(magicianType, true);
-    }
-
-    return magicianTypeMap;
+    return ReferenceData.current().getMagicianTypeMap(magicianType);
   }
 
-}
\ No newline at end of file
+}
@@ -30,6 +30,12 @@ public class MaterialFormData {
    */
   public long materialId;
 
+  /**
+   * The version of the material when the form was rendered - hidden field.  Used to detect edits that would overwrite
+   * someone else's changes.
+   */
+  public long version;
+
   /**
    * It's name -- whatever you'd call this item.
    */
@@ -106,6 +112,7 @@ public class MaterialFormData {
   public MaterialFormData(Material material) {
     this.routineId = material.getRoutine().getId();
     this.materialId = material.getId();
+    this.version = material.getVersion();
     this.name = material.getName();
     this.isInspectable = material.isInspectable();
     this.isGivenAway = material.isGivenAway();
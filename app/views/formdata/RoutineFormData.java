@@ -21,6 +21,12 @@ public class RoutineFormData {
    */
   public long id;
 
+  /**
+   * The version of the routine when the form was rendered - hidden field.  Used to detect edits that would overwrite
+   * someone else's changes.
+   */
+  public long version;
+
   /**
    * A short name for the routine..
    */
@@ -141,6 +147,7 @@ public class RoutineFormData {
    */
   public RoutineFormData(Routine routine) {
     id = routine.getId();
+    version = routine.getVersion();
     name = routine.getName();
     description = routine.getDescription();
     duration = routine.getDuration();
@@ -26,6 +26,12 @@ public class SetFormData {
    */
   public long magicianId;
 
+  /**
+   * The version of the set when the form was rendered - hidden field.  Used to detect edits that would overwrite
+   * someone else's changes.
+   */
+  public long version;
+
   /**
    * A short name for the set.
    */
@@ -66,6 +72,7 @@ public class SetFormData {
    */
   public SetFormData(Set set) {
     this.id = set.getId();
+    this.version = set.getVersion();
     this.name = set.getName();
     this.description = set.getDescription();
     this.routines = Routine.getListOfIds(set.getRoutines());
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import services.setNotes.SetOptimizer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time SetOptimizer.solve() on random catalogs of routines at the largest budgets SetNotesFormData allows.
+ * <p>
+ * Routines last 1 to 20 minutes and cost 0 to 99 dollars, like the seed data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SetOptimizerBenchmark {
+
+  /** The number of routines in the catalog. */
+  @Param({"100", "1000", "5000"})
+  public int catalogSize;
+
+  /** The target duration, in minutes. */
+  @Param({"120"})
+  public int durationBudget;
+
+  /** The most the set may cost, in dollars. */
+  @Param({"1000"})
+  public int costBudget;
+
+  private int[] durations;
+  private int[] costs;
+
+
+  /**
+   * Build the catalog.  The seed is fixed so every run times the same catalog.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    durations = new int[catalogSize];
+    costs = new int[catalogSize];
+
+    for (int i = 0; i < catalogSize; i++) {
+      durations[i] = 1 + random.nextInt(20);
+      costs[i] = random.nextInt(100);
+    }
+  }
+
+
+  /**
+   * Find the best 5 subsets.
+   *
+   * @return The subsets, so JMH doesn't optimize the call away.
+   */
+  @Benchmark
+  public List<SetOptimizer.Solution> solve() {
+    return SetOptimizer.solve(durations, costs, durationBudget, costBudget, SetOptimizer.DEFAULT_SUGGESTIONS);
+  }
+
+}
@@ -32,6 +32,8 @@ create table magician (
   flickr                    varchar(255),
   instagram                 varchar(255),
   image_id                  bigint,
+  version                   bigint not null,
+  updated_at                timestamp not null,
   constraint uq_magician_email unique (email),
   constraint pk_magician primary key (id))
 ;
@@ -56,6 +58,8 @@ create table material (
   purchase_url              varchar(255),
   image_url                 varchar(255),
   image_id                  bigint,
+  version                   bigint not null,
+  updated_at                timestamp not null,
   constraint pk_material primary key (id))
 ;
 
@@ -75,15 +79,26 @@ create table routine (
   placement                 varchar(2000),
   choices                   varchar(2000),
   image_id                  bigint,
+  version                   bigint not null,
+  updated_at                timestamp not null,
   constraint uq_routine_name unique (name),
   constraint pk_routine primary key (id))
 ;
 
+create table seed_metadata (
+  name                      varchar(255) not null,
+  checksum                  varchar(255),
+  seeded_at                 timestamp,
+  constraint pk_seed_metadata primary key (name))
+;
+
 create table set (
   id                        bigint not null,
   magician_id               bigint,
   name                      varchar(45) not null,
   description               varchar(2000) not null,
+  version                   bigint not null,
+  updated_at                timestamp not null,
   constraint uq_set_1 unique (magician_id,name),
   constraint pk_set primary key (id))
 ;
@@ -131,6 +146,8 @@ drop table if exists material cascade;
 
 drop table if exists routine cascade;
 
+drop table if exists seed_metadata cascade;
+
 drop table if exists set_routine cascade;
 
 drop table if exists set cascade;
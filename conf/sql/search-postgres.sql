@@ -0,0 +1,33 @@
+# Search columns and indexes for search.mode = "database" (Postgres 12 or later).  Routines use full-text search;
+# Magicians use trigrams (the pg_trgm extension, which the application's database user must be allowed to create).
+#
+# This is not one of the default evolutions:  the tests run on H2, which has no tsvector or pg_trgm.  When search.mode
+# is "database", services.search.DatabaseSearch runs the Ups at startup (unless search.database.install is false).
+# Every statement can safely be run again.  To remove the columns, run the Downs by hand.
+
+# --- !Ups
+
+alter table routine add column if not exists search_vector tsvector generated always as (
+  setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+  setweight(to_tsvector('english', coalesce(description, '')), 'B') ||
+  setweight(to_tsvector('english', coalesce(method, '') || ' ' || coalesce(handling, '')), 'C')) stored;
+
+create index if not exists ix_routine_search_vector on routine using gin (search_vector);
+
+create extension if not exists pg_trgm;
+
+alter table magician add column if not exists search_text text generated always as (
+  lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(stage_name, '') || ' ' ||
+  coalesce(location, ''))) stored;
+
+create index if not exists ix_magician_search_text on magician using gin (search_text gin_trgm_ops);
+
+# --- !Downs
+
+drop index if exists ix_magician_search_text;
+
+alter table magician drop column if exists search_text;
+
+drop index if exists ix_routine_search_vector;
+
+alter table routine drop column if exists search_vector;
@@ -34,4 +34,120 @@ $(document).ready( function() {
     }
 
   });
-});
\ No newline at end of file
+});
+// Routine typeahead on the Edit Set page (only rendered for large catalogs).  Candidates come from /routineNames.
+// When a prefix returned fewer than the limit, it returned every match, so longer prefixes are filtered from it
+// without asking the server again.
+
+$(document).ready( function() {
+  var input = $('#routineTypeahead');
+  if( !input.length ) {
+    return;
+  }
+
+  var source = input.data('source'),
+      limit = input.data('limit'),
+      candidates = $('#routineCandidates'),
+      routines = $('#routinesInSet'),
+      cache = {},
+      timer = null;
+
+  function normalize(text) {
+    return $.trim(text).replace(/\s+/g, ' ').toLowerCase();
+  }
+
+  function matches(name, prefix) {
+    var normalized = normalize(name);
+    return normalized.indexOf(prefix) === 0 || normalized.indexOf(' ' + prefix) >= 0;
+  }
+
+  function cached(prefix) {
+    for( var i = prefix.length; i > 0; i-- ) {
+      var results = cache[prefix.substring(0, i)];
+      if( results && (i === prefix.length || results.length < limit) ) {
+        return $.grep(results, function(routine) { return matches(routine.name, prefix); });
+      }
+    }
+    return null;
+  }
+
+  function show(results) {
+    candidates.empty();
+    $.each(results, function(i, routine) {
+      if( routines.find('input[value="' + routine.id + '"]').length ) {
+        return;
+      }
+      $('<a href="#" class="list-group-item"></a>')
+        .text(routine.name + ' (' + routine.duration + ' min)')
+        .data('routine', routine)
+        .appendTo(candidates);
+    });
+  }
+
+  function lookup() {
+    var prefix = normalize(input.val());
+    if( !prefix ) {
+      candidates.empty();
+      return;
+    }
+
+    var results = cached(prefix);
+    if( results ) {
+      show(results);
+      return;
+    }
+
+    $.getJSON(source, { prefix: prefix, limit: limit }, function(routines) {
+      cache[prefix] = routines;
+      if( normalize(input.val()) === prefix ) {
+        show(routines);
+      }
+    });
+  }
+
+  input.on('input', function() {
+    clearTimeout(timer);
+    timer = setTimeout(lookup, 150);
+  });
+
+  candidates.on('click', '.list-group-item', function(event) {
+    event.preventDefault();
+    var routine = $(this).data('routine'),
+        checkbox = $('<input type="checkbox" name="routines[]" checked>').attr({ id: routine.id, value: routine.id });
+
+    $('<tr></tr>')
+      .append($('<td></td>').append(checkbox))
+      .append($('<td></td>').text(routine.name))
+      .append($('<td></td>').text(routine.duration))
+      .appendTo(routines);
+
+    $(this).remove();
+    input.val('').focus();
+    candidates.empty();
+  });
+});
+
+// Live search:  a search box with data-live="#results" refreshes that element from its form's results page after
+// each pause in typing.  Only the latest request's results are shown.
+
+$(document).ready( function() {
+  $('input[data-live]').each( function() {
+    var input = $(this),
+        form = input.closest('form'),
+        target = input.data('live'),
+        timer = null,
+        latest = 0;
+
+    input.on('input', function() {
+      clearTimeout(timer);
+      timer = setTimeout( function() {
+        var request = ++latest;
+        $.get(form.attr('action'), form.serialize(), function(html) {
+          if( request === latest ) {
+            $(target).html($('<div></div>').append($.parseHTML(html)).find(target).html());
+          }
+        });
+      }, 200);
+    });
+  });
+});
@@ -0,0 +1,137 @@
+package tests;
+
+import com.avaje.ebean.Ebean;
+import models.Material;
+import models.Note;
+import models.Routine;
+import models.Set;
+import org.junit.Test;
+import services.cache.AnalysisCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.inMemoryDatabase;
+
+
+/**
+ * Test that cached set notes analyses are evicted when a Routine or Material they depend on changes, but only once
+ * the change commits.
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database, cache an analysis of a seeded Set
+ * and change one of its Routines inside transactions that are rolled back or committed.
+ */
+public class TestAnalysisCacheInvalidator extends play.test.WithApplication {
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify that a Routine's analyses stay cached while the change is open and after a rollback, and are evicted when
+   * it commits.
+   */
+  @Test
+  public void testRoutineChangeEvictsAfterCommit() {
+    Set set = setWithRoutines();
+    Routine routine = set.getRoutines().get(0);
+    String key = cache(set);
+
+    Ebean.beginTransaction();
+    try {
+      routine.setName(routine.getName() + " (rolled back)");
+      routine.save();
+      assertThat(AnalysisCache.get(key)).isNotNull();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+    assertThat(AnalysisCache.get(key)).isNotNull();
+
+    routine = Routine.getRoutine(routine.getId());
+    Ebean.beginTransaction();
+    try {
+      routine.setName(routine.getName() + " (committed)");
+      routine.save();
+      assertThat(AnalysisCache.get(key)).isNotNull();
+      Ebean.commitTransaction();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+    assertThat(AnalysisCache.get(key)).isNull();
+  }
+
+
+  /**
+   * Verify that a change to one of a Routine's Materials evicts the Routine's analyses once it commits.
+   */
+  @Test
+  public void testMaterialChangeEvictsAfterCommit() {
+    Set set = null;
+    Material material = null;
+    for (Set candidate : Set.getAllSets()) {
+      for (Routine routine : candidate.getRoutines()) {
+        if (material == null && !routine.getMaterials().isEmpty()) {
+          set = candidate;
+          material = routine.getMaterials().get(0);
+        }
+      }
+    }
+    assertThat(material).isNotNull();
+    String key = cache(set);
+
+    Ebean.beginTransaction();
+    try {
+      material.setName(material.getName() + " (committed)");
+      material.save();
+      assertThat(AnalysisCache.get(key)).isNotNull();
+      Ebean.commitTransaction();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+    assertThat(AnalysisCache.get(key)).isNull();
+  }
+
+
+  /**
+   * Find a seeded Set with at least one Routine.
+   *
+   * @return The Set.
+   */
+  private static Set setWithRoutines() {
+    for (Set set : Set.getAllSets()) {
+      if (!set.getRoutines().isEmpty()) {
+        return set;
+      }
+    }
+
+    throw new RuntimeException("Unable to find a Set with Routines in the seed data.");
+  }
+
+
+  /**
+   * Cache an (empty) analysis of a Set.
+   *
+   * @param set The Set.
+   * @return The key of the analysis.
+   */
+  private static String cache(Set set) {
+    List<Long> routineIds = new ArrayList<Long>();
+    for (Routine routine : set.getRoutines()) {
+      routineIds.add(routine.getId());
+    }
+
+    String key = AnalysisCache.key(set.getId(), set.getVersion(), null, null);
+    AnalysisCache.put(key, set.getId(), routineIds, new ArrayList<Note>());
+    assertThat(AnalysisCache.get(key)).isNotNull();
+
+    return key;
+  }
+
+}
@@ -0,0 +1,229 @@
+package tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import models.Magician;
+import models.Material;
+import models.Routine;
+import models.Set;
+import org.junit.Test;
+import play.libs.Json;
+import play.mvc.Result;
+import services.api.JsonStream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.GET;
+import static play.test.Helpers.OK;
+import static play.test.Helpers.SEE_OTHER;
+import static play.test.Helpers.contentAsString;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.fakeRequest;
+import static play.test.Helpers.inMemoryDatabase;
+import static play.test.Helpers.route;
+import static play.test.Helpers.status;
+
+
+/**
+ * Test the JSON API (ApiV1 and the services.api streams).
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database, and compare what the API streams
+ * with what's in the database.  Routines are added so the stream has to fetch more than one batch.
+ */
+public class TestApiV1 extends play.test.WithApplication {
+
+  private static final String EMAIL = "mr_nelson@icloud.com";
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify that every Routine is streamed once, in ID order, with exactly one full batch and with more than two.
+   */
+  @Test
+  public void testRoutinesAcrossBatches() {
+    addRoutines(JsonStream.BATCH_SIZE);
+    assertThat(ids(get("/api/v1/routines", false))).isEqualTo(routineIds());
+
+    addRoutines(2 * JsonStream.BATCH_SIZE + 1);
+    JsonNode routines = get("/api/v1/routines", false);
+    assertThat(ids(routines)).isEqualTo(routineIds());
+    for (JsonNode routine : routines) {
+      assertThat(routine.has("name")).isTrue();
+      assertThat(routine.get("materials").isArray()).isTrue();
+    }
+  }
+
+
+  /**
+   * Verify that only the selected fields (and the IDs) are written, for the Routines and their Materials, and that
+   * the cost adds up the Materials' prices.
+   */
+  @Test
+  public void testFieldSelection() {
+    for (JsonNode routine : get("/api/v1/routines?fields=name", false)) {
+      assertThat(fieldNames(routine)).isEqualTo(sorted("id", "name"));
+    }
+
+    Map<Long, Integer> costs = new HashMap<Long, Integer>();
+    for (Material material : Material.getAllMaterials()) {
+      if (material.getRoutine() != null && material.getPrice() != null) {
+        Long routineId = material.getRoutine().getId();
+        costs.put(routineId, (costs.containsKey(routineId) ? costs.get(routineId) : 0) + material.getPrice());
+      }
+    }
+
+    boolean anyMaterials = false;
+    for (JsonNode routine : get("/api/v1/routines?fields=cost,materials.price", false)) {
+      assertThat(fieldNames(routine)).isEqualTo(sorted("cost", "id", "materials"));
+
+      Long routineId = routine.get("id").asLong();
+      assertThat(routine.get("cost").asInt()).isEqualTo(costs.containsKey(routineId) ? costs.get(routineId) : 0);
+      for (JsonNode material : routine.get("materials")) {
+        assertThat(fieldNames(material)).isEqualTo(sorted("id", "price"));
+        anyMaterials = true;
+      }
+    }
+    assertThat(anyMaterials).isTrue();
+  }
+
+
+  /**
+   * Verify that the Sets and Magicians need a login, and that every one of them is streamed without the Magicians'
+   * eMail addresses or passwords.
+   */
+  @Test
+  public void testSetsAndMagicians() {
+    assertThat(status(route(fakeRequest(GET, "/api/v1/sets")))).isEqualTo(SEE_OTHER);
+    assertThat(status(route(fakeRequest(GET, "/api/v1/magicians")))).isEqualTo(SEE_OTHER);
+
+    List<Long> setIds = new ArrayList<Long>();
+    for (Set set : Set.getAllSets()) {
+      setIds.add(set.getId());
+    }
+    Collections.sort(setIds);
+    JsonNode sets = get("/api/v1/sets?fields=routineCount", true);
+    assertThat(ids(sets)).isEqualTo(setIds);
+    for (JsonNode set : sets) {
+      assertThat(fieldNames(set)).isEqualTo(sorted("id", "routineCount"));
+      assertThat(set.get("routineCount").asInt()).isEqualTo(Set.getSet(set.get("id").asLong()).getRoutines().size());
+    }
+
+    List<Long> magicianIds = new ArrayList<Long>();
+    for (Magician magician : Magician.getAllMagicians()) {
+      magicianIds.add(magician.getId());
+    }
+    Collections.sort(magicianIds);
+    JsonNode magicians = get("/api/v1/magicians", true);
+    assertThat(ids(magicians)).isEqualTo(magicianIds);
+    for (JsonNode magician : magicians) {
+      assertThat(magician.has("firstName")).isTrue();
+      assertThat(magician.has("email")).isFalse();
+      assertThat(magician.has("password")).isFalse();
+    }
+  }
+
+
+  /**
+   * Get a page of the API and parse it.
+   *
+   * @param uri   The URI.
+   * @param login True to send the request as a logged in Magician.
+   * @return The JSON array.
+   */
+  private static JsonNode get(String uri, boolean login) {
+    Result result = route(login ? fakeRequest(GET, uri).withSession("email", EMAIL) : fakeRequest(GET, uri));
+    assertThat(status(result)).isEqualTo(OK);
+
+    JsonNode json = Json.parse(contentAsString(result));
+    assertThat(json.isArray()).isTrue();
+
+    return json;
+  }
+
+
+  /**
+   * Add Routines until there are a given number.
+   *
+   * @param count The number of Routines there should be.
+   */
+  private static void addRoutines(int count) {
+    for (int i = Routine.getAllRoutines().size(); i < count; i++) {
+      new Routine("API Routine " + i, "Added to fill a batch.", 5).save();
+    }
+    assertThat(Routine.getAllRoutines()).hasSize(count);
+  }
+
+
+  /**
+   * Get the IDs of every Routine in the database.
+   *
+   * @return The IDs, in order.
+   */
+  private static List<Long> routineIds() {
+    List<Long> ids = new ArrayList<Long>();
+    for (Routine routine : Routine.getAllRoutines()) {
+      ids.add(routine.getId());
+    }
+    Collections.sort(ids);
+
+    return ids;
+  }
+
+
+  /**
+   * Get the IDs of the objects in a JSON array.
+   *
+   * @param array The array.
+   * @return The IDs, in the order they were streamed.
+   */
+  private static List<Long> ids(JsonNode array) {
+    List<Long> ids = new ArrayList<Long>();
+    for (JsonNode object : array) {
+      ids.add(object.get("id").asLong());
+    }
+
+    return ids;
+  }
+
+
+  /**
+   * Get the names of the fields of a JSON object.
+   *
+   * @param object The object.
+   * @return The names, sorted.
+   */
+  private static List<String> fieldNames(JsonNode object) {
+    List<String> names = new ArrayList<String>();
+    for (Iterator<String> iterator = object.fieldNames(); iterator.hasNext(); ) {
+      names.add(iterator.next());
+    }
+    Collections.sort(names);
+
+    return names;
+  }
+
+
+  /**
+   * Sort some names.
+   *
+   * @param names The names.
+   * @return The names, sorted.
+   */
+  private static List<String> sorted(String... names) {
+    List<String> list = new ArrayList<String>();
+    Collections.addAll(list, names);
+    Collections.sort(list);
+
+    return list;
+  }
+
+}
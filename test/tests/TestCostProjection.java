@@ -0,0 +1,162 @@
+package tests;
+
+import org.junit.Test;
+import services.projection.CostProjection;
+import services.projection.Projection;
+
+import java.util.Random;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+
+/**
+ * Test the cost projections of CostProjection against totals worked out by hand.
+ * <p>
+ * Every test uses three Sets:
+ * <ul>
+ *   <li>A (ordinal 0) costs $100, $10 to restock and 5 minutes to reset.</li>
+ *   <li>B (ordinal 1) costs $50, $4 to restock and 3 minutes to reset.</li>
+ *   <li>C (ordinal 2) costs $7 and uses nothing up.</li>
+ * </ul>
+ */
+public class TestCostProjection {
+
+  private static final int A = 0;
+  private static final int B = 1;
+  private static final int C = 2;
+
+  private static final CostProjection SETS = new CostProjection(new long[] {11, 12, 13},
+      new String[] {"A", "B", "C"}, new int[] {100, 50, 7}, new int[] {10, 4, 0}, new int[] {5, 3, 0});
+
+
+  /**
+   * Verify a single Set performed for three shows:  bought before the first, restocked and reset after the first two.
+   */
+  @Test
+  public void testSingleSet() {
+    Projection projection = SETS.project(CostProjection.repeat(A, 3));
+
+    assertThat(projection.getShows(A)).isEqualTo(3);
+    assertThat(projection.getRestockSpend(A)).isEqualTo(20);
+    assertThat(projection.getResetMinutes(A)).isEqualTo(10);
+    assertThat(projection.getSpend(A)).isEqualTo(120);
+    assertThat(projection.getCumulativeSpend()).isEqualTo(new long[] {110, 120, 120});
+    assertThat(projection.getTotalSpend()).isEqualTo(120);
+
+    assertThat(projection.getShows(B)).isEqualTo(0);
+    assertThat(projection.getSpend(B)).isEqualTo(0);
+  }
+
+
+  /**
+   * Verify one show and no shows.
+   */
+  @Test
+  public void testOneAndNoShows() {
+    Projection one = SETS.project(new int[] {B});
+    assertThat(one.getShows(B)).isEqualTo(1);
+    assertThat(one.getRestockSpend(B)).isEqualTo(0);
+    assertThat(one.getResetMinutes(B)).isEqualTo(0);
+    assertThat(one.getCumulativeSpend()).isEqualTo(new long[] {50});
+
+    Projection none = SETS.project(new int[0]);
+    assertThat(none.getShows(A)).isEqualTo(0);
+    assertThat(none.getCumulativeSpend()).isEqualTo(new long[0]);
+    assertThat(none.getTotalSpend()).isEqualTo(0);
+  }
+
+
+  /**
+   * Verify alternating Sets.  Each is restocked and reset only after its own shows but its last, so A isn't restocked
+   * after show 3 even though B is still to come.
+   */
+  @Test
+  public void testMixedSchedule() {
+    Projection projection = SETS.project(new int[] {A, B, A, B});
+
+    assertThat(projection.getShows(A)).isEqualTo(2);
+    assertThat(projection.getRestockSpend(A)).isEqualTo(10);
+    assertThat(projection.getResetMinutes(A)).isEqualTo(5);
+    assertThat(projection.getSpend(A)).isEqualTo(110);
+
+    assertThat(projection.getShows(B)).isEqualTo(2);
+    assertThat(projection.getRestockSpend(B)).isEqualTo(4);
+    assertThat(projection.getResetMinutes(B)).isEqualTo(3);
+    assertThat(projection.getSpend(B)).isEqualTo(54);
+
+    assertThat(projection.getCumulativeSpend()).isEqualTo(new long[] {110, 164, 164, 164});
+    assertThat(projection.getTotalSpend()).isEqualTo(164);
+  }
+
+
+  /**
+   * Verify a schedule where the Sets' last shows come at different times and one Set is performed only once.
+   */
+  @Test
+  public void testMixedScheduleWithASingleShow() {
+    Projection projection = SETS.project(new int[] {A, B, B, A, C});
+
+    assertThat(projection.getSpend(A)).isEqualTo(110);
+    assertThat(projection.getSpend(B)).isEqualTo(54);
+    assertThat(projection.getResetMinutes(B)).isEqualTo(3);
+    assertThat(projection.getShows(C)).isEqualTo(1);
+    assertThat(projection.getSpend(C)).isEqualTo(7);
+    assertThat(projection.getCumulativeSpend()).isEqualTo(new long[] {110, 164, 164, 164, 171});
+  }
+
+
+  /**
+   * Verify projectEach() with no shows, one show and three shows of each Set.
+   */
+  @Test
+  public void testProjectEach() {
+    Projection none = SETS.projectEach(0);
+    for (int set = 0; set < SETS.size(); set++) {
+      assertThat(none.getShows(set)).isEqualTo(0);
+      assertThat(none.getSpend(set)).isEqualTo(0);
+      assertThat(none.getRestockSpend(set)).isEqualTo(0);
+    }
+    assertThat(none.getCumulativeSpend()).isEqualTo(new long[0]);
+    assertThat(none.getTotalSpend()).isEqualTo(0);
+
+    Projection one = SETS.projectEach(1);
+    assertThat(one.getSpend(A)).isEqualTo(100);
+    assertThat(one.getRestockSpend(A)).isEqualTo(0);
+    assertThat(one.getResetMinutes(A)).isEqualTo(0);
+    assertThat(one.getCumulativeSpend()).isEqualTo(new long[] {157});
+
+    Projection three = SETS.projectEach(3);
+    assertThat(three.getShows(B)).isEqualTo(3);
+    assertThat(three.getSpend(A)).isEqualTo(120);
+    assertThat(three.getRestockSpend(A)).isEqualTo(20);
+    assertThat(three.getResetMinutes(A)).isEqualTo(10);
+    assertThat(three.getSpend(B)).isEqualTo(58);
+    assertThat(three.getRestockSpend(B)).isEqualTo(8);
+    assertThat(three.getResetMinutes(B)).isEqualTo(6);
+    assertThat(three.getSpend(C)).isEqualTo(7);
+    assertThat(three.getCumulativeSpend()).isEqualTo(new long[] {171, 185, 185});
+  }
+
+
+  /**
+   * Verify that projecting each Set on its own gives every Set the same totals as a schedule of just that Set.
+   */
+  @Test
+  public void testProjectEachMatchesRepeat() {
+    Random random = new Random(17);
+
+    for (int trial = 0; trial < 50; trial++) {
+      int performances = random.nextInt(30);
+      Projection each = SETS.projectEach(performances);
+
+      for (int set = 0; set < SETS.size(); set++) {
+        Projection alone = SETS.project(CostProjection.repeat(set, performances));
+        assertThat(each.getShows(set)).isEqualTo(alone.getShows(set));
+        assertThat(each.getSpend(set)).isEqualTo(alone.getSpend(set));
+        assertThat(each.getRestockSpend(set)).isEqualTo(alone.getRestockSpend(set));
+        assertThat(each.getResetMinutes(set)).isEqualTo(alone.getResetMinutes(set));
+      }
+    }
+  }
+
+}
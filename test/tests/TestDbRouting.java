@@ -0,0 +1,170 @@
+package tests;
+
+import com.avaje.ebean.Ebean;
+import com.avaje.ebean.cache.ServerCache;
+import models.Magician;
+import models.Material;
+import models.Routine;
+import models.Set;
+import org.junit.After;
+import org.junit.Test;
+import play.mvc.Result;
+import services.db.DbRouting;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.GET;
+import static play.test.Helpers.OK;
+import static play.test.Helpers.contentAsString;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.fakeRequest;
+import static play.test.Helpers.inMemoryDatabase;
+import static play.test.Helpers.route;
+import static play.test.Helpers.session;
+import static play.test.Helpers.status;
+
+
+/**
+ * Test that DbRouting sends the read-only pages to the replica and everything else to the primary.
+ * <p>
+ * Start a fake application whose db.replica is a second, empty in-memory H2 database.  Only the primary is seeded, so
+ * a page that lists the Magicians shows them when it reads from the primary and doesn't when it reads from the
+ * replica.  The replica gets its schema from a copy of the default evolutions, which is removed afterwards.
+ */
+public class TestDbRouting extends play.test.WithApplication {
+
+  private static final String EMAIL = "mr_nelson@icloud.com";
+
+  private static final File REPLICA_EVOLUTIONS = new File("conf/evolutions/" + DbRouting.REPLICA);
+
+  private static int replicas = 0;
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    try {
+      Files.createDirectories(REPLICA_EVOLUTIONS.toPath());
+      Files.copy(new File("conf/evolutions/default/1.sql").toPath(), new File(REPLICA_EVOLUTIONS, "1.sql").toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+    catch (IOException e) {
+      throw new RuntimeException("Unable to copy the evolutions for the replica", e);
+    }
+
+    Map<String, String> configuration = new HashMap<String, String>(inMemoryDatabase());
+    configuration.put("db.replica.driver", "org.h2.Driver");
+    configuration.put("db.replica.url", "jdbc:h2:mem:replica-" + (++replicas));
+    configuration.put("ebean.replica", "models.*");
+    configuration.put("dbRouting.readYourWritesSeconds", "1");
+
+    return fakeApplication(configuration);
+  }
+
+
+  /**
+   * Remove the replica's evolutions, so they aren't applied to another test's database.
+   */
+  @After
+  public void removeReplicaEvolutions() throws IOException {
+    Files.deleteIfExists(new File(REPLICA_EVOLUTIONS, "1.sql").toPath());
+    Files.deleteIfExists(REPLICA_EVOLUTIONS.toPath());
+  }
+
+
+  /**
+   * Verify that a read-only page reads from the replica.
+   */
+  @Test
+  public void testReadOnlyActionReadsFromReplica() {
+    assertThat(DbRouting.isReplicaEnabled()).isTrue();
+
+    assertThat(listMagicians(null)).doesNotContain(magicianLink());
+  }
+
+
+  /**
+   * Verify that a page that isn't marked read-only reads from the primary.
+   */
+  @Test
+  public void testOtherActionsStayOnPrimary() {
+    long magicianId = Magician.getMagician(EMAIL).getId();
+
+    Result result = route(fakeRequest(GET, "/editMagician?id=" + magicianId).withSession("email", EMAIL));
+    assertThat(status(result)).isEqualTo(OK);
+    assertThat(contentAsString(result)).contains(EMAIL);
+  }
+
+
+  /**
+   * Verify that a write keeps the browser's read-only pages on the primary for dbRouting.readYourWritesSeconds, and
+   * that they go back to the replica after that.
+   */
+  @Test
+  public void testWritePinsSessionToPrimary() {
+    long setId = Set.getAllSets().get(0).getId();
+
+    Result deleted = route(fakeRequest(GET, "/deleteSet?id=" + setId).withSession("email", EMAIL));
+    assertThat(status(deleted)).isEqualTo(OK);
+    String lastWrite = session(deleted).get("lastWrite");
+    assertThat(lastWrite).isNotNull();
+
+    assertThat(listMagicians(lastWrite)).contains(magicianLink());
+    assertThat(listMagicians(Long.toString(System.currentTimeMillis() - 2000))).doesNotContain(magicianLink());
+  }
+
+
+  /**
+   * Verify that a write drops only the written bean from the replica's bean cache.  The replica is empty, so the
+   * cache is filled with placeholders rather than by reading from it.
+   */
+  @Test
+  public void testWriteDropsOnlyTheWrittenBean() {
+    Material written = Material.getAllMaterials().get(0);
+    Material other = Material.getAllMaterials().get(1);
+    Routine routine = Routine.getAllRoutines().get(0);
+
+    ServerCache materials = Ebean.getServer(DbRouting.REPLICA).getServerCacheManager().getBeanCache(Material.class);
+    ServerCache routines = Ebean.getServer(DbRouting.REPLICA).getServerCacheManager().getBeanCache(Routine.class);
+    materials.put(written.getId(), "cached");
+    materials.put(other.getId(), "cached");
+    routines.put(routine.getId(), "cached");
+
+    written.setName(written.getName() + " (renamed)");
+    written.save();
+
+    assertThat(materials.get(written.getId())).isNull();
+    assertThat(materials.get(other.getId())).isEqualTo("cached");
+    assertThat(routines.get(routine.getId())).isEqualTo("cached");
+  }
+
+
+  /**
+   * Get the List Magicians page, which is read-only.
+   *
+   * @param lastWrite The time of the browser's last write, or null if it hasn't written.
+   * @return The page's HTML.
+   */
+  private static String listMagicians(String lastWrite) {
+    Result result = route((lastWrite == null) ? fakeRequest(GET, "/listMagicians")
+        : fakeRequest(GET, "/listMagicians").withSession("lastWrite", lastWrite));
+    assertThat(status(result)).isEqualTo(OK);
+
+    return contentAsString(result);
+  }
+
+
+  /**
+   * Get the link to a seeded Magician's page, which the List Magicians page only has when it reads from the primary.
+   *
+   * @return The link.
+   */
+  private static String magicianLink() {
+    return "viewMagician?id=" + Magician.getMagician(EMAIL).getId();
+  }
+
+}
@@ -0,0 +1,133 @@
+package tests;
+
+import controllers.ETags;
+import models.EntityVersions;
+import models.Material;
+import models.Routine;
+import org.junit.Test;
+import play.mvc.Http;
+import play.mvc.Result;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.GET;
+import static play.test.Helpers.NOT_MODIFIED;
+import static play.test.Helpers.OK;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.fakeRequest;
+import static play.test.Helpers.header;
+import static play.test.Helpers.inMemoryDatabase;
+import static play.test.Helpers.route;
+import static play.test.Helpers.status;
+
+
+/**
+ * Test the ETags of the entity pages and the 304 Not Modified answers they allow.
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database, and request the View Routine page
+ * with and without the ETag of an earlier response in If-None-Match.
+ */
+public class TestETags extends play.test.WithApplication {
+
+  private static final String EMAIL = "mr_nelson@icloud.com";
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify that asking again for a page that hasn't changed gets a 304 with the same ETag.
+   */
+  @Test
+  public void testRepeatViewIsNotModified() {
+    long routineId = Routine.getAllRoutines().get(0).getId();
+
+    Result first = viewRoutine(routineId, null, null);
+    assertThat(status(first)).isEqualTo(OK);
+    String etag = header(Http.HeaderNames.ETAG, first);
+    assertThat(etag).startsWith("W/\"");
+    assertThat(header(Http.HeaderNames.CACHE_CONTROL, first)).isEqualTo("private, no-cache");
+
+    Result second = viewRoutine(routineId, etag, null);
+    assertThat(status(second)).isEqualTo(NOT_MODIFIED);
+    assertThat(header(Http.HeaderNames.ETAG, second)).isEqualTo(etag);
+  }
+
+
+  /**
+   * Verify that editing one of a Routine's Materials changes the Routine's page, so it gets a 200 and a new ETag.
+   */
+  @Test
+  public void testChildMaterialChangesETag() {
+    Material material = null;
+    for (Material candidate : Material.getAllMaterials()) {
+      if (candidate.getRoutine() != null) {
+        material = candidate;
+      }
+    }
+    assertThat(material).isNotNull();
+    long routineId = material.getRoutine().getId();
+
+    String etag = header(Http.HeaderNames.ETAG, viewRoutine(routineId, null, null));
+
+    material.setName(material.getName() + " (edited)");
+    material.save();
+
+    Result result = viewRoutine(routineId, etag, null);
+    assertThat(status(result)).isEqualTo(OK);
+    assertThat(header(Http.HeaderNames.ETAG, result)).isNotNull().isNotEqualTo(etag);
+  }
+
+
+  /**
+   * Verify that the same page has a different ETag for a different viewer, so a guest's copy isn't reused for a
+   * logged in Magician.
+   */
+  @Test
+  public void testDifferentViewerGetsNewETag() {
+    long routineId = Routine.getAllRoutines().get(0).getId();
+
+    String guest = header(Http.HeaderNames.ETAG, viewRoutine(routineId, null, null));
+
+    Result result = viewRoutine(routineId, guest, EMAIL);
+    assertThat(status(result)).isEqualTo(OK);
+    assertThat(header(Http.HeaderNames.ETAG, result)).isNotNull().isNotEqualTo(guest);
+  }
+
+
+  /**
+   * Verify that an entity that doesn't exist has no version and so no ETag, and can't be answered with a 304.
+   */
+  @Test
+  public void testMissingEntityHasNoETag() {
+    long missing = Long.MAX_VALUE;
+
+    assertThat(EntityVersions.getRoutineVersion(missing, null)).isNull();
+    assertThat(EntityVersions.getMaterialVersion(missing, EMAIL)).isNull();
+    assertThat(ETags.build("viewRoutine", missing, null, null)).isNull();
+    assertThat(ETags.isNotModified(null, null)).isFalse();
+  }
+
+
+  /**
+   * Request the View Routine page.
+   *
+   * @param routineId   The ID of the Routine.
+   * @param ifNoneMatch The ETag to send in If-None-Match, or null.
+   * @param email       The eMail address of the logged in Magician, or null for a guest.
+   * @return The result.
+   */
+  private static Result viewRoutine(long routineId, String ifNoneMatch, String email) {
+    play.test.FakeRequest request = fakeRequest(GET, "/viewRoutine?id=" + routineId);
+    if (ifNoneMatch != null) {
+      request = request.withHeader(Http.HeaderNames.IF_NONE_MATCH, ifNoneMatch);
+    }
+    if (email != null) {
+      request = request.withSession("email", email);
+    }
+
+    return route(request);
+  }
+
+}
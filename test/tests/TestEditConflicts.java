@@ -0,0 +1,152 @@
+package tests;
+
+import models.Routine;
+import models.Set;
+import org.junit.Test;
+import play.mvc.Result;
+import views.formdata.RoutineFormData;
+import views.formdata.SetFormData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.CONFLICT;
+import static play.test.Helpers.OK;
+import static play.test.Helpers.POST;
+import static play.test.Helpers.contentAsString;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.fakeRequest;
+import static play.test.Helpers.inMemoryDatabase;
+import static play.test.Helpers.route;
+import static play.test.Helpers.status;
+
+
+/**
+ * Test that an edit made from a stale form is refused with a 409 Conflict that shows the other person's changes.
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database.  Each test renders a form's data
+ * from an entity, lets "someone else" save a change to it, then posts the stale form.
+ */
+public class TestEditConflicts extends play.test.WithApplication {
+
+  private static final String EMAIL = "mr_nelson@icloud.com";
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify a stale Routine form gets a 409 with the other description and the current version, keeps the other
+   * person's change, and that submitting again with the current version goes through.
+   */
+  @Test
+  public void testStaleRoutineIsAConflict() {
+    Routine routine = Routine.getAllRoutines().get(0);
+    RoutineFormData yours = new RoutineFormData(routine);
+
+    Routine theirs = Routine.getRoutine(routine.getId());
+    theirs.setDescription("Their description of the routine.");
+    theirs.save();
+    long currentVersion = Routine.getRoutine(routine.getId()).getVersion();
+    assertThat(currentVersion).isNotEqualTo(yours.version);
+
+    Map<String, String> form = routineForm(yours);
+    form.put("description", "My description of the routine.");
+
+    Result conflict = route(fakeRequest(POST, "/editRoutine").withSession("email", EMAIL)
+        .withFormUrlEncodedBody(form));
+    assertThat(status(conflict)).isEqualTo(CONFLICT);
+    assertThat(contentAsString(conflict)).contains("Their description of the routine.")
+        .contains("value=\"" + currentVersion + "\"");
+    assertThat(Routine.getRoutine(routine.getId()).getDescription()).isEqualTo("Their description of the routine.");
+
+    form.put("version", Long.toString(currentVersion));
+    Result saved = route(fakeRequest(POST, "/editRoutine").withSession("email", EMAIL).withFormUrlEncodedBody(form));
+    assertThat(status(saved)).isEqualTo(OK);
+    assertThat(Routine.getRoutine(routine.getId()).getDescription()).isEqualTo("My description of the routine.");
+  }
+
+
+  /**
+   * Verify a stale Set form gets a 409 with the other name and the current version, keeps the other person's change,
+   * and that submitting again with the current version goes through.
+   */
+  @Test
+  public void testStaleSetIsAConflict() {
+    Set set = Set.getAllSets().get(0);
+    SetFormData yours = new SetFormData(set);
+
+    Set theirs = Set.getSet(set.getId());
+    theirs.setName("Their Set");
+    theirs.save();
+    long currentVersion = Set.getSet(set.getId()).getVersion();
+    assertThat(currentVersion).isNotEqualTo(yours.version);
+
+    Map<String, String> form = new HashMap<String, String>();
+    form.put("id", Long.toString(yours.id));
+    form.put("version", Long.toString(yours.version));
+    form.put("name", yours.name);
+    form.put("description", "My description of the set.");
+    for (int i = 0; i < yours.routines.size(); i++) {
+      form.put("routines[" + i + "]", Long.toString(yours.routines.get(i)));
+    }
+
+    Result conflict = route(fakeRequest(POST, "/editSet").withSession("email", EMAIL).withFormUrlEncodedBody(form));
+    assertThat(status(conflict)).isEqualTo(CONFLICT);
+    assertThat(contentAsString(conflict)).contains("Their Set").contains("value=\"" + currentVersion + "\"");
+    assertThat(Set.getSet(set.getId()).getName()).isEqualTo("Their Set");
+    assertThat(Set.getSet(set.getId()).getDescription()).isEqualTo(set.getDescription());
+
+    form.put("version", Long.toString(currentVersion));
+    Result saved = route(fakeRequest(POST, "/editSet").withSession("email", EMAIL).withFormUrlEncodedBody(form));
+    assertThat(status(saved)).isEqualTo(OK);
+    assertThat(Set.getSet(set.getId()).getName()).isEqualTo(yours.name);
+    assertThat(Set.getSet(set.getId()).getDescription()).isEqualTo("My description of the set.");
+  }
+
+
+  /**
+   * Turn a Routine's form data into the fields the EditRoutine page posts.
+   *
+   * @param data The form data.
+   * @return The fields that have a value, by name.
+   */
+  private static Map<String, String> routineForm(RoutineFormData data) {
+    Map<String, String> form = new HashMap<String, String>();
+    form.put("id", Long.toString(data.id));
+    form.put("version", Long.toString(data.version));
+    put(form, "name", data.name);
+    put(form, "description", data.description);
+    put(form, "duration", data.duration);
+    put(form, "method", data.method);
+    put(form, "handling", data.handling);
+    put(form, "resetDuration", data.resetDuration);
+    put(form, "resetDescription", data.resetDescription);
+    put(form, "youTubeUrl", data.youTubeUrl);
+    put(form, "imageUrl", data.imageUrl);
+    put(form, "reviewUrl", data.reviewUrl);
+    put(form, "inspiration", data.inspiration);
+    put(form, "placement", data.placement);
+    put(form, "choices", data.choices);
+
+    return form;
+  }
+
+
+  /**
+   * Add a field to a form if it has a value.
+   *
+   * @param form  The form.
+   * @param name  The name of the field.
+   * @param value The value, or null.
+   */
+  private static void put(Map<String, String> form, String name, Object value) {
+    if (value != null) {
+      form.put(name, value.toString());
+    }
+  }
+
+}
@@ -0,0 +1,254 @@
+package tests;
+
+import models.Magician;
+import models.MagicianType;
+import org.junit.Test;
+import services.search.MagicianSearch;
+import services.search.MagicianSearchResult;
+import services.search.SearchResults;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+
+/**
+ * Test the in-memory trigram index of the Magicians (MagicianSearch) against a brute-force scan.
+ * <p>
+ * The index is built straight from Magicians made here, so no database is needed.  The scan scores every Magician
+ * the way the index's class comment describes:  the share of the query's trigrams the Magician has, best first, then
+ * fewer trigrams, then by ID.
+ */
+public class TestMagicianSearch {
+
+  private static final MagicianType TYPE = new MagicianType("Hobbyist", "Test magicians", 1);
+
+  private static final String[] SYLLABLES = {"ka", "ro", "mi", "lan", "te", "vo", "sun", "da", "rel", "po"};
+  private static final String[] CITIES = {"Honolulu", "Las Vegas", "Reno", "Hilo", "Paris"};
+
+
+  /**
+   * Verify that an exact match is found and ranked first when every one of the query's trigrams is shared by more
+   * than a thousand other Magicians that were added before it, and that the total counts every match.
+   * <p>
+   * "Smithy" has every trigram of "smith" but "th " (so it matches, at 5/6) and "Bath" has only "th ", so every
+   * trigram of the query has 1,501 postings and Jane Smith is the last of each.
+   */
+  @Test
+  public void testExactMatchAmongManyNearMatches() {
+    List<Magician> magicians = new ArrayList<Magician>();
+    for (int i = 1; i <= 1500; i++) {
+      magicians.add(magician(i, "John", "Smithy", null, "Honolulu"));
+    }
+    for (int i = 1501; i <= 3000; i++) {
+      magicians.add(magician(i, "Mary", "Jones", null, "Bath"));
+    }
+    magicians.add(magician(3001, "Jane", "Smith", null, "Hilo"));
+    MagicianSearch.rebuild(magicians);
+
+    SearchResults<MagicianSearchResult> results = MagicianSearch.search("smith", 0, 10);
+
+    assertThat(results.getTotal()).isEqualTo(1501);
+    assertThat(results.getResults()).hasSize(10);
+    assertThat(results.getResults().get(0).getId()).isEqualTo(3001L);
+    assertThat(results.getResults().get(1).getId()).isEqualTo(1L);
+
+    SearchResults<MagicianSearchResult> lastPage = MagicianSearch.search("smith", 1495, 10);
+    assertThat(lastPage.getResults()).hasSize(6);
+    assertThat(lastPage.getResults().get(5).getId()).isEqualTo(1500L);
+  }
+
+
+  /**
+   * Verify random queries and pages against a brute-force scan, after a rebuild and after saves and deletes (enough
+   * of them that the index compacts).
+   */
+  @Test
+  public void testSearchMatchesBruteForce() {
+    Random random = new Random(7);
+    Map<Long, Magician> magicians = new HashMap<Long, Magician>();
+    for (long id = 1; id <= 500; id++) {
+      magicians.put(id, randomMagician(random, id));
+    }
+    MagicianSearch.rebuild(new ArrayList<Magician>(magicians.values()));
+    checkQueries(random, magicians);
+
+    for (int change = 0; change < 2000; change++) {
+      long id = 1 + random.nextInt(600);
+      if (random.nextInt(4) == 0) {
+        magicians.remove(id);
+        MagicianSearch.magicianDeleted(id);
+      }
+      else {
+        Magician magician = randomMagician(random, id);
+        magicians.put(id, magician);
+        MagicianSearch.magicianSaved(magician);
+      }
+    }
+    assertThat(MagicianSearch.getStatistics().get("documents")).isEqualTo((long) magicians.size());
+    checkQueries(random, magicians);
+  }
+
+
+  /**
+   * Run random queries and compare every page with the brute-force scan.
+   *
+   * @param random    The source of the queries.
+   * @param magicians Every Magician in the index, by ID.
+   */
+  private static void checkQueries(Random random, Map<Long, Magician> magicians) {
+    for (int i = 0; i < 200; i++) {
+      String query = randomName(random);
+      if (random.nextBoolean()) {
+        query = query.substring(0, Math.max(2, query.length() - 1));
+      }
+      List<Long> expected = bruteForce(query, magicians.values());
+
+      int offset = random.nextInt(20);
+      int limit = 1 + random.nextInt(20);
+      SearchResults<MagicianSearchResult> results = MagicianSearch.search(query, offset, limit);
+
+      List<Long> found = new ArrayList<Long>();
+      for (MagicianSearchResult result : results.getResults()) {
+        found.add(result.getId());
+      }
+
+      assertThat(results.getTotal()).isEqualTo(expected.size());
+      assertThat(found).isEqualTo(expected.subList(Math.min(offset, expected.size()),
+          Math.min(offset + limit, expected.size())));
+    }
+  }
+
+
+  /**
+   * Score every Magician against a query.
+   *
+   * @param query     The query.
+   * @param magicians Every Magician.
+   * @return The IDs of the matching Magicians, best first.
+   */
+  private static List<Long> bruteForce(String query, java.util.Collection<Magician> magicians) {
+    final java.util.Set<String> queryTrigrams = trigrams(query);
+    final int required = (int) Math.ceil(MagicianSearch.MIN_SIMILARITY * queryTrigrams.size());
+    final Map<Long, Integer> common = new HashMap<Long, Integer>();
+    final Map<Long, Integer> sizes = new HashMap<Long, Integer>();
+
+    List<Long> matches = new ArrayList<Long>();
+    for (Magician magician : magicians) {
+      java.util.Set<String> trigrams = new LinkedHashSet<String>();
+      for (String field : new String[] {magician.getFirstName(), magician.getLastName(), magician.getStageName(),
+          magician.getLocation()}) {
+        trigrams.addAll(trigrams(field));
+      }
+
+      int shared = 0;
+      for (String trigram : queryTrigrams) {
+        if (trigrams.contains(trigram)) {
+          shared++;
+        }
+      }
+
+      if (!queryTrigrams.isEmpty() && shared >= required) {
+        matches.add(magician.getId());
+        common.put(magician.getId(), shared);
+        sizes.put(magician.getId(), trigrams.size());
+      }
+    }
+
+    Collections.sort(matches, new Comparator<Long>() {
+      @Override
+      public int compare(Long a, Long b) {
+        int byScore = Integer.compare(common.get(b), common.get(a));
+        if (byScore != 0) {
+          return byScore;
+        }
+
+        int bySize = Integer.compare(sizes.get(a), sizes.get(b));
+        return (bySize != 0) ? bySize : Long.compare(a, b);
+      }
+    });
+
+    return matches;
+  }
+
+
+  /**
+   * Cut text into padded word trigrams, like pg_trgm.
+   *
+   * @param text The text, or null.
+   * @return The trigrams.
+   */
+  private static java.util.Set<String> trigrams(String text) {
+    java.util.Set<String> trigrams = new LinkedHashSet<String>();
+    if (text == null) {
+      return trigrams;
+    }
+
+    for (String word : text.toLowerCase(Locale.ENGLISH).split("[^\\p{L}\\p{Nd}]+")) {
+      if (!word.isEmpty()) {
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+          trigrams.add(padded.substring(i, i + 3));
+        }
+      }
+    }
+
+    return trigrams;
+  }
+
+
+  /**
+   * Make a Magician.
+   *
+   * @param id        The ID.
+   * @param firstName The first name.
+   * @param lastName  The last name.
+   * @param stageName The stage name, or null.
+   * @param location  The location, or null.
+   * @return The Magician.
+   */
+  private static Magician magician(long id, String firstName, String lastName, String stageName, String location) {
+    Magician magician = new Magician(firstName, lastName, "magician" + id + "@example.com", TYPE, "password");
+    magician.setId(id);
+    magician.setStageName(stageName);
+    magician.setLocation(location);
+    return magician;
+  }
+
+
+  /**
+   * Make a Magician with random names.
+   *
+   * @param random The source of the names.
+   * @param id     The ID.
+   * @return The Magician.
+   */
+  private static Magician randomMagician(Random random, long id) {
+    return magician(id, randomName(random), randomName(random), random.nextBoolean() ? randomName(random) : null,
+        CITIES[random.nextInt(CITIES.length)]);
+  }
+
+
+  /**
+   * Make a random name from a few syllables.
+   *
+   * @param random The source of the syllables.
+   * @return The name.
+   */
+  private static String randomName(Random random) {
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < 2 + random.nextInt(2); i++) {
+      name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    return name.toString();
+  }
+
+}
@@ -0,0 +1,231 @@
+package tests;
+
+import org.junit.Test;
+import services.search.Facet;
+import services.search.FacetResults;
+import services.search.MaterialEntry;
+import services.search.RoutineEntry;
+import services.search.RoutineFacets;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+
+/**
+ * Test RoutineFacets.filter() against a brute-force scan of every Routine.
+ * <p>
+ * The bitmaps are built straight from RoutineEntries made here, so no database is needed.  The scan finds each
+ * Routine's value of each Facet from the labels of the Facet's values (like "6-10" or "yes"), so it doesn't share
+ * any code with the bitmaps.
+ */
+public class TestRoutineFacets {
+
+  /**
+   * Verify random selections after a rebuild and again after saves and deletes (enough of them that the ordinals are
+   * compacted).
+   */
+  @Test
+  public void testFilterMatchesBruteForce() {
+    Random random = new Random(3);
+    TreeMap<Long, RoutineEntry> entries = new TreeMap<Long, RoutineEntry>();
+    long nextId = 1;
+    for (; nextId <= 300; nextId++) {
+      entries.put(nextId, randomEntry(random, nextId));
+    }
+    RoutineFacets.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+    checkFilters(random, entries);
+
+    for (int change = 0; change < 1500; change++) {
+      int kind = random.nextInt(10);
+      if (kind < 3 && !entries.isEmpty()) {
+        Long id = entries.ceilingKey(1 + (long) random.nextInt((int) nextId));
+        if (id != null) {
+          entries.remove(id);
+          RoutineFacets.update(id, null);
+        }
+      }
+      else if (kind < 7 && !entries.isEmpty()) {
+        Long id = entries.ceilingKey(1 + (long) random.nextInt((int) nextId));
+        if (id != null) {
+          RoutineEntry entry = randomEntry(random, id);
+          entries.put(id, entry);
+          RoutineFacets.update(id, entry);
+        }
+      }
+      else {
+        // New Routines get larger IDs than any before them, as they do from the database.
+        RoutineEntry entry = randomEntry(random, nextId);
+        entries.put(nextId, entry);
+        RoutineFacets.update(nextId, entry);
+        nextId++;
+      }
+    }
+
+    Map<String, Long> statistics = RoutineFacets.getStatistics();
+    assertThat(statistics.get("routines")).isEqualTo((long) entries.size());
+    assertThat(statistics.get("deleted")).isLessThanOrEqualTo(Math.max(63L, entries.size()));
+    checkFilters(random, entries);
+  }
+
+
+  /**
+   * Run random selections and compare the totals, counts and pages with the brute-force scan.
+   *
+   * @param random  The source of the selections.
+   * @param entries Every Routine in the bitmaps, by ID.
+   */
+  private static void checkFilters(Random random, TreeMap<Long, RoutineEntry> entries) {
+    List<Facet> facets = RoutineFacets.getFacets();
+
+    for (int i = 0; i < 300; i++) {
+      Map<String, List<String>> selection = new HashMap<String, List<String>>();
+      for (Facet facet : facets) {
+        if (random.nextInt(3) == 0) {
+          List<String> values = new ArrayList<String>();
+          for (String value : facet.getValues()) {
+            if (random.nextBoolean()) {
+              values.add(value);
+            }
+          }
+          if (random.nextInt(5) == 0) {
+            values.add("unknown");
+          }
+          selection.put(facet.getName(), values);
+        }
+      }
+      int offset = random.nextInt(40);
+      int limit = 1 + random.nextInt(40);
+
+      FacetResults results = RoutineFacets.filter(selection, offset, limit);
+
+      List<Long> matching = new ArrayList<Long>();
+      for (RoutineEntry entry : entries.values()) {
+        if (matches(entry, selection, facets, null)) {
+          matching.add(entry.getId());
+        }
+      }
+      assertThat(results.getTotal()).isEqualTo(matching.size());
+
+      List<Long> page = new ArrayList<Long>();
+      for (RoutineEntry entry : results.getRoutines()) {
+        page.add(entry.getId());
+      }
+      assertThat(page).isEqualTo(matching.subList(Math.min(offset, matching.size()),
+          Math.min(offset + limit, matching.size())));
+
+      for (Facet facet : facets) {
+        for (String value : facet.getValues()) {
+          int count = 0;
+          for (RoutineEntry entry : entries.values()) {
+            if (value.equals(valueOf(facet, entry)) && matches(entry, selection, facets, facet)) {
+              count++;
+            }
+          }
+          assertThat(results.getCount(facet.getName(), value)).isEqualTo(count);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * See if a Routine matches a selection.
+   *
+   * @param entry     The Routine.
+   * @param selection The values selected for each Facet, by name.
+   * @param facets    Every Facet.
+   * @param except    A Facet to ignore, or null.
+   * @return True if the Routine has one of the selected values of every Facet with a selection.
+   */
+  private static boolean matches(RoutineEntry entry, Map<String, List<String>> selection, List<Facet> facets,
+                                 Facet except) {
+    for (Facet facet : facets) {
+      List<String> values = selection.get(facet.getName());
+      if (facet == except || values == null) {
+        continue;
+      }
+
+      boolean known = false;
+      for (String value : values) {
+        known |= facet.getValues().contains(value);
+      }
+      if (known && !values.contains(valueOf(facet, entry))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+
+  /**
+   * Find a Routine's value of a Facet from the labels of the Facet's values.
+   *
+   * @param facet The Facet.
+   * @param entry The Routine.
+   * @return The Routine's value, or null if it has none.
+   */
+  private static String valueOf(Facet facet, RoutineEntry entry) {
+    String name = facet.getName();
+    if (name.equals(RoutineFacets.INSPECTABLE) || name.equals(RoutineFacets.GIVEN_AWAY)
+        || name.equals(RoutineFacets.CONSUMED)) {
+      boolean any = false;
+      for (MaterialEntry material : entry.getMaterials()) {
+        any |= name.equals(RoutineFacets.INSPECTABLE) ? material.isInspectable()
+            : name.equals(RoutineFacets.GIVEN_AWAY) ? material.isGivenAway() : material.isConsumed();
+      }
+      return any ? Facet.YES : Facet.NO;
+    }
+
+    Integer number = name.equals(RoutineFacets.DURATION) ? entry.getDuration()
+        : name.equals(RoutineFacets.RESET_DURATION) ? entry.getResetDuration() : Integer.valueOf(entry.getCost());
+    if (number == null) {
+      return null;
+    }
+
+    for (String band : facet.getValues()) {
+      if (band.endsWith("+")) {
+        if (number >= Integer.parseInt(band.substring(0, band.length() - 1))) {
+          return band;
+        }
+      }
+      else if (band.contains("-")) {
+        String[] bounds = band.split("-");
+        if (number >= Integer.parseInt(bounds[0]) && number <= Integer.parseInt(bounds[1])) {
+          return band;
+        }
+      }
+      else if (number == Integer.parseInt(band)) {
+        return band;
+      }
+    }
+
+    return null;
+  }
+
+
+  /**
+   * Make a Routine with random durations and Materials.
+   *
+   * @param random The source of the values.
+   * @param id     The ID.
+   * @return The Routine.
+   */
+  private static RoutineEntry randomEntry(Random random, long id) {
+    List<MaterialEntry> materials = new ArrayList<MaterialEntry>();
+    for (int i = 0; i < random.nextInt(4); i++) {
+      materials.add(new MaterialEntry(id * 10 + i, "Material " + i, random.nextBoolean() ? random.nextInt(60) : null,
+          random.nextInt(3) == 0, random.nextInt(4) == 0, random.nextInt(5) == 0));
+    }
+
+    return new RoutineEntry(id, "Routine " + id, null, null, null, random.nextInt(8) == 0 ? null : random.nextInt(30),
+        random.nextInt(8) == 0 ? null : random.nextInt(15), materials);
+  }
+
+}
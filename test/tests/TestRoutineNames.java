@@ -0,0 +1,302 @@
+package tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.typesafe.config.ConfigFactory;
+import models.Routine;
+import org.junit.Test;
+import play.Configuration;
+import play.libs.Json;
+import play.mvc.Result;
+import services.search.MaterialEntry;
+import services.search.RoutineEntry;
+import services.search.RoutineNames;
+import services.search.Terms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.GET;
+import static play.test.Helpers.OK;
+import static play.test.Helpers.SEE_OTHER;
+import static play.test.Helpers.contentAsString;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.fakeRequest;
+import static play.test.Helpers.inMemoryDatabase;
+import static play.test.Helpers.route;
+import static play.test.Helpers.running;
+import static play.test.Helpers.status;
+
+
+/**
+ * Test the typeahead's trie (RoutineNames) against a brute-force prefix scan of every Routine's name.
+ * <p>
+ * The trie is built straight from RoutineEntries made here, so no database is needed for the first test.  The scan
+ * checks every word of each normalized name with String.startsWith() and sorts the matches itself, so it doesn't
+ * share any code with the trie.  The last two tests start a fake application to check /routineNames and the switch
+ * to the typeahead on the Edit Set page.
+ */
+public class TestRoutineNames {
+
+  private static final String[] WORDS = {"The", "ambitious", "card", "cards", "coin", "coins", "rope", "ring", "rings",
+      "silk", "force", "forced", "vanish", "Change", "a", "zig", "zag", "linking"};
+
+  private static final Comparator<RoutineEntry> BEST_MATCH = new Comparator<RoutineEntry>() {
+    @Override
+    public int compare(RoutineEntry a, RoutineEntry b) {
+      String first = Terms.normalize(a.getName());
+      String second = Terms.normalize(b.getName());
+      if (first.length() != second.length()) {
+        return (first.length() < second.length()) ? -1 : 1;
+      }
+
+      int byName = first.compareTo(second);
+      return (byName != 0) ? byName : Long.valueOf(a.getId()).compareTo(b.getId());
+    }
+  };
+
+
+  /**
+   * Verify random prefixes after a rebuild and again after random inserts, renames and deletes.
+   */
+  @Test
+  public void testCompleteMatchesBruteForce() {
+    Random random = new Random(7);
+    TreeMap<Long, RoutineEntry> entries = new TreeMap<Long, RoutineEntry>();
+    long nextId = 1;
+    for (; nextId <= 200; nextId++) {
+      entries.put(nextId, randomEntry(random, nextId));
+    }
+    RoutineNames.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+    checkCompletions(random, entries);
+
+    for (int change = 0; change < 2000; change++) {
+      int kind = random.nextInt(10);
+      if (kind < 3 && !entries.isEmpty()) {
+        Long id = entries.ceilingKey(1 + (long) random.nextInt((int) nextId));
+        if (id != null) {
+          entries.remove(id);
+          RoutineNames.update(id, null);
+        }
+      }
+      else if (kind < 7 && !entries.isEmpty()) {
+        Long id = entries.ceilingKey(1 + (long) random.nextInt((int) nextId));
+        if (id != null) {
+          RoutineEntry entry = randomEntry(random, id);
+          entries.put(id, entry);
+          RoutineNames.update(id, entry);
+        }
+      }
+      else {
+        RoutineEntry entry = randomEntry(random, nextId);
+        entries.put(nextId, entry);
+        RoutineNames.update(nextId, entry);
+        nextId++;
+      }
+
+      if (change % 500 == 0) {
+        checkCompletions(random, entries);
+      }
+    }
+
+    assertThat(RoutineNames.getStatistics().get("routines")).isEqualTo((long) entries.size());
+    checkCompletions(random, entries);
+
+    RoutineNames.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+    checkCompletions(random, entries);
+  }
+
+
+  /**
+   * Verify that /routineNames needs a login and returns the same Routines as a brute-force scan of the database.
+   */
+  @Test
+  public void testRoutineNamesRoute() {
+    running(fakeApplication(inMemoryDatabase()), new Runnable() {
+      @Override
+      public void run() {
+        Result anonymous = route(fakeRequest(GET, "/routineNames?prefix=c"));
+        assertThat(status(anonymous)).isEqualTo(SEE_OTHER);
+
+        List<RoutineEntry> routines = new ArrayList<RoutineEntry>();
+        for (Routine routine : Routine.getAllRoutines()) {
+          routines.add(new RoutineEntry(routine.getId(), routine.getName(), null, null, null, routine.getDuration(),
+              null, new ArrayList<MaterialEntry>()));
+        }
+
+        for (String prefix : new String[] {"c", "The", "card", "x y z", ""}) {
+          for (int limit : new int[] {0, 1, 3, 50}) {
+            Result result = route(fakeRequest(GET, "/routineNames?prefix=" + prefix.replace(' ', '+')
+                + "&limit=" + limit).withSession("email", "mr_nelson@icloud.com"));
+            assertThat(status(result)).isEqualTo(OK);
+
+            List<Long> ids = new ArrayList<Long>();
+            for (JsonNode routine : Json.parse(contentAsString(result))) {
+              ids.add(routine.get("id").asLong());
+              assertThat(routine.has("name")).isTrue();
+              assertThat(routine.has("duration")).isTrue();
+            }
+            assertThat(ids).isEqualTo(bruteForce(routines, prefix, limit));
+          }
+        }
+      }
+    });
+  }
+
+
+  /**
+   * Verify that the Edit Set page lists every Routine until there are more than search.typeahead.inlineLimit of
+   * them, and then switches to the typeahead.
+   */
+  @Test
+  public void testEditSetSwitchesToTypeahead() {
+    running(fakeApplication(inMemoryDatabase()), new Runnable() {
+      @Override
+      public void run() {
+        long routines = RoutineNames.getStatistics().get("routines");
+        assertThat(routines).isGreaterThan(0L);
+        assertThat(routines).isLessThanOrEqualTo((long) RoutineNames.DEFAULT_INLINE_LIMIT);
+        assertThat(editSet()).doesNotContain("routineTypeahead");
+
+        try {
+          configureInlineLimit(routines);
+          assertThat(RoutineNames.isTypeahead()).isFalse();
+          assertThat(editSet()).doesNotContain("routineTypeahead");
+
+          configureInlineLimit(routines - 1);
+          assertThat(RoutineNames.isTypeahead()).isTrue();
+          assertThat(editSet()).contains("routineTypeahead").contains("/routineNames");
+        }
+        finally {
+          configureInlineLimit(RoutineNames.DEFAULT_INLINE_LIMIT);
+        }
+      }
+    });
+  }
+
+
+  /**
+   * Run random prefixes and limits and compare the completions with the brute-force scan.
+   *
+   * @param random  The source of the prefixes.
+   * @param entries Every Routine in the trie, by ID.
+   */
+  private static void checkCompletions(Random random, TreeMap<Long, RoutineEntry> entries) {
+    for (int i = 0; i < 300; i++) {
+      String prefix;
+      int kind = random.nextInt(6);
+      if (kind == 0) {
+        prefix = "";
+      }
+      else if (kind == 1) {
+        prefix = "  " + WORDS[random.nextInt(WORDS.length)].toUpperCase() + "   " + WORDS[random.nextInt(WORDS.length)];
+      }
+      else if (kind == 2) {
+        prefix = "q" + WORDS[random.nextInt(WORDS.length)];
+      }
+      else {
+        String word = WORDS[random.nextInt(WORDS.length)];
+        prefix = word.substring(0, 1 + random.nextInt(word.length()));
+      }
+      int limit = random.nextInt(14) - 1;
+
+      List<Long> ids = new ArrayList<Long>();
+      for (RoutineEntry entry : RoutineNames.complete(prefix, limit)) {
+        ids.add(entry.getId());
+      }
+      assertThat(ids).as("prefix = [" + prefix + "]  limit = [" + limit + "]")
+          .isEqualTo(bruteForce(entries.values(), prefix, limit));
+    }
+  }
+
+
+  /**
+   * Find the Routines with a word in their normalized name that starts with the normalized prefix.
+   *
+   * @param entries Every Routine.
+   * @param prefix  The prefix, as it was typed.
+   * @param limit   The most Routines to return (no more than RoutineNames.getMatches() are kept).
+   * @return The IDs of the matching Routines, the shortest name first.
+   */
+  private static List<Long> bruteForce(Collection<RoutineEntry> entries, String prefix, int limit) {
+    String key = Terms.normalize(prefix);
+    List<RoutineEntry> matching = new ArrayList<RoutineEntry>();
+    if (key.isEmpty()) {
+      return new ArrayList<Long>();
+    }
+
+    for (RoutineEntry entry : entries) {
+      String name = Terms.normalize(entry.getName());
+      boolean matches = false;
+      for (int i = 0; i < name.length() && !matches; i++) {
+        matches = (i == 0 || name.charAt(i - 1) == ' ') && name.startsWith(key, i);
+      }
+      if (matches) {
+        matching.add(entry);
+      }
+    }
+    Collections.sort(matching, BEST_MATCH);
+
+    List<Long> ids = new ArrayList<Long>();
+    for (RoutineEntry entry : matching.subList(0, Math.max(0, Math.min(matching.size(),
+        Math.min(limit, RoutineNames.getMatches()))))) {
+      ids.add(entry.getId());
+    }
+
+    return ids;
+  }
+
+
+  /**
+   * Make a Routine with a random name of up to four words, with random spacing and case.  Some names are blank.
+   *
+   * @param random The source of the name.
+   * @param id     The ID.
+   * @return The Routine.
+   */
+  private static RoutineEntry randomEntry(Random random, long id) {
+    StringBuilder name = new StringBuilder(random.nextInt(3) == 0 ? " " : "");
+    int words = random.nextInt(20) == 0 ? 0 : 1 + random.nextInt(4);
+    for (int i = 0; i < words; i++) {
+      String word = WORDS[random.nextInt(WORDS.length)];
+      name.append(random.nextInt(4) == 0 ? word.toUpperCase() : word);
+      name.append(random.nextInt(5) == 0 ? "  " : " ");
+    }
+
+    return new RoutineEntry(id, name.toString(), null, null, null, random.nextInt(6) == 0 ? null : random.nextInt(30),
+        null, new ArrayList<MaterialEntry>());
+  }
+
+
+  /**
+   * Set search.typeahead.inlineLimit as if it had been read from application.conf.
+   *
+   * @param inlineLimit The most Routines the Edit Set page will list in full.
+   */
+  private static void configureInlineLimit(long inlineLimit) {
+    Map<String, Object> settings = new HashMap<String, Object>();
+    settings.put("search.typeahead.inlineLimit", inlineLimit);
+    RoutineNames.configure(new Configuration(ConfigFactory.parseMap(settings)));
+  }
+
+
+  /**
+   * Get the Edit Set page for a new Set.
+   *
+   * @return The page's HTML.
+   */
+  private static String editSet() {
+    Result result = route(fakeRequest(GET, "/editSet").withSession("email", "mr_nelson@icloud.com"));
+    assertThat(status(result)).isEqualTo(OK);
+
+    return contentAsString(result);
+  }
+
+}
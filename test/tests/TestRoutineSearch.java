@@ -0,0 +1,172 @@
+package tests;
+
+import org.junit.Test;
+import services.search.MaterialEntry;
+import services.search.RoutineEntry;
+import services.search.RoutineSearch;
+import services.search.SearchResult;
+import services.search.SearchResults;
+import services.search.Terms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+
+/**
+ * Test the in-memory index of the Routines (RoutineSearch) after saves and deletes.
+ * <p>
+ * The index is built straight from RoutineEntries made here, so no database is needed.  An index that was changed a
+ * Routine at a time (and compacted along the way) must return the same pages, in the same order with the same scores,
+ * as one rebuilt from the same Routines, and it must match exactly the Routines that have one of the query's terms.
+ */
+public class TestRoutineSearch {
+
+  private static final String[] WORDS = {"card", "coin", "rope", "ring", "silk", "deck", "force", "vanish", "change",
+      "levitate", "mentalism", "sponge", "ball", "cups", "thimble", "wand"};
+
+
+  /**
+   * Verify random queries after random saves and deletes against a rebuilt index and a brute-force scan.
+   */
+  @Test
+  public void testUpdatesMatchRebuild() {
+    Random random = new Random(11);
+    Map<Long, RoutineEntry> entries = new HashMap<Long, RoutineEntry>();
+    for (long id = 1; id <= 300; id++) {
+      entries.put(id, randomEntry(random, id));
+    }
+    RoutineSearch.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+
+    for (int change = 0; change < 3000; change++) {
+      long id = 1 + random.nextInt(400);
+      if (random.nextInt(3) == 0) {
+        entries.remove(id);
+        RoutineSearch.update(id, null);
+      }
+      else {
+        RoutineEntry entry = randomEntry(random, id);
+        entries.put(id, entry);
+        RoutineSearch.update(id, entry);
+      }
+    }
+    assertThat(RoutineSearch.getStatistics().get("documents")).isEqualTo((long) entries.size());
+    assertThat(RoutineSearch.getStatistics().get("deleted")).isLessThanOrEqualTo((long) entries.size() + 64);
+
+    List<String> queries = new ArrayList<String>();
+    List<SearchResults<SearchResult>> updated = new ArrayList<SearchResults<SearchResult>>();
+    for (int i = 0; i < 100; i++) {
+      String query = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+      queries.add(query);
+      updated.add(RoutineSearch.search(query, random.nextInt(30), 1 + random.nextInt(30)));
+    }
+
+    RoutineSearch.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+
+    for (int i = 0; i < queries.size(); i++) {
+      SearchResults<SearchResult> results = updated.get(i);
+      SearchResults<SearchResult> rebuilt = RoutineSearch.search(queries.get(i), results.getOffset(),
+          results.getLimit());
+
+      assertThat(results.getTotal()).isEqualTo(bruteForceTotal(queries.get(i), entries.values()));
+      assertThat(results.getTotal()).isEqualTo(rebuilt.getTotal());
+      assertThat(results.getResults()).hasSize(rebuilt.getResults().size());
+      for (int j = 0; j < results.getResults().size(); j++) {
+        assertThat(results.getResults().get(j).getId()).isEqualTo(rebuilt.getResults().get(j).getId());
+        assertThat(results.getResults().get(j).getScore()).isEqualTo(rebuilt.getResults().get(j).getScore());
+      }
+    }
+  }
+
+
+  /**
+   * Verify that offsets past the end of the results, including the largest, return an empty page.
+   */
+  @Test
+  public void testPastTheLastPage() {
+    List<RoutineEntry> entries = new ArrayList<RoutineEntry>();
+    for (long id = 1; id <= 5; id++) {
+      entries.add(new RoutineEntry(id, "Card trick " + id, null, null, null, 5, 1, new ArrayList<MaterialEntry>()));
+    }
+    RoutineSearch.rebuild(entries);
+
+    assertThat(RoutineSearch.search("card", 0, 20).getResults()).hasSize(5);
+    assertThat(RoutineSearch.search("card", 5, 20).getResults()).isEmpty();
+    assertThat(RoutineSearch.search("card", Integer.MAX_VALUE - 20, 20).getResults()).isEmpty();
+    assertThat(RoutineSearch.search("card", Integer.MAX_VALUE, 20).getResults()).isEmpty();
+    assertThat(RoutineSearch.search("card", -20, 20).getResults()).hasSize(5);
+  }
+
+
+  /**
+   * Count the Routines that have any of the query's terms.
+   *
+   * @param query   The query.
+   * @param entries Every Routine.
+   * @return The number of matching Routines.
+   */
+  private static int bruteForceTotal(String query, java.util.Collection<RoutineEntry> entries) {
+    List<String> queryTerms = Terms.tokenize(query);
+    int total = 0;
+
+    for (RoutineEntry entry : entries) {
+      List<String> terms = new ArrayList<String>();
+      terms.addAll(Terms.tokenize(entry.getName()));
+      terms.addAll(Terms.tokenize(entry.getDescription()));
+      terms.addAll(Terms.tokenize(entry.getMethod()));
+      terms.addAll(Terms.tokenize(entry.getHandling()));
+      for (MaterialEntry material : entry.getMaterials()) {
+        terms.addAll(Terms.tokenize(material.getName()));
+      }
+
+      for (String term : queryTerms) {
+        if (terms.contains(term)) {
+          total++;
+          break;
+        }
+      }
+    }
+
+    return total;
+  }
+
+
+  /**
+   * Make a Routine from a few random words.
+   *
+   * @param random The source of the words.
+   * @param id     The ID.
+   * @return The Routine.
+   */
+  private static RoutineEntry randomEntry(Random random, long id) {
+    List<MaterialEntry> materials = new ArrayList<MaterialEntry>();
+    for (int i = 0; i < random.nextInt(3); i++) {
+      materials.add(new MaterialEntry(id * 10 + i, randomText(random, 1), 1 + random.nextInt(20), random.nextBoolean(),
+          random.nextBoolean(), random.nextBoolean()));
+    }
+
+    return new RoutineEntry(id, randomText(random, 2), randomText(random, 6), randomText(random, 4),
+        random.nextBoolean() ? randomText(random, 3) : null, 1 + random.nextInt(20), random.nextInt(5), materials);
+  }
+
+
+  /**
+   * Make some text from random words.
+   *
+   * @param random The source of the words.
+   * @param words  The number of words.
+   * @return The text.
+   */
+  private static String randomText(Random random, int words) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return text.toString().trim();
+  }
+
+}
@@ -0,0 +1,119 @@
+package tests;
+
+import models.Material;
+import models.Routine;
+import org.junit.Test;
+import services.db.StatementStatistics;
+import views.formdata.MaterialFormData;
+import views.formdata.RoutineFormData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.inMemoryDatabase;
+
+
+/**
+ * Test how many statements the form saves send to the database, as counted by services.db.StatementStatistics.
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database, and count the statements of a
+ * single save.  Before the saves stopped reading back what they'd saved, a new Routine took two statements (the
+ * insert and a select) and a new Material took three (a select of its Routine, the insert and a select).  Each save
+ * has to take at most half of that now.
+ */
+public class TestSaveStatements extends play.test.WithApplication {
+
+  /** Statements a new Routine took when it was read back after the insert. */
+  private static final long OLD_ROUTINE_STATEMENTS = 2;
+
+  /** Statements a new Material took when its Routine was loaded first and it was read back after the insert. */
+  private static final long OLD_MATERIAL_STATEMENTS = 3;
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify that saving a new Routine is a single insert, with no select.
+   */
+  @Test
+  public void testRoutineSaveStatements() {
+    RoutineFormData routineFormData = new RoutineFormData();
+    routineFormData.name = "Statement Count Routine";
+    routineFormData.description = "Saved to count its statements.";
+    routineFormData.duration = 5;
+
+    Map<String, Long> before = StatementStatistics.getCounts();
+    Routine routine = Routine.saveRoutineFromForm(routineFormData);
+    Map<String, Long> statements = since(before);
+
+    assertThat(routine.getId()).isGreaterThan(0);
+    assertThat(statements.get("Routine.insert")).as(statements.toString()).isEqualTo(1L);
+    assertThat(statements.containsKey("Routine.query")).as(statements.toString()).isFalse();
+    assertThat(2 * total(statements)).as(statements.toString()).isLessThanOrEqualTo(OLD_ROUTINE_STATEMENTS);
+  }
+
+
+  /**
+   * Verify that saving a new Material is a single insert, without loading its Routine or reading it back.
+   */
+  @Test
+  public void testMaterialSaveStatements() {
+    MaterialFormData materialFormData = new MaterialFormData();
+    materialFormData.routineId = Routine.getAllRoutines().get(0).getId();
+    materialFormData.name = "Statement Count Material";
+
+    Map<String, Long> before = StatementStatistics.getCounts();
+    Material material = Material.saveMaterialFromForm(materialFormData);
+    Map<String, Long> statements = since(before);
+
+    assertThat(material.getId()).isGreaterThan(0);
+    assertThat(statements.get("Material.insert")).as(statements.toString()).isEqualTo(1L);
+    assertThat(statements.containsKey("Routine.query")).as(statements.toString()).isFalse();
+    assertThat(statements.containsKey("Material.query")).as(statements.toString()).isFalse();
+    assertThat(2 * total(statements)).as(statements.toString()).isLessThanOrEqualTo(OLD_MATERIAL_STATEMENTS);
+    assertThat(Material.getMaterial(material.getId()).getRoutine().getId()).isEqualTo(materialFormData.routineId);
+  }
+
+
+  /**
+   * Get the statements counted since an earlier snapshot of the counts.
+   *
+   * @param before The counts before.
+   * @return The name and number of each statement that was counted since, leaving out the ones that weren't.
+   */
+  private static Map<String, Long> since(Map<String, Long> before) {
+    Map<String, Long> statements = new HashMap<String, Long>();
+
+    for (Map.Entry<String, Long> count : StatementStatistics.getCounts().entrySet()) {
+      long previous = before.containsKey(count.getKey()) ? before.get(count.getKey()) : 0;
+      if (count.getValue() > previous) {
+        statements.put(count.getKey(), count.getValue() - previous);
+      }
+    }
+
+    return statements;
+  }
+
+
+  /**
+   * Add up statement counts.
+   *
+   * @param statements The name and number of each statement.
+   * @return The total number of statements.
+   */
+  private static long total(Map<String, Long> statements) {
+    long total = 0;
+
+    for (long count : statements.values()) {
+      total += count;
+    }
+
+    return total;
+  }
+
+}
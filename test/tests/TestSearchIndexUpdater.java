@@ -0,0 +1,152 @@
+package tests;
+
+import com.avaje.ebean.Ebean;
+import models.Magician;
+import models.Material;
+import models.Routine;
+import org.junit.Test;
+import services.search.MagicianSearch;
+import services.search.MaterialEntry;
+import services.search.RoutineCatalog;
+import services.search.RoutineEntry;
+import services.search.RoutineNames;
+import services.search.RoutineSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.inMemoryDatabase;
+
+
+/**
+ * Test that the in-memory search indexes only see changes once they're committed.
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database and builds the indexes, then save and
+ * delete inside transactions that are rolled back (or committed) and look the changes up in RoutineCatalog and the
+ * indexes built from it.  "Zyzzyva" isn't in the seed data, so it's only found if a change got through.
+ */
+public class TestSearchIndexUpdater extends play.test.WithApplication {
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify that a Routine, Material and Magician saved or deleted in a transaction that's rolled back leave the
+   * indexes as they were.
+   */
+  @Test
+  public void testRollbackLeavesIndexesUnchanged() {
+    Routine routine = Routine.getAllRoutines().get(0);
+    RoutineEntry before = entry(routine.getId());
+    assertThat(before).isNotNull();
+
+    Ebean.beginTransaction();
+    try {
+      routine.setName("Zyzzyva Rolled Back");
+      routine.save();
+      assertThat(RoutineNames.complete("zyzzyva", 10)).isEmpty();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+
+    assertThat(entry(routine.getId()).getName()).isEqualTo(before.getName());
+    assertThat(RoutineNames.complete("zyzzyva", 10)).isEmpty();
+    assertThat(RoutineSearch.search("zyzzyva", 0, 10).getTotal()).isEqualTo(0);
+
+    Material material = null;
+    for (Material candidate : Material.getAllMaterials()) {
+      if (candidate.getRoutine() != null) {
+        material = candidate;
+      }
+    }
+    assertThat(material).isNotNull();
+    long routineId = material.getRoutine().getId();
+    List<Long> materialsBefore = materialIds(routineId);
+    assertThat(materialsBefore).contains(material.getId());
+
+    Ebean.beginTransaction();
+    try {
+      material.delete();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+
+    assertThat(materialIds(routineId)).isEqualTo(materialsBefore);
+
+    Magician magician = Magician.getMagician("mr_nelson@icloud.com");
+    Ebean.beginTransaction();
+    try {
+      magician.setStageName("Zyzzyva");
+      magician.save();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+
+    assertThat(MagicianSearch.search("Zyzzyva", 0, 10).getTotal()).isEqualTo(0);
+  }
+
+
+  /**
+   * Verify that a save that's committed reaches the indexes by the time the commit returns.
+   */
+  @Test
+  public void testCommitUpdatesIndexes() {
+    Routine routine = Routine.getAllRoutines().get(0);
+
+    Ebean.beginTransaction();
+    try {
+      routine.setName("Zyzzyva Committed");
+      routine.save();
+      Ebean.commitTransaction();
+    }
+    finally {
+      Ebean.endTransaction();
+    }
+
+    assertThat(entry(routine.getId()).getName()).isEqualTo("Zyzzyva Committed");
+    assertThat(RoutineNames.complete("zyzzyva", 10)).hasSize(1);
+    assertThat(RoutineSearch.search("zyzzyva", 0, 10).getTotal()).isEqualTo(1);
+  }
+
+
+  /**
+   * Find a Routine in the catalog.
+   *
+   * @param routineId The ID of the Routine.
+   * @return The catalog's entry for the Routine, or null if it isn't there.
+   */
+  private static RoutineEntry entry(long routineId) {
+    for (RoutineEntry entry : RoutineCatalog.getEntries()) {
+      if (entry.getId() == routineId) {
+        return entry;
+      }
+    }
+
+    return null;
+  }
+
+
+  /**
+   * Get the IDs of a Routine's Materials from the catalog.
+   *
+   * @param routineId The ID of the Routine.
+   * @return The IDs of the Materials, in the catalog's order.
+   */
+  private static List<Long> materialIds(long routineId) {
+    List<Long> ids = new ArrayList<Long>();
+    for (MaterialEntry material : entry(routineId).getMaterials()) {
+      ids.add(material.getId());
+    }
+
+    return ids;
+  }
+
+}
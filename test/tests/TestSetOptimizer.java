@@ -0,0 +1,117 @@
+package tests;
+
+import org.junit.Test;
+import services.setNotes.SetOptimizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+
+/**
+ * Test SetOptimizer.solve() against a brute-force search of every subset.
+ * <p>
+ * The catalogs are small enough (up to 12 routines) to list every subset, so the durations and costs of the k best
+ * subsets can be compared exactly.  Subsets that tie on both can come back in either order, so only the duration and
+ * cost of each solution are compared, and each solution's items are checked to add up to them.
+ */
+public class TestSetOptimizer {
+
+  /**
+   * Verify random catalogs, budgets and numbers of suggestions.
+   */
+  @Test
+  public void testSolveMatchesBruteForce() {
+    Random random = new Random(42);
+
+    for (int trial = 0; trial < 500; trial++) {
+      int n = random.nextInt(13);
+      int[] durations = new int[n];
+      int[] costs = new int[n];
+      for (int i = 0; i < n; i++) {
+        durations[i] = random.nextInt(15);
+        costs[i] = random.nextInt(40);
+      }
+      int maxDuration = random.nextInt(40);
+      int maxCost = random.nextInt(150);
+      int k = 1 + random.nextInt(8);
+
+      List<SetOptimizer.Solution> solutions = SetOptimizer.solve(durations, costs, maxDuration, maxCost, k);
+      List<int[]> expected = bruteForce(durations, costs, maxDuration, maxCost, k);
+
+      assertThat(solutions.size()).isEqualTo(expected.size());
+      for (int i = 0; i < solutions.size(); i++) {
+        SetOptimizer.Solution solution = solutions.get(i);
+        assertThat(solution.getDuration()).isEqualTo(expected.get(i)[0]);
+        assertThat(solution.getCost()).isEqualTo(expected.get(i)[1]);
+
+        int duration = 0;
+        int cost = 0;
+        int previous = -1;
+        for (int item : solution.getItems()) {
+          assertThat(item).isGreaterThan(previous);
+          previous = item;
+          duration += durations[item];
+          cost += costs[item];
+        }
+        assertThat(solution.getItems().length).isGreaterThan(0);
+        assertThat(duration).isEqualTo(solution.getDuration());
+        assertThat(cost).isEqualTo(solution.getCost());
+      }
+    }
+  }
+
+
+  /**
+   * Verify that nothing is suggested when nothing fits, and that an empty set is never suggested.
+   */
+  @Test
+  public void testNothingFits() {
+    assertThat(SetOptimizer.solve(new int[] {10, 20}, new int[] {5, 5}, 5, 100, 3)).isEmpty();
+    assertThat(SetOptimizer.solve(new int[] {1, 2}, new int[] {50, 60}, 5, 10, 3)).isEmpty();
+    assertThat(SetOptimizer.solve(new int[0], new int[0], 5, 10, 3)).isEmpty();
+  }
+
+
+  /**
+   * Find the durations and costs of the k best non-empty subsets by listing every subset.
+   *
+   * @param durations   The duration of each item.
+   * @param costs       The cost of each item.
+   * @param maxDuration The largest total duration allowed.
+   * @param maxCost     The largest total cost allowed.
+   * @param k           The number of subsets.
+   * @return The duration and cost of up to k subsets, best first.
+   */
+  private static List<int[]> bruteForce(int[] durations, int[] costs, int maxDuration, int maxCost, int k) {
+    List<int[]> subsets = new ArrayList<int[]>();
+
+    for (int mask = 1; mask < (1 << durations.length); mask++) {
+      int duration = 0;
+      int cost = 0;
+      for (int i = 0; i < durations.length; i++) {
+        if ((mask & (1 << i)) != 0) {
+          duration += durations[i];
+          cost += costs[i];
+        }
+      }
+      if (duration <= maxDuration && cost <= maxCost) {
+        subsets.add(new int[] {duration, cost});
+      }
+    }
+
+    Collections.sort(subsets, new Comparator<int[]>() {
+      @Override
+      public int compare(int[] a, int[] b) {
+        return (a[0] != b[0]) ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]);
+      }
+    });
+
+    return subsets.subList(0, Math.min(k, subsets.size()));
+  }
+
+}
@@ -0,0 +1,141 @@
+package tests;
+
+import org.junit.Test;
+import services.search.MaterialEntry;
+import services.search.RelatedRoutine;
+import services.search.RoutineEntry;
+import services.search.SimilarRoutines;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+
+/**
+ * Test that SimilarRoutines.update() leaves every Routine with the same neighbours as SimilarRoutines.rebuild().
+ * <p>
+ * The index is built straight from RoutineEntries made here, so no database is needed.  The features are numbered in
+ * a different order after a rebuild, so the cosines can differ in their last bits; scores are compared to within
+ * EPSILON and two Routines whose scores are that close can come back in either order.
+ */
+public class TestSimilarRoutines {
+
+  private static final float EPSILON = 1e-5f;
+
+  private static final String[] WORDS = {"card", "coin", "rope", "ring", "silk", "deck", "force", "vanish", "change",
+      "levitate", "sponge", "ball"};
+  private static final String[] MATERIALS = {"Deck of cards", "Silk", "Rope", "Sponge balls", "Thimble", "Coins",
+      "Linking rings", "Wand"};
+
+
+  /**
+   * Verify the neighbours of every Routine after random saves and deletes against a rebuilt index.
+   */
+  @Test
+  public void testUpdateMatchesRebuild() {
+    Random random = new Random(5);
+    Map<Long, RoutineEntry> entries = new HashMap<Long, RoutineEntry>();
+    for (long id = 1; id <= 80; id++) {
+      entries.put(id, randomEntry(random, id));
+    }
+    SimilarRoutines.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+
+    for (int change = 0; change < 1000; change++) {
+      long id = 1 + random.nextInt(100);
+      if (random.nextInt(4) == 0) {
+        entries.remove(id);
+        SimilarRoutines.update(id, null);
+      }
+      else {
+        RoutineEntry entry = randomEntry(random, id);
+        entries.put(id, entry);
+        SimilarRoutines.update(id, entry);
+      }
+    }
+
+    Map<Long, List<RelatedRoutine>> updated = new HashMap<Long, List<RelatedRoutine>>();
+    for (long id = 1; id <= 100; id++) {
+      updated.put(id, SimilarRoutines.getRelated(id));
+    }
+
+    SimilarRoutines.rebuild(new ArrayList<RoutineEntry>(entries.values()));
+
+    for (long id = 1; id <= 100; id++) {
+      if (!entries.containsKey(id)) {
+        assertThat(updated.get(id)).isEmpty();
+      }
+      else {
+        assertSameNeighbours(SimilarRoutines.getRelated(id), updated.get(id), entries);
+      }
+    }
+  }
+
+
+  /**
+   * Check a Routine's neighbours against the ones from a rebuilt index.
+   *
+   * @param expected The neighbours from the rebuilt index.
+   * @param actual   The neighbours from the updated index.
+   * @param entries  Every Routine, by ID.
+   */
+  private static void assertSameNeighbours(List<RelatedRoutine> expected, List<RelatedRoutine> actual,
+                                           Map<Long, RoutineEntry> entries) {
+    assertThat(actual).hasSize(expected.size());
+
+    for (int i = 0; i < expected.size(); i++) {
+      RelatedRoutine routine = actual.get(i);
+      assertThat(Math.abs(routine.getScore() - expected.get(i).getScore())).isLessThanOrEqualTo(EPSILON);
+      assertThat(routine.getName()).isEqualTo(entries.get(routine.getId()).getName());
+
+      if (routine.getId() != expected.get(i).getId()) {
+        float tie = expected.get(expected.size() - 1).getScore();
+        for (RelatedRoutine other : expected) {
+          if (other.getId() == routine.getId()) {
+            tie = other.getScore();
+          }
+        }
+        assertThat(Math.abs(routine.getScore() - tie)).isLessThanOrEqualTo(EPSILON);
+      }
+    }
+  }
+
+
+  /**
+   * Make a Routine from a few random words and Materials.
+   *
+   * @param random The source of the words.
+   * @param id     The ID.
+   * @return The Routine.
+   */
+  private static RoutineEntry randomEntry(Random random, long id) {
+    List<MaterialEntry> materials = new ArrayList<MaterialEntry>();
+    for (int i = 0; i < random.nextInt(4); i++) {
+      materials.add(new MaterialEntry(id * 10 + i, MATERIALS[random.nextInt(MATERIALS.length)], 5, true, false,
+          false));
+    }
+
+    return new RoutineEntry(id, randomText(random, 2), randomText(random, 5), null, null, 1 + random.nextInt(30), 1,
+        materials);
+  }
+
+
+  /**
+   * Make some text from random words.
+   *
+   * @param random The source of the words.
+   * @param words  The number of words.
+   * @return The text.
+   */
+  private static String randomText(Random random, int words) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return text.toString().trim();
+  }
+
+}
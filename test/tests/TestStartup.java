@@ -0,0 +1,54 @@
+package tests;
+
+import org.junit.Test;
+import services.seed.SeedStatus;
+import services.startup.StartupPhases;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.inMemoryDatabase;
+
+
+/**
+ * Test that the application starts within its time budget.
+ * <p>
+ * Start a fake application with an in-memory database, which seeds the database from scratch, and check the phases
+ * recorded by StartupPhases.  The budget can be changed with -Dstartup.budgetMillis for slow build machines.
+ */
+public class TestStartup extends play.test.WithApplication {
+
+  /**
+   * The longest a cold start (with seeding) may take.
+   */
+  public static final long BUDGET_MILLIS = Long.getLong("startup.budgetMillis", 30000L);
+
+  @Override
+  protected play.test.FakeApplication provideFakeApplication() {
+    return fakeApplication(inMemoryDatabase());
+  }
+
+
+  /**
+   * Verify that every phase was recorded and that startup fits in the budget.
+   */
+  @Test
+  public void testStartupWithinBudget() {
+    assertThat(SeedStatus.isReady()).isTrue();
+
+    assertThat(StartupPhases.getPhases().keySet()).contains("framework", "configure", "seedCheck",
+        "MagicianType.init", "Magician.init", "initRoutines", "initSets");
+
+    StartupPhases.logSummary();
+    assertThat(StartupPhases.getTotalMillis()).isLessThan(BUDGET_MILLIS);
+  }
+
+
+  /**
+   * Verify that deciding whether to seed takes a single statement, which is all a warm restart does.
+   */
+  @Test
+  public void testSeedCheckIsOneStatement() {
+    assertThat(StartupPhases.getStatements("seedCheck")).isLessThanOrEqualTo(1L);
+  }
+
+}